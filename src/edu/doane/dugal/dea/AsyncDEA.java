@@ -0,0 +1,503 @@
+package edu.doane.dugal.dea;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous master/slave alternative to the DEA, for problems whose
+ * evaluations take long and vary in cost. With the DEA, every individual must
+ * be evaluated before selection can start, so the slowest evaluation of each
+ * generation leaves the other workers idle. Here, the run thread is the
+ * master: it breeds offspring from the current population and submits them
+ * to a pool of worker threads, and as soon as any evaluation completes, the
+ * offspring is put into the population in place of the least fit individual,
+ * and a new offspring is bred and submitted, so every worker is always busy.
+ *
+ * Breeding works as in the SteadyStateDEA: parents are chosen by k-tournament
+ * selection and copied into a small batch of offspring, by default two, and
+ * the variation operators, given with addVariation(), are ChunkOperators such
+ * as the kit PointCrossover and PointMutation, applied to just the batch.
+ * Offspring objects are allocated once, and reused when their evaluation has
+ * been inserted. The initial population is evaluated on the workers before
+ * breeding starts.
+ *
+ * A generation is counted each time popSize offspring have been inserted, and
+ * the operators given with addOperator(), such as statistics, are applied to
+ * the whole population after each generation. getUtilization() reports the
+ * fraction of the workers' time spent evaluating.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class AsyncDEA extends Thread {
+
+    /**
+     * Problem to be solved by this algorithm; evaluated by several threads at
+     * once.
+     */
+    private final Problem problem;
+
+    /**
+     * Population of Individuals representing potential solutions to the
+     * problem.
+     */
+    private final Individual[] population;
+
+    /**
+     * Heap of the population's fitness values, built when the run starts.
+     */
+    private FitnessHeap heap;
+
+    /**
+     * Variation operators applied to each batch of offspring.
+     */
+    private final ArrayList<ChunkOperator> variations;
+
+    /**
+     * Operators applied to the whole population after each generation.
+     */
+    private final ArrayList<Operator> operators;
+
+    /**
+     * Number of worker threads.
+     */
+    private final int threads;
+
+    /**
+     * Number of offspring bred at a time.
+     */
+    private int batchSize;
+
+    /**
+     * Number of individuals in each parent selection tournament.
+     */
+    private int k;
+
+    /**
+     * Number of generations to run the algorithm.
+     */
+    private final int numGens;
+
+    /**
+     * Number of generations completed so far.
+     */
+    private int generation;
+
+    /**
+     * Number of offspring inserted into the population so far.
+     */
+    private long births;
+
+    /**
+     * Total time the workers have spent evaluating, in nanoseconds.
+     */
+    private final AtomicLong busyNanos;
+
+    /**
+     * Wall-clock time of the run so far, in nanoseconds.
+     */
+    private volatile long elapsedNanos;
+
+    /**
+     * True once the run has been asked to stop; evaluations in flight are
+     * still inserted.
+     */
+    private volatile boolean stopRequested;
+
+    /**
+     * Random number generator used by the algorithm.
+     */
+    private final PRNG prng;
+
+    /**
+     * Create a new AsyncDEA object.
+     *
+     * @param problem Problem to solve; must allow several individuals to be
+     * evaluated at once.
+     * @param popSize Population size.
+     * @param numGens Number of generations to execute, of popSize offspring
+     * each.
+     * @param threads Number of worker threads.
+     */
+    public AsyncDEA(Problem problem, int popSize, int numGens, int threads) {
+        this(problem, createPopulation(problem, popSize), numGens, threads);
+    }
+
+    /**
+     * Create a new AsyncDEA object, with a population created by the caller.
+     * Individuals that don't support copyInto() are copied with copy()
+     * instead, at the cost of an allocation per copy.
+     *
+     * @param problem Problem to solve; must allow several individuals to be
+     * evaluated at once.
+     * @param population Initial population.
+     * @param numGens Number of generations to execute, of population.length
+     * offspring each.
+     * @param threads Number of worker threads.
+     * @throws IllegalArgumentException If the population has fewer than two
+     * individuals, or threads is less than 1.
+     */
+    public AsyncDEA(Problem problem, Individual[] population, int numGens, int threads)
+            throws IllegalArgumentException {
+        if (population.length < 2) {
+            throw new IllegalArgumentException("Illegal population size to AsyncDEA: "
+                    + population.length);
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Illegal threads to AsyncDEA: " + threads);
+        }
+        this.problem = problem;
+        this.population = population;
+        this.numGens = numGens;
+        this.threads = threads;
+        variations = new ArrayList<>();
+        operators = new ArrayList<>();
+        busyNanos = new AtomicLong();
+        k = 2;
+        prng = PRNG.getInstance();
+        setBatchSize(2);
+    }
+
+    /**
+     * Create a random population for the problem.
+     *
+     * @param problem Problem to solve.
+     * @param popSize Population size.
+     * @return New population.
+     */
+    private static Individual[] createPopulation(Problem problem, int popSize) {
+        Individual[] population = new Individual[popSize];
+        for (int i = 0; i < population.length; i++) {
+            population[i] = problem.createRandomIndividual();
+        }
+        return population;
+    }
+
+    /**
+     * Add a variation operator, applied to each batch of offspring, in the
+     * order added. Variation runs on the run thread only.
+     *
+     * @param op Variation operator.
+     */
+    public void addVariation(ChunkOperator op) {
+        variations.add(op);
+    }
+
+    /**
+     * Add an operator applied to the whole population after each generation,
+     * e.g., for statistics. The operator must not replace elements of the
+     * population array or change fitness values.
+     *
+     * @param op Operator to add.
+     */
+    public void addOperator(Operator op) {
+        operators.add(op);
+    }
+
+    /**
+     * Set the number of offspring bred at a time. The kit crossover operators
+     * pair up the offspring in a batch, so the batch size should be even.
+     *
+     * @param batchSize Offspring per batch, at least 1 and less than the
+     * population size.
+     * @throws IllegalArgumentException If batchSize is out of range.
+     */
+    final public void setBatchSize(int batchSize) throws IllegalArgumentException {
+        if (batchSize < 1 || batchSize >= population.length) {
+            throw new IllegalArgumentException("Illegal batch size to setBatchSize: " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Get the number of offspring bred at a time.
+     *
+     * @return Offspring per batch.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Set the parent selection tournament size.
+     *
+     * @param k Individuals per tournament, at least 1.
+     * @throws IllegalArgumentException If k is less than 1.
+     */
+    public void setK(int k) throws IllegalArgumentException {
+        if (k < 1) {
+            throw new IllegalArgumentException("Illegal k to setK: " + k);
+        }
+        this.k = k;
+    }
+
+    /**
+     * Get the parent selection tournament size.
+     *
+     * @return Individuals per tournament.
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Get a string representation of the parameters of this algorithm.
+     *
+     * @return String containing the problem name, operators, and parameters
+     * for this algorithm.
+     */
+    public String getTableau() {
+        StringBuilder s = new StringBuilder();
+
+        s.append("Problem: ").append(problem.toString()).append("\n");
+        s.append("Variations:\n");
+        for (ChunkOperator op : variations) {
+            s.append("\t").append(op.toString()).append("\n");
+        }
+        s.append("Operators:\n");
+        for (Operator op : operators) {
+            s.append("\t").append(op.toString()).append("\n");
+        }
+        s.append("Population size: ").append(population.length).append("\n");
+        s.append("Generations: ").append(numGens).append("\n");
+        s.append("Worker threads: ").append(threads).append("\n");
+        s.append("Batch size: ").append(batchSize).append("\n");
+        s.append("Tournament size: ").append(k).append("\n");
+        s.append("PRNG seed: ").append(prng.getSeed()).append("\n");
+
+        return s.toString();
+    }
+
+    /**
+     * Execute the algorithm. Evaluate the initial population on the workers,
+     * then keep at least one offspring per worker in flight, inserting each
+     * one as soon as its evaluation completes, until numGens * popSize
+     * offspring have been inserted.
+     *
+     * @throws IllegalStateException If an evaluation throws an exception.
+     */
+    @Override
+    public void run() throws IllegalStateException {
+        long start = System.nanoTime();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, getName() + " worker");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        CompletionService<Individual> done = new ExecutorCompletionService<>(workers);
+
+        try {
+            // evaluate the initial population
+            int pending = 0;
+            for (Individual ind : population) {
+                if (ind.isModified()) {
+                    done.submit(evaluation(ind));
+                    pending++;
+                }
+            }
+            for (; pending > 0; pending--) {
+                take(done);
+            }
+            heap = new FitnessHeap(population);
+
+            // offspring objects, and a stack of the ones free for breeding
+            int slots = threads + batchSize - 1;
+            Individual[] free = new Individual[slots];
+            for (int i = 0; i < slots; i++) {
+                free[i] = Individual.copy(population[i % population.length]);
+            }
+            int numFree = slots;
+            Individual[] batch = new Individual[batchSize];
+
+            int n = population.length;
+            long total = (long) numGens * n;
+            long submitted = 0;
+            int inFlight = 0;
+            while (true) {
+                // breed until every worker has an offspring
+                while (inFlight < threads && submitted < total && !stopRequested) {
+                    int b = (int) Math.min(batchSize, total - submitted);
+                    for (int i = 0; i < b; i++) {
+                        batch[i] = free[--numFree];
+                        Individual.copyInto(population[tournament()], batch, i);
+                        batch[i].setModified(false);
+                    }
+                    for (ChunkOperator op : variations) {
+                        op.operate(batch, 0, b, prng);
+                    }
+                    for (int i = 0; i < b; i++) {
+                        // unchanged copies are evaluated too, so each
+                        // submission is one insertion
+                        done.submit(evaluation(batch[i]));
+                        batch[i] = null;
+                    }
+                    inFlight += b;
+                    submitted += b;
+                }
+                if (inFlight == 0) {
+                    break;
+                }
+
+                // insert the next offspring to finish
+                Individual child = take(done);
+                inFlight--;
+                int victim = heap.peekWorst();
+                Individual.copyInto(child, population, victim);
+                heap.update(victim, child.getFitness());
+                free[numFree++] = child;
+
+                long before = births / n;
+                births++;
+                if (births / n > before) {
+                    for (Operator op : operators) {
+                        op.operate(population);
+                    }
+                    generation++;
+                }
+                elapsedNanos = System.nanoTime() - start;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            workers.shutdownNow();
+            elapsedNanos = System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Wrap the evaluation of an individual as a task for the workers, timing
+     * it.
+     *
+     * @param ind Individual to evaluate.
+     * @return Task returning the evaluated individual.
+     */
+    private Callable<Individual> evaluation(final Individual ind) {
+        return new Callable<Individual>() {
+            @Override
+            public Individual call() {
+                long t = System.nanoTime();
+                problem.evaluateIndividual(ind);
+                ind.setModified(false);
+                busyNanos.addAndGet(System.nanoTime() - t);
+                return ind;
+            }
+        };
+    }
+
+    /**
+     * Wait for the next evaluation to complete.
+     *
+     * @param done Completion service of the workers.
+     * @return Evaluated individual.
+     * @throws InterruptedException If interrupted while waiting.
+     * @throws IllegalStateException If the evaluation threw an exception.
+     */
+    private static Individual take(CompletionService<Individual> done)
+            throws InterruptedException, IllegalStateException {
+        try {
+            return done.take().get();
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Evaluation failed", ex.getCause());
+        }
+    }
+
+    /**
+     * Pick a parent with a k-tournament.
+     *
+     * @return Index of the fittest of k randomly chosen individuals.
+     */
+    private int tournament() {
+        int n = population.length;
+        int winner = prng.nextInt(0, n - 1);
+        for (int j = 1; j < k; j++) {
+            int c = prng.nextInt(0, n - 1);
+            if (heap.getFitness(c) > heap.getFitness(winner)) {
+                winner = c;
+            }
+        }
+        return winner;
+    }
+
+    /**
+     * Ask the run to stop breeding; offspring already submitted are still
+     * evaluated and inserted.
+     */
+    public void requestStop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Get the number of generations completed so far.
+     *
+     * @return Completed generations.
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Get the number of offspring inserted into the population so far.
+     *
+     * @return Offspring inserted.
+     */
+    public long getBirths() {
+        return births;
+    }
+
+    /**
+     * Get the fraction of the workers' time spent evaluating, from the start
+     * of the run until now or until the end of the run. The rest is time the
+     * workers waited for the run thread to breed or insert offspring.
+     *
+     * @return Utilization, in [0, 1]; 0 before the run starts.
+     */
+    public double getUtilization() {
+        long elapsed = elapsedNanos;
+        return elapsed == 0 ? 0.0 : Math.min(1.0, (double) busyNanos.get() / (threads * elapsed));
+    }
+
+    /**
+     * Get the total time the workers have spent evaluating.
+     *
+     * @return Evaluation time, in nanoseconds.
+     */
+    public long getBusyNanos() {
+        return busyNanos.get();
+    }
+
+    /**
+     * Get the fittest individual in the population. Call this after the run
+     * has finished.
+     *
+     * @return Fittest individual.
+     */
+    public Individual getBestIndividual() {
+        Individual best = population[0];
+        for (Individual ind : population) {
+            if (ind.getFitness() > best.getFitness()) {
+                best = ind;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Get the population. Individuals that support copyInto() are replaced in
+     * place, so the array elements never change during a run.
+     *
+     * @return The population array.
+     */
+    public Individual[] getPopulation() {
+        return population;
+    }
+}
@@ -0,0 +1,118 @@
+package edu.doane.dugal.dea;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free queue for many producers and a single consumer, after
+ * Vyukov's bounded queue. Each slot has a sequence number that tells
+ * producers and the consumer whose turn it is; producers claim slots with a
+ * compare-and-set on the tail, and offer() fails at once, rather than
+ * waiting, when the queue is full.
+ *
+ * @param <E> Type of the elements.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class BoundedQueue<E> {
+
+    /**
+     * Slots of the ring buffer.
+     */
+    private final AtomicReferenceArray<E> items;
+
+    /**
+     * Sequence number of each slot.
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * Capacity minus one, for wrapping positions into slots.
+     */
+    private final int mask;
+
+    /**
+     * Position of the next slot to fill.
+     */
+    private final AtomicLong tail;
+
+    /**
+     * Position of the next slot to empty; only touched by the consumer.
+     */
+    private long head;
+
+    /**
+     * Create an empty queue.
+     *
+     * @param capacity Minimum capacity; rounded up to a power of two.
+     * @throws IllegalArgumentException If capacity is not positive.
+     */
+    public BoundedQueue(int capacity) throws IllegalArgumentException {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Illegal capacity to BoundedQueue: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        items = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        mask = size - 1;
+        tail = new AtomicLong();
+    }
+
+    /**
+     * Add an element, if there is room. Safe to call from any thread.
+     *
+     * @param e Element to add; must not be null.
+     * @return True if the element was added, false if the queue was full.
+     */
+    public boolean offer(E e) {
+        while (true) {
+            long t = tail.get();
+            int slot = (int) t & mask;
+            long diff = sequences.get(slot) - t;
+            if (diff == 0) {
+                if (tail.compareAndSet(t, t + 1)) {
+                    items.lazySet(slot, e);
+                    sequences.set(slot, t + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+            // otherwise another producer took the slot; try again
+        }
+    }
+
+    /**
+     * Remove the oldest element. Only the consumer thread may call this.
+     *
+     * @return The oldest element, or null if the queue is empty.
+     */
+    public E poll() {
+        int slot = (int) head & mask;
+        if (sequences.get(slot) != head + 1) {
+            return null;
+        }
+        E e = items.get(slot);
+        items.lazySet(slot, null);
+        sequences.set(slot, head + mask + 1);
+        head++;
+        return e;
+    }
+
+    /**
+     * Get the capacity of the queue.
+     *
+     * @return Number of slots.
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+}
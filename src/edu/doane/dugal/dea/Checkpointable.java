@@ -0,0 +1,41 @@
+package edu.doane.dugal.dea;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Interface for operators with state that carries over from one generation
+ * to the next, such as the best-ever individual and generation number kept by
+ * statistics operators, or evaluation counters. When a DEA run is
+ * checkpointed, the state of each Checkpointable operator is saved along with
+ * the population and the PRNG, so that a resumed run continues exactly where
+ * the checkpointed one left off. Operators whose results only depend on the
+ * population and the PRNG don't need to implement this interface.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public interface Checkpointable {
+
+    /**
+     * Write this operator's state.
+     *
+     * @param out Destination for the state.
+     * @param codec Codec for the run's individuals, e.g., for use with
+     * Checkpointer.writeIndividual().
+     * @throws IOException If the state can't be written.
+     */
+    public void saveState(DataOutput out, GenomeCodec codec) throws IOException;
+
+    /**
+     * Restore this operator's state, as written by saveState().
+     *
+     * @param in Source of the state.
+     * @param codec Codec for the run's individuals.
+     * @param problem Problem of the run, e.g., for use with
+     * Checkpointer.readIndividual().
+     * @throws IOException If the state can't be read.
+     */
+    public void loadState(DataInput in, GenomeCodec codec, Problem problem) throws IOException;
+}
@@ -0,0 +1,674 @@
+package edu.doane.dugal.dea;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Class that saves and restores checkpoints of an in-memory DEA run: the
+ * population, the number of generations completed, the state of the PRNG, and
+ * the state of every Checkpointable operator. Give one to a DEA with
+ * setCheckpointer(), and the run is checkpointed every interval generations,
+ * at the end of the run, and when it is stopped with requestStop(). Call
+ * restoreCheckpoint() on a new DEA with the same problem and operators to
+ * pick up from the latest checkpoint with bit-identical results.
+ *
+ * Checkpoints are big-endian binary files, written through a FileChannel
+ * with the run's GenomeCodec, plus one flag byte per individual for its
+ * modified flag. A full checkpoint holds every individual. In incremental
+ * mode, most checkpoints are deltas holding only the individuals whose
+ * records changed since the previous checkpoint, found by hashing each
+ * record; a full checkpoint is written every fullEvery checkpoints, or after a
+ * delta that held more than half the population, and removes the deltas.
+ * Incremental mode pays off when most individuals survive unchanged, e.g., in
+ * converged or steady-state runs. Every file is written under a temporary
+ * name and then renamed into place, so a crash during a checkpoint leaves the
+ * previous one intact.
+ *
+ * File layout: MAGIC, VERSION, kind (byte: 0 full, 1 delta), generations
+ * completed (int), PRNG state (3 longs), population size (int), record size
+ * (int), number of operators (int), then for each operator its class name
+ * (UTF) and the length of its state (int, -1 if not Checkpointable) followed
+ * by the state; then the records, as a flag byte and the record for each
+ * individual, or for deltas an index (int) before each, ending with index -1;
+ * then END_MAGIC.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class Checkpointer {
+
+    /**
+     * Magic number at the start of a checkpoint, "DEAC".
+     */
+    public static final int MAGIC = 0x44454143;
+
+    /**
+     * Magic number at the end of a checkpoint, "DEAE".
+     */
+    public static final int END_MAGIC = 0x44454145;
+
+    /**
+     * Version of the checkpoint format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Size of the I/O buffer, in bytes.
+     */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /**
+     * Path of the full checkpoint; deltas are written next to it, with ".1",
+     * ".2", etc. appended.
+     */
+    private final Path file;
+
+    /**
+     * Codec used to write the individuals.
+     */
+    private final GenomeCodec codec;
+
+    /**
+     * Number of generations between checkpoints.
+     */
+    private int interval;
+
+    /**
+     * Number of checkpoints per full checkpoint in incremental mode, or 1 to
+     * always write full checkpoints.
+     */
+    private int fullEvery;
+
+    /**
+     * Hash of each individual's record as of the latest checkpoint, or null
+     * if there is none.
+     */
+    private long[] hashes;
+
+    /**
+     * Number of deltas written since the latest full checkpoint.
+     */
+    private int deltas;
+
+    /**
+     * True if the latest delta held more than half the population, so the
+     * next checkpoint might as well be full.
+     */
+    private boolean preferFull;
+
+    /**
+     * Number of bytes in the most recent checkpoint file.
+     */
+    private long lastBytes;
+
+    /**
+     * Number of individuals written to the most recent checkpoint file.
+     */
+    private int lastRecords;
+
+    /**
+     * Buffer used for reading and writing records.
+     */
+    private ByteBuffer buf;
+
+    /**
+     * Create a checkpointer that writes full checkpoints.
+     *
+     * @param file Path of the checkpoint file.
+     * @param codec Codec for the run's individuals.
+     * @param interval Number of generations between checkpoints, greater than
+     * 0.
+     * @throws IllegalArgumentException If interval is not positive.
+     */
+    public Checkpointer(Path file, GenomeCodec codec, int interval) throws IllegalArgumentException {
+        this.file = file;
+        this.codec = codec;
+        setInterval(interval);
+        fullEvery = 1;
+    }
+
+    /**
+     * Write a checkpoint, full or incremental.
+     *
+     * @param generation Number of generations completed.
+     * @param population Population of the run.
+     * @param operators Operators of the run, in order.
+     * @throws IOException If the checkpoint can't be written.
+     */
+    void save(int generation, Individual[] population, List<Operator> operators)
+            throws IOException {
+        boolean full = hashes == null || hashes.length != population.length
+                || deltas + 1 >= fullEvery || preferFull;
+        Path target = full ? file : deltaPath(deltas + 1);
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        int size = codec.getRecordSize();
+        if (hashes == null || hashes.length != population.length) {
+            hashes = new long[population.length];
+        }
+
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer b = buffer(size + 5);
+            b.clear();
+            writeFully(ch, ByteBuffer.wrap(header(full, generation, population.length, operators)));
+
+            int written = 0;
+            for (int i = 0; i < population.length; i++) {
+                if (b.remaining() < size + 5) {
+                    b.flip();
+                    writeFully(ch, b);
+                    b.clear();
+                }
+                int start = b.position();
+                if (!full) {
+                    b.putInt(i);
+                }
+                int flagAt = b.position();
+                b.put((byte) (population[i].isModified() ? 1 : 0));
+                codec.encode(population[i], b, b.position());
+                long h = hash(b, flagAt, size + 1);
+                if (full || h != hashes[i]) {
+                    b.position(b.position() + size);
+                    written++;
+                } else {
+                    b.position(start);
+                }
+                hashes[i] = h;
+            }
+            if (b.remaining() < 8) {
+                b.flip();
+                writeFully(ch, b);
+                b.clear();
+            }
+            if (!full) {
+                b.putInt(-1);
+            }
+            b.putInt(END_MAGIC);
+            b.flip();
+            writeFully(ch, b);
+            ch.force(true);
+            lastBytes = ch.size();
+            lastRecords = written;
+        } catch (IOException ex) {
+            // the hashes no longer match what is on disk
+            hashes = null;
+            throw ex;
+        }
+
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        if (full) {
+            for (int d = 1; Files.deleteIfExists(deltaPath(d)); d++) {
+                // remove the deltas of the previous full checkpoint
+            }
+            deltas = 0;
+            preferFull = false;
+        } else {
+            deltas++;
+            preferFull = lastRecords > population.length / 2;
+        }
+    }
+
+    /**
+     * Restore the latest checkpoint into a population and its operators, and
+     * restore the PRNG.
+     *
+     * @param population Population to overwrite; must be the same size as
+     * the checkpointed one, with individuals the codec can decode into.
+     * @param operators Operators of the run, of the same classes and in the
+     * same order as the checkpointed ones.
+     * @param problem Problem of the run, passed to the operators.
+     * @return Number of generations completed, or -1 if there is no
+     * checkpoint.
+     * @throws IOException If the checkpoint can't be read or doesn't match
+     * the run.
+     */
+    int load(Individual[] population, List<Operator> operators, Problem problem)
+            throws IOException {
+        if (!Files.exists(file)) {
+            return -1;
+        }
+
+        int generation = 0;
+        long[] state = null;
+        byte[][] opStates = null;
+        deltas = 0;
+        files:
+        for (int d = 0; d == 0 || Files.exists(deltaPath(d)); d++) {
+            Path p = d == 0 ? file : deltaPath(d);
+            try (FileChannel ch = FileChannel.open(p, StandardOpenOption.READ)) {
+                Reader r = new Reader(ch);
+                if (r.getInt() != MAGIC || r.getInt() != VERSION) {
+                    throw new IOException("Not a DEA checkpoint: " + p);
+                }
+                boolean full = r.get() == 0;
+                if (full != (d == 0)) {
+                    throw new IOException("Unexpected checkpoint kind: " + p);
+                }
+                int g = r.getInt();
+                if (d > 0 && g <= generation) {
+                    // left over from before the latest full checkpoint
+                    break files;
+                }
+                generation = g;
+                state = new long[]{r.getLong(), r.getLong(), r.getLong()};
+                if (r.getInt() != population.length || r.getInt() != codec.getRecordSize()) {
+                    throw new IOException("Checkpoint doesn't match the population: " + p);
+                }
+                int ops = r.getInt();
+                if (ops != operators.size()) {
+                    throw new IOException("Checkpoint doesn't match the operators: " + p);
+                }
+                opStates = new byte[ops][];
+                for (int j = 0; j < ops; j++) {
+                    String name = r.getUTF();
+                    if (!name.equals(operators.get(j).getClass().getName())) {
+                        throw new IOException("Checkpoint has operator " + name + " where the run has "
+                                + operators.get(j).getClass().getName() + ": " + p);
+                    }
+                    int len = r.getInt();
+                    opStates[j] = len < 0 ? null : r.getBytes(len);
+                }
+
+                int size = codec.getRecordSize();
+                int i = full ? 0 : r.getInt();
+                while (full ? i < population.length : i >= 0) {
+                    ByteBuffer b = r.need(size + 1);
+                    int at = b.position();
+                    boolean modified = b.get(at) != 0;
+                    codec.decode(b, at + 1, population[i]);
+                    population[i].setModified(modified);
+                    b.position(at + size + 1);
+                    i = full ? i + 1 : r.getInt();
+                }
+                if (r.getInt() != END_MAGIC) {
+                    throw new IOException("Truncated checkpoint: " + p);
+                }
+            }
+            if (d > 0) {
+                deltas = d;
+            }
+        }
+
+        // operator state, from the latest file; then the PRNG, since
+        // restoring operators may create individuals
+        for (int j = 0; j < operators.size(); j++) {
+            Operator op = operators.get(j);
+            if (op instanceof Checkpointable && opStates[j] != null) {
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(opStates[j]));
+                ((Checkpointable) op).loadState(in, codec, problem);
+            }
+        }
+        PRNG.getInstance().setState(state);
+
+        // hashes of the restored records, so incremental checkpoints continue
+        int size = codec.getRecordSize();
+        hashes = new long[population.length];
+        ByteBuffer b = buffer(size + 5);
+        for (int i = 0; i < population.length; i++) {
+            b.clear();
+            b.put((byte) (population[i].isModified() ? 1 : 0));
+            codec.encode(population[i], b, 1);
+            hashes[i] = hash(b, 0, size + 1);
+        }
+        return generation;
+    }
+
+    /**
+     * Build the header and operator states of a checkpoint.
+     *
+     * @param full True for a full checkpoint, false for a delta.
+     * @param generation Number of generations completed.
+     * @param popSize Population size.
+     * @param operators Operators of the run.
+     * @return Bytes of the header.
+     * @throws IOException If an operator can't save its state.
+     */
+    private byte[] header(boolean full, int generation, int popSize, List<Operator> operators)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeByte(full ? 0 : 1);
+        out.writeInt(generation);
+        for (long l : PRNG.getInstance().getState()) {
+            out.writeLong(l);
+        }
+        out.writeInt(popSize);
+        out.writeInt(codec.getRecordSize());
+        out.writeInt(operators.size());
+        for (Operator op : operators) {
+            out.writeUTF(op.getClass().getName());
+            if (op instanceof Checkpointable) {
+                ByteArrayOutputStream state = new ByteArrayOutputStream();
+                DataOutputStream so = new DataOutputStream(state);
+                ((Checkpointable) op).saveState(so, codec);
+                so.flush();
+                out.writeInt(state.size());
+                out.write(state.toByteArray());
+            } else {
+                out.writeInt(-1);
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Get the I/O buffer, making sure it can hold at least one entry.
+     *
+     * @param entry Size of one entry, in bytes.
+     * @return Big-endian buffer.
+     */
+    private ByteBuffer buffer(int entry) {
+        if (buf == null || buf.capacity() < entry) {
+            buf = ByteBuffer.allocateDirect(Math.max(BUFFER_SIZE, entry))
+                    .order(ByteOrder.BIG_ENDIAN);
+        }
+        return buf;
+    }
+
+    /**
+     * Path of a delta checkpoint.
+     *
+     * @param d Number of the delta, starting at 1.
+     * @return Path of the delta.
+     */
+    private Path deltaPath(int d) {
+        return file.resolveSibling(file.getFileName() + "." + d);
+    }
+
+    /**
+     * Write all of a buffer to a channel.
+     *
+     * @param ch Channel to write to.
+     * @param b Buffer to write, from its position to its limit.
+     * @throws IOException If the write fails.
+     */
+    private static void writeFully(FileChannel ch, ByteBuffer b) throws IOException {
+        while (b.hasRemaining()) {
+            ch.write(b);
+        }
+    }
+
+    /**
+     * Hash a range of bytes in a buffer.
+     *
+     * @param b Buffer holding the bytes.
+     * @param offset Offset of the first byte.
+     * @param length Number of bytes.
+     * @return 64-bit hash of the bytes.
+     */
+    private static long hash(ByteBuffer b, int offset, int length) {
+        long h = 0x9e3779b97f4a7c15L ^ length;
+        int i = 0;
+        for (; i + 8 <= length; i += 8) {
+            h = Long.rotateLeft(h ^ b.getLong(offset + i) * 0xbf58476d1ce4e5b9L, 31)
+                    * 0x94d049bb133111ebL;
+        }
+        for (; i < length; i++) {
+            h = (h ^ (b.get(offset + i) & 0xff)) * 0x100000001b3L;
+        }
+        h ^= h >>> 32;
+        h *= 0xbf58476d1ce4e5b9L;
+        return h ^ (h >>> 29);
+    }
+
+    /**
+     * Write an individual, or null, for use by Checkpointable operators.
+     *
+     * @param out Destination.
+     * @param codec Codec for the individual.
+     * @param ind Individual to write, or null.
+     * @throws IOException If the individual can't be written.
+     */
+    public static void writeIndividual(DataOutput out, GenomeCodec codec, Individual ind)
+            throws IOException {
+        out.writeBoolean(ind != null);
+        if (ind != null) {
+            ByteBuffer b = ByteBuffer.allocate(codec.getRecordSize());
+            codec.encode(ind, b, 0);
+            out.write(b.array());
+            out.writeBoolean(ind.isModified());
+        }
+    }
+
+    /**
+     * Read an individual written by writeIndividual(), into a new individual
+     * made by the problem.
+     *
+     * @param in Source.
+     * @param codec Codec for the individual.
+     * @param problem Problem used to create the individual.
+     * @return The individual, or null if null was written.
+     * @throws IOException If the individual can't be read.
+     */
+    public static Individual readIndividual(DataInput in, GenomeCodec codec, Problem problem)
+            throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        byte[] bytes = new byte[codec.getRecordSize()];
+        in.readFully(bytes);
+        Individual ind = problem.createRandomIndividual();
+        codec.decode(ByteBuffer.wrap(bytes), 0, ind);
+        ind.setModified(in.readBoolean());
+        return ind;
+    }
+
+    /**
+     * Get the path of the full checkpoint.
+     *
+     * @return Checkpoint path.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Get the codec used to write the individuals.
+     *
+     * @return Genome codec.
+     */
+    public GenomeCodec getCodec() {
+        return codec;
+    }
+
+    /**
+     * Get the number of generations between checkpoints.
+     *
+     * @return Checkpoint interval.
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Set the number of generations between checkpoints.
+     *
+     * @param interval Checkpoint interval, greater than 0.
+     * @throws IllegalArgumentException If the parameter is not positive.
+     */
+    final public void setInterval(int interval) throws IllegalArgumentException {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Illegal interval to setInterval: " + interval);
+        }
+        this.interval = interval;
+    }
+
+    /**
+     * Get the number of checkpoints per full checkpoint.
+     *
+     * @return Full checkpoint frequency; 1 if every checkpoint is full.
+     */
+    public int getFullEvery() {
+        return fullEvery;
+    }
+
+    /**
+     * Turn incremental checkpoints on or off. With fullEvery greater than 1,
+     * only one checkpoint in fullEvery is full; the others hold just the
+     * individuals that changed since the checkpoint before.
+     *
+     * @param fullEvery Number of checkpoints per full checkpoint; 1 to always
+     * write full checkpoints.
+     * @throws IllegalArgumentException If the parameter is not positive.
+     */
+    public void setFullEvery(int fullEvery) throws IllegalArgumentException {
+        if (fullEvery <= 0) {
+            throw new IllegalArgumentException("Illegal fullEvery to setFullEvery: " + fullEvery);
+        }
+        this.fullEvery = fullEvery;
+    }
+
+    /**
+     * Get the size of the most recent checkpoint file.
+     *
+     * @return Number of bytes written.
+     */
+    public long getLastBytes() {
+        return lastBytes;
+    }
+
+    /**
+     * Get the number of individuals in the most recent checkpoint file.
+     *
+     * @return Number of records written.
+     */
+    public int getLastRecords() {
+        return lastRecords;
+    }
+
+    @Override
+    public String toString() {
+        return "Checkpointer, file = " + file + ", interval = " + interval
+                + (fullEvery > 1 ? ", full every " + fullEvery : "");
+    }
+
+    /**
+     * Buffered, big-endian reader over a file channel.
+     */
+    private class Reader {
+
+        /**
+         * Channel to read from.
+         */
+        private final FileChannel ch;
+
+        /**
+         * Buffer of bytes read but not yet used.
+         */
+        private final ByteBuffer b;
+
+        /**
+         * Create a reader.
+         *
+         * @param ch Channel to read from.
+         */
+        Reader(FileChannel ch) {
+            this.ch = ch;
+            b = buffer(codec.getRecordSize() + 5);
+            b.clear();
+            b.flip();
+        }
+
+        /**
+         * Make sure at least n bytes are buffered.
+         *
+         * @param n Number of bytes needed; no more than the buffer size.
+         * @return The buffer, positioned at the first needed byte.
+         * @throws IOException If the channel ends first.
+         */
+        ByteBuffer need(int n) throws IOException {
+            if (b.remaining() < n) {
+                b.compact();
+                while (b.position() < n) {
+                    if (ch.read(b) < 0) {
+                        throw new EOFException("Truncated checkpoint");
+                    }
+                }
+                b.flip();
+            }
+            return b;
+        }
+
+        /**
+         * Read a byte.
+         *
+         * @return The byte.
+         * @throws IOException If the channel ends first.
+         */
+        byte get() throws IOException {
+            return need(1).get();
+        }
+
+        /**
+         * Read an int.
+         *
+         * @return The int.
+         * @throws IOException If the channel ends first.
+         */
+        int getInt() throws IOException {
+            return need(4).getInt();
+        }
+
+        /**
+         * Read a long.
+         *
+         * @return The long.
+         * @throws IOException If the channel ends first.
+         */
+        long getLong() throws IOException {
+            return need(8).getLong();
+        }
+
+        /**
+         * Read a block of bytes of any length.
+         *
+         * @param len Number of bytes.
+         * @return The bytes.
+         * @throws IOException If the channel ends first.
+         */
+        byte[] getBytes(int len) throws IOException {
+            byte[] out = new byte[len];
+            int done = 0;
+            while (done < len) {
+                ByteBuffer src = need(1);
+                int n = Math.min(len - done, src.remaining());
+                src.get(out, done, n);
+                done += n;
+            }
+            return out;
+        }
+
+        /**
+         * Read a string written by DataOutput.writeUTF().
+         *
+         * @return The string.
+         * @throws IOException If the channel ends first.
+         */
+        String getUTF() throws IOException {
+            int len = need(2).getShort() & 0xffff;
+            byte[] framed = new byte[len + 2];
+            framed[0] = (byte) (len >>> 8);
+            framed[1] = (byte) len;
+            System.arraycopy(getBytes(len), 0, framed, 2, len);
+            return new DataInputStream(new ByteArrayInputStream(framed)).readUTF();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package edu.doane.dugal.dea;
+
+/**
+ * Interface for operators that can work on a population one chunk at a time.
+ * When the DEA streams an out-of-core population through its operators, it
+ * calls beginPass() before the first chunk, operate() once per chunk, and
+ * endPass() after the last chunk, so that operators such as statistics can
+ * accumulate over the whole population and report once. In fused mode, the
+ * DEA does the same for ChunkOperators that are also ChunkAware, whose chunks
+ * may then be processed concurrently.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public interface ChunkAware {
+
+    /**
+     * Start a pass over the population; the following calls to operate()
+     * each see one chunk of it.
+     *
+     * @param populationSize Number of individuals in the whole population.
+     */
+    public void beginPass(long populationSize);
+
+    /**
+     * Finish a pass over the population.
+     */
+    public void endPass();
+}
@@ -0,0 +1,30 @@
+package edu.doane.dugal.dea;
+
+/**
+ * Interface for per-individual operators, such as crossover, mutation, and
+ * evaluation, that can work on one chunk of a population at a time, with a
+ * random number stream of their own. In its fused mode, the DEA runs
+ * consecutive ChunkOperators back to back on each chunk, on a worker thread,
+ * while the chunk is still in cache, instead of making one pass over the
+ * whole population per operator.
+ *
+ * Implementations must only touch the individuals in the chunk, must not
+ * replace elements of the population array, and must draw random numbers only
+ * from the PRNG they are given, since several chunks are processed at once.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public interface ChunkOperator extends Operator {
+
+    /**
+     * Perform this operation on one chunk of the population.
+     *
+     * @param population Array of Individual objects, representing the
+     * population for the evolutionary algorithm.
+     * @param start Index of the first individual in the chunk.
+     * @param end Index one past the last individual in the chunk.
+     * @param prng Random number generator for this chunk only.
+     */
+    public void operate(Individual[] population, int start, int end, PRNG prng);
+}
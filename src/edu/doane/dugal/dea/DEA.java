@@ -1,14 +1,43 @@
 package edu.doane.dugal.dea;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Main class in the Doane Evolutionary Algorithm. Create a DEA object with your
  * problem, population size, and number of generations, add operators, and start
  * it up!
  *
+ * For populations too large for memory, create the DEA with a
+ * MappedPopulation instead. The run then streams the population through the
+ * operators one chunk at a time: consecutive operators other than selection
+ * form a stage, and each chunk of individuals is read from the file, passed
+ * through every operator in the stage, and written back. Operators that
+ * implement ChunkAware are told when each pass starts and ends. Selection
+ * operators must implement IndexSelection; they choose parents from the
+ * in-memory fitness index, and the records are then rearranged on disk.
+ *
+ * In fused mode, turned on with setFusedChunkSize(), consecutive operators
+ * that implement ChunkOperator, e.g., crossover, mutation, and evaluation, are
+ * run back to back on one chunk of the population at a time, on the threads
+ * of a fork/join pool, so each chunk is walked while it is still in cache.
+ * ChunkOperators that also implement ChunkAware, such as StandardStats, are
+ * told when each fused pass starts and ends. Other operators, such as
+ * selection, remain barriers that see the whole population.
+ *
+ * In-memory runs can be checkpointed with a Checkpointer, given with
+ * setCheckpointer(). A new DEA set up the same way can then call
+ * restoreCheckpoint() to pick up from the latest checkpoint and continue with
+ * identical results. requestStop() ends a run after the current generation,
+ * writing a final checkpoint, and setCheckpointOnShutdown() does the same when
+ * the JVM is shut down, e.g., on preemptible machines.
+ *
  * @author Mark M. Meysenburg
- * @version 12/28/2014
+ * @version 10/18/2026
  */
 public class DEA extends Thread {
 
@@ -23,6 +52,34 @@ public class DEA extends Thread {
      */
     private final Individual[] population;
 
+    /**
+     * Out-of-core population, or null if the population is in memory.
+     */
+    private final MappedPopulation mapped;
+
+    /**
+     * Off-heap population whose views make up the population, held for the
+     * length of the run; or null.
+     */
+    private final OffHeapPopulation offHeap;
+
+    /**
+     * Number of individuals per chunk, for out-of-core runs.
+     */
+    private final int chunkSize;
+
+    /**
+     * Number of individuals per chunk in fused mode, or 0 if fused mode is
+     * off.
+     */
+    private int fusedChunkSize;
+
+    /**
+     * Fork/join pool used in fused mode; created on first use, and shut down
+     * at the end of the run.
+     */
+    private ForkJoinPool pool;
+
     /**
      * List of operators to apply to the population each generation.
      */
@@ -33,6 +90,38 @@ public class DEA extends Thread {
      */
     private final int numGens;
 
+    /**
+     * Number of generations completed so far.
+     */
+    private int generation;
+
+    /**
+     * Checkpointer for the run, or null if the run isn't checkpointed.
+     */
+    private Checkpointer checkpointer;
+
+    /**
+     * True to write a final checkpoint when the JVM shuts down.
+     */
+    private boolean checkpointOnShutdown;
+
+    /**
+     * Longest time the shutdown hook waits for the final checkpoint, in
+     * milliseconds.
+     */
+    private long shutdownMillis;
+
+    /**
+     * True once the run has been asked to stop after the current generation.
+     */
+    private volatile boolean stopRequested;
+
+    /**
+     * Random number stream bound to the run's thread, or null to use the
+     * shared PRNG.
+     */
+    private PRNG prng;
+
     /**
      * Create a new DEA object.
      *
@@ -50,6 +139,86 @@ public class DEA extends Thread {
         }
 
         this.numGens = numGens;
+        mapped = null;
+        offHeap = null;
+        chunkSize = 0;
+
+        operators = new ArrayList<>();
+    }
+
+    /**
+     * Create a new DEA object that works on an existing population, such as
+     * the views created by a DoublePopulation, instead of creating a random
+     * one from the problem. For an OffHeapPopulation, pass the population
+     * itself instead of its views, so it can't be closed during the run.
+     *
+     * @param problem Problem to solve.
+     * @param population Initial population; the array is used as-is.
+     * @param numGens Number of generations to execute.
+     */
+    public DEA(Problem problem, Individual[] population, int numGens) {
+        this(problem, population, null, numGens);
+    }
+
+    /**
+     * Create a new DEA object that works on the views of an off-heap
+     * population. The population is held while the DEA runs, so close()
+     * refuses to release its memory until the run is over.
+     *
+     * @param problem Problem to solve.
+     * @param population Off-heap population.
+     * @param numGens Number of generations to execute.
+     */
+    public DEA(Problem problem, OffHeapPopulation population, int numGens) {
+        this(problem, population.getPopulation(), population, numGens);
+    }
+
+    /**
+     * Create a new DEA object that works on an existing population.
+     *
+     * @param problem Problem to solve.
+     * @param population Initial population; the array is used as-is.
+     * @param offHeap Off-heap population the views belong to, or null.
+     * @param numGens Number of generations to execute.
+     */
+    private DEA(Problem problem, Individual[] population, OffHeapPopulation offHeap,
+            int numGens) {
+        this.problem = problem;
+        this.population = population;
+        this.offHeap = offHeap;
+        this.numGens = numGens;
+        mapped = null;
+        chunkSize = 0;
+
+        operators = new ArrayList<>();
+    }
+
+    /**
+     * Create a new DEA object that works on an out-of-core population, kept in
+     * a memory-mapped file. Individuals are streamed through the operators
+     * chunkSize at a time, so crossover only mates individuals within the same
+     * chunk, and selection operators must implement IndexSelection. The
+     * population is held while the DEA runs, so it can't be closed mid-run.
+     *
+     * @param problem Problem to solve; its random individuals are used as the
+     * reusable chunk buffer.
+     * @param population Out-of-core population.
+     * @param numGens Number of generations to execute.
+     * @param chunkSize Number of individuals in memory at once; must be greater
+     * than 0.
+     * @throws IllegalArgumentException If chunkSize is not positive.
+     */
+    public DEA(Problem problem, MappedPopulation population, int numGens,
+            int chunkSize) throws IllegalArgumentException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Illegal chunkSize to DEA: " + chunkSize);
+        }
+        this.problem = problem;
+        this.population = null;
+        this.numGens = numGens;
+        mapped = population;
+        offHeap = null;
+        this.chunkSize = chunkSize;
 
         operators = new ArrayList<>();
     }
@@ -66,6 +235,33 @@ public class DEA extends Thread {
         operators.add(op);
     }
 
+    /**
+     * Turn fused mode on or off. In fused mode, runs of consecutive
+     * ChunkOperators are applied chunk by chunk, in parallel, instead of one
+     * operator at a time over the whole population. Ignored for out-of-core
+     * runs, which are already streamed in chunks.
+     *
+     * @param fusedChunkSize Number of individuals per chunk, e.g., a few
+     * thousand, so that a chunk fits in cache; 0 turns fused mode off.
+     * @throws IllegalArgumentException If the parameter is negative.
+     */
+    public void setFusedChunkSize(int fusedChunkSize) throws IllegalArgumentException {
+        if (fusedChunkSize < 0) {
+            throw new IllegalArgumentException("Illegal fusedChunkSize to setFusedChunkSize: "
+                    + fusedChunkSize);
+        }
+        this.fusedChunkSize = fusedChunkSize;
+    }
+
+    /**
+     * Get the number of individuals per chunk in fused mode.
+     *
+     * @return Chunk size, or 0 if fused mode is off.
+     */
+    public int getFusedChunkSize() {
+        return fusedChunkSize;
+    }
+
     /**
      * Get the tableau for a run of the DEA, as a String. The tableau includes
      * information on population size, number of generations, characteristics of
@@ -82,9 +278,13 @@ public class DEA extends Thread {
         for (Operator op : operators) {
             s.append("\t").append(op.toString()).append("\n");
         }
-        s.append("Population size: ").append(population.length).append("\n");
+        s.append("Population size: ").append(
+                mapped == null ? population.length : mapped.getPopSize()).append("\n");
         s.append("Generations: ").append(numGens).append("\n");
-        PRNG p = PRNG.getInstance();
+        if (mapped == null && fusedChunkSize > 0) {
+            s.append("Fused chunk size: ").append(fusedChunkSize).append("\n");
+        }
+        PRNG p = prng == null ? PRNG.getInstance() : prng;
         s.append("PRNG seed: ").append(p.getSeed()).append("\n");
 
         return s.toString();
@@ -96,13 +296,332 @@ public class DEA extends Thread {
      */
     @Override
     public void run() {
-        for (int gen = 0; gen < numGens; gen++) {
-            for (Operator op : operators) {
-                op.operate(population);
+        if (prng != null) {
+            PRNG.setThreadInstance(prng);
+        }
+        if (mapped != null) {
+            mapped.hold();
+            try {
+                runOutOfCore();
+            } finally {
+                mapped.release();
+            }
+            return;
+        }
+
+        Thread hook = null;
+        if (checkpointOnShutdown && checkpointer != null) {
+            hook = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    requestStop();
+                    try {
+                        DEA.this.join(shutdownMillis);
+                    } catch (InterruptedException ex) {
+                        // shutting down anyway
+                    }
+                }
+            }, "DEA checkpoint on shutdown");
+            Runtime.getRuntime().addShutdownHook(hook);
+        }
+
+        if (offHeap != null) {
+            offHeap.hold();
+        }
+        try {
+            while (generation < numGens && !stopRequested) {
+                if (fusedChunkSize > 0) {
+                    fusedGeneration();
+                } else {
+                    for (Operator op : operators) {
+                        op.operate(population);
+                    } // for operators
+                }
+                generation++;
+
+                if (checkpointer != null && (generation % checkpointer.getInterval() == 0
+                        || generation == numGens || stopRequested)) {
+                    checkpoint();
+                }
+            } // while gens
+        } finally {
+            if (offHeap != null) {
+                offHeap.release();
+            }
+            if (pool != null) {
+                pool.shutdown();
+                pool = null;
+            }
+            if (hook != null) {
+                try {
+                    Runtime.getRuntime().removeShutdownHook(hook);
+                } catch (IllegalStateException ex) {
+                    // the JVM is already shutting down; the hook is waiting
+                }
+            }
+        }
+    }
+
+    /**
+     * Write a checkpoint of the run. A failed checkpoint is logged, and the
+     * run continues.
+     */
+    private void checkpoint() {
+        try {
+            checkpointer.save(generation, population, operators);
+        } catch (IOException ex) {
+            Logger.getLogger(DEA.class.getName()).log(Level.WARNING,
+                    "Checkpoint after generation " + generation + " failed", ex);
+        }
+    }
+
+    /**
+     * Restore the latest checkpoint of this run's Checkpointer: the
+     * population, the number of generations completed, the state of the PRNG
+     * and of every Checkpointable operator. Call this after adding the same
+     * operators, in the same order, as the checkpointed run, and before
+     * start(); the run then picks up after the checkpointed generation.
+     *
+     * @return True if a checkpoint was restored, false if there was none.
+     * @throws IOException If the checkpoint can't be read or doesn't match
+     * this run.
+     * @throws IllegalStateException If no Checkpointer has been set.
+     */
+    public boolean restoreCheckpoint() throws IOException, IllegalStateException {
+        if (checkpointer == null) {
+            throw new IllegalStateException("No checkpointer to resume from");
+        }
+        int g;
+        if (prng == null) {
+            g = checkpointer.load(population, operators, problem);
+        } else {
+            // restore into this run's stream rather than the shared one
+            PRNG.setThreadInstance(prng);
+            try {
+                g = checkpointer.load(population, operators, problem);
+            } finally {
+                PRNG.setThreadInstance(null);
+            }
+        }
+        if (g < 0) {
+            return false;
+        }
+        generation = g;
+        return true;
+    }
+
+    /**
+     * Ask the run to stop at the end of the current generation, after
+     * writing a checkpoint if it is checkpointed. Safe to call from any
+     * thread.
+     */
+    public void requestStop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Set the Checkpointer used to checkpoint and resume this run.
+     *
+     * @param checkpointer Checkpointer, or null to turn checkpointing off.
+     * @throws IllegalStateException If this is an out-of-core run.
+     */
+    public void setCheckpointer(Checkpointer checkpointer) throws IllegalStateException {
+        if (mapped != null && checkpointer != null) {
+            throw new IllegalStateException("Out-of-core runs can't be checkpointed");
+        }
+        this.checkpointer = checkpointer;
+    }
+
+    /**
+     * Get the Checkpointer used by this run.
+     *
+     * @return Checkpointer, or null if the run isn't checkpointed.
+     */
+    public Checkpointer getCheckpointer() {
+        return checkpointer;
+    }
+
+    /**
+     * Write a final checkpoint when the JVM shuts down, e.g., on SIGTERM. The
+     * shutdown hook asks the run to stop, and waits for the current
+     * generation and its checkpoint to finish, for up to the specified time.
+     * Has no effect unless a Checkpointer is set.
+     *
+     * @param checkpointOnShutdown True to checkpoint on shutdown.
+     * @param shutdownMillis Longest time to wait for the final checkpoint, in
+     * milliseconds; 0 waits as long as it takes.
+     */
+    public void setCheckpointOnShutdown(boolean checkpointOnShutdown, long shutdownMillis) {
+        this.checkpointOnShutdown = checkpointOnShutdown;
+        this.shutdownMillis = shutdownMillis;
+    }
+
+    /**
+     * Set the random number stream for this run. The stream is bound to the
+     * run's thread with PRNG.setThreadInstance(), so code that calls
+     * PRNG.getInstance() while the run is going, such as fused mode, copy
+     * constructors, and checkpoints, uses it instead of the shared PRNG.
+     * Operators and individuals that keep the PRNG they were created with
+     * should be created while the same stream is bound, as IslandModel does.
+     *
+     * @param prng Stream for this run, e.g., from PRNG.split(), or null to use
+     * the shared PRNG.
+     */
+    public void setPRNG(PRNG prng) {
+        this.prng = prng;
+    }
+
+    /**
+     * Get the random number stream for this run.
+     *
+     * @return Stream bound to the run's thread, or null if the run uses the
+     * shared PRNG.
+     */
+    public PRNG getPRNG() {
+        return prng;
+    }
+
+    /**
+     * Get the number of generations completed so far, including those
+     * restored from a checkpoint.
+     *
+     * @return Number of generations completed.
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Execute one generation in fused mode. Runs of consecutive
+     * ChunkOperators are applied chunk by chunk on the pool, between calls to
+     * beginPass() and endPass() for those that are ChunkAware; other
+     * operators are applied to the whole population.
+     */
+    private void fusedGeneration() {
+        if (pool == null) {
+            pool = new ForkJoinPool();
+        }
+        PRNG prng = PRNG.getInstance();
+
+        int first = 0;
+        while (first < operators.size()) {
+            if (!(operators.get(first) instanceof ChunkOperator)) {
+                operators.get(first).operate(population);
+                first++;
+            } else {
+                int last = first;
+                while (last < operators.size()
+                        && operators.get(last) instanceof ChunkOperator) {
+                    last++;
+                }
+                final ChunkOperator[] stage = operators.subList(first, last)
+                        .toArray(new ChunkOperator[last - first]);
+                for (ChunkOperator op : stage) {
+                    if (op instanceof ChunkAware) {
+                        ((ChunkAware) op).beginPass(population.length);
+                    }
+                }
+                pool.invoke(new PartitionTask(new PartitionTask.Kernel() {
+                    @Override
+                    public void apply(int start, int end, PRNG rng) {
+                        for (ChunkOperator op : stage) {
+                            op.operate(population, start, end, rng);
+                        }
+                    }
+                }, prng.split(prng.nextLong()), population.length, fusedChunkSize));
+                for (ChunkOperator op : stage) {
+                    if (op instanceof ChunkAware) {
+                        ((ChunkAware) op).endPass();
+                    }
+                }
+                first = last;
+            }
+        } // for operators
+    }
+
+    /**
+     * Execute the algorithm on an out-of-core population. Each generation, the
+     * operator list is split into streamed stages, separated by selection
+     * operators. As with in-memory runs, requestStop() ends the run after the
+     * current generation.
+     */
+    private void runOutOfCore() {
+        int n = mapped.getPopSize();
+        Individual[] chunk = new Individual[Math.min(chunkSize, n)];
+        for (int i = 0; i < chunk.length; i++) {
+            chunk[i] = problem.createRandomIndividual();
+        }
+        int tail = n % chunk.length;
+        Individual[] tailChunk = tail == 0 ? chunk : Arrays.copyOf(chunk, tail);
+        int[] parents = new int[n];
+
+        while (generation < numGens && !stopRequested) {
+            int first = 0;
+            while (first < operators.size()) {
+                Operator op = operators.get(first);
+                if (op instanceof IndexSelection) {
+                    ((IndexSelection) op).select(mapped.getFitnessIndex(), parents);
+                    mapped.reorder(parents);
+                    first++;
+                } else {
+                    int last = first;
+                    while (last < operators.size()
+                            && !(operators.get(last) instanceof IndexSelection)) {
+                        last++;
+                    }
+                    stream(first, last, chunk, tailChunk);
+                    first = last;
+                }
             } // for operators
-        } // for gens
+            generation++;
+        } // while gens
+    }
+
+    /**
+     * Stream the out-of-core population through a stage of operators, one
+     * chunk at a time.
+     *
+     * @param first Index of the first operator in the stage.
+     * @param last Index one past the last operator in the stage.
+     * @param chunk Reusable chunk of individuals.
+     * @param tailChunk Reusable chunk for the last, partial chunk, or chunk
+     * itself if the chunk size divides the population size.
+     */
+    private void stream(int first, int last, Individual[] chunk,
+            Individual[] tailChunk) {
+        int n = mapped.getPopSize();
+        for (int j = first; j < last; j++) {
+            if (operators.get(j) instanceof ChunkAware) {
+                ((ChunkAware) operators.get(j)).beginPass(n);
+            }
+        }
+
+        for (int start = 0; start < n; start += chunk.length) {
+            Individual[] c = n - start < chunk.length ? tailChunk : chunk;
+            for (int i = 0; i < c.length; i++) {
+                mapped.read(start + i, c[i]);
+            }
+            for (int j = first; j < last; j++) {
+                operators.get(j).operate(c);
+            }
+            for (int i = 0; i < c.length; i++) {
+                mapped.write(start + i, c[i]);
+            }
+        }
+
+        for (int j = first; j < last; j++) {
+            if (operators.get(j) instanceof ChunkAware) {
+                ((ChunkAware) operators.get(j)).endPass();
+            }
+        }
     }
-    
+
+    /**
+     * Get the population. For out-of-core runs, use the MappedPopulation
+     * instead; this method returns null.
+     *
+     * @return Array of Individuals in the population.
+     */
     public Individual[] getPopulation() {
         return population;
     }
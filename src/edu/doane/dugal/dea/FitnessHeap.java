@@ -0,0 +1,154 @@
+package edu.doane.dugal.dea;
+
+/**
+ * Indexed binary min-heap over the fitness of a population, so the least fit
+ * individual can be found in constant time, and the heap repaired in
+ * O(log n) time when one individual's fitness changes. Each individual is
+ * identified by its index in the population, and the heap keeps its own copy
+ * of the fitness values it was last told about.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class FitnessHeap {
+
+    /**
+     * Population indexes, in heap order.
+     */
+    private final int[] heap;
+
+    /**
+     * Position of each population index in the heap.
+     */
+    private final int[] positions;
+
+    /**
+     * Fitness of each population index, as of its last update.
+     */
+    private final double[] fitness;
+
+    /**
+     * Build a heap over the current fitness of every individual in a
+     * population, in O(n) time.
+     *
+     * @param population Population to index.
+     */
+    public FitnessHeap(Individual[] population) {
+        int n = population.length;
+        heap = new int[n];
+        positions = new int[n];
+        fitness = new double[n];
+        for (int i = 0; i < n; i++) {
+            heap[i] = i;
+            positions[i] = i;
+            fitness[i] = population[i].getFitness();
+        }
+        for (int p = n / 2 - 1; p >= 0; p--) {
+            siftDown(p);
+        }
+    }
+
+    /**
+     * Get the index of the least fit individual.
+     *
+     * @return Population index with the smallest fitness.
+     * @throws IllegalStateException If the heap is empty.
+     */
+    public int peekWorst() throws IllegalStateException {
+        if (heap.length == 0) {
+            throw new IllegalStateException("Empty fitness heap");
+        }
+        return heap[0];
+    }
+
+    /**
+     * Record a new fitness for one individual, and repair the heap.
+     *
+     * @param index Population index of the individual.
+     * @param f Its new fitness.
+     */
+    public void update(int index, double f) {
+        double old = fitness[index];
+        fitness[index] = f;
+        if (f < old) {
+            siftUp(positions[index]);
+        } else {
+            siftDown(positions[index]);
+        }
+    }
+
+    /**
+     * Get the fitness the heap holds for one individual.
+     *
+     * @param index Population index of the individual.
+     * @return Fitness as of its last update.
+     */
+    public double getFitness(int index) {
+        return fitness[index];
+    }
+
+    /**
+     * Get the number of individuals in the heap.
+     *
+     * @return Population size.
+     */
+    public int size() {
+        return heap.length;
+    }
+
+    /**
+     * Move an entry up until its parent is no larger.
+     *
+     * @param p Heap position of the entry.
+     */
+    private void siftUp(int p) {
+        int index = heap[p];
+        double f = fitness[index];
+        while (p > 0) {
+            int parent = (p - 1) >>> 1;
+            if (!(f < fitness[heap[parent]])) {
+                break;
+            }
+            place(p, heap[parent]);
+            p = parent;
+        }
+        place(p, index);
+    }
+
+    /**
+     * Move an entry down until its children are no smaller.
+     *
+     * @param p Heap position of the entry.
+     */
+    private void siftDown(int p) {
+        int n = heap.length;
+        int index = heap[p];
+        double f = fitness[index];
+        while (true) {
+            int child = 2 * p + 1;
+            if (child >= n) {
+                break;
+            }
+            if (child + 1 < n && fitness[heap[child + 1]] < fitness[heap[child]]) {
+                child++;
+            }
+            if (!(fitness[heap[child]] < f)) {
+                break;
+            }
+            place(p, heap[child]);
+            p = child;
+        }
+        place(p, index);
+    }
+
+    /**
+     * Put a population index at a heap position.
+     *
+     * @param p Heap position.
+     * @param index Population index.
+     */
+    private void place(int p, int index) {
+        heap[p] = index;
+        positions[index] = p;
+    }
+}
@@ -0,0 +1,44 @@
+package edu.doane.dugal.dea;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Interface for classes that know how to turn one kind of Individual into a
+ * fixed-size binary record and back again. Records include the fitness, so an
+ * Individual survives a round trip unchanged. Codecs let populations live in
+ * files, shared memory, or network messages, e.g., the out-of-core populations
+ * of MappedPopulation.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public interface GenomeCodec {
+
+    /**
+     * Get the number of bytes in one record.
+     *
+     * @return Record size in bytes.
+     */
+    public int getRecordSize();
+
+    /**
+     * Write an Individual's record into a buffer, at the specified offset. The
+     * buffer's position is not changed.
+     *
+     * @param ind Individual to encode.
+     * @param buf Buffer to write to.
+     * @param offset Byte offset of the record in the buffer.
+     */
+    public void encode(Individual ind, ByteBuffer buf, int offset);
+
+    /**
+     * Read a record from a buffer into an existing Individual of the right
+     * type and length, overwriting its genome and fitness. The buffer's
+     * position is not changed.
+     *
+     * @param buf Buffer to read from.
+     * @param offset Byte offset of the record in the buffer.
+     * @param ind Individual to overwrite.
+     */
+    public void decode(ByteBuffer buf, int offset, Individual ind);
+}
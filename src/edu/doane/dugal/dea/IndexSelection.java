@@ -0,0 +1,22 @@
+package edu.doane.dugal.dea;
+
+/**
+ * Interface for selection operators that can select by index, using only the
+ * fitness values of the population. Out-of-core runs use this to do selection
+ * on a compact, in-memory fitness index, and then rearrange the individuals'
+ * records on disk.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public interface IndexSelection {
+
+    /**
+     * Choose the parents of the next generation. After the call, parents[i]
+     * holds the index of the individual that should be copied into slot i.
+     *
+     * @param fitness Fitness of each individual in the population.
+     * @param parents Array to fill, the same length as fitness.
+     */
+    public void select(double[] fitness, int[] parents);
+}
@@ -8,10 +8,17 @@ import java.util.logging.Logger;
 /**
  * Abstract class representing an individual in an evolutionary algorithm. Make
  * sure extending subclasses implement a deep-copy copy constructor, because
- * the static copy method of this class assumes one will be there.
+ * the default copy method of this class assumes one will be there. Subclasses
+ * can also override copy() to call the copy constructor directly.
+ *
+ * Each individual carries a modified flag, which is set when it is created and
+ * whenever its genome changes, and cleared by Evaluate once the individual has
+ * been scored, so that Evaluate can be told to skip unchanged individuals.
+ * Subclasses must call setModified(true) from every method that changes the
+ * genome; the kit chromosomes do this in their gene-setting methods.
  *
  * @author Mark M. Meysenburg
- * @version 12/10/2014
+ * @version 10/18/2026
  */
 abstract public class Individual implements Comparable {
 
@@ -20,19 +27,27 @@ abstract public class Individual implements Comparable {
      */
     private double fitness;
 
+    /**
+     * True if the genome has changed since the individual was last evaluated.
+     */
+    private boolean modified;
+
     /**
      * Default constructor.
      */
     public Individual() {
-        setFitness(Double.NEGATIVE_INFINITY);
+        fitness = Double.NEGATIVE_INFINITY;
+        modified = true;
     }
 
     /**
-     * Get this individual's fitness.
+     * Get this individual's fitness. Subclasses that keep their fitness
+     * somewhere else, such as a population-wide fitness array, override this
+     * method and setFitness() together.
      *
      * @return the fitness
      */
-    final public double getFitness() {
+    public double getFitness() {
         return fitness;
     }
 
@@ -41,51 +56,249 @@ abstract public class Individual implements Comparable {
      *
      * @param fitness the fitness to set
      */
-    final public void setFitness(double fitness) {
+    public void setFitness(double fitness) {
         this.fitness = fitness;
     }
 
     /**
-     * Factory method to copy Individuals. Use reflection to find the copy 
-     * constructor of the parameter Individual, invoke it, and return the result.
-     * 
-     * @param ind Individual to create a copy of
-     * @return A new, deep-copy Individual, identical to the parameter
+     * Find out if the genome has changed since this individual was last
+     * evaluated.
+     *
+     * @return True if the individual needs to be evaluated.
      */
-    public static Individual copy(Individual ind) {
-        // get specific type of Individual
-        Class<?> cls = ind.getClass();
-        
-        // get constructors
-        Constructor<?> [] cons = cls.getDeclaredConstructors();
-        
-        Constructor<?> copyCons = null;
-        // find the copy constructor
-        for(Constructor<?> c : cons) {
-            Class<?> [] parms = c.getParameterTypes();
-            
-            // 1 parameter, of same class as ind? that's our copy 
-            // constructor!
-            if(parms.length == 1 && parms[0].equals(cls)) {
-                copyCons = c;
-                break;
-            } 
+    public boolean isModified() {
+        return modified;
+    }
+
+    /**
+     * Mark the genome as changed, or, after evaluation, as unchanged.
+     *
+     * @param modified True if the individual needs to be evaluated.
+     */
+    public void setModified(boolean modified) {
+        this.modified = modified;
+    }
+
+    /**
+     * Per-class cache of copy constructors, used by the default copy() method.
+     * The reflective scan for the copy constructor happens once per Individual
+     * subclass, instead of once per copy.
+     */
+    private static final ClassValue<Constructor<?>> COPY_CONSTRUCTORS =
+            new ClassValue<Constructor<?>>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> cls) {
+            // find the copy constructor: 1 parameter, of the same class
+            for (Constructor<?> c : cls.getDeclaredConstructors()) {
+                Class<?>[] parms = c.getParameterTypes();
+                if (parms.length == 1 && parms[0].equals(cls)) {
+                    c.setAccessible(true);
+                    return c;
+                }
+            }
+            return null;
+        }
+    };
+
+    /**
+     * Create a deep copy of this Individual. The kits override this method to
+     * call their copy constructors directly; the default implementation falls
+     * back to the subclass copy constructor, found once via reflection and
+     * cached afterwards.
+     *
+     * @return A new, deep-copy Individual, identical to this one
+     */
+    public Individual copy() {
+        Constructor<?> copyCons = COPY_CONSTRUCTORS.get(getClass());
+        if (copyCons == null) {
+            Logger.getLogger(Individual.class.getName()).log(Level.SEVERE,
+                    "No copy constructor in {0}", getClass().getName());
+            return null;
         }
-        
-        // now use the copy constructor to return a new individual just
-        // like the parameter Individual
+
+        // use the copy constructor to return a new individual just like
+        // this one
         try {
-            return (Individual)copyCons.newInstance(ind);
+            return (Individual) copyCons.newInstance(this);
         } catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
             Logger.getLogger(Individual.class.getName()).log(Level.SEVERE, null, ex);
-        } 
-        
+        }
+
         // if the reflection didn't work, return a null to satisfy the compiler
         return null;
     }
-    
+
+    /**
+     * Copy this Individual's genome and fitness into an existing Individual of
+     * the same type, reusing the target's storage instead of allocating a new
+     * object. The kits override this method, and canCopyInto(); the default
+     * implementation throws an exception, so callers should check
+     * canCopyInto() first, or use copyInto(Individual, Individual[], int),
+     * which falls back to copy().
+     *
+     * @param target Individual to overwrite with a copy of this one
+     * @throws UnsupportedOperationException If this type of Individual can't
+     * copy itself into an existing object.
+     */
+    public void copyInto(Individual target) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("copyInto not supported by "
+                + getClass().getName());
+    }
+
+    /**
+     * Find out if this Individual supports copyInto(). Subclasses that
+     * override copyInto() override this method to return true.
+     *
+     * @return True if copyInto() works for this type of Individual.
+     */
+    public boolean canCopyInto() {
+        return false;
+    }
+
+    /**
+     * Find out if this Individual is a view onto a record of a population
+     * store, such as a DoublePopulation or an OffHeapPopulation. A copy() of a
+     * view is a stand-alone individual, so operators that replace individuals
+     * with copies would move them out of the store.
+     *
+     * @return True for views; false for ordinary individuals.
+     */
+    public boolean isView() {
+        return false;
+    }
+
+    /**
+     * Copy an Individual into one slot of an array: into the Individual
+     * already there with copyInto(), if the source supports it, or else by
+     * replacing the slot with a new copy.
+     *
+     * @param source Individual to copy
+     * @param dst Array to copy into
+     * @param index Slot of the array to copy into
+     */
+    public static void copyInto(Individual source, Individual[] dst, int index) {
+        if (source.canCopyInto()) {
+            source.copyInto(dst[index]);
+        } else {
+            dst[index] = source.copy();
+        }
+    }
+
+    /**
+     * Factory method to copy Individuals. Delegates to the parameter's copy()
+     * method, so no reflection is needed for the kit chromosomes.
+     *
+     * @param ind Individual to create a copy of
+     * @return A new, deep-copy Individual, identical to the parameter
+     */
+    public static Individual copy(Individual ind) {
+        return ind.copy();
+    }
+
     @Override
     public int compareTo(Object o) {
         return this.toString().compareTo(o.toString());
     }
+
+    /**
+     * Get a 64-bit hash of this individual's genome, ignoring its fitness.
+     * Individuals whose genomes are equal according to genomeEquals() have the
+     * same hash; different genomes collide with probability around 2^-64, so
+     * the hash can stand in for the genome as a compact key, e.g., in
+     * FitnessCache. Calls genomeHash(long) with a seed of 0.
+     *
+     * @return Hash of the genome.
+     */
+    public long genomeHash() {
+        return genomeHash(0L);
+    }
+
+    /**
+     * Get a 64-bit hash of this individual's genome, from a family of hashes
+     * picked by the seed. Hashes with different seeds are independent, so a
+     * second seed can confirm a match on the first, e.g., in FitnessCache.
+     * The default hashes toString(); the kit chromosomes override this with a
+     * hash over their genes.
+     *
+     * @param seed Seed picking the hash function.
+     * @return Hash of the genome.
+     */
+    public long genomeHash(long seed) {
+        String s = toString();
+        long h = hashStart(s.length(), seed);
+        for (int i = 0; i < s.length(); i++) {
+            h = hashStep(h, s.charAt(i));
+        }
+        return hashFinish(h);
+    }
+
+    /**
+     * Find out if another individual has the same genome as this one,
+     * ignoring fitness. The default compares toString() values; the kit
+     * chromosomes override this with a gene-by-gene comparison.
+     *
+     * @param other Individual to compare with.
+     * @return True if the genomes are the same.
+     */
+    public boolean genomeEquals(Individual other) {
+        return toString().equals(other.toString());
+    }
+
+    /**
+     * Get the distance between this individual's genome and another's, for
+     * diversity measures. The default is 0 for equal genomes and 1 otherwise;
+     * the kit chromosomes override this with Hamming or Euclidean distance.
+     *
+     * @param other Individual to measure the distance to.
+     * @return Non-negative distance, 0 for equal genomes.
+     */
+    public double genomeDistance(Individual other) {
+        return genomeEquals(other) ? 0.0 : 1.0;
+    }
+
+    /**
+     * Start a genome hash, for use by genomeHash() implementations.
+     *
+     * @param length Length of the genome.
+     * @return Initial hash state.
+     */
+    protected static long hashStart(int length) {
+        return hashStart(length, 0L);
+    }
+
+    /**
+     * Start a seeded genome hash, for use by genomeHash(long) implementations.
+     *
+     * @param length Length of the genome.
+     * @param seed Seed picking the hash function; 0 gives the same hash as
+     * hashStart(int).
+     * @return Initial hash state.
+     */
+    protected static long hashStart(int length, long seed) {
+        return (0x9E3779B97F4A7C15L * (length + 1)) ^ hashFinish(seed);
+    }
+
+    /**
+     * Mix one gene into a genome hash.
+     *
+     * @param h Hash state so far.
+     * @param gene Gene value, as a long.
+     * @return New hash state.
+     */
+    protected static long hashStep(long h, long gene) {
+        return Long.rotateLeft(h ^ (gene * 0xC2B2AE3D27D4EB4FL), 31) * 0x9E3779B97F4A7C15L;
+    }
+
+    /**
+     * Finish a genome hash, so that every bit of the result depends on every
+     * gene.
+     *
+     * @param h Hash state after the last gene.
+     * @return Final hash.
+     */
+    protected static long hashFinish(long h) {
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
 }
@@ -0,0 +1,329 @@
+package edu.doane.dugal.dea;
+
+/**
+ * Island-model driver for the DEA. Several populations, or islands, evolve
+ * concurrently, each in its own DEA thread with its own operators and its own
+ * PRNG stream, split from the shared PRNG by island index. Every few
+ * generations, each island sends copies of its best individuals to its
+ * neighbors in a Topology, through bounded, lock-free queues, and replaces its
+ * worst individuals with the migrants that have arrived. Islands never wait
+ * for each other, so a slow island only receives fewer migrants.
+ *
+ * Islands keep more of their diversity than one population of the same total
+ * size, and on cheap fitness functions they use the cores better than a
+ * single DEA thread handing small evaluation tasks to a pool. Give each
+ * island's Evaluate a threshold at least as large as the island, so the
+ * evaluation of an island is one task, and the Problem must be safe to call
+ * from several threads at once. Since islands run freely, the timing of
+ * migrations, and so the results, vary from run to run even with a fixed
+ * seed.
+ *
+ * Create an IslandModel, call setUp() with a Setup that adds the operators to
+ * each island, then start() it and join() it, just as with a DEA. To run the
+ * islands in separate processes instead, give each process's DEA a Migration
+ * operator over a MappedMigrationTransport.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class IslandModel extends Thread {
+
+    /**
+     * Interface for the code that adds operators to each island. It is called
+     * with the island's PRNG stream bound to the calling thread, so operators
+     * created in it use the island's stream.
+     */
+    public interface Setup {
+
+        /**
+         * Add the operators for one island.
+         *
+         * @param island DEA for the island, with its random population
+         * already created.
+         * @param index Index of the island.
+         */
+        public void addOperators(DEA island, int index);
+    }
+
+    /**
+     * Problem to be solved by every island.
+     */
+    private final Problem problem;
+
+    /**
+     * Number of islands.
+     */
+    private final int numIslands;
+
+    /**
+     * Number of individuals on each island.
+     */
+    private final int islandSize;
+
+    /**
+     * Number of generations each island runs.
+     */
+    private final int numGens;
+
+    /**
+     * Topology of the migration routes.
+     */
+    private final Topology topology;
+
+    /**
+     * Number of generations between migrations.
+     */
+    private int migrationInterval;
+
+    /**
+     * Number of migrants each island sends to each neighbor per migration.
+     */
+    private int migrants;
+
+    /**
+     * Islands, or null until setUp() is called.
+     */
+    private DEA[] islands;
+
+    /**
+     * Migration operator of each island.
+     */
+    private Migration[] migrations;
+
+    /**
+     * Create an island model. Migration defaults to 2 migrants per neighbor
+     * every 10 generations.
+     *
+     * @param problem Problem to solve.
+     * @param numIslands Number of islands, greater than 0.
+     * @param islandSize Number of individuals on each island, greater than 0.
+     * @param numGens Number of generations each island runs.
+     * @param topology Topology of the migration routes.
+     * @throws IllegalArgumentException If numIslands or islandSize is not
+     * positive.
+     */
+    public IslandModel(Problem problem, int numIslands, int islandSize, int numGens,
+            Topology topology) throws IllegalArgumentException {
+        if (numIslands <= 0) {
+            throw new IllegalArgumentException("Illegal numIslands to IslandModel: " + numIslands);
+        }
+        if (islandSize <= 0) {
+            throw new IllegalArgumentException("Illegal islandSize to IslandModel: " + islandSize);
+        }
+        this.problem = problem;
+        this.numIslands = numIslands;
+        this.islandSize = islandSize;
+        this.numGens = numGens;
+        this.topology = topology;
+        setMigrationInterval(10);
+        setMigrants(2);
+    }
+
+    /**
+     * Create the islands, each with a random population and the operators
+     * added by the setup, followed by its migration operator. The island's
+     * population, operators, and run all use a stream split from the shared
+     * PRNG by the island's index. Call this once, after setting the seed and
+     * the migration parameters, and before start().
+     *
+     * @param setup Code that adds the operators to each island.
+     * @throws IllegalStateException If the islands have already been set up.
+     */
+    public void setUp(Setup setup) throws IllegalStateException {
+        if (islands != null) {
+            throw new IllegalStateException("Islands have already been set up");
+        }
+
+        // each inbox has room for a few migrations' worth of migrants
+        int[] capacities = new int[numIslands];
+        for (int i = 0; i < numIslands; i++) {
+            capacities[i] = Math.max(1, 4 * migrants * Migration.inDegree(topology, i, numIslands));
+        }
+        MigrationTransport transport = new QueueMigrationTransport(capacities);
+
+        PRNG base = PRNG.getInstance();
+        DEA[] created = new DEA[numIslands];
+        migrations = new Migration[numIslands];
+        for (int i = 0; i < numIslands; i++) {
+            PRNG stream = base.split(i);
+            PRNG.setThreadInstance(stream);
+            try {
+                created[i] = new DEA(problem, islandSize, numGens);
+                created[i].setName("DEA island " + i);
+                created[i].setPRNG(stream);
+                setup.addOperators(created[i], i);
+                migrations[i] = new Migration(i, numIslands, topology, transport,
+                        migrationInterval, migrants);
+                created[i].addOperator(migrations[i]);
+            } finally {
+                PRNG.setThreadInstance(null);
+            }
+        }
+        islands = created;
+    }
+
+    /**
+     * Run the islands to completion: start every island's thread and wait
+     * for them all to finish.
+     *
+     * @throws IllegalStateException If setUp() hasn't been called.
+     */
+    @Override
+    public void run() throws IllegalStateException {
+        if (islands == null) {
+            throw new IllegalStateException("Islands have not been set up");
+        }
+        for (DEA island : islands) {
+            island.start();
+        }
+        for (DEA island : islands) {
+            while (island.isAlive()) {
+                try {
+                    island.join();
+                } catch (InterruptedException ex) {
+                    requestStop();
+                }
+            }
+        }
+    }
+
+    /**
+     * Ask every island to stop at the end of its current generation. Safe to
+     * call from any thread.
+     */
+    public void requestStop() {
+        if (islands != null) {
+            for (DEA island : islands) {
+                island.requestStop();
+            }
+        }
+    }
+
+    /**
+     * Get a copy of the fittest individual on any island. Call this after the
+     * run, or between generations of a stopped run.
+     *
+     * @return Copy of the fittest individual, or null if the islands haven't
+     * been set up.
+     */
+    public Individual getBestIndividual() {
+        Individual best = null;
+        if (islands != null) {
+            for (DEA island : islands) {
+                for (Individual ind : island.getPopulation()) {
+                    if (best == null || ind.getFitness() > best.getFitness()) {
+                        best = ind;
+                    }
+                }
+            }
+        }
+        return best == null ? null : best.copy();
+    }
+
+    /**
+     * Get one of the islands.
+     *
+     * @param index Index of the island.
+     * @return DEA for the island.
+     * @throws IllegalStateException If setUp() hasn't been called.
+     */
+    public DEA getIsland(int index) throws IllegalStateException {
+        if (islands == null) {
+            throw new IllegalStateException("Islands have not been set up");
+        }
+        return islands[index];
+    }
+
+    /**
+     * Get the number of islands.
+     *
+     * @return Number of islands.
+     */
+    public int getNumIslands() {
+        return numIslands;
+    }
+
+    /**
+     * Get the total number of migrants sent, dropped because an inbox was
+     * full, and received, over all islands.
+     *
+     * @return Array of three counts: sent, dropped, and received.
+     */
+    public long[] getMigrationCounts() {
+        long[] counts = new long[3];
+        if (migrations != null) {
+            for (Migration m : migrations) {
+                counts[0] += m.getSent();
+                counts[1] += m.getDropped();
+                counts[2] += m.getReceived();
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Get the number of generations between migrations.
+     *
+     * @return Migration interval.
+     */
+    public int getMigrationInterval() {
+        return migrationInterval;
+    }
+
+    /**
+     * Set the number of generations between migrations. Only affects islands
+     * set up afterwards.
+     *
+     * @param migrationInterval Migration interval, greater than 0.
+     * @throws IllegalArgumentException If the parameter is not positive.
+     */
+    final public void setMigrationInterval(int migrationInterval) throws IllegalArgumentException {
+        if (migrationInterval <= 0) {
+            throw new IllegalArgumentException("Illegal migrationInterval to setMigrationInterval: "
+                    + migrationInterval);
+        }
+        this.migrationInterval = migrationInterval;
+    }
+
+    /**
+     * Get the number of migrants each island sends to each neighbor per
+     * migration.
+     *
+     * @return Number of migrants.
+     */
+    public int getMigrants() {
+        return migrants;
+    }
+
+    /**
+     * Set the number of migrants each island sends to each neighbor per
+     * migration. Only affects islands set up afterwards.
+     *
+     * @param migrants Number of migrants, greater than 0.
+     * @throws IllegalArgumentException If the parameter is not positive.
+     */
+    final public void setMigrants(int migrants) throws IllegalArgumentException {
+        if (migrants <= 0) {
+            throw new IllegalArgumentException("Illegal migrants to setMigrants: " + migrants);
+        }
+        this.migrants = migrants;
+    }
+
+    /**
+     * Get the tableau for a run of the island model, as a String: the island
+     * parameters, followed by the tableau of the first island.
+     *
+     * @return A String object with the tableau for the run.
+     */
+    public String getTableau() {
+        StringBuilder s = new StringBuilder();
+        s.append("Islands: ").append(numIslands).append(", ").append(topology)
+                .append(" topology\n");
+        s.append("Migration: ").append(migrants).append(" per neighbor every ")
+                .append(migrationInterval).append(" generations\n");
+        if (islands != null) {
+            s.append(islands[0].getTableau());
+        }
+        return s.toString();
+    }
+}
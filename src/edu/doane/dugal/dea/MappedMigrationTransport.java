@@ -0,0 +1,393 @@
+package edu.doane.dugal.dea;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * MigrationTransport for islands running in separate JVMs on one machine,
+ * each with its own heap and garbage collector. The islands share a
+ * memory-mapped file holding one inbox per island; migrants are written into
+ * the inboxes with a GenomeCodec, such as the compact codecs of the kits, and
+ * read straight back into the receiving island's individuals, so no sockets
+ * or serialization are involved.
+ *
+ * Each inbox is a bounded ring of slots, with its head and tail kept in the
+ * file. Senders and the receiver of an inbox take turns under a FileLock on
+ * the inbox's control block, held only while one record is copied, so any
+ * number of processes can send to an inbox while its owner receives. The
+ * operating system releases the lock if a process dies, and the tail only
+ * moves once a record is complete, so a dead sender never leaves a half
+ * written migrant behind. Only one process may run each island. As with any
+ * FileChannel, interrupting a thread that is sending or receiving closes the
+ * file.
+ *
+ * The first process to open the file creates and initializes it, holding a
+ * lock on the header until it's done; the others wait for it, and must use
+ * the same number of islands, inbox capacity, and record size. Delete the
+ * file between runs, so stale migrants aren't delivered to a new archipelago.
+ *
+ * File layout, in native byte order: a HEADER_SIZE-byte header holding MAGIC
+ * (int), VERSION (int), number of islands (int), slots per inbox (int),
+ * record size (int), and slot size (int); then one inbox per island, each a
+ * control block of CONTROL_SIZE bytes, with the tail (long) at offset 0 and
+ * the head (long) at offset 64, followed by the slots, each a record padded
+ * to a multiple of 8 bytes.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class MappedMigrationTransport implements MigrationTransport, AutoCloseable {
+
+    /**
+     * Magic number at the start of a migration file, "DEAM".
+     */
+    public static final int MAGIC = 0x4445414d;
+
+    /**
+     * Version of the migration file format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Size of the header, in bytes.
+     */
+    public static final int HEADER_SIZE = 64;
+
+    /**
+     * Size of each inbox's control block, in bytes.
+     */
+    public static final int CONTROL_SIZE = 128;
+
+    /**
+     * Offset of the head in a control block.
+     */
+    private static final int HEAD = 64;
+
+    /**
+     * Longest time to wait for another process to initialize the file, in
+     * milliseconds.
+     */
+    private static final long INIT_MILLIS = 30000;
+
+    /**
+     * Held while this JVM takes a lock on a migration file. File locks belong
+     * to the whole JVM, which may not hold two that overlap, so the threads
+     * and transports of one process take turns here first.
+     */
+    private static final Object LOCAL_LOCK = new Object();
+
+    /**
+     * Codec used to write and read migrants.
+     */
+    private final GenomeCodec codec;
+
+    /**
+     * Channel onto the migration file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Mapping of the whole file.
+     */
+    private MappedByteBuffer map;
+
+    /**
+     * Number of islands.
+     */
+    private final int numIslands;
+
+    /**
+     * Number of slots per inbox; a power of two.
+     */
+    private final int capacity;
+
+    /**
+     * Size of one slot, in bytes.
+     */
+    private final int slotSize;
+
+    /**
+     * Size of one inbox, in bytes.
+     */
+    private final long inboxSize;
+
+    /**
+     * Open or create a migration file.
+     *
+     * @param file Path of the shared file.
+     * @param numIslands Number of islands in the archipelago.
+     * @param capacity Minimum number of migrants each inbox can hold; rounded
+     * up to a power of two.
+     * @param codec Codec used to write and read migrants; every process must
+     * use an equivalent one.
+     * @throws IOException If the file can't be opened or mapped, isn't a
+     * migration file, or was created with different parameters.
+     * @throws IllegalArgumentException If numIslands or capacity is not
+     * positive, or the file would be larger than 2 GB.
+     */
+    public MappedMigrationTransport(Path file, int numIslands, int capacity,
+            GenomeCodec codec) throws IOException, IllegalArgumentException {
+        if (numIslands <= 0) {
+            throw new IllegalArgumentException("Illegal numIslands to MappedMigrationTransport: "
+                    + numIslands);
+        }
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Illegal capacity to MappedMigrationTransport: "
+                    + capacity);
+        }
+        int slots = Integer.highestOneBit(capacity);
+        if (slots < capacity) {
+            slots <<= 1;
+        }
+        this.codec = codec;
+        this.numIslands = numIslands;
+        this.capacity = slots;
+        slotSize = (codec.getRecordSize() + 7) & ~7;
+        inboxSize = CONTROL_SIZE + (long) slots * slotSize;
+        long size = HEADER_SIZE + numIslands * inboxSize;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Migration file too large: " + size);
+        }
+
+        boolean creator;
+        FileChannel ch;
+        try {
+            ch = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            creator = true;
+        } catch (FileAlreadyExistsException ex) {
+            ch = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            creator = false;
+        }
+        channel = ch;
+        try {
+            if (creator) {
+                create(size);
+            } else {
+                attach(file, size);
+            }
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Map a new file and write its header and empty inboxes. The header is
+     * locked before the file grows, so a process that sees the full size
+     * waits in attach() until the file is complete.
+     *
+     * @param size Size of the file.
+     * @throws IOException If the file can't be locked or mapped.
+     */
+    private void create(long size) throws IOException {
+        synchronized (LOCAL_LOCK) {
+            FileLock lock = channel.lock(0, HEADER_SIZE, false);
+            try {
+                map = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                map.order(ByteOrder.nativeOrder());
+                map.putInt(4, VERSION);
+                map.putInt(8, numIslands);
+                map.putInt(12, capacity);
+                map.putInt(16, codec.getRecordSize());
+                map.putInt(20, slotSize);
+                for (int i = 0; i < numIslands; i++) {
+                    int inbox = inbox(i);
+                    map.putLong(inbox, 0L);
+                    map.putLong(inbox + HEAD, 0L);
+                }
+                map.putInt(0, MAGIC);
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    /**
+     * Wait for another process to finish creating the file, map it, and
+     * check that it matches this transport's parameters.
+     *
+     * @param file Path of the shared file.
+     * @param size Expected size of the file.
+     * @throws IOException If the file isn't initialized in time, or doesn't
+     * match.
+     */
+    private void attach(Path file, long size) throws IOException {
+        long deadline = System.currentTimeMillis() + INIT_MILLIS;
+        while (channel.size() < size) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IOException("Migration file not initialized: " + file);
+            }
+            sleep();
+        }
+        synchronized (LOCAL_LOCK) {
+            FileLock lock = channel.lock(0, HEADER_SIZE, false);
+            try {
+                map = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                map.order(ByteOrder.nativeOrder());
+                if (map.getInt(0) != MAGIC) {
+                    throw new IOException("Not a migration file: " + file);
+                }
+                if (map.getInt(4) != VERSION || map.getInt(8) != numIslands
+                        || map.getInt(12) != capacity
+                        || map.getInt(16) != codec.getRecordSize()
+                        || map.getInt(20) != slotSize) {
+                    throw new IOException("Migration file doesn't match this archipelago: "
+                            + file);
+                }
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    /**
+     * Pause briefly while waiting for another process.
+     *
+     * @throws IOException If interrupted while waiting.
+     */
+    private static void sleep() throws IOException {
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the migration file");
+        }
+    }
+
+    /**
+     * Offer a copy of a migrant to an island's inbox, under the inbox's lock.
+     *
+     * @param island Index of the receiving island.
+     * @param migrant Individual to send.
+     * @return True if the migrant was queued, false if the inbox was full.
+     * @throws UncheckedIOException If the file can't be locked, for instance
+     * because the transport was closed.
+     */
+    @Override
+    public boolean send(int island, Individual migrant) throws UncheckedIOException {
+        int inbox = inbox(island);
+        synchronized (LOCAL_LOCK) {
+            try {
+                FileLock lock = channel.lock(inbox, CONTROL_SIZE, false);
+                try {
+                    long tail = map.getLong(inbox);
+                    if (tail - map.getLong(inbox + HEAD) == capacity) {
+                        return false;
+                    }
+                    codec.encode(migrant, map, slot(inbox, tail));
+                    map.putLong(inbox, tail + 1);
+                    return true;
+                } finally {
+                    lock.release();
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    /**
+     * Take the oldest migrant waiting in an island's inbox, under the inbox's
+     * lock.
+     *
+     * @param island Index of the receiving island.
+     * @param target Individual that the migrant is decoded into.
+     * @return target, or null if the inbox is empty.
+     * @throws UncheckedIOException If the file can't be locked, for instance
+     * because the transport was closed.
+     */
+    @Override
+    public Individual receive(int island, Individual target) throws UncheckedIOException {
+        int inbox = inbox(island);
+        synchronized (LOCAL_LOCK) {
+            try {
+                FileLock lock = channel.lock(inbox, CONTROL_SIZE, false);
+                try {
+                    long head = map.getLong(inbox + HEAD);
+                    if (head == map.getLong(inbox)) {
+                        return null;
+                    }
+                    codec.decode(map, slot(inbox, head), target);
+                    map.putLong(inbox + HEAD, head + 1);
+                    return target;
+                } finally {
+                    lock.release();
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    /**
+     * Get the byte offset of an island's inbox.
+     *
+     * @param island Index of the island.
+     * @return Offset of its control block.
+     */
+    private int inbox(int island) {
+        return (int) (HEADER_SIZE + island * inboxSize);
+    }
+
+    /**
+     * Get the byte offset of the slot holding a position of an inbox's ring.
+     *
+     * @param inbox Offset of the inbox's control block.
+     * @param position Head or tail of the inbox.
+     * @return Offset of the slot's record.
+     */
+    private int slot(int inbox, long position) {
+        return inbox + CONTROL_SIZE + ((int) position & (capacity - 1)) * slotSize;
+    }
+
+    /**
+     * Get the number of islands the file was created for.
+     *
+     * @return Number of islands.
+     */
+    public int getNumIslands() {
+        return numIslands;
+    }
+
+    /**
+     * Get the number of migrants each inbox can hold.
+     *
+     * @return Slots per inbox.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Unmap the file and close it. Sends and receives happen under the same
+     * lock, so none is still using the mapping. The file itself is left for
+     * the other processes.
+     *
+     * @throws IOException If the file can't be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (LOCAL_LOCK) {
+            if (map == null) {
+                return;
+            }
+            OffHeapPopulation.free(map);
+            map = null;
+            channel.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MappedMigrationTransport, " + numIslands + " islands, capacity = "
+                + capacity + ", " + codec;
+    }
+}
@@ -0,0 +1,415 @@
+package edu.doane.dugal.dea;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Out-of-core population, kept in a memory-mapped file instead of on the heap,
+ * so that population size is limited by disk space rather than by memory. Each
+ * individual is a fixed-size record written by a GenomeCodec; the only
+ * per-individual data kept in memory is a compact index of fitness values,
+ * which IndexSelection operators select from.
+ *
+ * Pass a MappedPopulation to the out-of-core DEA constructor, which streams the
+ * records through its operators one chunk at a time. Selection rearranges the
+ * records by copying them into a second file, named after the first with
+ * ".next" appended, and then swapping the two files.
+ *
+ * Records are in the platform's native byte order, and files are mapped in
+ * windows of at most 1 GB. Call close() when the run is over; afterwards, the
+ * original file holds the final population, and can be reopened with open().
+ * close() unmaps the files right away where the runtime allows it, and so
+ * refuses while the population is held, as it is by a DEA for the length of
+ * its run. Where the runtime can't unmap them, e.g., on Java 8, the mappings
+ * last until they are collected, and on Windows close() may then fail to
+ * rename or remove the ".next" file.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class MappedPopulation implements AutoCloseable {
+
+    /**
+     * Largest number of bytes in one mapped window.
+     */
+    private static final int WINDOW_BYTES = 1 << 30;
+
+    /**
+     * Paths of the two files; the population is in files[current].
+     */
+    private final Path[] files;
+
+    /**
+     * Channels onto the two files.
+     */
+    private final FileChannel[] channels;
+
+    /**
+     * Mapped windows onto the two files, indexed by file, then window.
+     */
+    private MappedByteBuffer[][] windows;
+
+    /**
+     * Duplicates of the windows, whose positions and limits are used when
+     * copying records from one file to the other.
+     */
+    private ByteBuffer[][] cursors;
+
+    /**
+     * Index of the file holding the current population.
+     */
+    private int current;
+
+    /**
+     * Codec used to read and write records.
+     */
+    private final GenomeCodec codec;
+
+    /**
+     * Number of individuals in the population.
+     */
+    private final int popSize;
+
+    /**
+     * Number of bytes in one record.
+     */
+    private final int recordSize;
+
+    /**
+     * Number of records in one window.
+     */
+    private final int perWindow;
+
+    /**
+     * Fitness of each individual in the population.
+     */
+    private double[] fitness;
+
+    /**
+     * Second fitness array, filled by reorder() and then swapped with fitness.
+     */
+    private double[] nextFitness;
+
+    /**
+     * True once close() has been called.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Number of holds on the population that haven't been released.
+     */
+    private int holds;
+
+    /**
+     * Map the two files of a population. Use create() or open() to get an
+     * instance.
+     *
+     * @param file Path of the population file.
+     * @param codec Codec used to read and write records.
+     * @param popSize Number of individuals in the population.
+     * @param fresh True to truncate any existing population file.
+     * @throws IOException If the files can't be opened or mapped.
+     */
+    private MappedPopulation(Path file, GenomeCodec codec, int popSize,
+            boolean fresh) throws IOException {
+        this.codec = codec;
+        this.popSize = popSize;
+        recordSize = codec.getRecordSize();
+        if (recordSize > WINDOW_BYTES) {
+            throw new IllegalArgumentException("Record too large: " + recordSize);
+        }
+        perWindow = WINDOW_BYTES / recordSize;
+
+        files = new Path[]{file, file.resolveSibling(file.getFileName() + ".next")};
+        channels = new FileChannel[2];
+        channels[0] = fresh
+                ? FileChannel.open(files[0], StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(files[0], StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+        channels[1] = FileChannel.open(files[1], StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        int numWindows = (popSize + perWindow - 1) / perWindow;
+        windows = new MappedByteBuffer[2][numWindows];
+        cursors = new ByteBuffer[2][numWindows];
+        for (int f = 0; f < 2; f++) {
+            for (int w = 0; w < numWindows; w++) {
+                int records = Math.min(perWindow, popSize - w * perWindow);
+                windows[f][w] = channels[f].map(FileChannel.MapMode.READ_WRITE,
+                        (long) w * perWindow * recordSize,
+                        (long) records * recordSize);
+                windows[f][w].order(ByteOrder.nativeOrder());
+                cursors[f][w] = windows[f][w].duplicate();
+            }
+        }
+
+        fitness = new double[popSize];
+        nextFitness = new double[popSize];
+    }
+
+    /**
+     * Create a new population file, filled with random individuals from the
+     * problem. Any existing file at the path is overwritten.
+     *
+     * @param file Path of the population file.
+     * @param problem Problem that creates the random individuals.
+     * @param codec Codec for the problem's individuals.
+     * @param popSize Number of individuals in the population.
+     * @return The new population.
+     * @throws IOException If the files can't be created or mapped.
+     */
+    public static MappedPopulation create(Path file, Problem problem,
+            GenomeCodec codec, int popSize) throws IOException {
+        if (popSize <= 0) {
+            throw new IllegalArgumentException("Illegal popSize to create: " + popSize);
+        }
+
+        MappedPopulation pop = new MappedPopulation(file, codec, popSize, true);
+        for (int i = 0; i < popSize; i++) {
+            pop.write(i, problem.createRandomIndividual());
+        }
+        return pop;
+    }
+
+    /**
+     * Open an existing population file, such as one left behind by close().
+     * The population size is worked out from the file size.
+     *
+     * @param file Path of the population file.
+     * @param codec Codec for the individuals in the file.
+     * @return The population.
+     * @throws IOException If the file can't be opened or mapped, or its size is
+     * not a multiple of the record size.
+     */
+    public static MappedPopulation open(Path file, GenomeCodec codec)
+            throws IOException {
+        long size = Files.size(file);
+        int rs = codec.getRecordSize();
+        if (size == 0 || size % rs != 0 || size / rs > Integer.MAX_VALUE) {
+            throw new IOException("Not a population of " + codec + ": " + file);
+        }
+
+        MappedPopulation pop = new MappedPopulation(file, codec, (int) (size / rs), false);
+        for (int i = 0; i < pop.popSize; i++) {
+            pop.fitness[i] = pop.window(pop.current, i).getDouble(pop.base(i));
+        }
+        return pop;
+    }
+
+    /**
+     * Read an individual's record into an existing Individual, of the type and
+     * length expected by the codec.
+     *
+     * @param index Index of the individual in the population.
+     * @param ind Individual to overwrite.
+     */
+    public void read(int index, Individual ind) {
+        checkOpen();
+        codec.decode(window(current, index), base(index), ind);
+    }
+
+    /**
+     * Write an Individual into a record of the population, and update the
+     * fitness index.
+     *
+     * @param index Index of the individual in the population.
+     * @param ind Individual to write.
+     */
+    public void write(int index, Individual ind) {
+        checkOpen();
+        codec.encode(ind, window(current, index), base(index));
+        fitness[index] = ind.getFitness();
+    }
+
+    /**
+     * Rearrange the population after selection, so that slot i receives a copy
+     * of the individual that was at index parents[i]. Records are copied into
+     * the second file, which then becomes the current one; no Individuals are
+     * decoded.
+     *
+     * @param parents Index of the parent for each slot, popSize entries.
+     */
+    public void reorder(int[] parents) {
+        checkOpen();
+        int next = 1 - current;
+        for (int i = 0; i < popSize; i++) {
+            int p = parents[i];
+
+            ByteBuffer src = cursors[current][p / perWindow];
+            int from = base(p);
+            src.clear();
+            src.position(from);
+            src.limit(from + recordSize);
+
+            ByteBuffer dst = cursors[next][i / perWindow];
+            dst.clear();
+            dst.position(base(i));
+            dst.put(src);
+
+            nextFitness[i] = fitness[p];
+        }
+
+        double[] t = fitness;
+        fitness = nextFitness;
+        nextFitness = t;
+        current = next;
+    }
+
+    /**
+     * Get the in-memory fitness index. The array is live, and is replaced by
+     * reorder(); don't modify it, and don't hold on to it across selections.
+     *
+     * @return Fitness of each individual in the population.
+     */
+    public double[] getFitnessIndex() {
+        return fitness;
+    }
+
+    /**
+     * Get the number of individuals in the population.
+     *
+     * @return Population size.
+     */
+    public int getPopSize() {
+        return popSize;
+    }
+
+    /**
+     * Get the codec used to read and write records.
+     *
+     * @return The codec.
+     */
+    public GenomeCodec getCodec() {
+        return codec;
+    }
+
+    /**
+     * Get the total number of bytes in the two population files.
+     *
+     * @return Number of bytes mapped.
+     */
+    public long getBytes() {
+        return 2L * popSize * recordSize;
+    }
+
+    /**
+     * Find out if this population has been closed.
+     *
+     * @return True if close() has been called.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Write any changes in the current population file through to disk.
+     */
+    public void flush() {
+        checkOpen();
+        for (MappedByteBuffer w : windows[current]) {
+            w.force();
+        }
+    }
+
+    /**
+     * Mark the population as in use, so that close() refuses to unmap it
+     * until release() is called. Holds nest.
+     *
+     * @throws IllegalStateException If the population has been closed.
+     */
+    public synchronized void hold() throws IllegalStateException {
+        checkOpen();
+        holds++;
+    }
+
+    /**
+     * Give back a hold taken with hold().
+     *
+     * @throws IllegalStateException If the population isn't held.
+     */
+    public synchronized void release() throws IllegalStateException {
+        if (holds == 0) {
+            throw new IllegalStateException("Mapped population is not held");
+        }
+        holds--;
+    }
+
+    /**
+     * Flush and unmap the population, and close its files. Afterwards, the
+     * original file holds the final population, and the ".next" file is
+     * removed. Calling close() more than once has no further effect.
+     *
+     * @throws IOException If the files can't be closed, renamed, or removed.
+     * @throws IllegalStateException If the population is held, e.g., by a
+     * DEA that is still running.
+     */
+    @Override
+    public synchronized void close() throws IOException, IllegalStateException {
+        if (closed) {
+            return;
+        }
+        if (holds > 0) {
+            throw new IllegalStateException("Mapped population is still in use");
+        }
+        flush();
+        closed = true;
+
+        for (MappedByteBuffer[] file : windows) {
+            for (MappedByteBuffer w : file) {
+                OffHeapPopulation.free(w);
+            }
+        }
+        windows = null;
+        cursors = null;
+
+        channels[0].close();
+        channels[1].close();
+        if (current == 1) {
+            Files.move(files[1], files[0], StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.deleteIfExists(files[1]);
+        }
+    }
+
+    /**
+     * Get the window of a file that holds a record.
+     *
+     * @param file Which file.
+     * @param index Index of the record.
+     * @return Window holding the record.
+     */
+    private ByteBuffer window(int file, int index) {
+        return windows[file][index / perWindow];
+    }
+
+    /**
+     * Get the byte offset of a record in its window.
+     *
+     * @param index Index of the record.
+     * @return Offset of the record.
+     */
+    private int base(int index) {
+        return (index % perWindow) * recordSize;
+    }
+
+    /**
+     * Make sure the population hasn't been closed.
+     *
+     * @throws IllegalStateException If it has.
+     */
+    private void checkOpen() throws IllegalStateException {
+        if (closed) {
+            throw new IllegalStateException("Mapped population has been closed");
+        }
+    }
+}
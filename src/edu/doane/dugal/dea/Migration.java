@@ -0,0 +1,244 @@
+package edu.doane.dugal.dea;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Operator that moves migrants between islands. Every interval generations,
+ * the island's best individuals are sent to each of its neighbors in a
+ * Topology, and the migrants waiting in the island's own inbox replace its
+ * worst. The migrants travel through a MigrationTransport: IslandModel uses
+ * lock-free queues between islands in one JVM, and MappedMigrationTransport
+ * connects islands in separate processes through a shared file. Transports
+ * never wait for room, so a migrant sent to a full inbox is dropped and
+ * counted.
+ *
+ * Add it as the last operator of each island's DEA.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class Migration implements Operator, Checkpointable {
+
+    /**
+     * Index of the island this operator belongs to.
+     */
+    private final int island;
+
+    /**
+     * Transport carrying the migrants.
+     */
+    private final MigrationTransport transport;
+
+    /**
+     * Islands this island sends migrants to.
+     */
+    private final int[] neighbors;
+
+    /**
+     * Largest number of migrants taken from the inbox per migration: twice
+     * what the neighbors that send to this island send in one migration, so
+     * a backlog drains.
+     */
+    private final int intake;
+
+    /**
+     * Number of generations between migrations.
+     */
+    private final int interval;
+
+    /**
+     * Number of migrants sent to each neighbor per migration.
+     */
+    private final int migrants;
+
+    /**
+     * Number of generations seen.
+     */
+    private int generationNumber;
+
+    /**
+     * Number of migrants sent to neighbors.
+     */
+    private volatile long sent;
+
+    /**
+     * Number of migrants dropped because a neighbor's inbox was full.
+     */
+    private volatile long dropped;
+
+    /**
+     * Number of migrants taken from this island's inbox.
+     */
+    private volatile long received;
+
+    /**
+     * Create the migration operator for one island.
+     *
+     * @param island Index of the island.
+     * @param numIslands Number of islands.
+     * @param topology Topology of the migration routes.
+     * @param transport Transport carrying the migrants.
+     * @param interval Number of generations between migrations, greater than
+     * 0.
+     * @param migrants Number of migrants sent to each neighbor, greater than
+     * 0.
+     * @throws IllegalArgumentException If island is not a legal index, or if
+     * interval or migrants is not positive.
+     */
+    public Migration(int island, int numIslands, Topology topology,
+            MigrationTransport transport, int interval, int migrants)
+            throws IllegalArgumentException {
+        if (island < 0 || island >= numIslands) {
+            throw new IllegalArgumentException("Illegal island to Migration: " + island);
+        }
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Illegal interval to Migration: " + interval);
+        }
+        if (migrants <= 0) {
+            throw new IllegalArgumentException("Illegal migrants to Migration: " + migrants);
+        }
+        this.island = island;
+        this.transport = transport;
+        this.interval = interval;
+        this.migrants = migrants;
+        neighbors = topology.getNeighbors(island, numIslands);
+        intake = 2 * migrants * inDegree(topology, island, numIslands);
+    }
+
+    /**
+     * Count the islands that send migrants to an island.
+     *
+     * @param topology Topology of the migration routes.
+     * @param island Index of the receiving island.
+     * @param numIslands Number of islands.
+     * @return Number of islands that have it as a neighbor.
+     */
+    static int inDegree(Topology topology, int island, int numIslands) {
+        int n = 0;
+        for (int i = 0; i < numIslands; i++) {
+            for (int j : topology.getNeighbors(i, numIslands)) {
+                if (j == island) {
+                    n++;
+                }
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Send and receive migrants, if this is a migration generation.
+     *
+     * @param population Island's population.
+     */
+    @Override
+    public void operate(Individual[] population) {
+        generationNumber++;
+        if (generationNumber % interval != 0) {
+            return;
+        }
+
+        int[] best = extremes(population, Math.min(migrants, population.length), true);
+        for (int n : neighbors) {
+            for (int b : best) {
+                if (transport.send(n, population[b])) {
+                    sent++;
+                } else {
+                    dropped++;
+                }
+            }
+        }
+
+        // immigrants replace the worst, but never the emigrants just chosen
+        int limit = Math.min(intake, population.length - best.length);
+        if (limit <= 0) {
+            return;
+        }
+        int[] worst = extremes(population, limit, false);
+        int count = 0;
+        while (count < worst.length) {
+            Individual m = transport.receive(island, population[worst[count]]);
+            if (m == null) {
+                break;
+            }
+            population[worst[count++]] = m;
+        }
+        received += count;
+    }
+
+    /**
+     * Find the indexes of the best or worst individuals in a population, by
+     * insertion into a short sorted list, which takes one pass when k is
+     * small.
+     *
+     * @param population Population to search.
+     * @param k Number of individuals to find, at most the population size.
+     * @param best True for the fittest, false for the least fit.
+     * @return Indexes of the k individuals, best or worst first.
+     */
+    private static int[] extremes(Individual[] population, int k, boolean best) {
+        int[] idx = new int[k];
+        double[] fit = new double[k];
+        int n = 0;
+        for (int i = 0; i < population.length; i++) {
+            double f = best ? population[i].getFitness() : -population[i].getFitness();
+            if (n == k && !(f > fit[k - 1])) {
+                continue;
+            }
+            int j = n < k ? n++ : k - 1;
+            while (j > 0 && f > fit[j - 1]) {
+                fit[j] = fit[j - 1];
+                idx[j] = idx[j - 1];
+                j--;
+            }
+            fit[j] = f;
+            idx[j] = i;
+        }
+        return idx;
+    }
+
+    /**
+     * Get the number of migrants sent to neighbors.
+     *
+     * @return Migrants sent.
+     */
+    public long getSent() {
+        return sent;
+    }
+
+    /**
+     * Get the number of migrants dropped because a neighbor's inbox was full.
+     *
+     * @return Migrants dropped.
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Get the number of migrants received from neighbors.
+     *
+     * @return Migrants received.
+     */
+    public long getReceived() {
+        return received;
+    }
+
+    @Override
+    public void saveState(DataOutput out, GenomeCodec codec) throws IOException {
+        out.writeInt(generationNumber);
+    }
+
+    @Override
+    public void loadState(DataInput in, GenomeCodec codec, Problem problem) throws IOException {
+        generationNumber = in.readInt();
+    }
+
+    @Override
+    public String toString() {
+        return "Migration, island " + island + " to " + Arrays.toString(neighbors)
+                + ", interval = " + interval + ", migrants = " + migrants;
+    }
+}
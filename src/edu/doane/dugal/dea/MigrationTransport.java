@@ -0,0 +1,36 @@
+package edu.doane.dugal.dea;
+
+/**
+ * Interface for the channels that carry migrants between islands. Every
+ * island has an inbox; any island may send to it, but only the island itself
+ * receives from it. Implementations must let senders and the receiver work
+ * at the same time; they may take turns briefly, but a sender never waits
+ * for room in a full inbox, nor the receiver for a migrant.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public interface MigrationTransport {
+
+    /**
+     * Offer a copy of a migrant to an island's inbox. The migrant itself is
+     * left untouched and stays with the sender.
+     *
+     * @param island Index of the receiving island.
+     * @param migrant Individual to send.
+     * @return True if the migrant was queued, false if the inbox was full.
+     */
+    public boolean send(int island, Individual migrant);
+
+    /**
+     * Take the oldest migrant waiting in an island's inbox. Only the island
+     * that owns the inbox may call this.
+     *
+     * @param island Index of the receiving island.
+     * @param target Individual that the migrant may be copied into, to avoid
+     * allocating a new one.
+     * @return The individual holding the migrant, target or a new one; or
+     * null if the inbox is empty.
+     */
+    public Individual receive(int island, Individual target);
+}
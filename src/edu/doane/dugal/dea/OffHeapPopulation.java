@@ -0,0 +1,304 @@
+package edu.doane.dugal.dea;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Abstract base class for populations whose genomes and fitness values live
+ * outside the Java heap, in direct byte buffers. Each individual is a
+ * fixed-size record; the kits define the record layout and supply Individual
+ * views that read and write their records in place, so the existing operators
+ * run against off-heap storage unchanged and the garbage collector never has
+ * to scan or copy the genomes.
+ *
+ * Records are spread over segments of at most 1 GB, so populations can be
+ * larger than the 2 GB limit of a single buffer. Two stores are allocated: the
+ * population itself, and a buffer for double-buffered selection (see the
+ * setBuffer() method of the selection operators).
+ *
+ * Lifetime is explicit: call close() when the run is over. Closing detaches
+ * every view, so later access through a view throws IllegalStateException,
+ * and releases the native memory right away where the runtime allows it;
+ * otherwise, the memory is returned when the buffers are collected. A view
+ * that is in use on another thread while its memory is released could crash
+ * the JVM, so close() refuses while the population is held: a DEA created
+ * with the population holds it for the length of its run, and any other
+ * thread that uses the views should call hold() first and release() when
+ * done.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public abstract class OffHeapPopulation implements AutoCloseable {
+
+    /**
+     * Largest number of bytes in one segment.
+     */
+    private static final int SEGMENT_BYTES = 1 << 30;
+
+    /**
+     * Unsafe instance used to free direct buffers, or null if not available.
+     */
+    private static final Object UNSAFE;
+
+    /**
+     * Unsafe.invokeCleaner(ByteBuffer), or null if not available.
+     */
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> cls = Class.forName("sun.misc.Unsafe");
+            Field f = cls.getDeclaredField("theUnsafe");
+            f.setAccessible(true);
+            unsafe = f.get(null);
+            invokeCleaner = cls.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            // older or locked-down runtime; buffers are freed by the collector
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    /**
+     * Number of individuals in the population.
+     */
+    private final int popSize;
+
+    /**
+     * Number of bytes in one individual's record.
+     */
+    private final int recordSize;
+
+    /**
+     * Number of records in one segment.
+     */
+    private final int perSegment;
+
+    /**
+     * Segments for the two stores, indexed by store, then segment.
+     */
+    private ByteBuffer[][] segments;
+
+    /**
+     * Views onto the two stores.
+     */
+    private final Individual[][] views;
+
+    /**
+     * True once close() has been called.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Number of holds on the population that haven't been released.
+     */
+    private int holds;
+
+    /**
+     * Allocate the off-heap stores. Subclasses call createViews() once their
+     * own fields are set up.
+     *
+     * @param popSize Number of individuals in the population.
+     * @param recordSize Number of bytes in one individual's record.
+     */
+    protected OffHeapPopulation(int popSize, int recordSize) {
+        if (recordSize > SEGMENT_BYTES) {
+            throw new IllegalArgumentException("Record too large: " + recordSize);
+        }
+
+        this.popSize = popSize;
+        this.recordSize = recordSize;
+        perSegment = SEGMENT_BYTES / recordSize;
+
+        int numSegments = (popSize + perSegment - 1) / perSegment;
+        segments = new ByteBuffer[2][numSegments];
+        for (int s = 0; s < 2; s++) {
+            for (int i = 0; i < numSegments; i++) {
+                int records = Math.min(perSegment, popSize - i * perSegment);
+                segments[s][i] = ByteBuffer.allocateDirect(records * recordSize)
+                        .order(ByteOrder.nativeOrder());
+            }
+        }
+
+        views = new Individual[2][popSize];
+    }
+
+    /**
+     * Create the views onto both stores, by calling createView() for each
+     * record.
+     */
+    protected final void createViews() {
+        for (int s = 0; s < 2; s++) {
+            for (int i = 0; i < popSize; i++) {
+                views[s][i] = createView(segments[s][i / perSegment],
+                        (i % perSegment) * recordSize);
+            }
+        }
+    }
+
+    /**
+     * Create a view onto one record.
+     *
+     * @param segment Segment holding the record.
+     * @param base Byte offset of the record in the segment.
+     * @return Individual that reads and writes the record in place.
+     */
+    protected abstract Individual createView(ByteBuffer segment, int base);
+
+    /**
+     * Detach a view from its segment, so that it can no longer be used.
+     *
+     * @param view View created by createView().
+     */
+    protected abstract void releaseView(Individual view);
+
+    /**
+     * Get the population: views onto the primary store. Pass this to the DEA
+     * constructor.
+     *
+     * @return Array of views.
+     * @throws IllegalStateException If the population has been closed.
+     */
+    public Individual[] getPopulation() throws IllegalStateException {
+        checkOpen();
+        return views[0];
+    }
+
+    /**
+     * Get views onto the secondary store, for use as the buffer of a
+     * double-buffered selection operator.
+     *
+     * @return Array of views, distinct from getPopulation().
+     * @throws IllegalStateException If the population has been closed.
+     */
+    public Individual[] getBuffer() throws IllegalStateException {
+        checkOpen();
+        return views[1];
+    }
+
+    /**
+     * Get the number of individuals in the population.
+     *
+     * @return Population size.
+     */
+    public int getPopSize() {
+        return popSize;
+    }
+
+    /**
+     * Get the number of bytes in one individual's record.
+     *
+     * @return Record size in bytes.
+     */
+    public int getRecordSize() {
+        return recordSize;
+    }
+
+    /**
+     * Get the total number of off-heap bytes held by both stores.
+     *
+     * @return Number of bytes allocated.
+     */
+    public long getBytes() {
+        return 2L * popSize * recordSize;
+    }
+
+    /**
+     * Find out if this population has been closed.
+     *
+     * @return True if close() has been called.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Mark the population as in use, so that close() refuses to release it
+     * until release() is called. Holds nest.
+     *
+     * @throws IllegalStateException If the population has been closed.
+     */
+    public synchronized void hold() throws IllegalStateException {
+        checkOpen();
+        holds++;
+    }
+
+    /**
+     * Give back a hold taken with hold().
+     *
+     * @throws IllegalStateException If the population isn't held.
+     */
+    public synchronized void release() throws IllegalStateException {
+        if (holds == 0) {
+            throw new IllegalStateException("Off-heap population is not held");
+        }
+        holds--;
+    }
+
+    /**
+     * Detach all views and release the off-heap memory. Calling close() more
+     * than once has no further effect.
+     *
+     * @throws IllegalStateException If the population is held, e.g., by a
+     * DEA that is still running.
+     */
+    @Override
+    public synchronized void close() throws IllegalStateException {
+        if (closed) {
+            return;
+        }
+        if (holds > 0) {
+            throw new IllegalStateException("Off-heap population is still in use");
+        }
+        closed = true;
+
+        for (Individual[] store : views) {
+            for (Individual view : store) {
+                releaseView(view);
+            }
+        }
+
+        for (ByteBuffer[] store : segments) {
+            for (ByteBuffer segment : store) {
+                free(segment);
+            }
+        }
+        segments = null;
+    }
+
+    /**
+     * Make sure the population hasn't been closed.
+     *
+     * @throws IllegalStateException If it has.
+     */
+    private void checkOpen() throws IllegalStateException {
+        if (closed) {
+            throw new IllegalStateException("Off-heap population has been closed");
+        }
+    }
+
+    /**
+     * Release a direct or mapped buffer's memory now, if the runtime allows
+     * it. The buffer, and every duplicate of it, must not be used afterwards,
+     * so callers only free buffers that nothing else can still be reading.
+     *
+     * @param buf Direct or mapped buffer to free.
+     */
+    static void free(ByteBuffer buf) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buf);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            // leave it to the collector
+        }
+    }
+}
@@ -1,13 +1,24 @@
 package edu.doane.dugal.dea;
 
-import cern.jet.random.engine.MersenneTwister;
-
 /**
  * Singleton class implementing a pseudo-random number generator, based on the
- * Mersenne Twister generator distributed by CERN in their colt library.
+ * xoroshiro128++ generator of Blackman and Vigna. The generator has 128 bits of
+ * state, produces 64 bits per step, and is seeded from a 64-bit seed through
+ * SplitMix64. Integer ranges are sampled without bias, doubles have the full
+ * 53 bits of precision, and bulk methods fill whole arrays at once for
+ * chromosome initialization and mutation masks.
+ *
+ * The singleton is seeded with a 64-bit master seed. Independent streams for
+ * threads or tasks are derived from it with split(), which mixes the parent's
+ * seed with a caller-supplied key; the same master seed and the same keys
+ * always produce the same family of streams, so a whole parallel run can be
+ * reproduced from the seed printed in the DEA tableau. A PRNG object is not
+ * thread safe, so each thread or task should draw from its own stream.
+ * setThreadInstance() binds a stream to the current thread, after which
+ * getInstance() returns that stream when called from that thread.
  *
  * @author Mark M. Meysenburg
- * @version 12/10/2014
+ * @version 10/18/2026
  */
 public class PRNG {
 
@@ -18,46 +29,140 @@ public class PRNG {
     private static PRNG instance = null;
 
     /**
-     * Mersenne Twister generator encapsulated by this class.
+     * Streams bound to individual threads via setThreadInstance(). When a
+     * thread has a bound stream, getInstance() returns it instead of the
+     * singleton.
+     */
+    private static final ThreadLocal<PRNG> THREAD_INSTANCE = new ThreadLocal<>();
+
+    /**
+     * Golden-ratio increment used by the SplitMix64 seed mixer.
+     */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * First half of the xoroshiro128++ state.
+     */
+    private long s0;
+
+    /**
+     * Second half of the xoroshiro128++ state.
      */
-    private MersenneTwister mersenne = null;
+    private long s1;
 
     /**
-     * Seed value being used by the current sequence.
+     * 64-bit seed value being used by the current sequence.
      */
-    private int seed;
+    private long seed;
 
     /**
-     * Double representing the shifted range (no negative numbers) that can be
-     * generated by the Mersenne Twister generator. Used as a divisor when
-     * nextDouble() is called.
+     * Scale factor turning the top 53 bits of a long into a double in [0, 1).
      */
-    final private static double MERSENNE_RANGE = Integer.MAX_VALUE - ((double) Integer.MIN_VALUE) + 1.0;
+    final private static double DOUBLE_UNIT = 0x1.0p-53;
 
     /**
-     * Default constructor. Create the underlying Mersenne Twister prng and seed
-     * it based on the first number in the java.util.Random prng sequence, as
-     * seeded with the default Random constructor.
+     * Default constructor. Seed the generator based on the first number in the
+     * java.util.Random prng sequence, as seeded with the default Random
+     * constructor.
      */
     private PRNG() {
         java.util.Random r = new java.util.Random();
-        seed = r.nextInt();
-        mersenne = new MersenneTwister(seed);
+        setSeed(r.nextLong());
+    }
+
+    /**
+     * Stream constructor. Create a generator with the specified seed; used by
+     * split() to create derived streams.
+     *
+     * @param seed 64-bit seed for the new stream.
+     */
+    private PRNG(long seed) {
+        setSeed(seed);
     }
 
     /**
      * Get a reference to the one allowed PRNG object. The default behavior is
      * to get a PRNG seeded with the system time. If you want to manually set
-     * the seed value, call setSeed() after calling this method.
+     * the seed value, call setSeed() after calling this method. If a stream has
+     * been bound to the calling thread with setThreadInstance(), that stream is
+     * returned instead.
      *
-     * @return Reference to the single PRNG object that can exist.
+     * @return Reference to the single PRNG object that can exist, or to the
+     * calling thread's stream.
      */
-    public synchronized static PRNG getInstance() {
-        if (instance == null) {
-            instance = new PRNG();
+    public static PRNG getInstance() {
+        PRNG bound = THREAD_INSTANCE.get();
+        if (bound != null) {
+            return bound;
         }
 
-        return instance;
+        synchronized (PRNG.class) {
+            if (instance == null) {
+                instance = new PRNG();
+            }
+
+            return instance;
+        }
+    }
+
+    /**
+     * Bind a stream to the calling thread, so that getInstance() returns it
+     * when called from this thread. Pass null to go back to the singleton.
+     *
+     * @param prng Stream to bind to the calling thread, usually created with
+     * split(); or null to remove the binding.
+     */
+    public static void setThreadInstance(PRNG prng) {
+        if (prng == null) {
+            THREAD_INSTANCE.remove();
+        } else {
+            THREAD_INSTANCE.set(prng);
+        }
+    }
+
+    /**
+     * Create an independent stream derived from this generator's seed and the
+     * specified key. The derived stream depends only on the seed and the key,
+     * not on how many numbers have been drawn, so the same keys always give
+     * the same streams. Streams can be split further, e.g., by generation and
+     * then by task index.
+     *
+     * @param key Key identifying the stream, e.g., a thread or task index.
+     * @return New PRNG object for the derived stream.
+     */
+    public PRNG split(long key) {
+        return new PRNG(mix64(seed ^ mix64(key + GOLDEN_GAMMA)));
+    }
+
+    /**
+     * SplitMix64 finalizer, used to turn seeds and keys into well-mixed
+     * 64-bit values.
+     *
+     * @param z Value to mix.
+     * @return Mixed value.
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Return the next number in the PRNG sequence, as a long in the closed
+     * range [Long.MIN_VALUE, Long.MAX_VALUE].
+     *
+     * @return a long in the range [Long.MIN_VALUE, Long.MAX_VALUE]
+     */
+    public long nextLong() {
+        final long a = s0;
+        long b = s1;
+        final long result = Long.rotateLeft(a + b, 17) + a;
+
+        b ^= a;
+        s0 = Long.rotateLeft(a, 49) ^ b ^ (b << 21);
+        s1 = Long.rotateLeft(b, 28);
+
+        return result;
     }
 
     /**
@@ -67,12 +172,14 @@ public class PRNG {
      * @return a int in the range [Integer.MIN_VALUE, Integer.MAX_VALUE]
      */
     public int nextInt() {
-        return mersenne.nextInt();
+        return (int) (nextLong() >>> 32);
     }
 
     /**
      * Return the next number in the PRNG sequence, as an int in the closed
-     * range [lo, hi]. It is assumed that lo is less than or equal to hi.
+     * range [lo, hi]. It is assumed that lo is less than or equal to hi. Uses
+     * Lemire's multiply-and-reject method, so every value in the range is
+     * equally likely and no floating point arithmetic is needed.
      *
      * @return a int in the range [lo, hi].
      *
@@ -80,24 +187,35 @@ public class PRNG {
      * @param hi High int of range.
      */
     public int nextInt(int lo, int hi) {
-        return lo + (int) ((hi - lo + 1) * nextDouble());
+        long range = ((long) hi) - lo + 1;
+        long m = (nextLong() >>> 32) * range;
+        long l = m & 0xffffffffL;
+        if (l < range) {
+            // reject the few values that would bias the result
+            long t = (0x100000000L - range) % range;
+            while (l < t) {
+                m = (nextLong() >>> 32) * range;
+                l = m & 0xffffffffL;
+            }
+        }
+        return lo + (int) (m >>> 32);
     }
 
     /**
-     * Get the next double from the PRNG sequence, in the closed range [0, 1].
+     * Get the next double from the PRNG sequence, in the half-open range
+     * [0, 1), with 53 bits of precision.
      *
-     * @return a double in the range [0, 1].
+     * @return a double in the range [0, 1).
      */
     public double nextDouble() {
-        double iv = -((double) Integer.MIN_VALUE) + nextInt();
-        return iv / MERSENNE_RANGE;
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
     }
 
     /**
-     * Return the next number in the PRNG sequence, as a double in the closed
-     * range [lo, hi]. It is assumed that lo is less than or equal to hi.
+     * Return the next number in the PRNG sequence, as a double in the half-open
+     * range [lo, hi). It is assumed that lo is less than or equal to hi.
      *
-     * @return a double in the range [lo, hi]
+     * @return a double in the range [lo, hi)
      *
      * @param lo Low value of PRNG's range.
      * @param hi High value of PRNG's range.
@@ -107,21 +225,120 @@ public class PRNG {
     }
 
     /**
-     * Re-seed the PRNG with a new value.
+     * Get the next boolean from the PRNG sequence; true and false are equally
+     * likely.
+     *
+     * @return a random boolean.
+     */
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    /**
+     * Fill an array with doubles in the half-open range [lo, hi).
      *
-     * @param seed New seed value.
+     * @param dst Array to fill.
+     * @param lo Low value of the range.
+     * @param hi High value of the range.
      */
-    public void setSeed(int seed) {
+    public void nextDoubles(double[] dst, double lo, double hi) {
+        double range = hi - lo;
+        for (int i = 0; i < dst.length; i++) {
+            dst[i] = lo + range * ((nextLong() >>> 11) * DOUBLE_UNIT);
+        }
+    }
+
+    /**
+     * Fill an array with ints in the closed range [lo, hi].
+     *
+     * @param dst Array to fill.
+     * @param lo Low value of the range.
+     * @param hi High value of the range.
+     */
+    public void nextInts(int[] dst, int lo, int hi) {
+        for (int i = 0; i < dst.length; i++) {
+            dst[i] = nextInt(lo, hi);
+        }
+    }
+
+    /**
+     * Fill an array with random longs; each bit is independently 0 or 1 with
+     * equal probability, so the result can be used as a bit mask.
+     *
+     * @param dst Array to fill.
+     */
+    public void nextLongs(long[] dst) {
+        for (int i = 0; i < dst.length; i++) {
+            dst[i] = nextLong();
+        }
+    }
+
+    /**
+     * Fill an array with random booleans, using one bit of each 64-bit draw
+     * per element.
+     *
+     * @param dst Array to fill.
+     */
+    public void nextBooleans(boolean[] dst) {
+        long bits = 0;
+        for (int i = 0; i < dst.length; i++) {
+            if ((i & 63) == 0) {
+                bits = nextLong();
+            }
+            dst[i] = (bits & 1L) != 0;
+            bits >>>= 1;
+        }
+    }
+
+    /**
+     * Re-seed the PRNG with a new value. The 128 bits of generator state are
+     * filled from the seed with SplitMix64, as recommended by the authors of
+     * xoroshiro128++.
+     *
+     * @param seed New 64-bit seed value.
+     */
+    public final void setSeed(long seed) {
         this.seed = seed;
-        mersenne = new MersenneTwister(seed);
+        long z = seed + GOLDEN_GAMMA;
+        s0 = mix64(z);
+        s1 = mix64(z + GOLDEN_GAMMA);
     }
 
     /**
      * Get the seed value currently being used by this PRNG.
      *
-     * @return Seed value used by this PRNG.
+     * @return 64-bit seed value used by this PRNG.
      */
-    public int getSeed() {
+    public long getSeed() {
         return seed;
     }
+
+    /**
+     * Get the complete state of this PRNG: the seed, which determines the
+     * streams made by split(), and the 128 bits of generator state. Together
+     * with setState(), this lets a checkpointed run continue the same
+     * sequence.
+     *
+     * @return Array of three longs: seed, then the two halves of the state.
+     */
+    public long[] getState() {
+        return new long[]{seed, s0, s1};
+    }
+
+    /**
+     * Restore a state saved with getState().
+     *
+     * @param state Array of three longs: seed, then the two halves of the
+     * state.
+     * @throws IllegalArgumentException If the array isn't three longs, or
+     * the generator state is all zeros.
+     */
+    public void setState(long[] state) throws IllegalArgumentException {
+        if (state.length != 3 || (state[1] == 0 && state[2] == 0)) {
+            throw new IllegalArgumentException("Illegal state to setState");
+        }
+        seed = state[0];
+        s0 = state[1];
+        s1 = state[2];
+    }
 }
@@ -0,0 +1,121 @@
+package edu.doane.dugal.dea;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join task used by the parallel modes of the crossover and mutation
+ * operators, and by the fused mode of the DEA. The work, e.g., the individuals
+ * of a population or a list of disjoint mating pairs, is cut into fixed-size
+ * partitions, and each partition is handed to a Kernel along with its own
+ * random number stream, split from a base PRNG by partition number. Since the
+ * partitions and their streams don't depend on how the work is scheduled, a
+ * parallel run gives the same results for a given seed no matter how many
+ * threads the pool has.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class PartitionTask extends RecursiveAction {
+
+    /**
+     * Serialization version; fork/join tasks are Serializable.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Interface for the work done on one partition.
+     */
+    public interface Kernel {
+
+        /**
+         * Process one partition of the work. Implementations must only touch
+         * individuals belonging to the partition.
+         *
+         * @param start Index of the first unit of work in the partition.
+         * @param end Index one past the last unit of work in the partition.
+         * @param prng Random number stream for this partition only.
+         */
+        public void apply(int start, int end, PRNG prng);
+    }
+
+    /**
+     * Work to do on each partition.
+     */
+    private final Kernel kernel;
+
+    /**
+     * PRNG the partition streams are split from.
+     */
+    private final PRNG base;
+
+    /**
+     * Total number of units of work.
+     */
+    private final int units;
+
+    /**
+     * Number of units of work per partition.
+     */
+    private final int partitionSize;
+
+    /**
+     * First partition handled by this task.
+     */
+    private final int first;
+
+    /**
+     * One past the last partition handled by this task.
+     */
+    private final int last;
+
+    /**
+     * Create a task covering all of the work.
+     *
+     * @param kernel Work to do on each partition.
+     * @param base PRNG to split the partition streams from.
+     * @param units Total number of units of work.
+     * @param partitionSize Number of units of work per partition; must be
+     * greater than 0.
+     */
+    public PartitionTask(Kernel kernel, PRNG base, int units, int partitionSize) {
+        this(kernel, base, units, partitionSize, 0,
+                (units + partitionSize - 1) / partitionSize);
+    }
+
+    /**
+     * Create a task covering a range of partitions.
+     *
+     * @param kernel Work to do on each partition.
+     * @param base PRNG to split the partition streams from.
+     * @param units Total number of units of work.
+     * @param partitionSize Number of units of work per partition.
+     * @param first First partition handled by this task.
+     * @param last One past the last partition handled by this task.
+     */
+    private PartitionTask(Kernel kernel, PRNG base, int units,
+            int partitionSize, int first, int last) {
+        this.kernel = kernel;
+        this.base = base;
+        this.units = units;
+        this.partitionSize = partitionSize;
+        this.first = first;
+        this.last = last;
+    }
+
+    @Override
+    protected void compute() {
+        if (last - first <= 1) {
+            // a single partition; do the work here
+            if (last > first) {
+                int start = first * partitionSize;
+                kernel.apply(start, Math.min(start + partitionSize, units),
+                        base.split(first));
+            }
+        } else {
+            // divide the partitions in half and spawn subtasks
+            int mid = (first + last) / 2;
+            invokeAll(new PartitionTask(kernel, base, units, partitionSize, first, mid),
+                    new PartitionTask(kernel, base, units, partitionSize, mid, last));
+        }
+    }
+}
@@ -8,8 +8,14 @@ package edu.doane.dugal.dea;
  * constructor for the Problem is a good place to make the first call to the
  * PRNG getInstance() method, to get the random number generator up and running.
  *
+ * Problems can also override evaluateBatch(), to evaluate a block of
+ * individuals at once rather than with one call per individual, e.g., by
+ * handing them all to an external simulator or a vector library, and
+ * isBatched(), to return true; Evaluate then passes evaluateBatch() each run
+ * of individuals it needs to evaluate.
+ *
  * @author Mark M. Meysenburg
- * @version 12/10/2014
+ * @version 10/18/2026
  */
 public interface Problem {
 
@@ -30,4 +36,33 @@ public interface Problem {
      * @param ind Individual to evaluate.
      */
     public void evaluateIndividual(Individual ind);
+
+    /**
+     * Evaluate a range of individuals, setting each one's fitness exactly as
+     * evaluateIndividual() would. The default calls evaluateIndividual() on
+     * each individual in turn. Several ranges may be evaluated at once, on
+     * different threads, so implementations must keep any scratch space local
+     * to the call.
+     *
+     * @param pop Array holding the individuals to evaluate.
+     * @param from Index of the first individual to evaluate.
+     * @param to Index one past the last individual to evaluate.
+     */
+    public default void evaluateBatch(Individual[] pop, int from, int to) {
+        for (int i = from; i < to; i++) {
+            evaluateIndividual(pop[i]);
+        }
+    }
+
+    /**
+     * Find out if this problem should be evaluated with evaluateBatch().
+     * Problems that override evaluateBatch() override this method to return
+     * true; others are evaluated one individual at a time.
+     *
+     * @return True if Evaluate should pass runs of individuals to
+     * evaluateBatch().
+     */
+    public default boolean isBatched() {
+        return false;
+    }
 }
@@ -0,0 +1,51 @@
+package edu.doane.dugal.dea;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MigrationTransport for islands in the same JVM, as used by IslandModel.
+ * Each inbox is a bounded, lock-free BoundedQueue of copies of the migrants.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+class QueueMigrationTransport implements MigrationTransport {
+
+    /**
+     * Inbox of each island.
+     */
+    private final List<BoundedQueue<Individual>> inboxes;
+
+    /**
+     * Create the inboxes.
+     *
+     * @param capacities Capacity of each island's inbox, at least 1.
+     */
+    QueueMigrationTransport(int[] capacities) {
+        inboxes = new ArrayList<>();
+        for (int c : capacities) {
+            inboxes.add(new BoundedQueue<Individual>(c));
+        }
+    }
+
+    @Override
+    public boolean send(int island, Individual migrant) {
+        // send a copy, so the queues never share individuals with a
+        // population
+        return inboxes.get(island).offer(migrant.copy());
+    }
+
+    @Override
+    public Individual receive(int island, Individual target) {
+        Individual m = inboxes.get(island).poll();
+        if (m == null) {
+            return null;
+        }
+        if (!m.canCopyInto()) {
+            return m;
+        }
+        m.copyInto(target);
+        return target;
+    }
+}
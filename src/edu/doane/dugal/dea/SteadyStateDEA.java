@@ -0,0 +1,498 @@
+package edu.doane.dugal.dea;
+
+import java.util.ArrayList;
+
+/**
+ * Steady-state alternative to the DEA. Instead of replacing the whole
+ * population each generation, the run repeatedly breeds a small batch of
+ * offspring, by default two, and puts each one into the population in place
+ * of an existing individual as soon as it has been evaluated.
+ *
+ * Parents are chosen by k-tournament selection, and copied into a preallocated
+ * batch of offspring. The variation operators, given with addVariation(), are
+ * ChunkOperators such as the kit PointCrossover and PointMutation, and are
+ * applied to just the batch; offspring that are still modified afterwards are
+ * evaluated with the problem. Each offspring then replaces either the least fit
+ * individual in the population, found with a FitnessHeap, or the loser of an
+ * inverse tournament. The population is indexed by the heap, so finding and
+ * replacing the worst individual costs O(log n) rather than a scan of the
+ * population, and the engine allocates no objects per step.
+ *
+ * For comparison with the DEA, a generation is counted each time popSize
+ * offspring have been bred, and the operators given with addOperator(), such
+ * as statistics, are applied to the whole population after each generation.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class SteadyStateDEA extends Thread {
+
+    /**
+     * Replacement policy: each offspring replaces the least fit individual.
+     */
+    public static final int REPLACE_WORST = 0;
+
+    /**
+     * Replacement policy: each offspring replaces the least fit of k randomly
+     * chosen individuals.
+     */
+    public static final int REPLACE_TOURNAMENT = 1;
+
+    /**
+     * Problem to be solved by this algorithm.
+     */
+    private final Problem problem;
+
+    /**
+     * Population of Individuals representing potential solutions to the
+     * problem.
+     */
+    private final Individual[] population;
+
+    /**
+     * Heap of the population's fitness values, built when the run starts.
+     */
+    private FitnessHeap heap;
+
+    /**
+     * Variation operators applied to each batch of offspring.
+     */
+    private final ArrayList<ChunkOperator> variations;
+
+    /**
+     * Operators applied to the whole population after each generation.
+     */
+    private final ArrayList<Operator> operators;
+
+    /**
+     * Preallocated batch of offspring.
+     */
+    private Individual[] offspring;
+
+    /**
+     * Number of generations to run the algorithm.
+     */
+    private final int numGens;
+
+    /**
+     * Number of generations completed so far.
+     */
+    private int generation;
+
+    /**
+     * Number of offspring bred so far.
+     */
+    private long births;
+
+    /**
+     * Number of individuals in each parent selection tournament.
+     */
+    private int k;
+
+    /**
+     * Number of individuals in each inverse tournament, for
+     * REPLACE_TOURNAMENT.
+     */
+    private int replacementK;
+
+    /**
+     * Replacement policy; REPLACE_WORST or REPLACE_TOURNAMENT.
+     */
+    private int replacement;
+
+    /**
+     * True to discard offspring that are less fit than the individual they
+     * would replace.
+     */
+    private boolean replaceIfBetter;
+
+    /**
+     * Number of offspring discarded because they were less fit than the
+     * individual they would have replaced.
+     */
+    private long rejected;
+
+    /**
+     * True once the run has been asked to stop after the current batch.
+     */
+    private volatile boolean stopRequested;
+
+    /**
+     * Random number generator used by the algorithm.
+     */
+    private final PRNG prng;
+
+    /**
+     * Create a new SteadyStateDEA object.
+     *
+     * @param problem Problem to solve.
+     * @param popSize Population size.
+     * @param numGens Number of generations to execute, of popSize offspring
+     * each.
+     */
+    public SteadyStateDEA(Problem problem, int popSize, int numGens) {
+        this(problem, createPopulation(problem, popSize), numGens);
+    }
+
+    /**
+     * Create a new SteadyStateDEA object, with a population created by the
+     * caller. Individuals that don't support copyInto() are copied with
+     * copy() instead, at the cost of an allocation per copy.
+     *
+     * @param problem Problem to solve.
+     * @param population Initial population.
+     * @param numGens Number of generations to execute, of population.length
+     * offspring each.
+     * @throws IllegalArgumentException If the population has fewer than two
+     * individuals.
+     */
+    public SteadyStateDEA(Problem problem, Individual[] population, int numGens)
+            throws IllegalArgumentException {
+        if (population.length < 2) {
+            throw new IllegalArgumentException("Illegal population size to SteadyStateDEA: "
+                    + population.length);
+        }
+        this.problem = problem;
+        this.population = population;
+        this.numGens = numGens;
+        variations = new ArrayList<>();
+        operators = new ArrayList<>();
+        k = 2;
+        replacementK = 2;
+        replacement = REPLACE_WORST;
+        prng = PRNG.getInstance();
+        setBatchSize(2);
+    }
+
+    /**
+     * Create a random population for the problem.
+     *
+     * @param problem Problem to solve.
+     * @param popSize Population size.
+     * @return New population.
+     */
+    private static Individual[] createPopulation(Problem problem, int popSize) {
+        Individual[] population = new Individual[popSize];
+        for (int i = 0; i < population.length; i++) {
+            population[i] = problem.createRandomIndividual();
+        }
+        return population;
+    }
+
+    /**
+     * Add a variation operator, applied to each batch of offspring, in the
+     * order added.
+     *
+     * @param op Variation operator.
+     */
+    public void addVariation(ChunkOperator op) {
+        variations.add(op);
+    }
+
+    /**
+     * Add an operator applied to the whole population after each generation,
+     * e.g., for statistics. The operator must not replace elements of the
+     * population array or change fitness values.
+     *
+     * @param op Operator to add.
+     */
+    public void addOperator(Operator op) {
+        operators.add(op);
+    }
+
+    /**
+     * Set the number of offspring bred at a time. The kit crossover operators
+     * pair up the offspring in a batch, so the batch size should be even.
+     *
+     * @param batchSize Offspring per batch, at least 1 and less than the
+     * population size.
+     * @throws IllegalArgumentException If batchSize is out of range.
+     */
+    final public void setBatchSize(int batchSize) throws IllegalArgumentException {
+        if (batchSize < 1 || batchSize >= population.length) {
+            throw new IllegalArgumentException("Illegal batch size to setBatchSize: " + batchSize);
+        }
+        offspring = new Individual[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            offspring[i] = Individual.copy(population[i]);
+        }
+    }
+
+    /**
+     * Get the number of offspring bred at a time.
+     *
+     * @return Offspring per batch.
+     */
+    public int getBatchSize() {
+        return offspring.length;
+    }
+
+    /**
+     * Set the parent selection tournament size.
+     *
+     * @param k Individuals per tournament, at least 1.
+     * @throws IllegalArgumentException If k is less than 1.
+     */
+    public void setK(int k) throws IllegalArgumentException {
+        if (k < 1) {
+            throw new IllegalArgumentException("Illegal k to setK: " + k);
+        }
+        this.k = k;
+    }
+
+    /**
+     * Get the parent selection tournament size.
+     *
+     * @return Individuals per tournament.
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Set the replacement policy.
+     *
+     * @param replacement REPLACE_WORST, or REPLACE_TOURNAMENT.
+     * @param replacementK Individuals per inverse tournament, at least 1;
+     * ignored for REPLACE_WORST.
+     * @throws IllegalArgumentException If either parameter is out of range.
+     */
+    public void setReplacement(int replacement, int replacementK)
+            throws IllegalArgumentException {
+        if (replacement != REPLACE_WORST && replacement != REPLACE_TOURNAMENT) {
+            throw new IllegalArgumentException("Illegal replacement to setReplacement: "
+                    + replacement);
+        }
+        if (replacementK < 1) {
+            throw new IllegalArgumentException("Illegal replacementK to setReplacement: "
+                    + replacementK);
+        }
+        this.replacement = replacement;
+        this.replacementK = replacementK;
+    }
+
+    /**
+     * Get the replacement policy.
+     *
+     * @return REPLACE_WORST, or REPLACE_TOURNAMENT.
+     */
+    public int getReplacement() {
+        return replacement;
+    }
+
+    /**
+     * Choose whether offspring less fit than the individual they would replace
+     * are discarded. Off by default.
+     *
+     * @param replaceIfBetter True to keep only offspring at least as fit as
+     * the individual they replace.
+     */
+    public void setReplaceIfBetter(boolean replaceIfBetter) {
+        this.replaceIfBetter = replaceIfBetter;
+    }
+
+    /**
+     * Find out if offspring less fit than the individual they would replace
+     * are discarded.
+     *
+     * @return True if only offspring at least as fit are kept.
+     */
+    public boolean isReplaceIfBetter() {
+        return replaceIfBetter;
+    }
+
+    /**
+     * Get a string representation of the parameters of this algorithm.
+     *
+     * @return String containing the problem name, operators, and parameters
+     * for this algorithm.
+     */
+    public String getTableau() {
+        StringBuilder s = new StringBuilder();
+
+        s.append("Problem: ").append(problem.toString()).append("\n");
+        s.append("Variations:\n");
+        for (ChunkOperator op : variations) {
+            s.append("\t").append(op.toString()).append("\n");
+        }
+        s.append("Operators:\n");
+        for (Operator op : operators) {
+            s.append("\t").append(op.toString()).append("\n");
+        }
+        s.append("Population size: ").append(population.length).append("\n");
+        s.append("Generations: ").append(numGens).append("\n");
+        s.append("Batch size: ").append(offspring.length).append("\n");
+        s.append("Tournament size: ").append(k).append("\n");
+        s.append("Replacement: ").append(replacement == REPLACE_WORST
+                ? "worst" : "inverse tournament, k = " + replacementK)
+                .append(replaceIfBetter ? ", if better" : "").append("\n");
+        s.append("PRNG seed: ").append(prng.getSeed()).append("\n");
+
+        return s.toString();
+    }
+
+    /**
+     * Execute the algorithm. Evaluate any individuals in the initial
+     * population that need it, then breed and replace one batch of offspring
+     * at a time, applying the operators to the population after each
+     * generation.
+     */
+    @Override
+    public void run() {
+        for (Individual ind : population) {
+            if (ind.isModified()) {
+                problem.evaluateIndividual(ind);
+                ind.setModified(false);
+            }
+        }
+        heap = new FitnessHeap(population);
+
+        int n = population.length;
+        long total = (long) numGens * n;
+        while (births < total && !stopRequested) {
+            int b = (int) Math.min(offspring.length, total - births);
+            step(b);
+            long before = births / n;
+            births += b;
+            if (births / n > before) {
+                for (Operator op : operators) {
+                    op.operate(population);
+                }
+                generation++;
+            }
+        }
+    }
+
+    /**
+     * Breed, evaluate, and place one batch of offspring.
+     *
+     * @param b Number of offspring in the batch.
+     */
+    private void step(int b) {
+        // select parents into the offspring slots
+        for (int i = 0; i < b; i++) {
+            Individual.copyInto(population[tournament()], offspring, i);
+            offspring[i].setModified(false);
+        }
+
+        // vary and evaluate
+        for (ChunkOperator op : variations) {
+            op.operate(offspring, 0, b, prng);
+        }
+        for (int i = 0; i < b; i++) {
+            Individual child = offspring[i];
+            if (child.isModified()) {
+                problem.evaluateIndividual(child);
+                child.setModified(false);
+            }
+        }
+
+        // replace
+        for (int i = 0; i < b; i++) {
+            Individual child = offspring[i];
+            int victim = replacement == REPLACE_WORST ? heap.peekWorst() : inverseTournament();
+            if (replaceIfBetter && child.getFitness() < heap.getFitness(victim)) {
+                rejected++;
+                continue;
+            }
+            Individual.copyInto(child, population, victim);
+            heap.update(victim, child.getFitness());
+        }
+    }
+
+    /**
+     * Pick a parent with a k-tournament.
+     *
+     * @return Index of the fittest of k randomly chosen individuals.
+     */
+    private int tournament() {
+        int n = population.length;
+        int winner = prng.nextInt(0, n - 1);
+        for (int j = 1; j < k; j++) {
+            int c = prng.nextInt(0, n - 1);
+            if (heap.getFitness(c) > heap.getFitness(winner)) {
+                winner = c;
+            }
+        }
+        return winner;
+    }
+
+    /**
+     * Pick an individual to replace with an inverse k-tournament.
+     *
+     * @return Index of the least fit of replacementK randomly chosen
+     * individuals.
+     */
+    private int inverseTournament() {
+        int n = population.length;
+        int loser = prng.nextInt(0, n - 1);
+        for (int j = 1; j < replacementK; j++) {
+            int c = prng.nextInt(0, n - 1);
+            if (heap.getFitness(c) < heap.getFitness(loser)) {
+                loser = c;
+            }
+        }
+        return loser;
+    }
+
+    /**
+     * Ask the run to stop after the current batch of offspring.
+     */
+    public void requestStop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Get the number of generations completed so far.
+     *
+     * @return Completed generations.
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Get the number of offspring bred so far.
+     *
+     * @return Offspring bred, including those discarded.
+     */
+    public long getBirths() {
+        return births;
+    }
+
+    /**
+     * Get the number of offspring discarded because they were less fit than
+     * the individual they would have replaced.
+     *
+     * @return Discarded offspring.
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Get the fittest individual in the population. Call this after the run
+     * has finished.
+     *
+     * @return Fittest individual.
+     */
+    public Individual getBestIndividual() {
+        Individual best = population[0];
+        for (Individual ind : population) {
+            if (ind.getFitness() > best.getFitness()) {
+                best = ind;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Get the population. Individuals that support copyInto() are replaced in
+     * place, so the array elements never change during a run.
+     *
+     * @return The population array.
+     */
+    public Individual[] getPopulation() {
+        return population;
+    }
+}
@@ -0,0 +1,102 @@
+package edu.doane.dugal.dea;
+
+import java.util.Arrays;
+
+/**
+ * Interface for the migration topologies of an IslandModel. A topology says,
+ * for each island, which islands it sends migrants to. RING, TORUS, and
+ * FULL cover the usual cases; implement this interface for others.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public interface Topology {
+
+    /**
+     * Each island sends migrants to the next one, and the last to the first.
+     */
+    public static final Topology RING = new Topology() {
+        @Override
+        public int[] getNeighbors(int island, int numIslands) {
+            return numIslands < 2 ? new int[0] : new int[]{(island + 1) % numIslands};
+        }
+
+        @Override
+        public String toString() {
+            return "ring";
+        }
+    };
+
+    /**
+     * Islands are laid out in a grid, as close to square as the number of
+     * islands allows, with its edges wrapped around; each island sends
+     * migrants to the islands above, below, left, and right of it.
+     */
+    public static final Topology TORUS = new Topology() {
+        @Override
+        public int[] getNeighbors(int island, int numIslands) {
+            int rows = (int) Math.sqrt(numIslands);
+            while (numIslands % rows != 0) {
+                rows--;
+            }
+            int cols = numIslands / rows;
+            int r = island / cols;
+            int c = island % cols;
+            int[] candidates = {
+                ((r + rows - 1) % rows) * cols + c,
+                ((r + 1) % rows) * cols + c,
+                r * cols + (c + cols - 1) % cols,
+                r * cols + (c + 1) % cols};
+
+            // small grids wrap onto the same neighbor, or onto the island
+            // itself; keep each neighbor once
+            int[] neighbors = new int[4];
+            int n = 0;
+            for (int candidate : candidates) {
+                boolean seen = candidate == island;
+                for (int i = 0; i < n && !seen; i++) {
+                    seen = neighbors[i] == candidate;
+                }
+                if (!seen) {
+                    neighbors[n++] = candidate;
+                }
+            }
+            return Arrays.copyOf(neighbors, n);
+        }
+
+        @Override
+        public String toString() {
+            return "torus";
+        }
+    };
+
+    /**
+     * Each island sends migrants to every other island.
+     */
+    public static final Topology FULL = new Topology() {
+        @Override
+        public int[] getNeighbors(int island, int numIslands) {
+            int[] neighbors = new int[Math.max(0, numIslands - 1)];
+            for (int i = 0, n = 0; i < numIslands; i++) {
+                if (i != island) {
+                    neighbors[n++] = i;
+                }
+            }
+            return neighbors;
+        }
+
+        @Override
+        public String toString() {
+            return "fully connected";
+        }
+    };
+
+    /**
+     * Get the islands that an island sends migrants to.
+     *
+     * @param island Index of the sending island.
+     * @param numIslands Number of islands in the model.
+     * @return Indexes of the receiving islands, not including the sender.
+     */
+    public int[] getNeighbors(int island, int numIslands);
+}
@@ -0,0 +1,728 @@
+package edu.doane.dugal.dea.farm;
+
+import edu.doane.dugal.dea.Checkpointable;
+import edu.doane.dugal.dea.GenomeCodec;
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.Operator;
+import edu.doane.dugal.dea.Problem;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Operator that evaluates a population on a farm of FarmWorker processes over
+ * TCP, for problems whose fitness takes far longer to compute than to ship,
+ * such as simulations. It drops into an operator list in place of Evaluate.
+ *
+ * The individuals to evaluate are cut into batches of consecutive
+ * individuals, so offspring of the same parents travel and are written back
+ * together. Each worker's connection is kept supplied with up to maxInFlight
+ * batches, so the worker never waits for the network between batches. Batch
+ * sizes are set each generation from the measured time per evaluation,
+ * aiming for batches that take about targetBatchMillis, but small enough
+ * that every worker gets work. If a worker dies or times out, its batches in
+ * flight go back in the queue for the other workers, and it is reconnected
+ * at the start of the next generation. A batch that has failed maxAttempts
+ * times, or that is left when no workers remain, is evaluated locally.
+ *
+ * As with Evaluate, individuals that haven't been modified since they were
+ * last evaluated can be skipped with setSkipUnmodified(true).
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class FarmEvaluate implements Operator, Checkpointable, Closeable {
+
+    /**
+     * A range of the individuals to evaluate, sent as one message.
+     */
+    private static class Batch {
+
+        /**
+         * Unique id of the batch.
+         */
+        final int id;
+
+        /**
+         * Index of the batch's first entry in the list of individuals to
+         * evaluate.
+         */
+        final int start;
+
+        /**
+         * Index one past its last entry.
+         */
+        final int end;
+
+        /**
+         * Number of times the batch has been sent and failed.
+         */
+        int attempts;
+
+        /**
+         * Time the batch was sent, from System.nanoTime().
+         */
+        long sentNanos;
+
+        /**
+         * Create a batch.
+         *
+         * @param id Unique id of the batch.
+         * @param start Index of its first entry.
+         * @param end Index one past its last entry.
+         */
+        Batch(int id, int start, int end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**
+     * Connection to one worker.
+     */
+    private static class Connection {
+
+        /**
+         * Address of the worker.
+         */
+        final InetSocketAddress address;
+
+        /**
+         * Socket connected to the worker, or null if disconnected.
+         */
+        Socket socket;
+
+        /**
+         * Stream from the worker.
+         */
+        DataInputStream in;
+
+        /**
+         * Stream to the worker.
+         */
+        DataOutputStream out;
+
+        /**
+         * Smoothed time per evaluation on this worker, in nanoseconds, or 0
+         * if not yet measured.
+         */
+        double nanosPerEval;
+
+        /**
+         * Create a disconnected connection.
+         *
+         * @param address Address of the worker.
+         */
+        Connection(InetSocketAddress address) {
+            this.address = address;
+        }
+
+        /**
+         * Drop the connection.
+         */
+        void close() {
+            if (socket != null) {
+                try {
+                    socket.close();
+                } catch (IOException ex) {
+                    // already closed
+                }
+                socket = null;
+            }
+        }
+    }
+
+    /**
+     * Problem used for local evaluation, and whose class the workers must
+     * run.
+     */
+    private final Problem prob;
+
+    /**
+     * Codec used to send genomes.
+     */
+    private final GenomeCodec codec;
+
+    /**
+     * Connections to the workers.
+     */
+    private final List<Connection> workers;
+
+    /**
+     * Threads that feed the workers, one per connection.
+     */
+    private final ExecutorService feeders;
+
+    /**
+     * Largest number of batches outstanding on one connection.
+     */
+    private int maxInFlight;
+
+    /**
+     * Time each batch should take to evaluate, in milliseconds.
+     */
+    private int targetBatchMillis;
+
+    /**
+     * Largest number of individuals in one batch.
+     */
+    private int maxBatch;
+
+    /**
+     * Number of failures after which a batch is evaluated locally.
+     */
+    private int maxAttempts;
+
+    /**
+     * Longest wait for a worker's answer, in milliseconds, or 0 to wait as
+     * long as it takes.
+     */
+    private int timeoutMillis;
+
+    /**
+     * True to skip individuals that haven't been modified since they were
+     * last evaluated.
+     */
+    private boolean skipUnmodified;
+
+    /**
+     * Id for the next batch.
+     */
+    private int nextId;
+
+    /**
+     * Number of evaluations performed so far, remotely or locally.
+     */
+    private final AtomicLong evaluations;
+
+    /**
+     * Number of evaluations saved by skipping unmodified individuals.
+     */
+    private final AtomicLong skipped;
+
+    /**
+     * Number of batches sent again after a failure.
+     */
+    private final AtomicLong retries;
+
+    /**
+     * Number of evaluations performed locally.
+     */
+    private final AtomicLong localEvaluations;
+
+    /**
+     * Create a farm evaluator. Workers are connected on first use. Defaults
+     * are 2 batches in flight per worker, 250 ms batches of at most 1024
+     * individuals, 3 attempts per batch, and no timeout.
+     *
+     * @param prob Problem used for local evaluation; the workers must run a
+     * problem of the same class.
+     * @param codec Codec used to send genomes; must match the workers'.
+     * @param workers Addresses of the workers.
+     */
+    public FarmEvaluate(Problem prob, GenomeCodec codec, List<InetSocketAddress> workers) {
+        this.prob = prob;
+        this.codec = codec;
+        this.workers = new ArrayList<>();
+        for (InetSocketAddress a : workers) {
+            this.workers.add(new Connection(a));
+        }
+        feeders = Executors.newCachedThreadPool(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "FarmEvaluate feeder");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        setMaxInFlight(2);
+        setTargetBatchMillis(250);
+        setMaxBatch(1024);
+        setMaxAttempts(3);
+        setTimeoutMillis(0);
+        skipUnmodified = false;
+        evaluations = new AtomicLong();
+        skipped = new AtomicLong();
+        retries = new AtomicLong();
+        localEvaluations = new AtomicLong();
+    }
+
+    /**
+     * Evaluate all the individuals in the specified population on the farm.
+     *
+     * @param population Population to evaluate.
+     */
+    @Override
+    public void operate(final Individual[] population) {
+        // the individuals to evaluate, in population order
+        int[] list = new int[population.length];
+        int n = 0;
+        for (int i = 0; i < population.length; i++) {
+            if (!skipUnmodified || population[i].isModified()) {
+                list[n++] = i;
+            }
+        }
+        skipped.addAndGet(population.length - n);
+        if (n == 0) {
+            return;
+        }
+        final int[] todo = list;
+
+        List<Connection> live = connect();
+        final ConcurrentLinkedDeque<Batch> pending = new ConcurrentLinkedDeque<>();
+        final ConcurrentLinkedDeque<Batch> failed = new ConcurrentLinkedDeque<>();
+        int size = batchSize(n, live);
+        for (int start = 0; start < n; start += size) {
+            pending.add(new Batch(nextId++, start, Math.min(n, start + size)));
+        }
+
+        // feed the live workers until every batch is done, or no worker is
+        // left; a worker's failed batches go back to the others
+        while (!pending.isEmpty() && !live.isEmpty()) {
+            List<Future<Boolean>> feeds = new ArrayList<>();
+            for (final Connection c : live) {
+                feeds.add(feeders.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        return feed(c, population, todo, pending, failed);
+                    }
+                }));
+            }
+            List<Connection> still = new ArrayList<>();
+            for (int i = 0; i < feeds.size(); i++) {
+                if (join(feeds.get(i))) {
+                    still.add(live.get(i));
+                }
+            }
+            live = still;
+        }
+
+        // whatever is left is evaluated here
+        failed.addAll(pending);
+        for (Batch b : failed) {
+            for (int k = b.start; k < b.end; k++) {
+                Individual ind = population[todo[k]];
+                prob.evaluateIndividual(ind);
+                ind.setModified(false);
+            }
+            evaluations.addAndGet(b.end - b.start);
+            localEvaluations.addAndGet(b.end - b.start);
+        }
+    }
+
+    /**
+     * Connect any disconnected workers.
+     *
+     * @return Connected workers.
+     */
+    private List<Connection> connect() {
+        List<Connection> live = new ArrayList<>();
+        for (Connection c : workers) {
+            if (c.socket == null) {
+                try {
+                    Socket s = new Socket();
+                    s.connect(c.address, 2000);
+                    s.setTcpNoDelay(true);
+                    s.setSoTimeout(timeoutMillis);
+                    c.socket = s;
+                    c.in = new DataInputStream(new BufferedInputStream(s.getInputStream(), 1 << 16));
+                    c.out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream(), 1 << 16));
+                    FarmProtocol.offer(c.in, c.out, prob.getClass().getName(),
+                            codec.getRecordSize());
+                } catch (IOException ex) {
+                    c.close();
+                }
+            }
+            if (c.socket != null) {
+                live.add(c);
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Work out this generation's batch size: enough evaluations to take about
+     * targetBatchMillis on an average worker, but small enough that every
+     * worker can have maxInFlight batches, and at most maxBatch.
+     *
+     * @param n Number of individuals to evaluate.
+     * @param live Connected workers.
+     * @return Number of individuals per batch.
+     */
+    private int batchSize(int n, List<Connection> live) {
+        int workersInFlight = Math.max(1, live.size()) * maxInFlight;
+        int spread = (n + workersInFlight - 1) / workersInFlight;
+        double nanos = 0;
+        int measured = 0;
+        for (Connection c : live) {
+            if (c.nanosPerEval > 0) {
+                nanos += c.nanosPerEval;
+                measured++;
+            }
+        }
+        int size = spread;
+        if (measured > 0) {
+            double target = targetBatchMillis * 1e6 / (nanos / measured);
+            size = (int) Math.min(spread, Math.max(1, target));
+        }
+        return Math.max(1, Math.min(size, maxBatch));
+    }
+
+    /**
+     * Keep one worker supplied with batches until the queue is empty and its
+     * answers are in. Runs on a feeder thread.
+     *
+     * @param c Connection to the worker.
+     * @param population Population being evaluated.
+     * @param todo Indexes of the individuals to evaluate.
+     * @param pending Batches waiting to be sent.
+     * @param failed Batches that have failed too often, to be evaluated
+     * locally.
+     * @return True if the worker is still connected.
+     */
+    private boolean feed(Connection c, Individual[] population, int[] todo,
+            ConcurrentLinkedDeque<Batch> pending, ConcurrentLinkedDeque<Batch> failed) {
+        int size = codec.getRecordSize();
+        ArrayDeque<Batch> inFlight = new ArrayDeque<>();
+        ByteBuffer buf = ByteBuffer.allocate(size);
+        long lastAnswer = 0;
+        try {
+            while (true) {
+                Batch b;
+                while (inFlight.size() < maxInFlight && (b = pending.poll()) != null) {
+                    c.out.writeInt(b.id);
+                    c.out.writeInt(b.end - b.start);
+                    for (int k = b.start; k < b.end; k++) {
+                        codec.encode(population[todo[k]], buf, 0);
+                        c.out.write(buf.array(), 0, size);
+                    }
+                    c.out.flush();
+                    b.sentNanos = System.nanoTime();
+                    inFlight.add(b);
+                }
+                if (inFlight.isEmpty()) {
+                    return true;
+                }
+
+                b = inFlight.peek();
+                int id = c.in.readInt();
+                int count = c.in.readInt();
+                if (id != b.id) {
+                    throw new IOException("Farm worker answered batch " + id
+                            + ", expected " + b.id);
+                }
+                if (count >= 0 && count != b.end - b.start) {
+                    throw new IOException("Farm worker answered " + count
+                            + " fitness values for batch " + b.id + ", expected "
+                            + (b.end - b.start));
+                }
+                inFlight.poll();
+                if (count < 0) {
+                    // the problem threw on the worker; try elsewhere or here
+                    Logger.getLogger(FarmEvaluate.class.getName()).log(Level.WARNING,
+                            "Farm worker {0} failed batch {1}: {2}",
+                            new Object[]{c.address, b.id, c.in.readUTF()});
+                    retry(b, pending, failed);
+                    continue;
+                }
+                for (int k = b.start; k < b.end; k++) {
+                    Individual ind = population[todo[k]];
+                    ind.setFitness(c.in.readDouble());
+                    ind.setModified(false);
+                }
+                evaluations.addAndGet(count);
+
+                // with batches queued, the worker's time for this one runs
+                // from its previous answer, not from when this was sent
+                long now = System.nanoTime();
+                double nanos = (double) (now - Math.max(b.sentNanos, lastAnswer)) / count;
+                c.nanosPerEval = c.nanosPerEval == 0 ? nanos : 0.8 * c.nanosPerEval + 0.2 * nanos;
+                lastAnswer = now;
+            }
+        } catch (IOException ex) {
+            Logger.getLogger(FarmEvaluate.class.getName()).log(Level.WARNING,
+                    "Farm worker " + c.address + " lost", ex);
+            c.close();
+            for (Batch b : inFlight) {
+                retry(b, pending, failed);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Put a failed batch back at the front of the queue, or aside for local
+     * evaluation if it has failed too often.
+     *
+     * @param b Failed batch.
+     * @param pending Batches waiting to be sent.
+     * @param failed Batches to evaluate locally.
+     */
+    private void retry(Batch b, ConcurrentLinkedDeque<Batch> pending,
+            ConcurrentLinkedDeque<Batch> failed) {
+        if (++b.attempts >= maxAttempts) {
+            failed.add(b);
+        } else {
+            retries.incrementAndGet();
+            pending.addFirst(b);
+        }
+    }
+
+    /**
+     * Wait for a feeder to finish. An interrupt doesn't stop the wait, since
+     * the feeders must finish before the population is touched; it is
+     * restored once the feeder is done.
+     *
+     * @param f Feeder's future.
+     * @return True if its worker is still connected.
+     */
+    private static boolean join(Future<Boolean> f) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return f.get();
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                } catch (ExecutionException ex) {
+                    throw new IllegalStateException("Farm feeder failed", ex.getCause());
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Get the number of batches allowed in flight on each worker.
+     *
+     * @return Batches per worker.
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Set the number of batches allowed in flight on each worker. Two is
+     * enough to hide the network round trip; more only helps with very
+     * short batches.
+     *
+     * @param maxInFlight Batches per worker, greater than 0.
+     * @throws IllegalArgumentException If the parameter is not positive.
+     */
+    final public void setMaxInFlight(int maxInFlight) throws IllegalArgumentException {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Illegal maxInFlight to setMaxInFlight: "
+                    + maxInFlight);
+        }
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Get the time each batch should take to evaluate.
+     *
+     * @return Target batch time, in milliseconds.
+     */
+    public int getTargetBatchMillis() {
+        return targetBatchMillis;
+    }
+
+    /**
+     * Set the time each batch should take to evaluate. Longer batches cost
+     * less per individual to ship; shorter ones balance the load better and
+     * lose less work when a worker dies.
+     *
+     * @param targetBatchMillis Target batch time, in milliseconds, greater
+     * than 0.
+     * @throws IllegalArgumentException If the parameter is not positive.
+     */
+    final public void setTargetBatchMillis(int targetBatchMillis) throws IllegalArgumentException {
+        if (targetBatchMillis <= 0) {
+            throw new IllegalArgumentException("Illegal targetBatchMillis to setTargetBatchMillis: "
+                    + targetBatchMillis);
+        }
+        this.targetBatchMillis = targetBatchMillis;
+    }
+
+    /**
+     * Get the largest number of individuals in one batch.
+     *
+     * @return Largest batch size.
+     */
+    public int getMaxBatch() {
+        return maxBatch;
+    }
+
+    /**
+     * Set the largest number of individuals in one batch.
+     *
+     * @param maxBatch Largest batch size, greater than 0.
+     * @throws IllegalArgumentException If the parameter is not positive.
+     */
+    final public void setMaxBatch(int maxBatch) throws IllegalArgumentException {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("Illegal maxBatch to setMaxBatch: " + maxBatch);
+        }
+        this.maxBatch = maxBatch;
+    }
+
+    /**
+     * Get the number of failures after which a batch is evaluated locally.
+     *
+     * @return Attempts per batch.
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Set the number of failures after which a batch is evaluated locally.
+     *
+     * @param maxAttempts Attempts per batch, greater than 0.
+     * @throws IllegalArgumentException If the parameter is not positive.
+     */
+    final public void setMaxAttempts(int maxAttempts) throws IllegalArgumentException {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("Illegal maxAttempts to setMaxAttempts: "
+                    + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Get the longest wait for a worker's answer.
+     *
+     * @return Timeout, in milliseconds, or 0 for none.
+     */
+    public int getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * Set the longest wait for a worker's answer, after which the worker is
+     * treated as dead. Only affects connections made afterwards. Must be
+     * longer than maxInFlight batches take to evaluate.
+     *
+     * @param timeoutMillis Timeout, in milliseconds, or 0 for none.
+     * @throws IllegalArgumentException If the parameter is negative.
+     */
+    final public void setTimeoutMillis(int timeoutMillis) throws IllegalArgumentException {
+        if (timeoutMillis < 0) {
+            throw new IllegalArgumentException("Illegal timeoutMillis to setTimeoutMillis: "
+                    + timeoutMillis);
+        }
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Find out if individuals that haven't been modified since they were last
+     * evaluated are skipped.
+     *
+     * @return True if unmodified individuals are skipped.
+     */
+    public boolean isSkipUnmodified() {
+        return skipUnmodified;
+    }
+
+    /**
+     * Turn skipping of unmodified individuals on or off.
+     *
+     * @param skipUnmodified True to skip individuals that haven't been
+     * modified since they were last evaluated.
+     */
+    public void setSkipUnmodified(boolean skipUnmodified) {
+        this.skipUnmodified = skipUnmodified;
+    }
+
+    /**
+     * Get the number of evaluations performed so far, remotely or locally.
+     *
+     * @return Number of individuals evaluated.
+     */
+    public long getEvaluations() {
+        return evaluations.get();
+    }
+
+    /**
+     * Get the number of evaluations saved so far by skipping unmodified
+     * individuals.
+     *
+     * @return Number of individuals skipped.
+     */
+    public long getSkippedEvaluations() {
+        return skipped.get();
+    }
+
+    /**
+     * Get the number of batches sent again after a worker failed.
+     *
+     * @return Number of retries.
+     */
+    public long getRetries() {
+        return retries.get();
+    }
+
+    /**
+     * Get the number of evaluations performed locally, because batches failed
+     * too often or no workers were left.
+     *
+     * @return Number of local evaluations.
+     */
+    public long getLocalEvaluations() {
+        return localEvaluations.get();
+    }
+
+    /**
+     * Disconnect from the workers and stop the feeder threads.
+     */
+    @Override
+    public void close() {
+        for (Connection c : workers) {
+            c.close();
+        }
+        feeders.shutdown();
+    }
+
+    @Override
+    public void saveState(DataOutput out, GenomeCodec codec) throws IOException {
+        out.writeLong(evaluations.get());
+        out.writeLong(skipped.get());
+    }
+
+    @Override
+    public void loadState(DataInput in, GenomeCodec codec, Problem problem) throws IOException {
+        evaluations.set(in.readLong());
+        skipped.set(in.readLong());
+    }
+
+    @Override
+    public String toString() {
+        return "FarmEvaluate, using Problem: " + prob + ", " + workers.size() + " workers, "
+                + maxInFlight + " batches in flight, " + targetBatchMillis + " ms batches"
+                + (skipUnmodified ? ", skipping unmodified individuals" : "");
+    }
+}
@@ -0,0 +1,102 @@
+package edu.doane.dugal.dea.farm;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Constants and handshake shared by FarmEvaluate and FarmWorker. All values
+ * are big-endian, as written by DataOutputStream.
+ *
+ * Handshake: the master sends MAGIC, VERSION, the class name of its Problem
+ * (UTF), and the codec's record size (int); the worker answers with MAGIC and
+ * a status (int), followed by a message (UTF) if the status isn't OK.
+ *
+ * Batch: the master sends a batch id (int), a count (int), and count records
+ * written with the codec, fitness slot included. The worker answers, in the
+ * order the batches were sent, with the batch id, the count, and count
+ * fitness values (double); or with the batch id, -1, and an error message
+ * (UTF) if evaluation failed.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+class FarmProtocol {
+
+    /**
+     * Magic number opening the handshake, "DEAF".
+     */
+    static final int MAGIC = 0x44454146;
+
+    /**
+     * Version of the protocol.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Handshake status: the worker will evaluate the master's batches.
+     */
+    static final int OK = 0;
+
+    /**
+     * Handshake status: the worker's problem, codec, or version doesn't match
+     * the master's.
+     */
+    static final int MISMATCH = 1;
+
+    /**
+     * Master side of the handshake.
+     *
+     * @param in Stream from the worker.
+     * @param out Stream to the worker.
+     * @param problemClass Class name of the master's problem.
+     * @param recordSize Size of the master's records.
+     * @throws IOException If the worker can't be reached, or refuses.
+     */
+    static void offer(DataInputStream in, DataOutputStream out, String problemClass,
+            int recordSize) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(problemClass);
+        out.writeInt(recordSize);
+        out.flush();
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a farm worker");
+        }
+        if (in.readInt() != OK) {
+            throw new IOException("Farm worker refused: " + in.readUTF());
+        }
+    }
+
+    /**
+     * Worker side of the handshake.
+     *
+     * @param in Stream from the master.
+     * @param out Stream to the master.
+     * @param problemClass Class name of the worker's problem.
+     * @param recordSize Size of the worker's records.
+     * @return True if the master's problem and records match.
+     * @throws IOException If the master can't be read from or written to.
+     */
+    static boolean accept(DataInputStream in, DataOutputStream out, String problemClass,
+            int recordSize) throws IOException {
+        String problem = null;
+        int size = -1;
+        boolean ok = in.readInt() == MAGIC && in.readInt() == VERSION;
+        if (ok) {
+            problem = in.readUTF();
+            size = in.readInt();
+            ok = problem.equals(problemClass) && size == recordSize;
+        }
+        out.writeInt(MAGIC);
+        if (ok) {
+            out.writeInt(OK);
+        } else {
+            out.writeInt(MISMATCH);
+            out.writeUTF("worker runs " + problemClass + " with " + recordSize
+                    + "-byte records, master sent " + problem + " with " + size);
+        }
+        out.flush();
+        return ok;
+    }
+}
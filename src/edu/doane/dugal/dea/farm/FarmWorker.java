@@ -0,0 +1,290 @@
+package edu.doane.dugal.dea.farm;
+
+import edu.doane.dugal.dea.GenomeCodec;
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.Problem;
+import edu.doane.dugal.dea.kits.general.EvaluateThread;
+import edu.doane.dugal.dea.kits.general.KitCodecs;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Worker process of an evaluation farm. It listens on a TCP port, and for
+ * each FarmEvaluate master that connects, decodes the batches of genomes it
+ * sends, evaluates them with the worker's Problem on a fork/join pool, and
+ * sends back their fitness values. A master normally keeps a few batches
+ * queued on the connection, so the worker starts on the next batch as soon as
+ * it has answered the last.
+ *
+ * Run it from the command line with a port, the class name of a Problem whose
+ * individuals come from the kits, and optionally a number of threads, or
+ * create one in code for other individuals, e.g., to run several workers on
+ * localhost in one JVM.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class FarmWorker implements Closeable {
+
+    /**
+     * Problem used to evaluate individuals.
+     */
+    private final Problem problem;
+
+    /**
+     * Codec used to read genomes.
+     */
+    private final GenomeCodec codec;
+
+    /**
+     * Pool the individuals of a batch are evaluated on.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Socket listening for masters, or null until start() is called.
+     */
+    private ServerSocket server;
+
+    /**
+     * Connections to masters, so close() can end them.
+     */
+    private final List<Socket> connections;
+
+    /**
+     * Number of individuals evaluated.
+     */
+    private final AtomicLong evaluations;
+
+    /**
+     * Create a worker.
+     *
+     * @param problem Problem used to evaluate individuals; the master must
+     * use a problem of the same class.
+     * @param codec Codec used to read genomes; must match the master's.
+     * @param threads Number of threads to evaluate each batch with, greater
+     * than 0.
+     * @throws IllegalArgumentException If threads is not positive.
+     */
+    public FarmWorker(Problem problem, GenomeCodec codec, int threads)
+            throws IllegalArgumentException {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Illegal threads to FarmWorker: " + threads);
+        }
+        this.problem = problem;
+        this.codec = codec;
+        pool = new ForkJoinPool(threads);
+        connections = new ArrayList<>();
+        evaluations = new AtomicLong();
+    }
+
+    /**
+     * Start listening for masters, on a daemon thread.
+     *
+     * @param port Port to listen on, or 0 for any free port.
+     * @return Port the worker is listening on.
+     * @throws IOException If the port can't be opened.
+     * @throws IllegalStateException If the worker has already been started.
+     */
+    public synchronized int start(int port) throws IOException, IllegalStateException {
+        if (server != null) {
+            throw new IllegalStateException("Farm worker already started");
+        }
+        server = new ServerSocket();
+        server.bind(new InetSocketAddress(port));
+        Thread acceptor = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                acceptMasters();
+            }
+        }, "FarmWorker acceptor on port " + server.getLocalPort());
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return server.getLocalPort();
+    }
+
+    /**
+     * Accept masters until the worker is closed, serving each on its own
+     * thread.
+     */
+    private void acceptMasters() {
+        while (!server.isClosed()) {
+            final Socket s;
+            try {
+                s = server.accept();
+            } catch (IOException ex) {
+                return;
+            }
+            synchronized (connections) {
+                connections.add(s);
+            }
+            Thread t = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    serve(s);
+                }
+            }, "FarmWorker serving " + s.getRemoteSocketAddress());
+            t.setDaemon(true);
+            t.start();
+        }
+    }
+
+    /**
+     * Serve one master: shake hands, then evaluate its batches until it
+     * disconnects.
+     *
+     * @param s Socket connected to the master.
+     */
+    private void serve(Socket s) {
+        int size = codec.getRecordSize();
+        Individual[] scratch = new Individual[0];
+        byte[] records = new byte[0];
+        try {
+            s.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(s.getInputStream(), 1 << 16));
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(s.getOutputStream(), 1 << 16));
+            if (!FarmProtocol.accept(in, out, problem.getClass().getName(), size)) {
+                return;
+            }
+
+            while (true) {
+                int id;
+                try {
+                    id = in.readInt();
+                } catch (EOFException ex) {
+                    return;
+                }
+                int count = in.readInt();
+                if (records.length < count * size) {
+                    records = new byte[count * size];
+                }
+                in.readFully(records, 0, count * size);
+                if (scratch.length < count) {
+                    int old = scratch.length;
+                    scratch = Arrays.copyOf(scratch, count);
+                    for (int i = old; i < count; i++) {
+                        scratch[i] = problem.createRandomIndividual();
+                    }
+                }
+
+                ByteBuffer buf = ByteBuffer.wrap(records);
+                String error = null;
+                try {
+                    for (int i = 0; i < count; i++) {
+                        codec.decode(buf, i * size, scratch[i]);
+                    }
+                    EvaluateThread et = new EvaluateThread(problem, scratch, 0, count - 1);
+                    et.setThreshold(1);
+                    et.setSkipUnmodified(false);
+                    pool.invoke(et);
+                    evaluations.addAndGet(count);
+                } catch (RuntimeException ex) {
+                    error = ex.toString();
+                }
+
+                out.writeInt(id);
+                if (error == null) {
+                    out.writeInt(count);
+                    for (int i = 0; i < count; i++) {
+                        out.writeDouble(scratch[i].getFitness());
+                    }
+                } else {
+                    out.writeInt(-1);
+                    out.writeUTF(error);
+                }
+                out.flush();
+            }
+        } catch (IOException ex) {
+            // the master went away; nothing to do but drop the connection
+        } finally {
+            synchronized (connections) {
+                connections.remove(s);
+            }
+            try {
+                s.close();
+            } catch (IOException ex) {
+                // already closed
+            }
+        }
+    }
+
+    /**
+     * Get the number of individuals this worker has evaluated.
+     *
+     * @return Number of evaluations.
+     */
+    public long getEvaluations() {
+        return evaluations.get();
+    }
+
+    /**
+     * Stop listening, drop every master, and shut down the pool. Masters
+     * retry the batches this worker had in flight on their other workers.
+     *
+     * @throws IOException If the listening socket can't be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (server != null) {
+                server.close();
+            }
+        }
+        synchronized (connections) {
+            for (Socket s : connections) {
+                try {
+                    s.close();
+                } catch (IOException ex) {
+                    // already closed
+                }
+            }
+            connections.clear();
+        }
+        pool.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return "FarmWorker, using Problem: " + problem + ", " + codec;
+    }
+
+    /**
+     * Run a worker from the command line.
+     *
+     * @param args Port, Problem class name, and optionally the number of
+     * threads, which defaults to the number of processors.
+     * @throws Exception If the problem can't be created, or the port can't be
+     * opened.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: FarmWorker port problemClass [threads]");
+            System.exit(1);
+        }
+        int port = Integer.parseInt(args[0]);
+        Problem problem = (Problem) Class.forName(args[1]).getDeclaredConstructor().newInstance();
+        int threads = args.length > 2 ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+        FarmWorker worker = new FarmWorker(problem,
+                KitCodecs.forIndividual(problem.createRandomIndividual()), threads);
+        System.out.println("FarmWorker listening on port " + worker.start(port)
+                + " with " + threads + " threads");
+        Thread.currentThread().join();
+    }
+}
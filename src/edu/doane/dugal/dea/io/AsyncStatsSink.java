@@ -0,0 +1,286 @@
+package edu.doane.dugal.dea.io;
+
+import edu.doane.dugal.dea.BoundedQueue;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sink that hands records to a background thread, which writes them to
+ * another sink, so the DEA thread never waits on I/O. Records go through a
+ * bounded, lock-free queue; the writer thread drains it in batches, and
+ * flushes the underlying sink at most once per flush interval, and only
+ * after writing something.
+ *
+ * write() never blocks: if the queue is full because the writer has fallen
+ * far behind, the record is dropped and counted. I/O errors on the writer
+ * thread stop the writing, and are thrown from close().
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class AsyncStatsSink implements StatsSink {
+
+    /**
+     * Longest time the writer thread sleeps when the queue is empty, in
+     * nanoseconds.
+     */
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Sink the records are written to.
+     */
+    private final StatsSink sink;
+
+    /**
+     * Queue of records waiting to be written.
+     */
+    private final BoundedQueue<StatsRecord> queue;
+
+    /**
+     * Time between flushes of the underlying sink, in nanoseconds.
+     */
+    private final long flushNanos;
+
+    /**
+     * Background thread that writes the records.
+     */
+    private final Thread writer;
+
+    /**
+     * Number of records dropped because the queue was full.
+     */
+    private final AtomicLong dropped;
+
+    /**
+     * Number of records written to the underlying sink.
+     */
+    private volatile long written;
+
+    /**
+     * Number of write() calls in progress.
+     */
+    private final AtomicInteger writing;
+
+    /**
+     * True once close() has been called.
+     */
+    private volatile boolean closed;
+
+    /**
+     * True once close() has waited for the write() calls in progress; tells
+     * the writer thread to write what is left and stop.
+     */
+    private volatile boolean stopping;
+
+    /**
+     * True when a flush has been asked for.
+     */
+    private volatile boolean flushRequested;
+
+    /**
+     * First I/O error seen by the writer thread, or null.
+     */
+    private volatile IOException error;
+
+    /**
+     * Create an asynchronous sink with room for 8192 waiting records, which
+     * flushes once a second.
+     *
+     * @param sink Sink to write the records to; closed when this sink is.
+     */
+    public AsyncStatsSink(StatsSink sink) {
+        this(sink, 8192, 1000);
+    }
+
+    /**
+     * Create an asynchronous sink, and start its writer thread.
+     *
+     * @param sink Sink to write the records to; closed when this sink is.
+     * @param capacity Number of records that can wait to be written; rounded
+     * up to a power of two.
+     * @param flushMillis Time between flushes of the underlying sink, in
+     * milliseconds; 0 flushes after every batch.
+     * @throws IllegalArgumentException If capacity is not positive or
+     * flushMillis is negative.
+     */
+    public AsyncStatsSink(StatsSink sink, int capacity, long flushMillis)
+            throws IllegalArgumentException {
+        if (flushMillis < 0) {
+            throw new IllegalArgumentException("Illegal flushMillis to AsyncStatsSink: " + flushMillis);
+        }
+        this.sink = sink;
+        queue = new BoundedQueue<>(capacity);
+        flushNanos = TimeUnit.MILLISECONDS.toNanos(flushMillis);
+        dropped = new AtomicLong();
+        writing = new AtomicInteger();
+
+        writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                drain();
+            }
+        }, "AsyncStatsSink");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queue a record for writing. Never blocks; the record is dropped if the
+     * queue is full, or if the sink has been closed.
+     *
+     * @param record Statistics for one generation.
+     */
+    @Override
+    public void write(StatsRecord record) {
+        // announce the write before checking closed, so close() waits for it
+        writing.incrementAndGet();
+        try {
+            if (closed || !queue.offer(record)) {
+                dropped.incrementAndGet();
+            }
+        } finally {
+            writing.decrementAndGet();
+        }
+    }
+
+    /**
+     * Ask the writer thread to flush the underlying sink once it has written
+     * the records queued so far. Does not wait for the flush.
+     */
+    @Override
+    public void flush() {
+        flushRequested = true;
+        LockSupport.unpark(writer);
+    }
+
+    /**
+     * Write the remaining queued records, stop the writer thread, and close
+     * the underlying sink. Records written by other threads after close() is
+     * called are dropped and counted; those queued before are all written.
+     *
+     * @throws IOException If the writer thread or the underlying sink hit an
+     * I/O error.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        // wait for writes that got past the closed check to queue their
+        // records, then let the writer thread finish
+        while (writing.get() != 0) {
+            Thread.yield();
+        }
+        stopping = true;
+        LockSupport.unpark(writer);
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            sink.close();
+        } catch (IOException ex) {
+            if (error == null) {
+                error = ex;
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Body of the writer thread: write records as they arrive, flushing the
+     * underlying sink on schedule, until the sink is stopping and the queue
+     * is empty.
+     */
+    private void drain() {
+        long lastFlush = System.nanoTime();
+        boolean dirty = false;
+        while (true) {
+            // check stopping before polling, so records queued before
+            // close() are always written
+            boolean last = stopping;
+            int batch = 0;
+            StatsRecord r;
+            while ((r = queue.poll()) != null) {
+                if (error == null) {
+                    try {
+                        sink.write(r);
+                        written++;
+                        dirty = true;
+                    } catch (IOException ex) {
+                        error = ex;
+                    }
+                }
+                batch++;
+            }
+
+            long now = System.nanoTime();
+            if (error == null && (last || flushRequested
+                    || (dirty && now - lastFlush >= flushNanos))) {
+                flushRequested = false;
+                try {
+                    sink.flush();
+                } catch (IOException ex) {
+                    error = ex;
+                }
+                lastFlush = now;
+                dirty = false;
+            }
+
+            if (last) {
+                return;
+            }
+            if (batch == 0) {
+                LockSupport.parkNanos(this, IDLE_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Get the number of records dropped because the queue was full or the
+     * sink was closed.
+     *
+     * @return Number of dropped records.
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Get the number of records written to the underlying sink so far.
+     *
+     * @return Number of records written.
+     */
+    public long getWritten() {
+        return written;
+    }
+
+    /**
+     * Get the number of records that can wait to be written.
+     *
+     * @return Queue capacity.
+     */
+    public int getCapacity() {
+        return queue.capacity();
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncStatsSink, writing to " + sink + ", capacity = " + queue.capacity();
+    }
+}
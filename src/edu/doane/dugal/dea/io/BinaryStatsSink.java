@@ -0,0 +1,85 @@
+package edu.doane.dugal.dea.io;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+/**
+ * Sink that writes records in a compact binary format, with DataOutputStream
+ * (big-endian) encoding. The stream starts with the int MAGIC, followed by
+ * tagged entries:
+ *
+ * SCHEMA (byte 1): source (UTF), number of values (int), and each value name
+ * (UTF); written before the first record and whenever the columns change.
+ *
+ * DATA (byte 2): generation (int), then each value (double), in schema order.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class BinaryStatsSink extends StreamStatsSink {
+
+    /**
+     * Magic number at the start of the stream, "DEAS".
+     */
+    public static final int MAGIC = 0x44454153;
+
+    /**
+     * Tag of a schema entry.
+     */
+    public static final byte SCHEMA = 1;
+
+    /**
+     * Tag of a data entry.
+     */
+    public static final byte DATA = 2;
+
+    /**
+     * Data view of the output stream.
+     */
+    private final DataOutputStream data;
+
+    /**
+     * Create a sink that writes to a stream.
+     *
+     * @param out Stream to write to; the sink closes it.
+     * @throws IOException If the magic number can't be written.
+     */
+    public BinaryStatsSink(OutputStream out) throws IOException {
+        super(out);
+        data = new DataOutputStream(this.out);
+        data.writeInt(MAGIC);
+    }
+
+    /**
+     * Create a sink that writes to a file, replacing it if it exists.
+     *
+     * @param file File to write to; compressed if the name ends in ".gz".
+     * @throws IOException If the file can't be created.
+     */
+    public BinaryStatsSink(Path file) throws IOException {
+        super(file);
+        data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+    }
+
+    @Override
+    protected void writeHeader(StatsRecord record) throws IOException {
+        data.writeByte(SCHEMA);
+        data.writeUTF(record.getSource());
+        data.writeInt(record.getNames().length);
+        for (String name : record.getNames()) {
+            data.writeUTF(name);
+        }
+    }
+
+    @Override
+    protected void writeRecord(StatsRecord record) throws IOException {
+        data.writeByte(DATA);
+        data.writeInt(record.getGeneration());
+        for (double v : record.getValues()) {
+            data.writeDouble(v);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package edu.doane.dugal.dea.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Sink that writes records as comma-separated values: a header line of
+ * source, generation, and the value names, then one line per record. A new
+ * header line is written whenever the columns change, e.g., when several
+ * stats operators share the sink.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class CsvStatsSink extends StreamStatsSink {
+
+    /**
+     * Create a sink that writes to a stream.
+     *
+     * @param out Stream to write to; the sink closes it.
+     */
+    public CsvStatsSink(OutputStream out) {
+        super(out);
+    }
+
+    /**
+     * Create a sink that writes to a file, replacing it if it exists.
+     *
+     * @param file File to write to; compressed if the name ends in ".gz".
+     * @throws IOException If the file can't be created.
+     */
+    public CsvStatsSink(Path file) throws IOException {
+        super(file);
+    }
+
+    @Override
+    protected void writeHeader(StatsRecord record) throws IOException {
+        StringBuilder s = new StringBuilder("source,gen");
+        for (String name : record.getNames()) {
+            s.append(',').append(name);
+        }
+        s.append('\n');
+        out.write(s.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected void writeRecord(StatsRecord record) throws IOException {
+        StringBuilder s = new StringBuilder(record.getSource());
+        s.append(',').append(record.getGeneration());
+        for (double v : record.getValues()) {
+            s.append(',').append(v);
+        }
+        s.append('\n');
+        out.write(s.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,83 @@
+package edu.doane.dugal.dea.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Sink that writes each record as one JSON object per line, e.g.,
+ * {"source":"StandardStats","gen":3,"min":-12.5,...}. Infinite and NaN values,
+ * which JSON can't represent, are written as null.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class JsonLinesStatsSink extends StreamStatsSink {
+
+    /**
+     * Create a sink that writes to a stream.
+     *
+     * @param out Stream to write to; the sink closes it.
+     */
+    public JsonLinesStatsSink(OutputStream out) {
+        super(out);
+    }
+
+    /**
+     * Create a sink that writes to a file, replacing it if it exists.
+     *
+     * @param file File to write to; compressed if the name ends in ".gz".
+     * @throws IOException If the file can't be created.
+     */
+    public JsonLinesStatsSink(Path file) throws IOException {
+        super(file);
+    }
+
+    @Override
+    protected void writeHeader(StatsRecord record) {
+        // every line names its own values
+    }
+
+    @Override
+    protected void writeRecord(StatsRecord record) throws IOException {
+        StringBuilder s = new StringBuilder("{\"source\":");
+        quote(s, record.getSource());
+        s.append(",\"gen\":").append(record.getGeneration());
+        String[] names = record.getNames();
+        double[] values = record.getValues();
+        for (int i = 0; i < names.length; i++) {
+            s.append(',');
+            quote(s, names[i]);
+            s.append(':');
+            if (Double.isNaN(values[i]) || Double.isInfinite(values[i])) {
+                s.append("null");
+            } else {
+                s.append(values[i]);
+            }
+        }
+        s.append("}\n");
+        out.write(s.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Append a string as a JSON string literal.
+     *
+     * @param s Builder to append to.
+     * @param text String to quote.
+     */
+    private static void quote(StringBuilder s, String text) {
+        s.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                s.append('\\').append(c);
+            } else if (c < 0x20) {
+                s.append(String.format("\\u%04x", (int) c));
+            } else {
+                s.append(c);
+            }
+        }
+        s.append('"');
+    }
+}
@@ -0,0 +1,377 @@
+package edu.doane.dugal.dea.io;
+
+import edu.doane.dugal.dea.GenomeCodec;
+import edu.doane.dugal.dea.Individual;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only view of a population snapshot written by SnapshotWriter. The file
+ * is memory-mapped, in windows of at most 1 GB, and fitness values and genes
+ * are read straight from the mapping, so opening a snapshot of a million
+ * individuals takes about as long as opening the file, and scanning it costs
+ * no more than the pages it touches. Individuals are only created when asked
+ * for with read().
+ *
+ * The header describes the gene encoding, so getGene() and getBit() work for
+ * any kit's snapshots without its codec.
+ *
+ * A snapshot may be read by several threads at once. close() waits for the
+ * reads in progress to finish, then unmaps the file right away where the
+ * runtime allows it; later reads throw IllegalStateException.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class PopulationSnapshot implements AutoCloseable {
+
+    /**
+     * Largest number of bytes in one mapped window.
+     */
+    private static final int WINDOW_BYTES = 1 << 30;
+
+    /**
+     * Unsafe instance used to unmap the windows, or null if not available.
+     */
+    private static final Object UNSAFE;
+
+    /**
+     * Unsafe.invokeCleaner(ByteBuffer), or null if not available.
+     */
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> cls = Class.forName("sun.misc.Unsafe");
+            Field f = cls.getDeclaredField("theUnsafe");
+            f.setAccessible(true);
+            unsafe = f.get(null);
+            invokeCleaner = cls.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            // older or locked-down runtime; mappings are released when collected
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    /**
+     * Channel onto the snapshot file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Mapped windows onto the records.
+     */
+    private final MappedByteBuffer[] windows;
+
+    /**
+     * Number of reads in progress.
+     */
+    private final AtomicInteger readers;
+
+    /**
+     * True once close() has been called.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Generation the snapshot was taken at.
+     */
+    private final int generation;
+
+    /**
+     * Number of individuals in the snapshot.
+     */
+    private final int popSize;
+
+    /**
+     * Number of genes per individual.
+     */
+    private final int length;
+
+    /**
+     * Number of bytes per record.
+     */
+    private final int recordSize;
+
+    /**
+     * Number of records in one window.
+     */
+    private final int perWindow;
+
+    /**
+     * Gene encoding, as in SnapshotCodec.
+     */
+    private final int encoding;
+
+    /**
+     * Bytes per gene.
+     */
+    private final int geneBytes;
+
+    /**
+     * Value of a stored 0, for the SCALED encoding.
+     */
+    private final double base;
+
+    /**
+     * Stored steps per unit of gene value, for the SCALED encoding.
+     */
+    private final double divisor;
+
+    /**
+     * Open and map a snapshot file.
+     *
+     * @param file Path of the snapshot.
+     * @throws IOException If the file can't be read or mapped, or isn't a
+     * snapshot, or its records are larger than a mapped window.
+     */
+    public PopulationSnapshot(Path file) throws IOException {
+        readers = new AtomicInteger();
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer h = ByteBuffer.allocate(SnapshotWriter.HEADER_SIZE)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            while (h.hasRemaining() && channel.read(h, h.position()) >= 0) {
+                // read the whole header
+            }
+            if (h.hasRemaining() || h.getInt(0) != SnapshotWriter.MAGIC) {
+                throw new IOException("Not a population snapshot: " + file);
+            }
+            if (h.getInt(4) != SnapshotWriter.VERSION) {
+                throw new IOException("Unsupported snapshot version: " + h.getInt(4));
+            }
+            generation = h.getInt(8);
+            popSize = h.getInt(12);
+            length = h.getInt(16);
+            recordSize = h.getInt(20);
+            encoding = h.get(24);
+            geneBytes = h.get(25);
+            base = h.getDouble(28);
+            divisor = h.getDouble(36);
+            if (recordSize != 8 + SnapshotCodec.geneBytes(encoding, length, geneBytes)
+                    || channel.size() < SnapshotWriter.HEADER_SIZE + (long) popSize * recordSize) {
+                throw new IOException("Corrupt population snapshot: " + file);
+            }
+            if (recordSize > WINDOW_BYTES) {
+                throw new IOException("Corrupt or unsupported snapshot: " + file
+                        + ", records of " + recordSize + " bytes");
+            }
+
+            perWindow = WINDOW_BYTES / recordSize;
+            windows = new MappedByteBuffer[(popSize + perWindow - 1) / perWindow];
+            for (int w = 0; w < windows.length; w++) {
+                int records = Math.min(perWindow, popSize - w * perWindow);
+                windows[w] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        SnapshotWriter.HEADER_SIZE + (long) w * perWindow * recordSize,
+                        (long) records * recordSize);
+                windows[w].order(ByteOrder.LITTLE_ENDIAN);
+            }
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Get the fitness of an individual.
+     *
+     * @param index Index of the individual.
+     * @return Its fitness.
+     * @throws IllegalStateException If the snapshot has been closed.
+     */
+    public double getFitness(int index) throws IllegalStateException {
+        enter();
+        try {
+            return window(index).getDouble(offset(index));
+        } finally {
+            readers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Get the value of a gene, for snapshots of double or integer genomes.
+     *
+     * @param index Index of the individual.
+     * @param gene Which gene.
+     * @return Value of the gene.
+     * @throws IllegalStateException If the genes are bits, or the snapshot
+     * has been closed.
+     */
+    public double getGene(int index, int gene) throws IllegalStateException {
+        if (encoding == SnapshotCodec.BITS) {
+            throw new IllegalStateException("Snapshot genes are bits; use getBit()");
+        }
+        enter();
+        try {
+            return SnapshotCodec.value(window(index), offset(index), gene, encoding,
+                    geneBytes, base, divisor);
+        } finally {
+            readers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Get the value of a bit, for snapshots of binary genomes.
+     *
+     * @param index Index of the individual.
+     * @param gene Which bit.
+     * @return Value of the bit.
+     * @throws IllegalStateException If the genes are not bits, or the
+     * snapshot has been closed.
+     */
+    public boolean getBit(int index, int gene) throws IllegalStateException {
+        if (encoding != SnapshotCodec.BITS) {
+            throw new IllegalStateException("Snapshot genes are not bits; use getGene()");
+        }
+        enter();
+        try {
+            return SnapshotCodec.bit(window(index), offset(index), gene);
+        } finally {
+            readers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Copy an individual out of the snapshot.
+     *
+     * @param index Index of the individual.
+     * @param ind Individual to overwrite; must suit the codec.
+     * @param codec Codec the snapshot was written with, or an equivalent one.
+     * @throws IllegalArgumentException If the codec's records are not the
+     * snapshot's size.
+     * @throws IllegalStateException If the snapshot has been closed.
+     */
+    public void read(int index, Individual ind, GenomeCodec codec)
+            throws IllegalArgumentException, IllegalStateException {
+        if (codec.getRecordSize() != recordSize) {
+            throw new IllegalArgumentException("Illegal codec to read: " + codec);
+        }
+        enter();
+        try {
+            codec.decode(window(index), offset(index), ind);
+        } finally {
+            readers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Get the generation the snapshot was taken at.
+     *
+     * @return Generation number.
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Get the number of individuals in the snapshot.
+     *
+     * @return Population size.
+     */
+    public int size() {
+        return popSize;
+    }
+
+    /**
+     * Get the number of genes per individual.
+     *
+     * @return Genome length.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Get the number of bytes per record.
+     *
+     * @return Record size.
+     */
+    public int getRecordSize() {
+        return recordSize;
+    }
+
+    /**
+     * Get the gene encoding.
+     *
+     * @return SnapshotCodec.RAW, SCALED, or BITS.
+     */
+    public int getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * Wait for the reads in progress to finish, then unmap the snapshot and
+     * close its file. Reading from the snapshot afterwards throws an
+     * IllegalStateException. Calling close() more than once has no further
+     * effect.
+     *
+     * @throws IOException If the file can't be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        while (readers.get() > 0) {
+            Thread.yield();
+        }
+        if (INVOKE_CLEANER != null) {
+            for (MappedByteBuffer w : windows) {
+                try {
+                    INVOKE_CLEANER.invoke(UNSAFE, w);
+                } catch (ReflectiveOperationException | RuntimeException ex) {
+                    // leave it to the collector
+                }
+            }
+        }
+        channel.close();
+    }
+
+    /**
+     * Start a read, which close() waits for; every call must be followed by
+     * readers.decrementAndGet() when the read is done.
+     *
+     * @throws IllegalStateException If the snapshot has been closed.
+     */
+    private void enter() throws IllegalStateException {
+        readers.incrementAndGet();
+        if (closed) {
+            readers.decrementAndGet();
+            throw new IllegalStateException("Population snapshot has been closed");
+        }
+    }
+
+    /**
+     * Get the window that holds a record.
+     *
+     * @param index Index of the record.
+     * @return Window holding the record.
+     */
+    private ByteBuffer window(int index) {
+        return windows[index / perWindow];
+    }
+
+    /**
+     * Get the byte offset of a record in its window.
+     *
+     * @param index Index of the record.
+     * @return Offset of the record.
+     */
+    private int offset(int index) {
+        return (index % perWindow) * recordSize;
+    }
+}
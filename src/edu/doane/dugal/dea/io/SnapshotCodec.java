@@ -0,0 +1,296 @@
+package edu.doane.dugal.dea.io;
+
+import edu.doane.dugal.dea.GenomeCodec;
+import java.nio.ByteBuffer;
+
+/**
+ * Base class for the compact codecs used by population snapshots. A snapshot
+ * record is the fitness, as a double, followed by the genes in one of three
+ * encodings, which the snapshot header describes so that a
+ * PopulationSnapshot can read genes without knowing the kit:
+ *
+ * RAW: each gene is a double, in 8 bytes.
+ *
+ * SCALED: each gene is stored as an unsigned integer q of geneBytes bytes (1,
+ * 2, 4, or 8), and its value is base + q / divisor. Integer genes use the
+ * range's low end as the base and a divisor of 1; double genes can be stored
+ * in fixed point, with a divisor of 10^fracDigits, which rounds them to
+ * fracDigits places.
+ *
+ * BITS: genes are bits, packed eight to a byte, gene j in bit j % 8 of byte
+ * j / 8.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public abstract class SnapshotCodec implements GenomeCodec {
+
+    /**
+     * Encoding of genes as raw doubles.
+     */
+    public static final int RAW = 0;
+
+    /**
+     * Encoding of genes as scaled, offset unsigned integers.
+     */
+    public static final int SCALED = 1;
+
+    /**
+     * Encoding of genes as packed bits.
+     */
+    public static final int BITS = 2;
+
+    /**
+     * Gene encoding: RAW, SCALED, or BITS.
+     */
+    private final int encoding;
+
+    /**
+     * Number of genes per individual.
+     */
+    private final int length;
+
+    /**
+     * Bytes per gene for the SCALED encoding.
+     */
+    private final int geneBytes;
+
+    /**
+     * Value of a stored 0, for the SCALED encoding.
+     */
+    private final double base;
+
+    /**
+     * Number of stored steps per unit of gene value, for the SCALED
+     * encoding.
+     */
+    private final double divisor;
+
+    /**
+     * Create a codec for raw doubles or packed bits.
+     *
+     * @param encoding RAW or BITS.
+     * @param length Number of genes per individual.
+     */
+    protected SnapshotCodec(int encoding, int length) {
+        this(encoding, length, encoding == RAW ? 8 : 0, 0.0, 1.0);
+    }
+
+    /**
+     * Create a codec with the specified encoding.
+     *
+     * @param encoding RAW, SCALED, or BITS.
+     * @param length Number of genes per individual.
+     * @param geneBytes Bytes per gene: 8 for RAW, 1, 2, 4, or 8 for SCALED,
+     * and 0 for BITS.
+     * @param base Value of a stored 0, for SCALED.
+     * @param divisor Stored steps per unit of gene value, for SCALED.
+     */
+    protected SnapshotCodec(int encoding, int length, int geneBytes, double base,
+            double divisor) {
+        this.encoding = encoding;
+        this.length = length;
+        this.geneBytes = geneBytes;
+        this.base = base;
+        this.divisor = divisor;
+    }
+
+    /**
+     * Work out the number of bytes needed to store unsigned values up to the
+     * specified maximum.
+     *
+     * @param maxSteps Largest value to store.
+     * @return 1, 2, 4, or 8.
+     */
+    protected static int bytesFor(double maxSteps) {
+        if (maxSteps <= 0xffL) {
+            return 1;
+        } else if (maxSteps <= 0xffffL) {
+            return 2;
+        } else if (maxSteps <= 0xffffffffL) {
+            return 4;
+        }
+        return 8;
+    }
+
+    @Override
+    public int getRecordSize() {
+        return 8 + geneBytes(encoding, length, geneBytes);
+    }
+
+    /**
+     * Number of gene bytes per record.
+     *
+     * @param encoding Gene encoding.
+     * @param length Number of genes.
+     * @param geneBytes Bytes per gene, for RAW and SCALED.
+     * @return Number of bytes.
+     */
+    static int geneBytes(int encoding, int length, int geneBytes) {
+        return encoding == BITS ? (length + 7) / 8 : length * geneBytes;
+    }
+
+    /**
+     * Write the value of one gene into a record, for the RAW and SCALED
+     * encodings.
+     *
+     * @param buf Buffer holding the record.
+     * @param offset Byte offset of the record.
+     * @param gene Which gene.
+     * @param value Gene value.
+     */
+    protected void putValue(ByteBuffer buf, int offset, int gene, double value) {
+        int at = offset + 8 + gene * geneBytes;
+        if (encoding == RAW) {
+            buf.putDouble(at, value);
+            return;
+        }
+        long q = Math.round((value - base) * divisor);
+        switch (geneBytes) {
+            case 1:
+                buf.put(at, (byte) q);
+                break;
+            case 2:
+                buf.putShort(at, (short) q);
+                break;
+            case 4:
+                buf.putInt(at, (int) q);
+                break;
+            default:
+                buf.putLong(at, q);
+        }
+    }
+
+    /**
+     * Read the value of one gene from a record, for the RAW and SCALED
+     * encodings.
+     *
+     * @param buf Buffer holding the record.
+     * @param offset Byte offset of the record.
+     * @param gene Which gene.
+     * @return Gene value.
+     */
+    protected double getValue(ByteBuffer buf, int offset, int gene) {
+        return value(buf, offset, gene, encoding, geneBytes, base, divisor);
+    }
+
+    /**
+     * Decode one RAW or SCALED gene; shared with PopulationSnapshot.
+     *
+     * @param buf Buffer holding the record.
+     * @param offset Byte offset of the record.
+     * @param gene Which gene.
+     * @param encoding Gene encoding.
+     * @param geneBytes Bytes per gene.
+     * @param base Value of a stored 0.
+     * @param divisor Stored steps per unit of gene value.
+     * @return Gene value.
+     */
+    static double value(ByteBuffer buf, int offset, int gene, int encoding,
+            int geneBytes, double base, double divisor) {
+        int at = offset + 8 + gene * geneBytes;
+        if (encoding == RAW) {
+            return buf.getDouble(at);
+        }
+        long q;
+        switch (geneBytes) {
+            case 1:
+                q = buf.get(at) & 0xffL;
+                break;
+            case 2:
+                q = buf.getShort(at) & 0xffffL;
+                break;
+            case 4:
+                q = buf.getInt(at) & 0xffffffffL;
+                break;
+            default:
+                q = buf.getLong(at);
+        }
+        return divisor == 1.0 ? base + q : base + q / divisor;
+    }
+
+    /**
+     * Write one bit into a record, for the BITS encoding.
+     *
+     * @param buf Buffer holding the record.
+     * @param offset Byte offset of the record.
+     * @param gene Which bit.
+     * @param value Bit value.
+     */
+    protected void putBit(ByteBuffer buf, int offset, int gene, boolean value) {
+        int at = offset + 8 + (gene >>> 3);
+        int mask = 1 << (gene & 7);
+        byte b = buf.get(at);
+        buf.put(at, (byte) (value ? b | mask : b & ~mask));
+    }
+
+    /**
+     * Read one bit from a record, for the BITS encoding.
+     *
+     * @param buf Buffer holding the record.
+     * @param offset Byte offset of the record.
+     * @param gene Which bit.
+     * @return Bit value.
+     */
+    protected boolean getBit(ByteBuffer buf, int offset, int gene) {
+        return bit(buf, offset, gene);
+    }
+
+    /**
+     * Decode one bit; shared with PopulationSnapshot.
+     *
+     * @param buf Buffer holding the record.
+     * @param offset Byte offset of the record.
+     * @param gene Which bit.
+     * @return Bit value.
+     */
+    static boolean bit(ByteBuffer buf, int offset, int gene) {
+        return (buf.get(offset + 8 + (gene >>> 3)) & (1 << (gene & 7))) != 0;
+    }
+
+    /**
+     * Get the gene encoding.
+     *
+     * @return RAW, SCALED, or BITS.
+     */
+    public int getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * Get the number of genes per individual.
+     *
+     * @return Genome length.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Get the number of bytes per gene.
+     *
+     * @return Bytes per gene; 0 for BITS.
+     */
+    public int getGeneBytes() {
+        return geneBytes;
+    }
+
+    /**
+     * Get the value of a stored 0, for the SCALED encoding.
+     *
+     * @return Base value.
+     */
+    public double getBase() {
+        return base;
+    }
+
+    /**
+     * Get the number of stored steps per unit of gene value, for the SCALED
+     * encoding.
+     *
+     * @return Divisor.
+     */
+    public double getDivisor() {
+        return divisor;
+    }
+}
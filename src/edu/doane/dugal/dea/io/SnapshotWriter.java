@@ -0,0 +1,213 @@
+package edu.doane.dugal.dea.io;
+
+import edu.doane.dugal.dea.Checkpointable;
+import edu.doane.dugal.dea.GenomeCodec;
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.Operator;
+import edu.doane.dugal.dea.Problem;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Operator that writes snapshots of the population to disk every interval
+ * generations, in the compact format read by PopulationSnapshot. Each
+ * snapshot goes to its own file, named by formatting the generation number
+ * into a pattern, e.g., "run-%05d.deap". Place it after the statistics
+ * operators so the snapshots hold evaluated, selected populations.
+ *
+ * File layout, all little-endian: a HEADER_SIZE-byte header holding MAGIC
+ * (int), VERSION (int), generation (int), population size (int), genes per
+ * individual (int), record size (int), gene encoding (byte), bytes per gene
+ * (byte), two bytes of padding, the base (double) and divisor (double) of
+ * the SCALED encoding, and zeros up to HEADER_SIZE; then one fixed-size
+ * record per individual, as described in SnapshotCodec. Files are written
+ * under a temporary name and renamed into place, so a reader never sees a
+ * partial snapshot.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class SnapshotWriter implements Operator, Checkpointable {
+
+    /**
+     * Magic number at the start of a snapshot, "DEAP".
+     */
+    public static final int MAGIC = 0x44454150;
+
+    /**
+     * Version of the snapshot format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Size of the header, in bytes; records start at this offset.
+     */
+    public static final int HEADER_SIZE = 64;
+
+    /**
+     * Size of the I/O buffer, in bytes.
+     */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /**
+     * Pattern for snapshot file names, formatted with the generation number.
+     */
+    private final String pattern;
+
+    /**
+     * Codec used to write the individuals.
+     */
+    private final SnapshotCodec codec;
+
+    /**
+     * Number of generations between snapshots.
+     */
+    private int interval;
+
+    /**
+     * Current generation number.
+     */
+    private int generationNumber;
+
+    /**
+     * Create a writer with the specified file name pattern, codec, and
+     * interval.
+     *
+     * @param pattern Pattern for snapshot file names, with one integer
+     * format specifier for the generation number.
+     * @param codec Codec used to write the individuals.
+     * @param interval Number of generations between snapshots, greater than
+     * 0.
+     */
+    public SnapshotWriter(String pattern, SnapshotCodec codec, int interval) {
+        this.pattern = pattern;
+        this.codec = codec;
+        setInterval(interval);
+    }
+
+    /**
+     * Write a snapshot every interval generations.
+     *
+     * @param population Population to write.
+     * @throws UncheckedIOException If the snapshot can't be written.
+     */
+    @Override
+    public void operate(Individual[] population) {
+        if (generationNumber % interval == 0) {
+            try {
+                write(Paths.get(String.format(pattern, generationNumber)),
+                        population, codec, generationNumber);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        generationNumber++;
+    }
+
+    /**
+     * Write a snapshot of a population to a file.
+     *
+     * @param file Path of the snapshot file; replaced if it exists.
+     * @param population Population to write.
+     * @param codec Codec used to write the individuals.
+     * @param generation Generation number to record in the header.
+     * @throws IOException If the file can't be written.
+     */
+    public static void write(Path file, Individual[] population, SnapshotCodec codec,
+            int generation) throws IOException {
+        int size = codec.getRecordSize();
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        ByteBuffer b = ByteBuffer.allocateDirect(Math.max(BUFFER_SIZE, HEADER_SIZE + size))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            b.putInt(MAGIC).putInt(VERSION).putInt(generation).putInt(population.length)
+                    .putInt(codec.getLength()).putInt(size)
+                    .put((byte) codec.getEncoding()).put((byte) codec.getGeneBytes())
+                    .putShort((short) 0)
+                    .putDouble(codec.getBase()).putDouble(codec.getDivisor());
+            while (b.position() < HEADER_SIZE) {
+                b.put((byte) 0);
+            }
+
+            for (Individual ind : population) {
+                if (b.remaining() < size) {
+                    b.flip();
+                    writeFully(ch, b);
+                    b.clear();
+                }
+                // bit records are built up with read-modify-write
+                for (int i = 0; i < size; i++) {
+                    b.put(b.position() + i, (byte) 0);
+                }
+                codec.encode(ind, b, b.position());
+                b.position(b.position() + size);
+            }
+            b.flip();
+            writeFully(ch, b);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Write all of a buffer to a channel.
+     *
+     * @param ch Channel to write to.
+     * @param b Buffer to write, from its position to its limit.
+     * @throws IOException If the write fails.
+     */
+    private static void writeFully(FileChannel ch, ByteBuffer b) throws IOException {
+        while (b.hasRemaining()) {
+            ch.write(b);
+        }
+    }
+
+    /**
+     * Get the number of generations between snapshots.
+     *
+     * @return Snapshot interval.
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Set the number of generations between snapshots.
+     *
+     * @param interval Snapshot interval, greater than 0.
+     * @throws IllegalArgumentException If interval is not positive.
+     */
+    final public void setInterval(int interval) throws IllegalArgumentException {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Illegal interval to setInterval: " + interval);
+        }
+        this.interval = interval;
+    }
+
+    @Override
+    public void saveState(DataOutput out, GenomeCodec codec) throws IOException {
+        out.writeInt(generationNumber);
+    }
+
+    @Override
+    public void loadState(DataInput in, GenomeCodec codec, Problem problem) throws IOException {
+        generationNumber = in.readInt();
+    }
+
+    @Override
+    public String toString() {
+        return "SnapshotWriter, pattern = " + pattern + ", interval = " + interval
+                + ", " + codec;
+    }
+}
@@ -0,0 +1,90 @@
+package edu.doane.dugal.dea.io;
+
+/**
+ * Statistics for one generation of a run, as handed to a StatsSink: the name
+ * of the operator that gathered them, the generation number, and a list of
+ * named values. Stats operators share one names array across all of their
+ * records, so sinks can tell when the columns change by comparing references.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class StatsRecord {
+
+    /**
+     * Name of the operator that made the record.
+     */
+    private final String source;
+
+    /**
+     * Generation the statistics belong to.
+     */
+    private final int generation;
+
+    /**
+     * Names of the values.
+     */
+    private final String[] names;
+
+    /**
+     * Values, in the same order as the names.
+     */
+    private final double[] values;
+
+    /**
+     * Create a record. The arrays are kept, not copied.
+     *
+     * @param source Name of the operator that made the record.
+     * @param generation Generation the statistics belong to.
+     * @param names Names of the values.
+     * @param values Values, in the same order as the names.
+     * @throws IllegalArgumentException If the arrays are different lengths.
+     */
+    public StatsRecord(String source, int generation, String[] names, double[] values)
+            throws IllegalArgumentException {
+        if (names.length != values.length) {
+            throw new IllegalArgumentException("Illegal values to StatsRecord: "
+                    + values.length + " values for " + names.length + " names");
+        }
+        this.source = source;
+        this.generation = generation;
+        this.names = names;
+        this.values = values;
+    }
+
+    /**
+     * Get the name of the operator that made the record.
+     *
+     * @return Source name.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Get the generation the statistics belong to.
+     *
+     * @return Generation number.
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Get the names of the values. Do not modify the array.
+     *
+     * @return Array of names.
+     */
+    public String[] getNames() {
+        return names;
+    }
+
+    /**
+     * Get the values. Do not modify the array.
+     *
+     * @return Array of values.
+     */
+    public double[] getValues() {
+        return values;
+    }
+}
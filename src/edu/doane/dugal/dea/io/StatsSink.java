@@ -0,0 +1,25 @@
+package edu.doane.dugal.dea.io;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * Interface for destinations of per-generation statistics, such as files of
+ * CSV, JSON lines, or binary records. Stats operators given a sink write a
+ * StatsRecord to it each generation, instead of printing to standard output.
+ * Wrap a sink in an AsyncStatsSink to move the writing off the DEA thread.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public interface StatsSink extends Closeable, Flushable {
+
+    /**
+     * Write one record.
+     *
+     * @param record Statistics for one generation.
+     * @throws IOException If the record can't be written.
+     */
+    public void write(StatsRecord record) throws IOException;
+}
@@ -0,0 +1,110 @@
+package edu.doane.dugal.dea.io;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Base class for sinks that write records to an OutputStream. Files opened by
+ * path are buffered, and compressed with GZIP if their names end in ".gz";
+ * flushing a compressed file makes everything written so far readable.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public abstract class StreamStatsSink implements StatsSink {
+
+    /**
+     * Size of the output buffers, in bytes.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Stream the records are written to.
+     */
+    protected final OutputStream out;
+
+    /**
+     * Names array of the last record written, used to tell when the columns
+     * change.
+     */
+    private String[] lastNames;
+
+    /**
+     * Create a sink that writes to a stream.
+     *
+     * @param out Stream to write to; the sink closes it.
+     */
+    protected StreamStatsSink(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Create a sink that writes to a file, replacing it if it exists.
+     *
+     * @param file File to write to; compressed if the name ends in ".gz".
+     * @throws IOException If the file can't be created.
+     */
+    protected StreamStatsSink(Path file) throws IOException {
+        this(open(file));
+    }
+
+    /**
+     * Open a buffered stream to a file, compressed if the name ends in ".gz".
+     *
+     * @param file File to write to.
+     * @return Buffered output stream.
+     * @throws IOException If the file can't be created.
+     */
+    public static OutputStream open(Path file) throws IOException {
+        OutputStream os = Files.newOutputStream(file);
+        if (file.getFileName().toString().endsWith(".gz")) {
+            os = new GZIPOutputStream(os, BUFFER_SIZE, true);
+        }
+        return new BufferedOutputStream(os, BUFFER_SIZE);
+    }
+
+    @Override
+    public void write(StatsRecord record) throws IOException {
+        if (record.getNames() != lastNames) {
+            lastNames = record.getNames();
+            writeHeader(record);
+        }
+        writeRecord(record);
+    }
+
+    /**
+     * Write whatever describes the columns, before the first record and
+     * whenever the columns change.
+     *
+     * @param record First record with the new columns.
+     * @throws IOException If the header can't be written.
+     */
+    protected abstract void writeHeader(StatsRecord record) throws IOException;
+
+    /**
+     * Write one record.
+     *
+     * @param record Statistics for one generation.
+     * @throws IOException If the record can't be written.
+     */
+    protected abstract void writeRecord(StatsRecord record) throws IOException;
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName();
+    }
+}
@@ -5,20 +5,24 @@ import edu.doane.dugal.dea.PRNG;
 import java.util.BitSet;
 
 /**
- * Class representing a binary chromosome individual.
+ * Class representing a binary chromosome individual. Bit access goes through
+ * getBit(), setBit(), and flipBit(), so that subclasses such as the off-heap
+ * views of OffHeapBinaryPopulation can keep their bits somewhere other than
+ * the chromosome bit set.
  *
  * @author Mark M. Meysenburg
- * @version 12/30/2014
+ * @version 10/18/2026
  */
 public class BinaryChromosome extends Individual {
 
     /**
      * Number of bits in the chromosome.
      */
-    private int length;
+    int length;
 
     /**
-     * Set of bits representing this individual.
+     * Set of bits representing this individual. Null for views that keep
+     * their bits elsewhere.
      */
     BitSet chromosome;
 
@@ -46,10 +50,23 @@ public class BinaryChromosome extends Individual {
 
         prng = PRNG.getInstance();
 
-        chromosome = new BitSet(length);
-        for (int i = 0; i < length; i++) {
-            chromosome.set(i, prng.nextDouble() < 0.5);
-        }
+        // fill 64 bits at a time, then trim the bits past the end
+        long[] words = new long[(length + 63) / 64];
+        prng.nextLongs(words);
+        chromosome = BitSet.valueOf(words);
+        chromosome.clear(length, words.length * 64);
+    }
+
+    /**
+     * View constructor. Create a BinaryChromosome with no bit set, for
+     * subclasses that store their bits elsewhere.
+     *
+     * @param length Number of bits in the individual.
+     * @param external Ignored; distinguishes this constructor.
+     */
+    BinaryChromosome(int length, boolean external) {
+        this.length = length;
+        prng = PRNG.getInstance();
     }
     
     /**
@@ -61,13 +78,105 @@ public class BinaryChromosome extends Individual {
     public BinaryChromosome(BinaryChromosome ind) {
         super();
         setFitness(ind.getFitness());
+        setModified(ind.isModified());
         length = ind.length;
         prng = ind.prng;
         
-        chromosome = new BitSet(length);
+        if (ind.chromosome != null) {
+            chromosome = (BitSet) ind.chromosome.clone();
+        } else {
+            chromosome = new BitSet(length);
+            for (int i = 0; i < length; i++) {
+                chromosome.set(i, ind.getBit(i));
+            }
+        }
+    }
+
+    /**
+     * Create a deep copy of this individual via the copy constructor, without
+     * reflection. Subclasses that don't override this method still get copied
+     * through their own copy constructor.
+     *
+     * @return A new BinaryChromosome, deep-copy identical to this one
+     */
+    @Override
+    public BinaryChromosome copy() {
+        if (getClass() != BinaryChromosome.class) {
+            return (BinaryChromosome) super.copy();
+        }
+        return new BinaryChromosome(this);
+    }
 
-        for (int i = 0; i < length; i++) {
-            chromosome.set(i, ind.chromosome.get(i));
+    /**
+     * Copy this individual's bits and fitness into another BinaryChromosome,
+     * reusing its bit storage when the lengths match.
+     *
+     * @param target BinaryChromosome to overwrite
+     * @throws IllegalArgumentException If the target is of another class, or
+     * is a view with a different length, which can't be given storage of its
+     * own without leaving its population.
+     */
+    @Override
+    public void copyInto(Individual target) throws IllegalArgumentException {
+        checkTarget(target);
+        BinaryChromosome t = (BinaryChromosome) target;
+        if (t.length != length) {
+            if (t.chromosome == null) {
+                throw new IllegalArgumentException("Illegal target to copyInto: view of length "
+                        + t.length + ", not " + length);
+            }
+            t.chromosome = new BitSet(length);
+            t.length = length;
+        }
+        if (chromosome != null && t.chromosome != null) {
+            t.chromosome.clear();
+            t.chromosome.or(chromosome);
+        } else {
+            for (int i = 0; i < length; i++) {
+                t.setBit(i, getBit(i));
+            }
+        }
+        t.setFitness(getFitness());
+        t.setModified(isModified());
+    }
+
+    /**
+     * Find out if this individual supports copyInto(). Only a plain
+     * BinaryChromosome or a view of an OffHeapBinaryPopulation does, since
+     * copyInto() copies nothing that a subclass adds; other subclasses are
+     * copied with copy().
+     *
+     * @return True if copyInto() makes an exact copy of this individual.
+     */
+    @Override
+    public boolean canCopyInto() {
+        return exact(this);
+    }
+
+    /**
+     * Find out if a chromosome is a plain BinaryChromosome or one of the
+     * kit's views, whose state copyInto() copies completely.
+     *
+     * @param c Chromosome to check
+     * @return True if c has no state beyond this class's own
+     */
+    private static boolean exact(BinaryChromosome c) {
+        return c.getClass() == BinaryChromosome.class || c instanceof OffHeapBinaryChromosome;
+    }
+
+    /**
+     * Check that copyInto() can overwrite a target without leaving any of its
+     * state behind: the target must be of this individual's own class, or
+     * both must be plain BinaryChromosomes or views.
+     *
+     * @param target Individual to be overwritten
+     * @throws IllegalArgumentException If the target is of another class.
+     */
+    private void checkTarget(Individual target) throws IllegalArgumentException {
+        if (target.getClass() != getClass() && !(exact(this)
+                && target instanceof BinaryChromosome && exact((BinaryChromosome) target))) {
+            throw new IllegalArgumentException("Illegal target to copyInto: "
+                    + target.getClass().getName() + ", not " + getClass().getName());
         }
     }
 
@@ -78,14 +187,25 @@ public class BinaryChromosome extends Individual {
      * @param hi index of ending bit in the range.
      * @return Integer value of the bits in the range [lo, hi]
      * @throws IllegalArgumentException if hi is less than or equal to lo.
+     * @throws NumberFormatException if the value doesn't fit in an int, i.e.,
+     * if a bit more than 31 places from hi is set.
      */
-    public int getBitsAsInt(int lo, int hi) throws IllegalArgumentException {
+    public int getBitsAsInt(int lo, int hi) throws IllegalArgumentException,
+            NumberFormatException {
         if (hi <= lo) {
             throw new IllegalArgumentException("Bad range to getBitsAsInt: " + lo + ", " + hi);
         }
 
-        String sBits = toString(lo, hi);
-        return Integer.parseInt(sBits, 2);
+        // bit lo is the most significant bit of the result
+        int value = 0;
+        for (int i = lo; i <= hi; i++) {
+            if (value > Integer.MAX_VALUE >> 1) {
+                throw new NumberFormatException("Bits out of int range in getBitsAsInt: "
+                        + toString(lo, hi));
+            }
+            value = (value << 1) | (getBit(i) ? 1 : 0);
+        }
+        return value;
     }
 
     /**
@@ -106,6 +226,17 @@ public class BinaryChromosome extends Individual {
      */
     public void setBit(int bit, boolean value) {
         chromosome.set(bit, value);
+        setModified(true);
+    }
+
+    /**
+     * Flip the specified bit.
+     *
+     * @param bit Which bit to flip.
+     */
+    public void flipBit(int bit) {
+        chromosome.flip(bit);
+        setModified(true);
     }
 
     /**
@@ -127,7 +258,7 @@ public class BinaryChromosome extends Individual {
     public String toString(int lo, int hi) {
         StringBuilder sb = new StringBuilder();
         for (int i = lo; i <= hi; i++) {
-            if (chromosome.get(i)) {
+            if (getBit(i)) {
                 sb.append("1");
             } else {
                 sb.append("0");
@@ -140,4 +271,84 @@ public class BinaryChromosome extends Individual {
     public String toString() {
         return toString(0, length - 1);
     }
+
+    /**
+     * Hash the bits of this chromosome, 64 at a time.
+     *
+     * @param seed Seed picking the hash function.
+     * @return Hash of the genome.
+     */
+    @Override
+    public long genomeHash(long seed) {
+        long h = hashStart(length, seed);
+        int n = (length + 63) / 64;
+        for (int w = 0; w < n; w++) {
+            h = hashStep(h, word(w));
+        }
+        return hashFinish(h);
+    }
+
+    /**
+     * Compare the bits of two chromosomes.
+     *
+     * @param other Individual to compare with.
+     * @return True if other is a BinaryChromosome with the same length and
+     * bits.
+     */
+    @Override
+    public boolean genomeEquals(Individual other) {
+        if (!(other instanceof BinaryChromosome)) {
+            return false;
+        }
+        BinaryChromosome o = (BinaryChromosome) other;
+        if (o.length != length) {
+            return false;
+        }
+        if (chromosome != null && o.chromosome != null) {
+            return chromosome.equals(o.chromosome);
+        }
+        int n = (length + 63) / 64;
+        for (int w = 0; w < n; w++) {
+            if (word(w) != o.word(w)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the Hamming distance between two chromosomes of the same length.
+     *
+     * @param other BinaryChromosome to measure the distance to.
+     * @return Number of bits that differ.
+     */
+    @Override
+    public double genomeDistance(Individual other) {
+        BinaryChromosome o = (BinaryChromosome) other;
+        int n = (length + 63) / 64;
+        int d = 0;
+        for (int w = 0; w < n; w++) {
+            d += Long.bitCount(word(w) ^ o.word(w));
+        }
+        return d;
+    }
+
+    /**
+     * Pack 64 bits of the chromosome into a long, without allocating: bit i
+     * of the chromosome goes in word i / 64, with the lower-numbered bits in
+     * the lower positions.
+     *
+     * @param w Which word to get, in [0, (length + 63) / 64).
+     * @return The bits of the word; bits past the end of the chromosome are 0.
+     */
+    private long word(int w) {
+        long bits = 0;
+        int end = Math.min(length, (w + 1) * 64);
+        for (int i = w * 64; i < end; i++) {
+            if (getBit(i)) {
+                bits |= 1L << i;
+            }
+        }
+        return bits;
+    }
 }
@@ -0,0 +1,75 @@
+package edu.doane.dugal.dea.kits.bchrom;
+
+import edu.doane.dugal.dea.GenomeCodec;
+import edu.doane.dugal.dea.Individual;
+import java.nio.ByteBuffer;
+
+/**
+ * GenomeCodec for BinaryChromosome individuals of a fixed length. A record is
+ * the fitness as a double, followed by the bits packed into longs, bit i in
+ * word i / 64, in the buffer's byte order.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class BinaryChromosomeCodec implements GenomeCodec {
+
+    /**
+     * Number of bits per individual.
+     */
+    private final int length;
+
+    /**
+     * Number of 64-bit words per individual.
+     */
+    private final int words;
+
+    /**
+     * Create a codec for BinaryChromosomes with the specified length.
+     *
+     * @param length Number of bits per individual.
+     */
+    public BinaryChromosomeCodec(int length) {
+        this.length = length;
+        words = (length + 63) / 64;
+    }
+
+    @Override
+    public int getRecordSize() {
+        return 8 + 8 * words;
+    }
+
+    @Override
+    public void encode(Individual ind, ByteBuffer buf, int offset) {
+        BinaryChromosome bc = (BinaryChromosome) ind;
+        buf.putDouble(offset, bc.getFitness());
+        for (int w = 0; w < words; w++) {
+            long bits = 0;
+            int end = Math.min(64, length - 64 * w);
+            for (int b = 0; b < end; b++) {
+                if (bc.getBit(64 * w + b)) {
+                    bits |= 1L << b;
+                }
+            }
+            buf.putLong(offset + 8 + 8 * w, bits);
+        }
+    }
+
+    @Override
+    public void decode(ByteBuffer buf, int offset, Individual ind) {
+        BinaryChromosome bc = (BinaryChromosome) ind;
+        for (int w = 0; w < words; w++) {
+            long bits = buf.getLong(offset + 8 + 8 * w);
+            int end = Math.min(64, length - 64 * w);
+            for (int b = 0; b < end; b++) {
+                bc.setBit(64 * w + b, (bits & (1L << b)) != 0);
+            }
+        }
+        bc.setFitness(buf.getDouble(offset));
+    }
+
+    @Override
+    public String toString() {
+        return "BinaryChromosomeCodec, length = " + length;
+    }
+}
@@ -0,0 +1,56 @@
+package edu.doane.dugal.dea.kits.bchrom;
+
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.io.SnapshotCodec;
+import java.nio.ByteBuffer;
+
+/**
+ * SnapshotCodec for BinaryChromosome individuals. The bits are packed eight
+ * to a byte, so a record is the fitness plus (length + 7) / 8 bytes, rather
+ * than whole longs as in BinaryChromosomeCodec.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class BinarySnapshotCodec extends SnapshotCodec {
+
+    /**
+     * Create a codec for BinaryChromosomes with the specified length.
+     *
+     * @param length Number of bits per individual.
+     */
+    public BinarySnapshotCodec(int length) {
+        super(BITS, length);
+    }
+
+    @Override
+    public void encode(Individual ind, ByteBuffer buf, int offset) {
+        BinaryChromosome bc = (BinaryChromosome) ind;
+        buf.putDouble(offset, bc.getFitness());
+        int length = getLength();
+        for (int b = 0; b < length; b += 8) {
+            int bits = 0;
+            int end = Math.min(8, length - b);
+            for (int i = 0; i < end; i++) {
+                if (bc.getBit(b + i)) {
+                    bits |= 1 << i;
+                }
+            }
+            buf.put(offset + 8 + (b >>> 3), (byte) bits);
+        }
+    }
+
+    @Override
+    public void decode(ByteBuffer buf, int offset, Individual ind) {
+        BinaryChromosome bc = (BinaryChromosome) ind;
+        for (int i = 0; i < getLength(); i++) {
+            bc.setBit(i, getBit(buf, offset, i));
+        }
+        bc.setFitness(buf.getDouble(offset));
+    }
+
+    @Override
+    public String toString() {
+        return "BinarySnapshotCodec, length = " + getLength();
+    }
+}
@@ -0,0 +1,126 @@
+package edu.doane.dugal.dea.kits.bchrom;
+
+import java.nio.ByteBuffer;
+
+/**
+ * BinaryChromosome whose fitness and bits live in a record of an
+ * OffHeapBinaryPopulation. The record is the fitness as a double, followed by
+ * the bits packed into longs, bit i in word i / 64. Copies made with copy()
+ * are ordinary, stand-alone BinaryChromosomes.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+class OffHeapBinaryChromosome extends BinaryChromosome {
+
+    /**
+     * Segment holding this individual's record; null once the population has
+     * been closed.
+     */
+    private ByteBuffer buf;
+
+    /**
+     * Byte offset of this individual's record in the segment.
+     */
+    private final int base;
+
+    /**
+     * Create a view onto one record.
+     *
+     * @param buf Segment holding the record
+     * @param base Byte offset of the record in the segment
+     * @param length Number of bits per individual
+     */
+    OffHeapBinaryChromosome(ByteBuffer buf, int base, int length) {
+        super(length, true);
+        this.buf = buf;
+        this.base = base;
+    }
+
+    /**
+     * Get the segment, making sure the population is still open.
+     *
+     * @return Segment holding the record.
+     * @throws IllegalStateException If the population has been closed.
+     */
+    private ByteBuffer buffer() throws IllegalStateException {
+        if (buf == null) {
+            throw new IllegalStateException("Off-heap population has been closed");
+        }
+        return buf;
+    }
+
+    /**
+     * Detach this view from its segment.
+     */
+    void release() {
+        buf = null;
+    }
+
+    /**
+     * Get one 64-bit word of the chromosome.
+     *
+     * @param word Index of the word.
+     * @return The word's bits.
+     */
+    long getWord(int word) {
+        return buffer().getLong(base + 8 + 8 * word);
+    }
+
+    /**
+     * Replace one 64-bit word of the chromosome.
+     *
+     * @param word Index of the word.
+     * @param bits New bits for the word.
+     */
+    void putWord(int word, long bits) {
+        buffer().putLong(base + 8 + 8 * word, bits);
+        setModified(true);
+    }
+
+    @Override
+    public boolean getBit(int bit) {
+        return (getWord(bit >>> 6) & (1L << bit)) != 0;
+    }
+
+    @Override
+    public void setBit(int bit, boolean value) {
+        long w = getWord(bit >>> 6);
+        putWord(bit >>> 6, value ? (w | (1L << bit)) : (w & ~(1L << bit)));
+    }
+
+    @Override
+    public void flipBit(int bit) {
+        putWord(bit >>> 6, getWord(bit >>> 6) ^ (1L << bit));
+    }
+
+    @Override
+    public double getFitness() {
+        return buffer().getDouble(base);
+    }
+
+    @Override
+    public void setFitness(double fitness) {
+        buffer().putDouble(base, fitness);
+    }
+
+    /**
+     * Create a stand-alone, on-heap deep copy of this individual.
+     *
+     * @return A new BinaryChromosome with its own bit set
+     */
+    @Override
+    public BinaryChromosome copy() {
+        return new BinaryChromosome(this);
+    }
+
+    /**
+     * Find out if this individual is a view; it is.
+     *
+     * @return True.
+     */
+    @Override
+    public boolean isView() {
+        return true;
+    }
+}
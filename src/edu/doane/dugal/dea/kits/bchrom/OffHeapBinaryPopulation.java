@@ -0,0 +1,59 @@
+package edu.doane.dugal.dea.kits.bchrom;
+
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.OffHeapPopulation;
+import edu.doane.dugal.dea.PRNG;
+import java.nio.ByteBuffer;
+
+/**
+ * Off-heap population of BinaryChromosome individuals. Each record holds the
+ * fitness as a native-order double, followed by the bits packed into
+ * native-order longs. The views work with the existing bchrom operators and
+ * with any Problem that takes BinaryChromosome individuals.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class OffHeapBinaryPopulation extends OffHeapPopulation {
+
+    /**
+     * Number of bits per individual.
+     */
+    private final int length;
+
+    /**
+     * Create a new off-heap population of random BinaryChromosome
+     * individuals.
+     *
+     * @param popSize Number of individuals in the population
+     * @param length Number of bits per individual
+     */
+    public OffHeapBinaryPopulation(int popSize, int length) {
+        super(popSize, 8 + 8 * ((length + 63) / 64));
+        this.length = length;
+        createViews();
+
+        // fill 64 bits at a time, clearing the bits past the end
+        PRNG prng = PRNG.getInstance();
+        int words = (length + 63) / 64;
+        long lastMask = (length % 64 == 0) ? -1L : (1L << (length % 64)) - 1;
+        for (Individual ind : getPopulation()) {
+            OffHeapBinaryChromosome bc = (OffHeapBinaryChromosome) ind;
+            bc.setFitness(Double.NEGATIVE_INFINITY);
+            for (int w = 0; w < words; w++) {
+                long bits = prng.nextLong();
+                bc.putWord(w, (w == words - 1) ? bits & lastMask : bits);
+            }
+        }
+    }
+
+    @Override
+    protected Individual createView(ByteBuffer segment, int base) {
+        return new OffHeapBinaryChromosome(segment, base, length);
+    }
+
+    @Override
+    protected void releaseView(Individual view) {
+        ((OffHeapBinaryChromosome) view).release();
+    }
+}
@@ -1,9 +1,10 @@
 package edu.doane.dugal.dea.kits.bchrom;
 
+import edu.doane.dugal.dea.ChunkOperator;
 import edu.doane.dugal.dea.Individual;
 import edu.doane.dugal.dea.PRNG;
-import edu.doane.dugal.dea.Operator;
-import java.util.BitSet;
+import edu.doane.dugal.dea.PartitionTask;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Class to perform single-point crossover on BinaryChromosome individuals.
@@ -11,10 +12,25 @@ import java.util.BitSet;
  * crossover. When this happens, select a random mate, select a random crossover
  * point, and exchange bits between the individuals after that point.
  *
+ * In parallel mode, the population is instead shuffled into disjoint mating
+ * pairs, and each pair crosses over with probability chi. Pairs are processed
+ * in partitions of threshold pairs on the common fork/join pool, each
+ * partition with its own random number stream, so no individual is touched by
+ * two threads.
+ * In the DEA's fused mode, mating pairs are formed within each chunk.
+ *
+ * Note that chi means something slightly different in the two modes. In
+ * serial mode, each individual starts a crossover with probability chi, and
+ * may also be picked as a mate by others, so about 2 * chi * n individuals
+ * change for small chi. In parallel and fused modes, chi is the probability
+ * for each pair, so only about chi * n individuals change. To get roughly the
+ * same amount of crossover as a serial operator with probability chi, use
+ * min(1, 2 * chi) in parallel mode.
+ *
  * @author Mark M. Meysenburg
- * @version 12/30/2014
+ * @version 10/18/2026
  */
-public class PointCrossover implements Operator {
+public class PointCrossover implements ChunkOperator {
 
     /**
      * Random number generator used by this operator.
@@ -26,6 +42,23 @@ public class PointCrossover implements Operator {
      */
     private double chi;
 
+    /**
+     * Number of mating pairs per partition in parallel mode, or 0 to run
+     * serially on the DEA thread.
+     */
+    private int threshold;
+
+    /**
+     * Shuffled population indices used to form mating pairs in parallel mode.
+     */
+    private int[] perm;
+
+    /**
+     * Buffer for the shuffled indices of one chunk in fused mode, kept per
+     * worker thread so it can be reused from chunk to chunk.
+     */
+    private final ThreadLocal<int[]> chunkPairs = new ThreadLocal<>();
+
     /**
      * Default constructor. Create a PointCrossover operator with probability of
      * crossover 0.6.
@@ -46,6 +79,22 @@ public class PointCrossover implements Operator {
         setChi(chi);
     }
 
+    /**
+     * Initializing constructor. Create a crossover operator with the specified
+     * probability of crossover, running in parallel mode. In parallel mode,
+     * chi is the probability that each disjoint mating pair crosses over,
+     * rather than the probability that each individual starts a crossover; see
+     * the class comment.
+     *
+     * @param chi Probability for a crossover event, in [0, 1].
+     * @param threshold Number of mating pairs per partition; 0 runs the
+     * operator serially.
+     */
+    public PointCrossover(double chi, int threshold) {
+        this(chi);
+        setThreshold(threshold);
+    }
+
     /**
      * Get the probability that an individual undergoes crossover.
      *
@@ -81,27 +130,137 @@ public class PointCrossover implements Operator {
      */
     @Override
     public void operate(Individual[] population) {
+        if (threshold > 0) {
+            operateParallel(population);
+            return;
+        }
+
         for (Individual ind : population) {
             // perform crossover?
             if (prng.nextDouble() <= chi) {
-                BitSet dad = ((BinaryChromosome) ind).chromosome;
-                BitSet mom = ((BinaryChromosome) population[prng.nextInt(0, population.length - 1)]).chromosome;
-
-                int length = ((BinaryChromosome) ind).getLength();
-                int point = prng.nextInt(0, length - 1);
+                BinaryChromosome dad = (BinaryChromosome) ind;
+                BinaryChromosome mom = (BinaryChromosome) population[prng.nextInt(0, population.length - 1)];
 
                 // exchange bits
-                for (int i = point; i < length; i++) {
-                    boolean t = dad.get(i);
-                    dad.set(i, mom.get(i));
-                    mom.set(i, t);
+                exchange(dad, mom, prng.nextInt(0, dad.getLength() - 1));
+            }
+        }
+    }
+
+    /**
+     * Perform crossover in parallel mode: shuffle the population into disjoint
+     * pairs, and process partitions of pairs on the common fork/join pool.
+     *
+     * @param population Array of BinaryChromosome individuals
+     */
+    private void operateParallel(final Individual[] population) {
+        int n = population.length;
+        if (perm == null || perm.length != n) {
+            perm = new int[n];
+        }
+        for (int i = 0; i < n; i++) {
+            perm[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = prng.nextInt(0, i);
+            int t = perm[i];
+            perm[i] = perm[j];
+            perm[j] = t;
+        }
+
+        final int[] pairs = perm;
+        ForkJoinPool.commonPool().invoke(new PartitionTask(new PartitionTask.Kernel() {
+            @Override
+            public void apply(int start, int end, PRNG rng) {
+                for (int k = start; k < end; k++) {
+                    if (rng.nextDouble() <= chi) {
+                        BinaryChromosome dad = (BinaryChromosome) population[pairs[2 * k]];
+                        BinaryChromosome mom = (BinaryChromosome) population[pairs[2 * k + 1]];
+                        exchange(dad, mom, rng.nextInt(0, dad.getLength() - 1));
+                    }
                 }
             }
+        }, prng.split(prng.nextLong()), n / 2, threshold));
+    }
+
+    /**
+     * Perform crossover on one chunk of the population: shuffle the chunk into
+     * disjoint pairs, each of which crosses over with probability chi.
+     *
+     * @param population Array of BinaryChromosome individuals
+     * @param start Index of the first individual in the chunk.
+     * @param end Index one past the last individual in the chunk.
+     * @param prng Random number generator for this chunk only.
+     */
+    @Override
+    public void operate(Individual[] population, int start, int end, PRNG prng) {
+        int n = end - start;
+        int[] pairs = chunkPairs.get();
+        if (pairs == null || pairs.length < n) {
+            pairs = new int[n];
+            chunkPairs.set(pairs);
+        }
+        for (int i = 0; i < n; i++) {
+            pairs[i] = start + i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = prng.nextInt(0, i);
+            int t = pairs[i];
+            pairs[i] = pairs[j];
+            pairs[j] = t;
+        }
+
+        for (int k = 0; k + 1 < n; k += 2) {
+            if (prng.nextDouble() <= chi) {
+                BinaryChromosome dad = (BinaryChromosome) population[pairs[k]];
+                BinaryChromosome mom = (BinaryChromosome) population[pairs[k + 1]];
+                exchange(dad, mom, prng.nextInt(0, dad.getLength() - 1));
+            }
+        }
+    }
+
+    /**
+     * Swap genes between two individuals, from the crossover point to the end
+     * of the chromosome.
+     *
+     * @param dad First individual.
+     * @param mom Second individual.
+     * @param point Crossover point.
+     */
+    private static void exchange(BinaryChromosome dad, BinaryChromosome mom, int point) {
+        int length = dad.getLength();
+        for (int i = point; i < length; i++) {
+            boolean t = dad.getBit(i);
+            dad.setBit(i, mom.getBit(i));
+            mom.setBit(i, t);
+        }
+    }
+
+    /**
+     * Get the number of mating pairs per partition in parallel mode.
+     *
+     * @return the threshold, or 0 if the operator runs serially.
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Set the number of mating pairs per partition in parallel mode.
+     *
+     * @param threshold Pairs per partition; 0 runs the operator serially.
+     * @throws IllegalArgumentException if the parameter is negative.
+     */
+    final public void setThreshold(int threshold) throws IllegalArgumentException {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Illegal threshold to setThreshold: " + threshold);
         }
+        this.threshold = threshold;
     }
 
     @Override
     public String toString() {
-        return "BinaryChromosome PointCrossover, chi = " + chi;
+        return "BinaryChromosome PointCrossover, chi = " + chi
+                + (threshold > 0 ? ", parallel, threshold = " + threshold : "");
     }
 }
@@ -1,8 +1,10 @@
 package edu.doane.dugal.dea.kits.bchrom;
 
+import edu.doane.dugal.dea.ChunkOperator;
 import edu.doane.dugal.dea.Individual;
-import edu.doane.dugal.dea.Operator;
 import edu.doane.dugal.dea.PRNG;
+import edu.doane.dugal.dea.PartitionTask;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Class implementing single-point mutation for BinaryChromosome individuals.
@@ -10,10 +12,14 @@ import edu.doane.dugal.dea.PRNG;
  * probability mu. If the individual is mutated, a random bit in its chromosome
  * is flipped.
  *
+ * In parallel mode, the population is split into partitions of threshold
+ * individuals, which are mutated on the common fork/join pool, each
+ * partition with its own random number stream.
+ *
  * @author Mark M. Meysenburg
- * @version 12/30/2014
+ * @version 10/18/2026
  */
-public class PointMutation implements Operator {
+public class PointMutation implements ChunkOperator {
 
     /**
      * Random number generator used by this operator.
@@ -26,6 +32,12 @@ public class PointMutation implements Operator {
      */
     private double mu;
 
+    /**
+     * Number of individuals per partition in parallel mode, or 0 to run
+     * serially on the DEA thread.
+     */
+    private int threshold;
+
     /**
      * Default constructor. Create a PointMutation object with probability of
      * mutating an individual set to 0.01.
@@ -46,6 +58,19 @@ public class PointMutation implements Operator {
         setMu(mu);
     }
 
+    /**
+     * Initializing constructor. Create a mutation operator with the specified
+     * probability of mutation, running in parallel mode.
+     *
+     * @param mu Chance to mutate an individual, in [0, 1].
+     * @param threshold Number of individuals per partition; 0 runs the
+     * operator serially.
+     */
+    public PointMutation(double mu, int threshold) {
+        this(mu);
+        setThreshold(threshold);
+    }
+
     /**
      * Perform single point mutation on the population. Iterate through each
      * individual; with probability mu, mutate each one. If mutating, flip one
@@ -55,11 +80,16 @@ public class PointMutation implements Operator {
      */
     @Override
     public void operate(Individual[] population) {
+        if (threshold > 0) {
+            operateParallel(population);
+            return;
+        }
+
         for (Individual ind : population) {
             // do a mutation?
             if (prng.nextDouble() <= mu) {
                 // if so, flip one of the current individual's bits
-                ((BinaryChromosome) ind).chromosome.flip(prng.nextInt(0, ((BinaryChromosome) ind).getLength() - 1));
+                ((BinaryChromosome) ind).flipBit(prng.nextInt(0, ((BinaryChromosome) ind).getLength() - 1));
             }
         }
     }
@@ -86,8 +116,65 @@ public class PointMutation implements Operator {
         this.mu = mu;
     }
 
+    /**
+     * Perform mutation in parallel mode, processing partitions of the
+     * population on the common fork/join pool.
+     *
+     * @param population Array of BinaryChromosome individuals
+     */
+    private void operateParallel(final Individual[] population) {
+        ForkJoinPool.commonPool().invoke(new PartitionTask(new PartitionTask.Kernel() {
+            @Override
+            public void apply(int start, int end, PRNG rng) {
+                operate(population, start, end, rng);
+            }
+        }, prng.split(prng.nextLong()), population.length, threshold));
+    }
+
+    /**
+     * Perform mutation on one chunk of the population.
+     *
+     * @param population Array of BinaryChromosome individuals
+     * @param start Index of the first individual in the chunk.
+     * @param end Index one past the last individual in the chunk.
+     * @param prng Random number generator for this chunk only.
+     */
+    @Override
+    public void operate(Individual[] population, int start, int end, PRNG prng) {
+        for (int k = start; k < end; k++) {
+            if (prng.nextDouble() <= mu) {
+                BinaryChromosome ind = (BinaryChromosome) population[k];
+                ind.flipBit(prng.nextInt(0, ind.getLength() - 1));
+            }
+        }
+    }
+
+    /**
+     * Get the number of individuals per partition in parallel mode.
+     *
+     * @return the threshold, or 0 if the operator runs serially.
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Set the number of individuals per partition in parallel mode.
+     *
+     * @param threshold Individuals per partition; 0 runs the operator
+     * serially.
+     * @throws IllegalArgumentException if the parameter is negative.
+     */
+    final public void setThreshold(int threshold) throws IllegalArgumentException {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Illegal threshold to setThreshold: " + threshold);
+        }
+        this.threshold = threshold;
+    }
+
     @Override
     public String toString() {
-        return "BinaryChromosome PointMutation, mu = " + mu;
+        return "BinaryChromosome PointMutation, mu = " + mu
+                + (threshold > 0 ? ", parallel, threshold = " + threshold : "");
     }
 }
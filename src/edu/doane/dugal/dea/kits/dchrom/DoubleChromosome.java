@@ -4,18 +4,39 @@ import edu.doane.dugal.dea.Individual;
 import edu.doane.dugal.dea.PRNG;
 
 /**
- * Class representing a fixed-length chromosome of doubles.
+ * Class representing a fixed-length chromosome of doubles. A DoubleChromosome
+ * normally owns its own gene array, but it can also be a view onto a slice of a
+ * larger array shared by a whole population; see DoublePopulation. Subclasses
+ * with no gene array at all, such as the views of OffHeapDoublePopulation,
+ * override getGene() and putGene().
  *
  * @author Mark M. Meysenburg
- * @version 12/10/2014
+ * @version 10/18/2026
  */
 public class DoubleChromosome extends Individual {
 
     /**
-     * Array of doubles holding the genes for this Individual's chromosome.
+     * Array of doubles holding the genes for this Individual's chromosome. For
+     * a view, this array is shared with the rest of the population, and the
+     * genes start at offset. Null for views that keep their genes elsewhere.
      */
     private double[] chromosome;
 
+    /**
+     * Index of this Individual's first gene in the chromosome array.
+     */
+    private int offset;
+
+    /**
+     * True if this Individual is a view, whose genes belong to a population.
+     */
+    private boolean view;
+
+    /**
+     * Number of genes in the chromosome.
+     */
+    private int length;
+
     /**
      * Lowest value possible for a gene in the chromosome.
      */
@@ -68,9 +89,34 @@ public class DoubleChromosome extends Individual {
 
         // create and fill chromosome
         chromosome = new double[length];
-        for (int i = 0; i < chromosome.length; i++) {
-            randomizeGene(i);
-        }
+        this.length = length;
+        prng.nextDoubles(chromosome, lo, hi);
+    }
+
+    /**
+     * View constructor. Create a DoubleChromosome whose genes live in a slice
+     * of a shared array, starting at the specified offset. The genes are left
+     * as they are in the shared array.
+     *
+     * @param store Shared gene array, or null for subclasses that override
+     * getGene() and putGene()
+     * @param offset Index of the first gene in the shared array
+     * @param length Number of genes in the chromosome
+     * @param lo Low value for each gene in the chromosome
+     * @param hi High value for each gene in the chromosome
+     * @param fracDigits Number of fraction digits to output
+     */
+    DoubleChromosome(double[] store, int offset, int length, double lo,
+            double hi, int fracDigits) {
+        super();
+        prng = PRNG.getInstance();
+        chromosome = store;
+        view = true;
+        this.offset = offset;
+        this.length = length;
+        this.lo = lo;
+        this.hi = hi;
+        this.fracDigits = fracDigits;
     }
 
     /**
@@ -81,47 +127,171 @@ public class DoubleChromosome extends Individual {
     */    
     public DoubleChromosome(DoubleChromosome other) {
         super();
-        chromosome = new double[other.chromosome.length];
-        System.arraycopy(other.chromosome, 0, chromosome, 0, chromosome.length);
+        length = other.length;
+        chromosome = new double[length];
+        if (other.chromosome != null) {
+            System.arraycopy(other.chromosome, other.offset, chromosome, 0, length);
+        } else {
+            for (int i = 0; i < length; i++) {
+                chromosome[i] = other.getGene(i);
+            }
+        }
         fracDigits = other.fracDigits;
         hi = other.hi;
         lo = other.lo;
         prng = other.prng;
         setFitness(other.getFitness());
+        setModified(other.isModified());
+    }
+
+    /**
+     * Create a deep copy of this individual via the copy constructor, without
+     * reflection. Subclasses that don't override this method still get copied
+     * through their own copy constructor.
+     *
+     * @return A new DoubleChromosome, deep-copy identical to this one
+     */
+    @Override
+    public DoubleChromosome copy() {
+        if (getClass() != DoubleChromosome.class) {
+            return (DoubleChromosome) super.copy();
+        }
+        return new DoubleChromosome(this);
+    }
+
+    /**
+     * Copy this individual's genes, range, and fitness into another
+     * DoubleChromosome, reusing its gene storage when the lengths match. If
+     * the target is a view, the genes are written into its slice of the shared
+     * array.
+     *
+     * @param target DoubleChromosome to overwrite
+     * @throws IllegalArgumentException If the target is of another class, or
+     * is a view with a different length, which can't be given storage of its
+     * own without leaving its population.
+     */
+    @Override
+    public void copyInto(Individual target) throws IllegalArgumentException {
+        checkTarget(target);
+        DoubleChromosome t = (DoubleChromosome) target;
+        if (t.length != length) {
+            if (t.view) {
+                throw new IllegalArgumentException("Illegal target to copyInto: view of length "
+                        + t.length + ", not " + length);
+            }
+            t.chromosome = new double[length];
+            t.offset = 0;
+            t.length = length;
+        }
+        if (chromosome != null && t.chromosome != null) {
+            System.arraycopy(chromosome, offset, t.chromosome, t.offset, length);
+        } else {
+            for (int i = 0; i < length; i++) {
+                t.putGene(i, getGene(i));
+            }
+        }
+        t.lo = lo;
+        t.hi = hi;
+        t.fracDigits = fracDigits;
+        t.setFitness(getFitness());
+        t.setModified(isModified());
+    }
+
+    /**
+     * Find out if this individual supports copyInto(). Only a plain
+     * DoubleChromosome or one of its views does, since copyInto() copies
+     * nothing that a subclass adds; other subclasses are copied with copy().
+     *
+     * @return True if copyInto() makes an exact copy of this individual.
+     */
+    @Override
+    public boolean canCopyInto() {
+        return exact(this);
+    }
+
+    /**
+     * Find out if a chromosome is a plain DoubleChromosome or one of the
+     * kit's views, whose state copyInto() copies completely.
+     *
+     * @param c Chromosome to check
+     * @return True if c has no state beyond this class's own
+     */
+    private static boolean exact(DoubleChromosome c) {
+        return c.getClass() == DoubleChromosome.class || c instanceof DoubleChromosomeView
+                || c instanceof OffHeapDoubleChromosome;
+    }
+
+    /**
+     * Check that copyInto() can overwrite a target without leaving any of its
+     * state behind: the target must be of this individual's own class, or
+     * both must be plain DoubleChromosomes or views.
+     *
+     * @param target Individual to be overwritten
+     * @throws IllegalArgumentException If the target is of another class.
+     */
+    private void checkTarget(Individual target) throws IllegalArgumentException {
+        if (target.getClass() != getClass() && !(exact(this)
+                && target instanceof DoubleChromosome && exact((DoubleChromosome) target))) {
+            throw new IllegalArgumentException("Illegal target to copyInto: "
+                    + target.getClass().getName() + ", not " + getClass().getName());
+        }
     }
 
     @Override
     public String toString() {
         StringBuilder s = new StringBuilder("[");
 
-        for (int i = 0; i < chromosome.length - 1; i++) {
-            s.append(String.format("%." + fracDigits + "f", chromosome[i]));
+        for (int i = 0; i < length - 1; i++) {
+            s.append(String.format("%." + fracDigits + "f", getGene(i)));
             s.append(", ");
         }
 
-        s.append(String.format("%." + fracDigits + "f", chromosome[chromosome.length - 1]));
+        s.append(String.format("%." + fracDigits + "f", getGene(length - 1)));
         s.append("]");
 
         return s.toString();
     }
 
+    /**
+     * Find out if this individual is a view onto a DoublePopulation or an
+     * OffHeapDoublePopulation.
+     *
+     * @return True for views.
+     */
+    @Override
+    public boolean isView() {
+        return view;
+    }
+
     /**
      * Randomize one of the genes in the chromosome, to a new value in the range
      * specified by the individual's lo and hi values.
      *
      * @param gene Which gene in the chromosome to randomize.
      */
-    final public void randomizeGene(int gene) {
-        chromosome[gene] = prng.nextDouble(lo, hi);
+    public void randomizeGene(int gene) {
+        randomizeGene(gene, prng);
+    }
+
+    /**
+     * Randomize one of the genes in the chromosome, drawing from the specified
+     * random number generator instead of the individual's own. Parallel
+     * operators use this to give each thread its own stream.
+     *
+     * @param gene Which gene in the chromosome to randomize.
+     * @param prng Random number generator to draw the new value from.
+     */
+    public void randomizeGene(int gene, PRNG prng) {
+        putGene(gene, prng.nextDouble(lo, hi));
     }
 
     /**
      * Get the length of this individual's chromosome.
      *
-     * @return Number of doubles in this DoubleChromosome's array.
+     * @return Number of doubles in this DoubleChromosome's chromosome.
      */
     public int getLength() {
-        return chromosome.length;
+        return length;
     }
 
     /**
@@ -131,7 +301,7 @@ public class DoubleChromosome extends Individual {
      * @return Value of the specified gene
      */
     public double getGene(int gene) {
-        return chromosome[gene];
+        return chromosome[offset + gene];
     }
 
     /**
@@ -146,7 +316,19 @@ public class DoubleChromosome extends Individual {
             throw new IllegalArgumentException("Illegal value: " + value);
         }
 
-        chromosome[gene] = value;
+        putGene(gene, value);
+    }
+
+    /**
+     * Store a gene value without checking its range. Overridden by views that
+     * keep their genes elsewhere.
+     *
+     * @param gene Which gene to change
+     * @param value New value for the gene
+     */
+    void putGene(int gene, double value) {
+        chromosome[offset + gene] = value;
+        setModified(true);
     }
     
     @Override
@@ -158,15 +340,17 @@ public class DoubleChromosome extends Individual {
     public int compareTo(Object o) {
         DoubleChromosome io = (DoubleChromosome)o;
         
-        if(io.chromosome.length != chromosome.length) {
-            return chromosome.length - io.chromosome.length;
+        if(io.length != length) {
+            return length - io.length;
         }
         
-        for(int i = 0; i < chromosome.length; i++) {
-            if(chromosome[i] < io.chromosome[i]) {
+        for(int i = 0; i < length; i++) {
+            double a = getGene(i);
+            double b = io.getGene(i);
+            if(a < b) {
                 return -1;
             } else {
-                if(chromosome[i] > io.chromosome[i]) {
+                if(a > b) {
                     return 1; 
                 }
             }
@@ -174,4 +358,61 @@ public class DoubleChromosome extends Individual {
         
         return 0;
     }
+
+    /**
+     * Hash the genes of this chromosome.
+     *
+     * @param seed Seed picking the hash function.
+     * @return Hash of the genome.
+     */
+    @Override
+    public long genomeHash(long seed) {
+        long h = hashStart(length, seed);
+        for (int i = 0; i < length; i++) {
+            h = hashStep(h, Double.doubleToLongBits(getGene(i)));
+        }
+        return hashFinish(h);
+    }
+
+    /**
+     * Compare the genes of two chromosomes.
+     *
+     * @param other Individual to compare with.
+     * @return True if other is a DoubleChromosome with the same length and
+     * gene values.
+     */
+    @Override
+    public boolean genomeEquals(Individual other) {
+        if (!(other instanceof DoubleChromosome)) {
+            return false;
+        }
+        DoubleChromosome o = (DoubleChromosome) other;
+        if (o.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (Double.doubleToLongBits(getGene(i)) != Double.doubleToLongBits(o.getGene(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the Euclidean distance between the genes of two chromosomes of the
+     * same length.
+     *
+     * @param other DoubleChromosome to measure the distance to.
+     * @return Euclidean distance between the two gene vectors.
+     */
+    @Override
+    public double genomeDistance(Individual other) {
+        DoubleChromosome o = (DoubleChromosome) other;
+        double sum = 0.0;
+        for (int i = 0; i < length; i++) {
+            double d = getGene(i) - o.getGene(i);
+            sum += d * d;
+        }
+        return Math.sqrt(sum);
+    }
 }
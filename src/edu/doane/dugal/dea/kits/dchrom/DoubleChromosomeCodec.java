@@ -0,0 +1,57 @@
+package edu.doane.dugal.dea.kits.dchrom;
+
+import edu.doane.dugal.dea.GenomeCodec;
+import edu.doane.dugal.dea.Individual;
+import java.nio.ByteBuffer;
+
+/**
+ * GenomeCodec for DoubleChromosome individuals of a fixed length. A record is
+ * the fitness followed by the genes, all as doubles in the buffer's byte order.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class DoubleChromosomeCodec implements GenomeCodec {
+
+    /**
+     * Number of genes per individual.
+     */
+    private final int length;
+
+    /**
+     * Create a codec for DoubleChromosomes with the specified length.
+     *
+     * @param length Number of genes per individual.
+     */
+    public DoubleChromosomeCodec(int length) {
+        this.length = length;
+    }
+
+    @Override
+    public int getRecordSize() {
+        return 8 + 8 * length;
+    }
+
+    @Override
+    public void encode(Individual ind, ByteBuffer buf, int offset) {
+        DoubleChromosome dc = (DoubleChromosome) ind;
+        buf.putDouble(offset, dc.getFitness());
+        for (int i = 0; i < length; i++) {
+            buf.putDouble(offset + 8 + 8 * i, dc.getGene(i));
+        }
+    }
+
+    @Override
+    public void decode(ByteBuffer buf, int offset, Individual ind) {
+        DoubleChromosome dc = (DoubleChromosome) ind;
+        for (int i = 0; i < length; i++) {
+            dc.putGene(i, buf.getDouble(offset + 8 + 8 * i));
+        }
+        dc.setFitness(buf.getDouble(offset));
+    }
+
+    @Override
+    public String toString() {
+        return "DoubleChromosomeCodec, length = " + length;
+    }
+}
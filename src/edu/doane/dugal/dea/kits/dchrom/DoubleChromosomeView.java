@@ -0,0 +1,60 @@
+package edu.doane.dugal.dea.kits.dchrom;
+
+/**
+ * DoubleChromosome whose genes and fitness live in the shared arrays of a
+ * DoublePopulation. Copies made with copy() are ordinary, stand-alone
+ * DoubleChromosomes.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+class DoubleChromosomeView extends DoubleChromosome {
+
+    /**
+     * Fitness array shared by the population.
+     */
+    private final double[] fitness;
+
+    /**
+     * Index of this individual in the population.
+     */
+    private final int index;
+
+    /**
+     * Create a view onto one individual of a population.
+     *
+     * @param genes Shared gene array, popSize * length doubles
+     * @param fitness Shared fitness array, popSize doubles
+     * @param index Index of this individual in the population
+     * @param length Number of genes per individual
+     * @param lo Low value for each gene in the chromosome
+     * @param hi High value for each gene in the chromosome
+     * @param fracDigits Number of fraction digits to output
+     */
+    DoubleChromosomeView(double[] genes, double[] fitness, int index,
+            int length, double lo, double hi, int fracDigits) {
+        super(genes, index * length, length, lo, hi, fracDigits);
+        this.fitness = fitness;
+        this.index = index;
+    }
+
+    @Override
+    public double getFitness() {
+        return fitness[index];
+    }
+
+    @Override
+    public void setFitness(double fitness) {
+        this.fitness[index] = fitness;
+    }
+
+    /**
+     * Create a stand-alone deep copy of this individual.
+     *
+     * @return A new DoubleChromosome with its own gene array
+     */
+    @Override
+    public DoubleChromosome copy() {
+        return new DoubleChromosome(this);
+    }
+}
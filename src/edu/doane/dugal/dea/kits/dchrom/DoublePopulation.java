@@ -0,0 +1,118 @@
+package edu.doane.dugal.dea.kits.dchrom;
+
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.PRNG;
+import java.util.Arrays;
+
+/**
+ * Structure-of-arrays population store for DoubleChromosome individuals. All of
+ * the genes of the population live in one contiguous double[popSize * length]
+ * array, and all of the fitness values in a parallel double[popSize] array.
+ * The population handed to the DEA is an array of lightweight DoubleChromosome
+ * views onto those arrays, so existing Problems and operators work unchanged,
+ * while crossover, mutation, evaluation, and statistics all walk memory in
+ * order.
+ *
+ * A second set of arrays and views is kept for double-buffered selection; pass
+ * getBuffer() to the setBuffer() method of TournamentSelection or
+ * ElitistTournamentSelection, so that selection copies winners from one store
+ * to the other instead of creating stand-alone individuals.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class DoublePopulation {
+
+    /**
+     * Number of individuals in the population.
+     */
+    private final int popSize;
+
+    /**
+     * Number of genes per individual.
+     */
+    private final int length;
+
+    /**
+     * Gene arrays for the two stores, each popSize * length doubles.
+     */
+    private final double[][] genes;
+
+    /**
+     * Fitness arrays for the two stores, each popSize doubles.
+     */
+    private final double[][] fitness;
+
+    /**
+     * Views onto the two stores.
+     */
+    private final Individual[][] views;
+
+    /**
+     * Create a new population of random DoubleChromosome individuals, with
+     * each gene in [lo, hi).
+     *
+     * @param popSize Number of individuals in the population
+     * @param length Number of genes per individual
+     * @param lo Low value for each gene
+     * @param hi High value for each gene
+     * @param fracDigits Number of fraction digits to output
+     */
+    public DoublePopulation(int popSize, int length, double lo, double hi,
+            int fracDigits) {
+        this.popSize = popSize;
+        this.length = length;
+
+        genes = new double[2][popSize * length];
+        fitness = new double[2][popSize];
+        views = new Individual[2][popSize];
+
+        PRNG.getInstance().nextDoubles(genes[0], lo, hi);
+
+        for (int s = 0; s < 2; s++) {
+            Arrays.fill(fitness[s], Double.NEGATIVE_INFINITY);
+            for (int i = 0; i < popSize; i++) {
+                views[s][i] = new DoubleChromosomeView(genes[s], fitness[s], i,
+                        length, lo, hi, fracDigits);
+            }
+        }
+    }
+
+    /**
+     * Get the population: views onto the primary gene and fitness arrays.
+     * Pass this to the DEA constructor.
+     *
+     * @return Array of DoubleChromosome views.
+     */
+    public Individual[] getPopulation() {
+        return views[0];
+    }
+
+    /**
+     * Get views onto the secondary gene and fitness arrays, for use as the
+     * buffer of a double-buffered selection operator.
+     *
+     * @return Array of DoubleChromosome views, distinct from getPopulation().
+     */
+    public Individual[] getBuffer() {
+        return views[1];
+    }
+
+    /**
+     * Get the number of individuals in the population.
+     *
+     * @return Population size.
+     */
+    public int getPopSize() {
+        return popSize;
+    }
+
+    /**
+     * Get the number of genes per individual.
+     *
+     * @return Chromosome length.
+     */
+    public int getLength() {
+        return length;
+    }
+}
@@ -0,0 +1,90 @@
+package edu.doane.dugal.dea.kits.dchrom;
+
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.io.SnapshotCodec;
+import java.nio.ByteBuffer;
+
+/**
+ * SnapshotCodec for DoubleChromosome individuals. Genes are either stored
+ * raw, as 8-byte doubles, or in fixed point with fracDigits fraction digits,
+ * as offsets from lo in the fewest bytes that hold (hi - lo) * 10^fracDigits.
+ * For example, genes in [-5.12, 5.12] with two fraction digits take 2 bytes
+ * each instead of 8. Fixed point rounds the genes to fracDigits places, so it
+ * suits snapshots kept for analysis rather than for resuming a run.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class DoubleSnapshotCodec extends SnapshotCodec {
+
+    /**
+     * Create a codec that stores genes as raw doubles.
+     *
+     * @param length Number of genes per individual.
+     */
+    public DoubleSnapshotCodec(int length) {
+        super(RAW, length);
+    }
+
+    /**
+     * Create a codec that stores genes in fixed point.
+     *
+     * @param length Number of genes per individual.
+     * @param lo Low value for each gene.
+     * @param hi High value for each gene.
+     * @param fracDigits Number of fraction digits to keep, from 0 to 15.
+     * @throws IllegalArgumentException If fracDigits is out of range, or if
+     * hi is not greater than lo.
+     */
+    public DoubleSnapshotCodec(int length, double lo, double hi, int fracDigits)
+            throws IllegalArgumentException {
+        super(SCALED, length, bytes(lo, hi, fracDigits), lo, Math.pow(10, fracDigits));
+    }
+
+    /**
+     * Work out the number of bytes per fixed-point gene.
+     *
+     * @param lo Low value for each gene.
+     * @param hi High value for each gene.
+     * @param fracDigits Number of fraction digits to keep.
+     * @return 1, 2, 4, or 8.
+     * @throws IllegalArgumentException If fracDigits is out of range, or if
+     * hi is not greater than lo.
+     */
+    private static int bytes(double lo, double hi, int fracDigits)
+            throws IllegalArgumentException {
+        if (fracDigits < 0 || fracDigits > 15) {
+            throw new IllegalArgumentException("Illegal fracDigits to DoubleSnapshotCodec: "
+                    + fracDigits);
+        }
+        if (!(hi > lo)) {
+            throw new IllegalArgumentException("Illegal range to DoubleSnapshotCodec: ["
+                    + lo + ", " + hi + "]");
+        }
+        return bytesFor(Math.ceil((hi - lo) * Math.pow(10, fracDigits)));
+    }
+
+    @Override
+    public void encode(Individual ind, ByteBuffer buf, int offset) {
+        DoubleChromosome dc = (DoubleChromosome) ind;
+        buf.putDouble(offset, dc.getFitness());
+        for (int i = 0; i < getLength(); i++) {
+            putValue(buf, offset, i, dc.getGene(i));
+        }
+    }
+
+    @Override
+    public void decode(ByteBuffer buf, int offset, Individual ind) {
+        DoubleChromosome dc = (DoubleChromosome) ind;
+        for (int i = 0; i < getLength(); i++) {
+            dc.putGene(i, getValue(buf, offset, i));
+        }
+        dc.setFitness(buf.getDouble(offset));
+    }
+
+    @Override
+    public String toString() {
+        return "DoubleSnapshotCodec, length = " + getLength() + ", bytes per gene = "
+                + getGeneBytes();
+    }
+}
@@ -0,0 +1,94 @@
+package edu.doane.dugal.dea.kits.dchrom;
+
+import java.nio.ByteBuffer;
+
+/**
+ * DoubleChromosome whose fitness and genes live in a record of an
+ * OffHeapDoublePopulation. The record is the fitness, followed by the genes,
+ * all as doubles. Copies made with copy() are ordinary, stand-alone
+ * DoubleChromosomes.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+class OffHeapDoubleChromosome extends DoubleChromosome {
+
+    /**
+     * Segment holding this individual's record; null once the population has
+     * been closed.
+     */
+    private ByteBuffer buf;
+
+    /**
+     * Byte offset of this individual's record in the segment.
+     */
+    private final int base;
+
+    /**
+     * Create a view onto one record.
+     *
+     * @param buf Segment holding the record
+     * @param base Byte offset of the record in the segment
+     * @param length Number of genes per individual
+     * @param lo Low value for each gene in the chromosome
+     * @param hi High value for each gene in the chromosome
+     * @param fracDigits Number of fraction digits to output
+     */
+    OffHeapDoubleChromosome(ByteBuffer buf, int base, int length, double lo,
+            double hi, int fracDigits) {
+        super(null, 0, length, lo, hi, fracDigits);
+        this.buf = buf;
+        this.base = base;
+    }
+
+    /**
+     * Get the segment, making sure the population is still open.
+     *
+     * @return Segment holding the record.
+     * @throws IllegalStateException If the population has been closed.
+     */
+    private ByteBuffer buffer() throws IllegalStateException {
+        if (buf == null) {
+            throw new IllegalStateException("Off-heap population has been closed");
+        }
+        return buf;
+    }
+
+    /**
+     * Detach this view from its segment.
+     */
+    void release() {
+        buf = null;
+    }
+
+    @Override
+    public double getGene(int gene) {
+        return buffer().getDouble(base + 8 + 8 * gene);
+    }
+
+    @Override
+    void putGene(int gene, double value) {
+        buffer().putDouble(base + 8 + 8 * gene, value);
+        setModified(true);
+    }
+
+    @Override
+    public double getFitness() {
+        return buffer().getDouble(base);
+    }
+
+    @Override
+    public void setFitness(double fitness) {
+        buffer().putDouble(base, fitness);
+    }
+
+    /**
+     * Create a stand-alone, on-heap deep copy of this individual.
+     *
+     * @return A new DoubleChromosome with its own gene array
+     */
+    @Override
+    public DoubleChromosome copy() {
+        return new DoubleChromosome(this);
+    }
+}
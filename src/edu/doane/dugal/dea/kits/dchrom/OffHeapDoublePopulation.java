@@ -0,0 +1,78 @@
+package edu.doane.dugal.dea.kits.dchrom;
+
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.OffHeapPopulation;
+import edu.doane.dugal.dea.PRNG;
+import java.nio.ByteBuffer;
+
+/**
+ * Off-heap population of DoubleChromosome individuals. Each record holds the
+ * fitness followed by the genes, all as native-order doubles. The views work
+ * with the existing dchrom operators and with any Problem that takes
+ * DoubleChromosome individuals.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class OffHeapDoublePopulation extends OffHeapPopulation {
+
+    /**
+     * Number of genes per individual.
+     */
+    private final int length;
+
+    /**
+     * Lowest value possible for a gene.
+     */
+    private final double lo;
+
+    /**
+     * Highest value possible for a gene.
+     */
+    private final double hi;
+
+    /**
+     * Number of fraction digits to display.
+     */
+    private final int fracDigits;
+
+    /**
+     * Create a new off-heap population of random DoubleChromosome
+     * individuals, with each gene in [lo, hi).
+     *
+     * @param popSize Number of individuals in the population
+     * @param length Number of genes per individual
+     * @param lo Low value for each gene
+     * @param hi High value for each gene
+     * @param fracDigits Number of fraction digits to output
+     */
+    public OffHeapDoublePopulation(int popSize, int length, double lo,
+            double hi, int fracDigits) {
+        super(popSize, 8 + 8 * length);
+        this.length = length;
+        this.lo = lo;
+        this.hi = hi;
+        this.fracDigits = fracDigits;
+        createViews();
+
+        PRNG prng = PRNG.getInstance();
+        for (Individual ind : getPopulation()) {
+            DoubleChromosome dc = (DoubleChromosome) ind;
+            dc.setFitness(Double.NEGATIVE_INFINITY);
+            for (int i = 0; i < length; i++) {
+                dc.putGene(i, prng.nextDouble(lo, hi));
+            }
+        }
+    }
+
+    @Override
+    protected Individual createView(ByteBuffer segment, int base) {
+        return new OffHeapDoubleChromosome(segment, base, length, lo, hi,
+                fracDigits);
+    }
+
+    @Override
+    protected void releaseView(Individual view) {
+        ((OffHeapDoubleChromosome) view).release();
+    }
+}
@@ -1,8 +1,10 @@
 package edu.doane.dugal.dea.kits.dchrom;
 
+import edu.doane.dugal.dea.ChunkOperator;
 import edu.doane.dugal.dea.Individual;
-import edu.doane.dugal.dea.Operator;
 import edu.doane.dugal.dea.PRNG;
+import edu.doane.dugal.dea.PartitionTask;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Class to perform point mutation on a population of DoubleChromosome
@@ -11,16 +13,26 @@ import edu.doane.dugal.dea.PRNG;
  * it's chromosome is changed to a new number between the individual's lo and hi
  * values.
  *
+ * In parallel mode, the population is split into partitions of threshold
+ * individuals, which are mutated on the common fork/join pool, each
+ * partition with its own random number stream.
+ *
  * @author Mark M. Meysenburg
- * @version 12/10/2014
+ * @version 10/18/2026
  */
-public class PointMutation implements Operator {
+public class PointMutation implements ChunkOperator {
 
     /**
      * Change that an individual will undergo mutation, in the range [0, 1]
      */
     private double mu;
 
+    /**
+     * Number of individuals per partition in parallel mode, or 0 to run
+     * serially on the DEA thread.
+     */
+    private int threshold;
+
     /**
      * Random number generator used by the operator.
      */
@@ -45,6 +57,19 @@ public class PointMutation implements Operator {
         prng = PRNG.getInstance();
     }
 
+    /**
+     * Initializing constructor. Create a mutation operator with the specified
+     * probability of mutation, running in parallel mode.
+     *
+     * @param mu Chance to mutate an individual, in [0, 1].
+     * @param threshold Number of individuals per partition; 0 runs the
+     * operator serially.
+     */
+    public PointMutation(double mu, int threshold) {
+        this(mu);
+        setThreshold(threshold);
+    }
+
     /**
      * Perform the point mutation operation on the specified population.
      *
@@ -52,6 +77,11 @@ public class PointMutation implements Operator {
      */
     @Override
     public void operate(Individual[] population) {
+        if (threshold > 0) {
+            operateParallel(population);
+            return;
+        }
+
         for (Individual ind : population) {
             if (prng.nextDouble() <= getMu()) {
                 int i = prng.nextInt(0, ((DoubleChromosome) ind).getLength() - 1);
@@ -83,9 +113,67 @@ public class PointMutation implements Operator {
         this.mu = mu;
     }
 
+    /**
+     * Perform mutation in parallel mode, processing partitions of the
+     * population on the common fork/join pool.
+     *
+     * @param population Array of DoubleChromosome individuals
+     */
+    private void operateParallel(final Individual[] population) {
+        ForkJoinPool.commonPool().invoke(new PartitionTask(new PartitionTask.Kernel() {
+            @Override
+            public void apply(int start, int end, PRNG rng) {
+                operate(population, start, end, rng);
+            }
+        }, prng.split(prng.nextLong()), population.length, threshold));
+    }
+
+    /**
+     * Perform mutation on one chunk of the population.
+     *
+     * @param population Array of DoubleChromosome individuals
+     * @param start Index of the first individual in the chunk.
+     * @param end Index one past the last individual in the chunk.
+     * @param prng Random number generator for this chunk only.
+     */
+    @Override
+    public void operate(Individual[] population, int start, int end, PRNG prng) {
+        for (int k = start; k < end; k++) {
+            if (prng.nextDouble() <= mu) {
+                DoubleChromosome ind = (DoubleChromosome) population[k];
+                int i = prng.nextInt(0, ind.getLength() - 1);
+                ind.randomizeGene(i, prng);
+            }
+        }
+    }
+
+    /**
+     * Get the number of individuals per partition in parallel mode.
+     *
+     * @return the threshold, or 0 if the operator runs serially.
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Set the number of individuals per partition in parallel mode.
+     *
+     * @param threshold Individuals per partition; 0 runs the operator
+     * serially.
+     * @throws IllegalArgumentException if the parameter is negative.
+     */
+    final public void setThreshold(int threshold) throws IllegalArgumentException {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Illegal threshold to setThreshold: " + threshold);
+        }
+        this.threshold = threshold;
+    }
+
     @Override
     public String toString() {
-        return "DoubleChromosome PointMutation, mu = " + mu;
+        return "DoubleChromosome PointMutation, mu = " + mu
+                + (threshold > 0 ? ", parallel, threshold = " + threshold : "");
     }
 
 }
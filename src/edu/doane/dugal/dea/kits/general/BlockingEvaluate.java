@@ -0,0 +1,489 @@
+package edu.doane.dugal.dea.kits.general;
+
+import edu.doane.dugal.dea.Checkpointable;
+import edu.doane.dugal.dea.GenomeCodec;
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.Operator;
+import edu.doane.dugal.dea.Problem;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class to evaluate all the individuals in a population, for problems whose
+ * evaluations block, e.g., by running a simulator process or reading files,
+ * rather than keep a CPU busy. Evaluate runs evaluations on a fork/join pool
+ * with one thread per CPU, so blocked evaluations leave the CPUs idle; this
+ * operator instead runs each evaluation on a thread of its own, and limits
+ * the number of evaluations running at once with a semaphore.
+ *
+ * On runtimes that have virtual threads, each evaluation gets a new virtual
+ * thread; otherwise, platform threads from a cached pool are used, which are
+ * heavier but reused from one generation to the next. isVirtual() reports
+ * which.
+ *
+ * With a timeout set, an evaluation that runs too long is interrupted, and
+ * the individual is given the timeout fitness, by default negative infinity,
+ * so selection discards it. The time limit counts from when the evaluation
+ * starts on its thread, not from when it was submitted. Timed-out evaluations
+ * hold their place under the concurrency limit until they actually end. When
+ * timeouts are on, each evaluation is done on a copy of the individual, so
+ * an evaluation that ignores the interrupt can't change the population after
+ * the operator has moved on.
+ *
+ * As with Evaluate, individuals that haven't been modified since they were
+ * last evaluated can be skipped with setSkipUnmodified(true). Call close()
+ * when done with the operator.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class BlockingEvaluate implements Operator, Checkpointable, Closeable {
+
+    /**
+     * Problem used to evaluate individuals; evaluated by several threads at
+     * once.
+     */
+    private final Problem prob;
+
+    /**
+     * Largest number of evaluations running at once.
+     */
+    private final int concurrency;
+
+    /**
+     * Permits for running evaluations.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Runs the evaluations.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * True if the executor uses virtual threads.
+     */
+    private final boolean virtual;
+
+    /**
+     * Cancels evaluations that run past the timeout; created on first use.
+     */
+    private ScheduledThreadPoolExecutor watchdog;
+
+    /**
+     * Longest time an evaluation may run, in milliseconds, or 0 for no limit.
+     */
+    private long timeoutMillis;
+
+    /**
+     * Fitness given to individuals whose evaluation timed out or failed.
+     */
+    private double timeoutFitness;
+
+    /**
+     * True to skip individuals that haven't been modified since they were
+     * last evaluated.
+     */
+    private boolean skipUnmodified;
+
+    /**
+     * Number of evaluations performed so far.
+     */
+    private final AtomicLong evaluations;
+
+    /**
+     * Number of evaluations saved so far by skipping unmodified individuals.
+     */
+    private final AtomicLong skipped;
+
+    /**
+     * Number of evaluations that timed out so far.
+     */
+    private final AtomicLong timeouts;
+
+    /**
+     * Create an evaluation operator.
+     *
+     * @param prob Problem used to evaluate individuals; must allow several
+     * individuals to be evaluated at once.
+     * @param concurrency Largest number of evaluations running at once, at
+     * least 1.
+     * @throws IllegalArgumentException If concurrency is less than 1.
+     */
+    public BlockingEvaluate(Problem prob, int concurrency) throws IllegalArgumentException {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Illegal concurrency to BlockingEvaluate: "
+                    + concurrency);
+        }
+        this.prob = prob;
+        this.concurrency = concurrency;
+        permits = new Semaphore(concurrency);
+        ExecutorService v = virtualExecutor();
+        virtual = v != null;
+        executor = virtual ? v : Executors.newCachedThreadPool(daemons("BlockingEvaluate worker"));
+        timeoutFitness = Double.NEGATIVE_INFINITY;
+        skipUnmodified = false;
+        evaluations = new AtomicLong();
+        skipped = new AtomicLong();
+        timeouts = new AtomicLong();
+    }
+
+    /**
+     * Create an executor that starts a virtual thread per task, if the
+     * runtime has them. Looked up reflectively, so the framework still builds
+     * and runs on runtimes without them.
+     *
+     * @return New executor, or null if virtual threads aren't available.
+     */
+    private static ExecutorService virtualExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            // not available, or preview features are off
+            return null;
+        }
+    }
+
+    /**
+     * Make a factory for named daemon threads.
+     *
+     * @param name Name of the threads.
+     * @return New thread factory.
+     */
+    private static ThreadFactory daemons(final String name) {
+        return new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, name);
+                t.setDaemon(true);
+                return t;
+            }
+        };
+    }
+
+    /**
+     * Evaluate the modified individuals in the population, and wait for them
+     * all to finish or time out.
+     *
+     * @param population Population to evaluate.
+     * @throws IllegalStateException If an evaluation throws an exception.
+     */
+    @Override
+    public void operate(Individual[] population) throws IllegalStateException {
+        int n = population.length;
+        boolean onCopy = timeoutMillis > 0;
+        ScheduledThreadPoolExecutor alarms = onCopy ? watchdog() : null;
+        // tasks are in submission order; which[k] is the index in the
+        // population of the k-th submitted individual
+        List<Evaluation> tasks = new ArrayList<>(n);
+        int[] which = new int[n];
+        long done = 0;
+
+        try {
+            for (int i = 0; i < n; i++) {
+                Individual ind = population[i];
+                if (skipUnmodified && !ind.isModified()) {
+                    continue;
+                }
+                permits.acquire();
+                Evaluation e = new Evaluation(ind, alarms, timeoutMillis);
+                try {
+                    executor.execute(e.task);
+                } catch (RuntimeException ex) {
+                    permits.release();
+                    throw ex;
+                }
+                which[tasks.size()] = i;
+                tasks.add(e);
+                done++;
+            }
+
+            for (int k = 0; k < tasks.size(); k++) {
+                Individual ind = population[which[k]];
+                try {
+                    double f = tasks.get(k).task.get();
+                    if (onCopy) {
+                        ind.setFitness(f);
+                    }
+                } catch (CancellationException ex) {
+                    timeouts.incrementAndGet();
+                    ind.setFitness(timeoutFitness);
+                } catch (ExecutionException ex) {
+                    throw new IllegalStateException("Evaluation failed", ex.getCause());
+                }
+                ind.setModified(false);
+            }
+        } catch (InterruptedException ex) {
+            // stop waiting; evaluations still running are cancelled
+            for (Evaluation e : tasks) {
+                e.task.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+        } finally {
+            evaluations.addAndGet(done);
+            skipped.addAndGet(n - done);
+        }
+    }
+
+    /**
+     * Evaluation of one individual, run as a task. The task holds a permit
+     * from when it's submitted until the evaluation ends, or until it's
+     * cancelled if that happens before it starts. With timeouts on, a copy of
+     * the individual is evaluated, the alarm is set when the evaluation
+     * starts, and the fitness is set on the original by operate().
+     */
+    private final class Evaluation implements Callable<Double> {
+
+        /**
+         * Individual to evaluate.
+         */
+        private final Individual ind;
+
+        /**
+         * Watchdog that cancels the evaluation when it runs too long, or null
+         * for no time limit.
+         */
+        private final ScheduledThreadPoolExecutor alarms;
+
+        /**
+         * Time limit in milliseconds, if alarms isn't null.
+         */
+        private final long timeout;
+
+        /**
+         * Set by whichever comes first, the evaluation starting or the task
+         * being cancelled; that one gives back the permit.
+         */
+        private final AtomicBoolean claimed;
+
+        /**
+         * Task that runs this evaluation.
+         */
+        private final FutureTask<Double> task;
+
+        /**
+         * Create an evaluation task.
+         *
+         * @param ind Individual to evaluate.
+         * @param alarms Watchdog for the time limit, or null for none.
+         * @param timeout Time limit in milliseconds.
+         */
+        Evaluation(Individual ind, ScheduledThreadPoolExecutor alarms, long timeout) {
+            this.ind = ind;
+            this.alarms = alarms;
+            this.timeout = timeout;
+            claimed = new AtomicBoolean();
+            task = new FutureTask<Double>(this) {
+                @Override
+                public boolean cancel(boolean mayInterruptIfRunning) {
+                    boolean cancelled = super.cancel(mayInterruptIfRunning);
+                    if (cancelled && claimed.compareAndSet(false, true)) {
+                        // cancelled before it started, so it never will
+                        permits.release();
+                    }
+                    return cancelled;
+                }
+            };
+        }
+
+        @Override
+        public Double call() {
+            if (!claimed.compareAndSet(false, true)) {
+                // cancelled as it was starting; the permit is back already
+                return null;
+            }
+            ScheduledFuture<?> alarm = null;
+            try {
+                if (alarms != null) {
+                    alarm = alarms.schedule(new Runnable() {
+                        @Override
+                        public void run() {
+                            task.cancel(true);
+                        }
+                    }, timeout, TimeUnit.MILLISECONDS);
+                }
+                Individual target = alarms != null ? Individual.copy(ind) : ind;
+                prob.evaluateIndividual(target);
+                return target.getFitness();
+            } finally {
+                if (alarm != null) {
+                    alarm.cancel(false);
+                }
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Get the watchdog thread, creating it on first use.
+     *
+     * @return Watchdog executor.
+     */
+    private ScheduledThreadPoolExecutor watchdog() {
+        if (watchdog == null) {
+            watchdog = new ScheduledThreadPoolExecutor(1, daemons("BlockingEvaluate watchdog"));
+            watchdog.setRemoveOnCancelPolicy(true);
+        }
+        return watchdog;
+    }
+
+    /**
+     * Set the longest time an evaluation may run.
+     *
+     * @param timeoutMillis Time limit in milliseconds, or 0 for no limit.
+     * @throws IllegalArgumentException If timeoutMillis is negative.
+     */
+    public void setTimeoutMillis(long timeoutMillis) throws IllegalArgumentException {
+        if (timeoutMillis < 0) {
+            throw new IllegalArgumentException("Illegal timeout to setTimeoutMillis: "
+                    + timeoutMillis);
+        }
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Get the longest time an evaluation may run.
+     *
+     * @return Time limit in milliseconds, or 0 for no limit.
+     */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * Set the fitness given to individuals whose evaluation timed out.
+     *
+     * @param timeoutFitness Fitness for timed-out individuals.
+     */
+    public void setTimeoutFitness(double timeoutFitness) {
+        this.timeoutFitness = timeoutFitness;
+    }
+
+    /**
+     * Get the fitness given to individuals whose evaluation timed out.
+     *
+     * @return Fitness for timed-out individuals.
+     */
+    public double getTimeoutFitness() {
+        return timeoutFitness;
+    }
+
+    /**
+     * Find out if individuals that haven't been modified since they were last
+     * evaluated are skipped.
+     *
+     * @return True if unmodified individuals are skipped.
+     */
+    public boolean isSkipUnmodified() {
+        return skipUnmodified;
+    }
+
+    /**
+     * Turn skipping of unmodified individuals on or off.
+     *
+     * @param skipUnmodified True to skip individuals that haven't been
+     * modified since they were last evaluated.
+     */
+    public void setSkipUnmodified(boolean skipUnmodified) {
+        this.skipUnmodified = skipUnmodified;
+    }
+
+    /**
+     * Find out if evaluations run on virtual threads.
+     *
+     * @return True for virtual threads, false for a cached pool of platform
+     * threads.
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Get the largest number of evaluations running at once.
+     *
+     * @return Concurrency limit.
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Get the number of evaluations performed so far.
+     *
+     * @return Number of evaluations started, including those that timed out.
+     */
+    public long getEvaluations() {
+        return evaluations.get();
+    }
+
+    /**
+     * Get the number of evaluations saved so far by skipping unmodified
+     * individuals.
+     *
+     * @return Number of individuals skipped.
+     */
+    public long getSkippedEvaluations() {
+        return skipped.get();
+    }
+
+    /**
+     * Get the number of evaluations that timed out so far.
+     *
+     * @return Number of timed-out evaluations.
+     */
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    /**
+     * Shut down the operator's threads; evaluations still running are
+     * interrupted.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        if (watchdog != null) {
+            watchdog.shutdownNow();
+        }
+    }
+
+    @Override
+    public void saveState(DataOutput out, GenomeCodec codec) throws IOException {
+        out.writeLong(evaluations.get());
+        out.writeLong(skipped.get());
+        out.writeLong(timeouts.get());
+    }
+
+    @Override
+    public void loadState(DataInput in, GenomeCodec codec, Problem problem) throws IOException {
+        evaluations.set(in.readLong());
+        skipped.set(in.readLong());
+        timeouts.set(in.readLong());
+    }
+
+    @Override
+    public String toString() {
+        return "BlockingEvaluate, using Problem: " + prob + ", concurrency: " + concurrency
+                + (virtual ? ", virtual threads" : ", platform threads")
+                + (timeoutMillis > 0 ? ", timeout: " + timeoutMillis + " ms" : "")
+                + (skipUnmodified ? ", skipping unmodified individuals" : "");
+    }
+}
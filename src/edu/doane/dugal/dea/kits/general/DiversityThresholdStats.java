@@ -1,9 +1,18 @@
 package edu.doane.dugal.dea.kits.general;
 
+import edu.doane.dugal.dea.Checkpointable;
+import edu.doane.dugal.dea.Checkpointer;
+import edu.doane.dugal.dea.GenomeCodec;
 import edu.doane.dugal.dea.Individual;
 import edu.doane.dugal.dea.Operator;
 import edu.doane.dugal.dea.Problem;
-import java.util.TreeSet;
+import edu.doane.dugal.dea.io.StatsRecord;
+import edu.doane.dugal.dea.io.StatsSink;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Class to do standard statistics (min, max, average, and best-ever fitness),
@@ -11,12 +20,22 @@ import java.util.TreeSet;
  * value is crossed, the population is re-seeded with new random values, along
  * with a certain percentage of the best-ever individual. Do not re-use objects
  * of this class; use a new one for each run, so that best-ever values are
- * reset. 
+ * reset. Diversity is the fraction of distinct genomes in the population,
+ * counted in O(n) time with a GenomeCounter. Fitness statistics are gathered
+ * in a FitnessSummary, in parallel if a parallel threshold is set, and the
+ * best-ever individual is copied at most once per summary. Statistics go to
+ * standard output, or to a StatsSink if one is set.
  *
  * @author Mark M. Meysenburg
- * @version 02/12/2018
+ * @version 10/18/2026
  */
-public class DiversityThresholdStats implements Operator {
+public class DiversityThresholdStats implements Operator, Checkpointable {
+
+    /**
+     * Names of the values in each StatsRecord: min, max, and average fitness,
+     * diversity, and best-ever fitness.
+     */
+    private static final String[] NAMES = {"min", "max", "avg", "diversity", "best"};
 
     /**
      * Fitness of the best individual ever seen.
@@ -56,6 +75,23 @@ public class DiversityThresholdStats implements Operator {
      * Problem used to create new random individuals.
      */
     private Problem problem;
+
+    /**
+     * Counter used to find the number of distinct genomes.
+     */
+    private final GenomeCounter counter;
+
+    /**
+     * Number of individuals per partition when gathering fitness statistics
+     * in parallel, or 0 to gather them serially.
+     */
+    private int parallelThreshold;
+
+    /**
+     * Sink the statistics are written to, or null to print them to standard
+     * output.
+     */
+    private StatsSink sink;
     
     /**
      * Initializing constructor. Create an instance with the best-ever fitness
@@ -79,6 +115,7 @@ public class DiversityThresholdStats implements Operator {
         this.threshold = threshold;
         this.keepPercentage = keepPercentage;
         this.problem = problem;
+        counter = new GenomeCounter();
     }
 
     /**
@@ -111,83 +148,145 @@ public class DiversityThresholdStats implements Operator {
      */
     @Override
     public void operate(Individual[] population) {
-        double min = Double.POSITIVE_INFINITY;
-        double max = Double.NEGATIVE_INFINITY;
-        double avg = 0.0;
-        
         // find best ever individual first
-        for(Individual i : population) {
-            double f = i.getFitness();
-            if(f > bestEverFitness) {
-                bestEverFitness = f;
-                bestEverIndividual = Individual.copy(i);
-            }
-        }
+        FitnessSummary s = summarize(population);
         
-        // diversity: use a set to count distinct individuals
-        TreeSet<Individual> set = new TreeSet<>();
-        for(Individual i : population) {
-            set.add(i);
-        }
-        double diversity = set.size() / ((double)population.length);
+        // diversity: count distinct genomes
+        double diversity = counter.countDistinct(population) / ((double)population.length);
         
         // if we're below the diversity threshold, re-seed the population
         if(diversity < threshold) {
             int idx = (int)(keepPercentage * population.length);
             
-            // keepPercentage% of the population is the best-ever individual
+            // keepPercentage% of the population is the best-ever individual;
+            // the individuals are overwritten in place, so that views stay
+            // part of their population
             for(int i = 0; i < idx; i++) {
-                population[i] = Individual.copy(bestEverIndividual);
+                Individual.copyInto(bestEverIndividual, population, i);
             }
             
             // the rest of the population are new, random individuals
             for(int i = idx; i < population.length; i++) {
-                population[i] = problem.createRandomIndividual();
+                Individual.copyInto(problem.createRandomIndividual(), population, i);
                 problem.evaluateIndividual(population[i]);
+                population[i].setModified(false);
             }
             
-            // recalculate diversity
-            set.clear();
-            for(Individual i : population) {
-                set.add(i);
-            }
-            diversity = set.size() / ((double)population.length);
+            // recalculate diversity and fitness statistics
+            diversity = counter.countDistinct(population) / ((double)population.length);
+            s = summarize(population);
         }
 
-        // now evaluate fitness again
-        for (Individual i : population) {
+        if (sink != null) {
+            emit(s.getMin(), s.getMax(), s.getMean(), diversity, bestEverFitness);
+        } else {
+            System.out.printf(format, 
+                    generationNumber, 
+                    s.getMin(), 
+                    s.getMax(), 
+                    s.getMean(), 
+                    diversity, 
+                    bestEverFitness);
+        }
+        
+        generationNumber++;
+    }
+
+    /**
+     * Summarize the fitness of a population, serially or in parallel, and
+     * copy its best individual if it beats the best ever seen.
+     *
+     * @param population Array of Individuals to summarize.
+     * @return Summary of the population.
+     */
+    private FitnessSummary summarize(Individual[] population) {
+        FitnessSummary s = FitnessSummary.summarize(population,
+                ForkJoinPool.commonPool(), parallelThreshold);
+        if (s.getMax() > bestEverFitness) {
+            bestEverFitness = s.getMax();
+            bestEverIndividual = Individual.copy(population[s.getArgmax()]);
+        }
+        return s;
+    }
 
-            double f = i.getFitness();
+    /**
+     * Get the sink the statistics are written to.
+     *
+     * @return Sink, or null if the statistics are printed to standard output.
+     */
+    public StatsSink getSink() {
+        return sink;
+    }
 
-            if (f < min) { min = f; }
+    /**
+     * Set the sink the statistics are written to; see StandardStats.setSink.
+     *
+     * @param sink Sink, or null to print to standard output.
+     */
+    public void setSink(StatsSink sink) {
+        this.sink = sink;
+    }
 
-            if (f > max) { max = f; }
+    /**
+     * Write one generation's statistics to the sink.
+     *
+     * @param values Values, in the order of NAMES.
+     * @throws UncheckedIOException If the sink can't write the record.
+     */
+    private void emit(double... values) throws UncheckedIOException {
+        try {
+            sink.write(new StatsRecord("DiversityThresholdStats", generationNumber, NAMES, values));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
 
-            if (f > bestEverFitness) {
-                bestEverFitness = f;
-                bestEverIndividual = Individual.copy(i);
-            }
+    /**
+     * Get the number of individuals per partition when gathering fitness
+     * statistics in parallel.
+     *
+     * @return the parallel threshold, or 0 if statistics are gathered
+     * serially.
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
 
-            avg += f;
+    /**
+     * Set the number of individuals per partition when gathering fitness
+     * statistics in parallel.
+     *
+     * @param parallelThreshold Individuals per partition; 0 gathers
+     * statistics serially.
+     * @throws IllegalArgumentException If the parameter is negative.
+     */
+    public void setParallelThreshold(int parallelThreshold) throws IllegalArgumentException {
+        if (parallelThreshold < 0) {
+            throw new IllegalArgumentException("Illegal parallelThreshold to setParallelThreshold: "
+                    + parallelThreshold);
         }
+        this.parallelThreshold = parallelThreshold;
+    }
 
-        avg /= population.length;
+    @Override
+    public void saveState(DataOutput out, GenomeCodec codec) throws IOException {
+        out.writeInt(generationNumber);
+        out.writeDouble(bestEverFitness);
+        Checkpointer.writeIndividual(out, codec, bestEverIndividual);
+    }
 
-        System.out.printf(format, 
-                generationNumber, 
-                min, 
-                max, 
-                avg, 
-                diversity, 
-                bestEverFitness);
-        
-        generationNumber++;
+    @Override
+    public void loadState(DataInput in, GenomeCodec codec, Problem problem) throws IOException {
+        generationNumber = in.readInt();
+        bestEverFitness = in.readDouble();
+        bestEverIndividual = Checkpointer.readIndividual(in, codec, problem);
     }
 
     @Override
     public String toString() {
         return "DiversityThresholdStats, threshold = " +
                 threshold + ", keepPerc = " + 
-                keepPercentage;
+                keepPercentage +
+                (parallelThreshold > 0 ? ", parallelThreshold = " + parallelThreshold : "");
     }
 }
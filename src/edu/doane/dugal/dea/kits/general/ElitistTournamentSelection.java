@@ -1,18 +1,22 @@
 package edu.doane.dugal.dea.kits.general;
 
 import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.IndexSelection;
 import edu.doane.dugal.dea.Operator;
 import edu.doane.dugal.dea.PRNG;
 
 /**
  * Class representing an elitist tournament selection operator. The operator
  * guarantees that the best individual in a population survives into the next
- * generation.
+ * generation. In double-buffered mode, the operator keeps a second,
+ * preallocated population; winners are copied into it with
+ * Individual.copyInto(), and the two populations are then swapped, so
+ * steady-state selection allocates no new objects.
  *
  * @author Mark M. Meysenburg
- * @version 12/28/2014
+ * @version 10/18/2026
  */
-public class ElitistTournamentSelection implements Operator {
+public class ElitistTournamentSelection implements Operator, IndexSelection {
 
     /**
      * Random number generator used in the selection process.
@@ -24,6 +28,18 @@ public class ElitistTournamentSelection implements Operator {
      */
     private int k;
 
+    /**
+     * True if the operator copies winners into a preallocated second
+     * population instead of allocating new individuals.
+     */
+    private boolean doubleBuffered;
+
+    /**
+     * Second population used in double-buffered mode. Created from copies of
+     * the population on first use, unless one is provided via setBuffer().
+     */
+    private Individual[] buffer;
+
     /**
      * Default constructor. Create an ElitistTournamentSelection object with
      * tournament size 2.
@@ -44,6 +60,62 @@ public class ElitistTournamentSelection implements Operator {
         setK(k);
     }
 
+    /**
+     * Create an ElitistTournamentSelection object with tournament size k,
+     * optionally in double-buffered mode.
+     *
+     * @param k Tournament size.
+     * @param doubleBuffered True to copy winners into a preallocated second
+     * population instead of allocating new individuals.
+     */
+    public ElitistTournamentSelection(int k, boolean doubleBuffered) {
+        this(k);
+        setDoubleBuffered(doubleBuffered);
+    }
+
+    /**
+     * Perform elitist tournament selection on a fitness index, with tournament
+     * size k, for out-of-core populations. Slot 0 gets the best individual.
+     *
+     * @param fitness Fitness of each individual in the population.
+     * @param parents Array to fill with the index of the winner for each slot.
+     */
+    @Override
+    public void select(double[] fitness, int[] parents) {
+        int n = fitness.length;
+
+        // the best individual lives into the next generation
+        int best = 0;
+        for (int i = 1; i < n; i++) {
+            if (fitness[i] > fitness[best]) {
+                best = i;
+            }
+        }
+        parents[0] = best;
+
+        for (int i = 1; i < n; i++) {
+            parents[i] = tournament(fitness);
+        }
+    }
+
+    /**
+     * Run one k-tournament on a fitness index.
+     *
+     * @param fitness Fitness of each individual in the population.
+     * @return Index of the winner.
+     */
+    private int tournament(double[] fitness) {
+        int n = fitness.length;
+        int winner = prng.nextInt(0, n - 1);
+        for (int j = 1; j < k; j++) {
+            int c = prng.nextInt(0, n - 1);
+            if (fitness[c] > fitness[winner]) {
+                winner = c;
+            }
+        }
+        return winner;
+    }
+
     /**
      * Get the tournament size for this operator.
      *
@@ -65,9 +137,50 @@ public class ElitistTournamentSelection implements Operator {
         this.k = k;
     }
 
+    /**
+     * Find out if this operator is in double-buffered mode.
+     *
+     * @return True if winners are copied into a preallocated second
+     * population.
+     */
+    public boolean isDoubleBuffered() {
+        return doubleBuffered;
+    }
+
+    /**
+     * Turn double-buffered mode on or off. Double-buffered mode only takes
+     * effect for individuals that support Individual.copyInto(); others are
+     * copied with copy(), as in single-buffered mode.
+     *
+     * @param doubleBuffered True to copy winners into a preallocated second
+     * population instead of allocating new individuals.
+     */
+    public final void setDoubleBuffered(boolean doubleBuffered) {
+        this.doubleBuffered = doubleBuffered;
+        if (!doubleBuffered) {
+            buffer = null;
+        }
+    }
+
+    /**
+     * Provide the second population used in double-buffered mode, instead of
+     * having the operator create one from copies on first use. The buffer must
+     * be the same size as the population, and must not share any individuals
+     * with it. Calling this method turns double-buffered mode on. Populations
+     * of views, such as those of DoublePopulation and the off-heap
+     * populations, must be given their store's getBuffer().
+     *
+     * @param buffer Array of individuals to copy winners into.
+     */
+    public void setBuffer(Individual[] buffer) {
+        this.buffer = buffer;
+        doubleBuffered = true;
+    }
+
     @Override
     public String toString() {
-        return "ElitistTournamentSelection, k = " + k;
+        return "ElitistTournamentSelection, k = " + k
+                + (doubleBuffered ? ", double-buffered" : "");
     }
 
     /**
@@ -76,11 +189,35 @@ public class ElitistTournamentSelection implements Operator {
      * live into the next generation.
      *
      * @param population Array of Individuals to perform selection on.
+     * @throws IllegalStateException If the population is made of views onto a
+     * population store, such as a DoublePopulation, and no buffer of the
+     * same size was given with setBuffer().
      */
     @Override
-    public void operate(Individual[] population) {
+    public void operate(Individual[] population) throws IllegalStateException {
         int n = population.length;
-        Individual[] newPop = new Individual[n];
+        if (population[0].isView() && (!doubleBuffered || buffer == null
+                || buffer.length != n)) {
+            // copies would leave the store; selection must copy into the
+            // store's second set of views instead
+            throw new IllegalStateException("Population of views needs the buffer of its "
+                    + "store; call setBuffer() with the store's getBuffer()");
+        }
+        Individual[] newPop;
+        // individuals that can't copy into existing ones are copied as in
+        // single-buffered mode
+        boolean buffered = doubleBuffered && population[0].canCopyInto();
+        if (buffered) {
+            if (buffer == null || buffer.length != n) {
+                buffer = new Individual[n];
+                for (int i = 0; i < n; i++) {
+                    buffer[i] = Individual.copy(population[i]);
+                }
+            }
+            newPop = buffer;
+        } else {
+            newPop = new Individual[n];
+        }
 
         // find best individual and make her live into the next generation
         double maxFitness = Double.NEGATIVE_INFINITY;
@@ -92,7 +229,11 @@ public class ElitistTournamentSelection implements Operator {
                 winner = i;
             }
         }
-        newPop[0] = Individual.copy(winner);
+        if (buffered) {
+            winner.copyInto(newPop[0]);
+        } else {
+            newPop[0] = Individual.copy(winner);
+        }
 
         // fill rest of the new population using k-tournament selection
         for (int i = 1; i < n; i++) {
@@ -109,13 +250,19 @@ public class ElitistTournamentSelection implements Operator {
             } // look at k individuals
 
             // clone winner into spot i
-            newPop[i] = Individual.copy(winner);
+            if (buffered) {
+                winner.copyInto(newPop[i]);
+            } else {
+                newPop[i] = Individual.copy(winner);
+            }
         } // fill new population
 
-        // copy new population back to original one
+        // copy new population back to original one; in double-buffered
+        // mode, the old individuals become the buffer for next time
         for(int i = 0; i < population.length; i++) {
-            population[i] = null;
+            Individual t = population[i];
             population[i] = newPop[i];
+            newPop[i] = buffered ? t : null;
         }
     }
 
@@ -1,17 +1,34 @@
 package edu.doane.dugal.dea.kits.general;
 
+import edu.doane.dugal.dea.Checkpointable;
+import edu.doane.dugal.dea.ChunkOperator;
+import edu.doane.dugal.dea.GenomeCodec;
 import edu.doane.dugal.dea.Individual;
-import edu.doane.dugal.dea.Operator;
+import edu.doane.dugal.dea.PRNG;
 import edu.doane.dugal.dea.Problem;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Class to evaluate all the individuals in a population.
+ * Class to evaluate all the individuals in a population. In the DEA's fused
+ * mode, each chunk is instead evaluated directly on the worker thread that
+ * handles it.
+ *
+ * With setSkipUnmodified(true), individuals that haven't been modified since
+ * they were last evaluated, such as selection survivors untouched by
+ * crossover and mutation, keep their fitness and aren't evaluated again. This
+ * is off by default; only turn it on for problems whose fitness doesn't
+ * change over time or from one evaluation to the next, and for Individual
+ * subclasses that report modifications, such as the kit chromosomes. The
+ * numbers of evaluations performed and saved are kept for the whole run.
  *
  * @author Mark M. Meysenburg
- * @version 12/26/2014
+ * @version 10/18/2026
  */
-public class Evaluate implements Operator {
+public class Evaluate implements ChunkOperator, Checkpointable {
 
     /**
      * Problem used to evaluate individuals.
@@ -30,6 +47,27 @@ public class Evaluate implements Operator {
      */
     private int threshold;
 
+    /**
+     * True to skip individuals that haven't been modified since they were
+     * last evaluated.
+     */
+    private boolean skipUnmodified;
+
+    /**
+     * True if the problem is batched; see Problem.isBatched().
+     */
+    private final boolean batched;
+
+    /**
+     * Number of evaluations performed so far.
+     */
+    private final AtomicLong evaluations;
+
+    /**
+     * Number of evaluations saved so far by skipping unmodified individuals.
+     */
+    private final AtomicLong skipped;
+
     /**
      * Initializing constructor. Create an Evaluate operator using the specified
      * problem to evaluate individuals.
@@ -41,7 +79,11 @@ public class Evaluate implements Operator {
     public Evaluate(Problem prob, int threshold) {
         this.prob = prob;
         this.threshold = threshold;
+        batched = prob.isBatched();
         pool = new ForkJoinPool();
+        skipUnmodified = false;
+        evaluations = new AtomicLong();
+        skipped = new AtomicLong();
     }
 
     /**
@@ -56,13 +98,86 @@ public class Evaluate implements Operator {
             population.length - 1);
         
         et.setThreshold(threshold);
+        et.setSkipUnmodified(skipUnmodified);
         
         pool.invoke(et);
+
+        evaluations.addAndGet(et.getEvaluated());
+        skipped.addAndGet(et.getSkipped());
+    }
+
+    /**
+     * Evaluate the individuals in one chunk of the population, on the calling
+     * thread.
+     *
+     * @param population Population to evaluate.
+     * @param start Index of the first individual in the chunk.
+     * @param end Index one past the last individual in the chunk.
+     * @param prng Ignored; evaluation draws no random numbers.
+     */
+    @Override
+    public void operate(Individual[] population, int start, int end, PRNG prng) {
+        long done = EvaluateThread.evaluate(prob, population, start, end,
+                skipUnmodified, batched);
+        evaluations.addAndGet(done);
+        skipped.addAndGet(end - start - done);
+    }
+
+    /**
+     * Find out if individuals that haven't been modified since they were last
+     * evaluated are skipped.
+     *
+     * @return True if unmodified individuals are skipped.
+     */
+    public boolean isSkipUnmodified() {
+        return skipUnmodified;
+    }
+
+    /**
+     * Turn skipping of unmodified individuals on or off; it is off by default.
+     *
+     * @param skipUnmodified True to skip individuals that haven't been
+     * modified since they were last evaluated.
+     */
+    public void setSkipUnmodified(boolean skipUnmodified) {
+        this.skipUnmodified = skipUnmodified;
+    }
+
+    /**
+     * Get the number of evaluations performed so far.
+     *
+     * @return Number of calls to the problem's evaluateIndividual() method.
+     */
+    public long getEvaluations() {
+        return evaluations.get();
+    }
+
+    /**
+     * Get the number of evaluations saved so far by skipping unmodified
+     * individuals.
+     *
+     * @return Number of individuals skipped.
+     */
+    public long getSkippedEvaluations() {
+        return skipped.get();
+    }
+
+    @Override
+    public void saveState(DataOutput out, GenomeCodec codec) throws IOException {
+        out.writeLong(evaluations.get());
+        out.writeLong(skipped.get());
+    }
+
+    @Override
+    public void loadState(DataInput in, GenomeCodec codec, Problem problem) throws IOException {
+        evaluations.set(in.readLong());
+        skipped.set(in.readLong());
     }
 
     @Override
     public String toString() {
-        return "Evaluate, using Problem: " + prob + ", threshold: " + threshold;
+        return "Evaluate, using Problem: " + prob + ", threshold: " + threshold
+                + (skipUnmodified ? ", skipping unmodified individuals" : "");
     }
 
 }
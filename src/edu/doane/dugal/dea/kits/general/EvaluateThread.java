@@ -6,10 +6,15 @@ import java.util.concurrent.RecursiveAction;
 
 /**
  * Extension of RecursiveAction to evaluate the population using multiple 
- * threads. 
+ * threads. If skipping is turned on, individuals that haven't been modified
+ * since they were last evaluated are skipped; each task counts the
+ * evaluations it performed and skipped, including those of its subtasks. For
+ * batched problems, see Problem.isBatched(), each leaf task passes its runs of
+ * individuals to evaluate to that method, rather than evaluating them one at
+ * a time.
  * 
  * @author Mark M. Meysenburg
- * @version 04/13/2016
+ * @version 10/18/2026
  */
 public class EvaluateThread extends RecursiveAction {
 
@@ -38,6 +43,27 @@ public class EvaluateThread extends RecursiveAction {
      * to evaluate is less than this number, do the evaluation directly.
      */
     private int threshold;
+
+    /**
+     * True to skip individuals that haven't been modified since they were
+     * last evaluated.
+     */
+    private boolean skipUnmodified;
+
+    /**
+     * True if the problem is batched.
+     */
+    private final boolean batched;
+
+    /**
+     * Number of individuals evaluated by this task and its subtasks.
+     */
+    private long evaluated;
+
+    /**
+     * Number of individuals skipped by this task and its subtasks.
+     */
+    private long skipped;
     
     /**
      * Construct a new EvaluateThread object to evaluate a portion of the
@@ -50,11 +76,28 @@ public class EvaluateThread extends RecursiveAction {
      */
     public EvaluateThread(Problem prob, Individual[] pop,
             int start, int end) {
+        this(prob, pop, start, end, prob.isBatched());
+    }
+
+    /**
+     * Construct a new EvaluateThread object for a subtask, which already knows
+     * whether the problem is batched.
+     *
+     * @param prob Problem used to evaluate individuals.
+     * @param pop Population to evaluate.
+     * @param start Index of first individual in the population to evaluate.
+     * @param end Index of last individual in the population to evaluate.
+     * @param batched True if the problem is batched.
+     */
+    private EvaluateThread(Problem prob, Individual[] pop,
+            int start, int end, boolean batched) {
+        this.batched = batched;
         this.prob = prob;
         this.pop = pop;
         this.start = start;
         this.end = end;
         setThreshold(10);
+        setSkipUnmodified(false);
     }
     
     @Override
@@ -66,18 +109,74 @@ public class EvaluateThread extends RecursiveAction {
         // if the population section to evaluate is small enough, evaluate
         // the individuals directly without spawning subthreads
         if((end - start) < threshold) {
-            for(int i = start; i <= end; i++) {
-                prob.evaluateIndividual(pop[i]);
-            } // for i
+            long done = evaluate(prob, pop, start, end + 1, skipUnmodified, batched);
+            evaluated += done;
+            skipped += end - start + 1 - done;
         } else {
             // if threshold hasn't been reached, divide section in half
-            // and spawn subthreads
+            // and spawn subthreads with the same settings
             int mid = (start + end) / 2;
-            invokeAll(new EvaluateThread(prob, pop, start, mid),
-                    new EvaluateThread(prob, pop, mid + 1, end));
+            EvaluateThread left = new EvaluateThread(prob, pop, start, mid, batched);
+            EvaluateThread right = new EvaluateThread(prob, pop, mid + 1, end, batched);
+            left.setThreshold(threshold);
+            right.setThreshold(threshold);
+            left.setSkipUnmodified(skipUnmodified);
+            right.setSkipUnmodified(skipUnmodified);
+            invokeAll(left, right);
+            evaluated = left.evaluated + right.evaluated;
+            skipped = left.skipped + right.skipped;
         }
     }
 
+    /**
+     * Evaluate a range of the population. For batched problems, each run of
+     * consecutive individuals to evaluate is passed to evaluateBatch() as one
+     * batch.
+     *
+     * @param prob Problem used to evaluate individuals.
+     * @param pop Population to evaluate.
+     * @param start Index of the first individual to evaluate.
+     * @param end Index one past the last individual to evaluate.
+     * @param skipUnmodified True to skip individuals that haven't been
+     * modified since they were last evaluated.
+     * @param batched True if the problem is batched.
+     * @return Number of individuals evaluated.
+     */
+    static long evaluate(Problem prob, Individual[] pop, int start, int end,
+            boolean skipUnmodified, boolean batched) {
+        long done = 0;
+        if (!batched) {
+            for (int i = start; i < end; i++) {
+                Individual ind = pop[i];
+                if (!skipUnmodified || ind.isModified()) {
+                    prob.evaluateIndividual(ind);
+                    ind.setModified(false);
+                    done++;
+                }
+            }
+            return done;
+        }
+
+        int i = start;
+        while (i < end) {
+            Individual ind = pop[i];
+            if (skipUnmodified && !ind.isModified()) {
+                i++;
+                continue;
+            }
+            // find the end of the run, clearing the flags on the way
+            ind.setModified(false);
+            int j = i + 1;
+            while (j < end && (!skipUnmodified || pop[j].isModified())) {
+                pop[j++].setModified(false);
+            }
+            prob.evaluateBatch(pop, i, j);
+            done += j - i;
+            i = j;
+        }
+        return done;
+    }
+
     /**
      * Get the threshold value for dividing into threads. If the number of individuals
      * to evaluate is less than this number, do the evaluation directly.
@@ -97,5 +196,45 @@ public class EvaluateThread extends RecursiveAction {
     public final void setThreshold(int threshold) {
         this.threshold = threshold;
     }
+
+    /**
+     * Find out if individuals that haven't been modified since they were last
+     * evaluated are skipped.
+     *
+     * @return True if unmodified individuals are skipped.
+     */
+    public final boolean isSkipUnmodified() {
+        return skipUnmodified;
+    }
+
+    /**
+     * Turn skipping of unmodified individuals on or off; it is off by default.
+     *
+     * @param skipUnmodified True to skip individuals that haven't been
+     * modified since they were last evaluated.
+     */
+    public final void setSkipUnmodified(boolean skipUnmodified) {
+        this.skipUnmodified = skipUnmodified;
+    }
+
+    /**
+     * Get the number of individuals evaluated by this task and its subtasks.
+     * Only meaningful once the task is done.
+     *
+     * @return Number of evaluations performed.
+     */
+    public long getEvaluated() {
+        return evaluated;
+    }
+
+    /**
+     * Get the number of unmodified individuals skipped by this task and its
+     * subtasks. Only meaningful once the task is done.
+     *
+     * @return Number of evaluations saved.
+     */
+    public long getSkipped() {
+        return skipped;
+    }
     
 }
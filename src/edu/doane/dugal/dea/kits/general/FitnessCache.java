@@ -0,0 +1,439 @@
+package edu.doane.dugal.dea.kits.general;
+
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.Problem;
+import java.util.Arrays;
+
+/**
+ * Problem decorator that remembers the fitness of genomes it has already
+ * evaluated, across generations. Wrap an expensive problem with a
+ * deterministic fitness function, and pass the FitnessCache to Evaluate in
+ * place of the problem; once the population converges and the same genotypes
+ * keep coming back, most evaluations become cache hits.
+ *
+ * Genomes are keyed by Individual.genomeHash(), and each hit is confirmed
+ * with a second, independently seeded genomeHash(long), so each entry costs
+ * 16 bytes of hashes and 8 bytes of fitness, and the genome itself is not
+ * stored; a different genome is taken for a cached one with probability
+ * around 2^-128. The cache holds at most capacity entries, evicting with the
+ * CLOCK algorithm, an approximation of least-recently-used. It is split into
+ * 16 independently locked segments, so the threads of Evaluate can look up
+ * fitness values concurrently. Hit, miss, and eviction counts show whether
+ * the cache is paying for itself.
+ *
+ * If the wrapped problem is batched, see Problem.isBatched(), so is the
+ * cache: each run of misses in a batch is passed on to the problem's
+ * evaluateBatch().
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class FitnessCache implements Problem {
+
+    /**
+     * Number of independently locked segments.
+     */
+    private static final int SEGMENTS = 16;
+
+    /**
+     * Seed of the second genome hash, used to confirm hits.
+     */
+    private static final long CHECK_SEED = 0x5851F42D4C957F2DL;
+
+    /**
+     * Problem that evaluates genomes missing from the cache.
+     */
+    private final Problem problem;
+
+    /**
+     * Maximum number of entries in the cache.
+     */
+    private final int capacity;
+
+    /**
+     * The segments; a genome's segment is picked by the top bits of its hash.
+     */
+    private final Segment[] segments;
+
+    /**
+     * One CLOCK-managed part of the cache. The entries live in parallel slot
+     * arrays, and an open-addressing table maps hashes to slots.
+     */
+    private static final class Segment {
+
+        /**
+         * Genome hash stored in each slot.
+         */
+        private final long[] keys;
+
+        /**
+         * Second, independent genome hash stored in each slot.
+         */
+        private final long[] checks;
+
+        /**
+         * Fitness stored in each slot.
+         */
+        private final double[] values;
+
+        /**
+         * CLOCK reference bit for each slot, set on every hit.
+         */
+        private final boolean[] referenced;
+
+        /**
+         * Open-addressing table of slot + 1 for each key, 0 if empty.
+         */
+        private final int[] table;
+
+        /**
+         * Mask for indexing the table.
+         */
+        private final int mask;
+
+        /**
+         * Number of slots in use.
+         */
+        private int size;
+
+        /**
+         * CLOCK hand: the next slot considered for eviction.
+         */
+        private int hand;
+
+        /**
+         * Number of lookups that found a fitness value.
+         */
+        private long hits;
+
+        /**
+         * Number of lookups that didn't.
+         */
+        private long misses;
+
+        /**
+         * Number of entries evicted to make room for new ones.
+         */
+        private long evictions;
+
+        /**
+         * Create an empty segment.
+         *
+         * @param slots Maximum number of entries in the segment.
+         */
+        Segment(int slots) {
+            keys = new long[slots];
+            checks = new long[slots];
+            values = new double[slots];
+            referenced = new boolean[slots];
+            int t = Integer.highestOneBit(Math.max(2, slots) * 2 - 1) * 2;
+            table = new int[t];
+            mask = t - 1;
+        }
+
+        /**
+         * Find the table position of a key.
+         *
+         * @param key Genome hash.
+         * @return Position in the table; empty if the key isn't present.
+         */
+        private int find(long key) {
+            int i = (int) key & mask;
+            while (table[i] != 0 && keys[table[i] - 1] != key) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        /**
+         * Look up a fitness value.
+         *
+         * @param key Genome hash.
+         * @param check Second genome hash, which must match too.
+         * @return The fitness, or NaN on a miss.
+         */
+        synchronized double get(long key, long check) {
+            int slot = table[find(key)] - 1;
+            if (slot < 0 || checks[slot] != check) {
+                misses++;
+                return Double.NaN;
+            }
+            hits++;
+            referenced[slot] = true;
+            return values[slot];
+        }
+
+        /**
+         * Store a fitness value, evicting an entry if the segment is full.
+         *
+         * @param key Genome hash.
+         * @param check Second genome hash.
+         * @param value Fitness of the genome.
+         */
+        synchronized void put(long key, long check, double value) {
+            int i = find(key);
+            if (table[i] != 0) {
+                // another thread got here first, or a different genome with
+                // the same key is replaced
+                checks[table[i] - 1] = check;
+                values[table[i] - 1] = value;
+                return;
+            }
+
+            int slot;
+            if (size < keys.length) {
+                slot = size++;
+            } else {
+                // sweep the clock, giving referenced entries a second chance
+                while (referenced[hand]) {
+                    referenced[hand] = false;
+                    hand = (hand + 1) % keys.length;
+                }
+                slot = hand;
+                hand = (hand + 1) % keys.length;
+                remove(keys[slot]);
+                evictions++;
+                i = find(key);
+            }
+
+            keys[slot] = key;
+            checks[slot] = check;
+            values[slot] = value;
+            referenced[slot] = false;
+            table[i] = slot + 1;
+        }
+
+        /**
+         * Remove a key from the table, shifting later entries of its probe
+         * run back so that lookups still find them.
+         *
+         * @param key Genome hash, which must be present.
+         */
+        private void remove(long key) {
+            int i = find(key);
+            int j = i;
+            while (true) {
+                j = (j + 1) & mask;
+                if (table[j] == 0) {
+                    break;
+                }
+                int home = (int) keys[table[j] - 1] & mask;
+                // move entry j into the hole at i unless its home lies
+                // cyclically in (i, j]
+                boolean between = i <= j ? (i < home && home <= j)
+                        : (i < home || home <= j);
+                if (!between) {
+                    table[i] = table[j];
+                    i = j;
+                }
+            }
+            table[i] = 0;
+        }
+
+        /**
+         * Remove all entries and reset the counters.
+         */
+        synchronized void clear() {
+            Arrays.fill(table, 0);
+            Arrays.fill(referenced, false);
+            size = 0;
+            hand = 0;
+            hits = 0;
+            misses = 0;
+            evictions = 0;
+        }
+    }
+
+    /**
+     * Create a fitness cache in front of a problem.
+     *
+     * @param problem Problem to evaluate genomes that aren't in the cache; its
+     * fitness function must depend only on the genome.
+     * @param capacity Maximum number of genomes to remember; must be at least
+     * 16, one per segment.
+     * @throws IllegalArgumentException If capacity is less than 16.
+     */
+    public FitnessCache(Problem problem, int capacity) throws IllegalArgumentException {
+        if (capacity < SEGMENTS) {
+            throw new IllegalArgumentException("Illegal capacity to FitnessCache: " + capacity);
+        }
+        this.problem = problem;
+        this.capacity = capacity;
+
+        segments = new Segment[SEGMENTS];
+        for (int s = 0; s < SEGMENTS; s++) {
+            segments[s] = new Segment((capacity + SEGMENTS - 1 - s) / SEGMENTS);
+        }
+    }
+
+    /**
+     * Create a random individual, using the wrapped problem.
+     *
+     * @return Reference to a new Individual.
+     */
+    @Override
+    public Individual createRandomIndividual() {
+        return problem.createRandomIndividual();
+    }
+
+    /**
+     * Set an individual's fitness from the cache if its genome has been seen
+     * before, or else evaluate it with the wrapped problem and remember the
+     * result.
+     *
+     * @param ind Individual to evaluate.
+     */
+    @Override
+    public void evaluateIndividual(Individual ind) {
+        if (!fromCache(ind)) {
+            problem.evaluateIndividual(ind);
+            remember(ind);
+        }
+    }
+
+    /**
+     * Evaluate a range of individuals, setting the fitness of those seen
+     * before from the cache, and passing each run of the others to the
+     * wrapped problem's evaluateBatch().
+     *
+     * @param pop Array holding the individuals to evaluate.
+     * @param from Index of the first individual to evaluate.
+     * @param to Index one past the last individual to evaluate.
+     */
+    @Override
+    public void evaluateBatch(Individual[] pop, int from, int to) {
+        int i = from;
+        while (i < to) {
+            if (fromCache(pop[i])) {
+                i++;
+                continue;
+            }
+            // find the end of the run of misses
+            int j = i + 1;
+            while (j < to && !fromCache(pop[j])) {
+                j++;
+            }
+            problem.evaluateBatch(pop, i, j);
+            for (int k = i; k < j; k++) {
+                remember(pop[k]);
+            }
+            // pop[j], if there is one, was a hit
+            i = j + 1;
+        }
+    }
+
+    /**
+     * Find out if the wrapped problem is batched.
+     *
+     * @return True if the wrapped problem is batched.
+     */
+    @Override
+    public boolean isBatched() {
+        return problem.isBatched();
+    }
+
+    /**
+     * Set an individual's fitness from the cache, if its genome is there.
+     *
+     * @param ind Individual to look up.
+     * @return True on a hit.
+     */
+    private boolean fromCache(Individual ind) {
+        long key = ind.genomeHash();
+        double f = segments[(int) (key >>> 60)].get(key, ind.genomeHash(CHECK_SEED));
+        if (Double.isNaN(f)) {
+            return false;
+        }
+        ind.setFitness(f);
+        return true;
+    }
+
+    /**
+     * Remember the fitness of an individual that has just been evaluated.
+     *
+     * @param ind Individual to remember.
+     */
+    private void remember(Individual ind) {
+        long key = ind.genomeHash();
+        segments[(int) (key >>> 60)].put(key, ind.genomeHash(CHECK_SEED), ind.getFitness());
+    }
+
+    /**
+     * Get the number of evaluations answered from the cache.
+     *
+     * @return Number of cache hits.
+     */
+    public long getHits() {
+        long n = 0;
+        for (Segment s : segments) {
+            synchronized (s) {
+                n += s.hits;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Get the number of evaluations passed on to the wrapped problem.
+     *
+     * @return Number of cache misses.
+     */
+    public long getMisses() {
+        long n = 0;
+        for (Segment s : segments) {
+            synchronized (s) {
+                n += s.misses;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Get the number of entries evicted to make room for new ones.
+     *
+     * @return Number of evictions.
+     */
+    public long getEvictions() {
+        long n = 0;
+        for (Segment s : segments) {
+            synchronized (s) {
+                n += s.evictions;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Get the fraction of evaluations answered from the cache.
+     *
+     * @return Hits / (hits + misses), or 0 if there have been no lookups.
+     */
+    public double getHitRate() {
+        long h = getHits();
+        long total = h + getMisses();
+        return total == 0 ? 0.0 : h / (double) total;
+    }
+
+    /**
+     * Get the maximum number of entries in the cache.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Forget all cached fitness values, and reset the counters.
+     */
+    public void clear() {
+        for (Segment s : segments) {
+            s.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return problem + ", with FitnessCache, capacity = " + capacity;
+    }
+}
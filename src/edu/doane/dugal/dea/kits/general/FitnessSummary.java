@@ -0,0 +1,231 @@
+package edu.doane.dugal.dea.kits.general;
+
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.PRNG;
+import edu.doane.dugal.dea.PartitionTask;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Running summary of the fitness values in a population, or in part of one:
+ * minimum, maximum, mean, variance, and the index of the fittest individual.
+ * The mean and variance are kept with Welford's method, and summaries of
+ * separate chunks can be merged, so a population can be summarized in
+ * parallel, one chunk per thread, and the results combined.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class FitnessSummary {
+
+    /**
+     * Number of fitness values seen.
+     */
+    private long count;
+
+    /**
+     * Smallest fitness value seen.
+     */
+    private double min;
+
+    /**
+     * Largest fitness value seen.
+     */
+    private double max;
+
+    /**
+     * Index of the individual with the largest fitness value, or -1 if no
+     * values have been seen.
+     */
+    private int argmax;
+
+    /**
+     * Mean of the fitness values seen.
+     */
+    private double mean;
+
+    /**
+     * Sum of squared differences from the mean.
+     */
+    private double m2;
+
+    /**
+     * Create an empty summary.
+     */
+    public FitnessSummary() {
+        clear();
+    }
+
+    /**
+     * Empty the summary.
+     */
+    public void clear() {
+        count = 0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+        argmax = -1;
+        mean = 0.0;
+        m2 = 0.0;
+    }
+
+    /**
+     * Add one fitness value to the summary.
+     *
+     * @param f Fitness value.
+     * @param index Index of the individual the value belongs to.
+     */
+    public void add(double f, int index) {
+        count++;
+        if (f < min) {
+            min = f;
+        }
+        if (f > max) {
+            max = f;
+            argmax = index;
+        }
+        double delta = f - mean;
+        mean += delta / count;
+        m2 += delta * (f - mean);
+    }
+
+    /**
+     * Add the fitness values of part of a population to the summary.
+     *
+     * @param population Population to summarize.
+     * @param start Index of the first individual to add.
+     * @param end Index one past the last individual to add.
+     */
+    public void add(Individual[] population, int start, int end) {
+        for (int i = start; i < end; i++) {
+            add(population[i].getFitness(), i);
+        }
+    }
+
+    /**
+     * Merge another summary into this one. When both have the same maximum,
+     * the argmax of this summary is kept, so merging chunk summaries in
+     * population order gives the same result as a serial pass.
+     *
+     * @param other Summary to merge; not changed.
+     */
+    public void merge(FitnessSummary other) {
+        if (other.count == 0) {
+            return;
+        }
+        if (count == 0) {
+            count = other.count;
+            min = other.min;
+            max = other.max;
+            argmax = other.argmax;
+            mean = other.mean;
+            m2 = other.m2;
+            return;
+        }
+
+        long n = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / n;
+        m2 += other.m2 + delta * delta * count * other.count / n;
+        count = n;
+        if (other.min < min) {
+            min = other.min;
+        }
+        if (other.max > max) {
+            max = other.max;
+            argmax = other.argmax;
+        }
+    }
+
+    /**
+     * Summarize a whole population. If threshold is greater than 0 and less
+     * than the population size, the population is split into partitions of
+     * threshold individuals, which are summarized on the pool and then merged
+     * in order; otherwise, the population is summarized on the calling
+     * thread.
+     *
+     * @param population Population to summarize.
+     * @param pool Fork/join pool to use; may be null if threshold is 0.
+     * @param threshold Number of individuals per partition; 0 for a serial
+     * pass.
+     * @return New summary of the population.
+     */
+    public static FitnessSummary summarize(final Individual[] population,
+            ForkJoinPool pool, final int threshold) {
+        FitnessSummary total = new FitnessSummary();
+        if (threshold <= 0 || population.length <= threshold) {
+            total.add(population, 0, population.length);
+            return total;
+        }
+
+        final FitnessSummary[] parts
+                = new FitnessSummary[(population.length + threshold - 1) / threshold];
+        pool.invoke(new PartitionTask(new PartitionTask.Kernel() {
+            @Override
+            public void apply(int start, int end, PRNG prng) {
+                FitnessSummary s = new FitnessSummary();
+                s.add(population, start, end);
+                parts[start / threshold] = s;
+            }
+        }, PRNG.getInstance(), population.length, threshold));
+
+        for (FitnessSummary s : parts) {
+            total.merge(s);
+        }
+        return total;
+    }
+
+    /**
+     * Get the number of fitness values seen.
+     *
+     * @return Count of values.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Get the smallest fitness value seen.
+     *
+     * @return Minimum, or positive infinity if no values have been seen.
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * Get the largest fitness value seen.
+     *
+     * @return Maximum, or negative infinity if no values have been seen.
+     */
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Get the index of the individual with the largest fitness value; the
+     * first one, if there are ties.
+     *
+     * @return Index of the fittest individual, or -1 if no values have been
+     * seen.
+     */
+    public int getArgmax() {
+        return argmax;
+    }
+
+    /**
+     * Get the mean of the fitness values seen.
+     *
+     * @return Mean fitness.
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Get the population variance of the fitness values seen.
+     *
+     * @return Variance, or 0 if no values have been seen.
+     */
+    public double getVariance() {
+        return count == 0 ? 0.0 : m2 / count;
+    }
+}
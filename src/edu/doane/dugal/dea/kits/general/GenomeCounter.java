@@ -0,0 +1,84 @@
+package edu.doane.dugal.dea.kits.general;
+
+import edu.doane.dugal.dea.Individual;
+import java.util.Arrays;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Counts the distinct genomes in a population in O(n) time, using
+ * Individual.genomeHash() and genomeEquals() with a primitive open-addressing
+ * hash set of population indices, so that no strings or boxed objects are
+ * created. Genome hashes are computed in parallel for large populations. The
+ * hash and index arrays are kept between calls, so a counter used once per
+ * generation allocates nothing as long as the population size stays the same.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class GenomeCounter {
+
+    /**
+     * Smallest population for which hashes are computed in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 8192;
+
+    /**
+     * Genome hash of each individual in the population being counted.
+     */
+    private long[] hashes;
+
+    /**
+     * Open-addressing table of population index + 1, 0 if empty.
+     */
+    private int[] table;
+
+    /**
+     * Count the distinct genomes in a population.
+     *
+     * @param population Array of Individuals to count.
+     * @return Number of distinct genomes.
+     */
+    public int countDistinct(final Individual[] population) {
+        int n = population.length;
+        if (hashes == null || hashes.length != n) {
+            hashes = new long[n];
+            table = new int[Integer.highestOneBit(Math.max(1, n) * 2 - 1) * 2];
+        }
+
+        if (n >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSetAll(hashes, new IntToLongFunction() {
+                @Override
+                public long applyAsLong(int i) {
+                    return population[i].genomeHash();
+                }
+            });
+        } else {
+            for (int i = 0; i < n; i++) {
+                hashes[i] = population[i].genomeHash();
+            }
+        }
+
+        Arrays.fill(table, 0);
+        int mask = table.length - 1;
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            long key = hashes[i];
+            int t = (int) (key ^ (key >>> 32)) & mask;
+            boolean found = false;
+            while (table[t] != 0) {
+                int j = table[t] - 1;
+                if (hashes[j] == key && population[j].genomeEquals(population[i])) {
+                    found = true;
+                    break;
+                }
+                t = (t + 1) & mask;
+            }
+            if (!found) {
+                table[t] = i + 1;
+                distinct++;
+            }
+        }
+
+        return distinct;
+    }
+}
@@ -0,0 +1,105 @@
+package edu.doane.dugal.dea.kits.general;
+
+import java.util.Arrays;
+
+/**
+ * HyperLogLog sketch for estimating the number of distinct 64-bit hashes, such
+ * as Individual.genomeHash() values, in fixed memory: one byte per register,
+ * 2^precision registers. The relative standard error of the estimate is about
+ * 1.04 / sqrt(2^precision), e.g., 1.6% at the default precision of 12, which
+ * uses 4 KB. Small counts are corrected with linear counting.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class HyperLogLog {
+
+    /**
+     * Number of hash bits used to pick a register.
+     */
+    private final int precision;
+
+    /**
+     * Registers: the largest rank seen for each register.
+     */
+    private final byte[] registers;
+
+    /**
+     * Create an empty sketch with precision 12.
+     */
+    public HyperLogLog() {
+        this(12);
+    }
+
+    /**
+     * Create an empty sketch with the specified precision.
+     *
+     * @param precision Number of hash bits used to pick a register, in [4,
+     * 18].
+     * @throws IllegalArgumentException If precision is out of range.
+     */
+    public HyperLogLog(int precision) throws IllegalArgumentException {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("Illegal precision to HyperLogLog: " + precision);
+        }
+        this.precision = precision;
+        registers = new byte[1 << precision];
+    }
+
+    /**
+     * Add a hash to the sketch. The hash must already be well mixed, as
+     * genome hashes are.
+     *
+     * @param hash 64-bit hash of the item.
+     */
+    public void add(long hash) {
+        int idx = (int) (hash >>> (64 - precision));
+        // the sentinel bit bounds the rank when the remaining bits are all 0
+        long rest = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+        if (rank > registers[idx]) {
+            registers[idx] = rank;
+        }
+    }
+
+    /**
+     * Estimate the number of distinct hashes added since the sketch was
+     * created or cleared.
+     *
+     * @return Estimated distinct count.
+     */
+    public double estimate() {
+        int m = registers.length;
+        double sum = 0.0;
+        int zeros = 0;
+        for (byte r : registers) {
+            sum += 1.0 / (1L << r);
+            if (r == 0) {
+                zeros++;
+            }
+        }
+
+        double alpha = 0.7213 / (1.0 + 1.079 / m);
+        double e = alpha * m * m / sum;
+        if (e <= 2.5 * m && zeros > 0) {
+            e = m * Math.log(m / (double) zeros);
+        }
+        return e;
+    }
+
+    /**
+     * Empty the sketch.
+     */
+    public void clear() {
+        Arrays.fill(registers, (byte) 0);
+    }
+
+    /**
+     * Get the precision of the sketch.
+     *
+     * @return Number of hash bits used to pick a register.
+     */
+    public int getPrecision() {
+        return precision;
+    }
+}
@@ -0,0 +1,46 @@
+package edu.doane.dugal.dea.kits.general;
+
+import edu.doane.dugal.dea.GenomeCodec;
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.kits.bchrom.BinaryChromosome;
+import edu.doane.dugal.dea.kits.bchrom.BinarySnapshotCodec;
+import edu.doane.dugal.dea.kits.dchrom.DoubleChromosome;
+import edu.doane.dugal.dea.kits.dchrom.DoubleChromosomeCodec;
+import edu.doane.dugal.dea.kits.ichrom.IntegerChromosome;
+import edu.doane.dugal.dea.kits.ichrom.IntegerSnapshotCodec;
+
+/**
+ * Factory for the most compact lossless GenomeCodec for the individuals of
+ * the kits: raw doubles for DoubleChromosomes, genes narrowed to their range
+ * for IntegerChromosomes, and packed bits for BinaryChromosomes. Used where
+ * genomes are shipped between processes, such as migration files and
+ * evaluation farms, so every process can build the same codec from a sample
+ * individual.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class KitCodecs {
+
+    /**
+     * Get a codec for individuals like the sample.
+     *
+     * @param sample Individual from one of the kits, e.g., from
+     * Problem.createRandomIndividual().
+     * @return Codec for individuals of the sample's type and length.
+     * @throws IllegalArgumentException If the sample isn't from one of the
+     * kits.
+     */
+    public static GenomeCodec forIndividual(Individual sample) throws IllegalArgumentException {
+        if (sample instanceof DoubleChromosome) {
+            return new DoubleChromosomeCodec(((DoubleChromosome) sample).getLength());
+        } else if (sample instanceof IntegerChromosome) {
+            IntegerChromosome ic = (IntegerChromosome) sample;
+            return new IntegerSnapshotCodec(ic.getLength(), ic.getLo(), ic.getHi());
+        } else if (sample instanceof BinaryChromosome) {
+            return new BinarySnapshotCodec(((BinaryChromosome) sample).getLength());
+        }
+        throw new IllegalArgumentException("Illegal sample to forIndividual: "
+                + sample.getClass().getName());
+    }
+}
@@ -0,0 +1,449 @@
+package edu.doane.dugal.dea.kits.general;
+
+import java.util.Arrays;
+
+/**
+ * KLL sketch for estimating quantiles of a stream of doubles, such as the
+ * fitness values of a population, in fixed memory. Values are kept in a
+ * stack of compactors; when the sketch is full, the lowest compactor over its
+ * capacity is sorted and every other value, starting at a random offset, is
+ * promoted to the next level with twice the weight. With the default k of
+ * 200, at most about 3k values are retained, and ranks are within about 1.5%
+ * of the stream length, no matter how long the stream is. Sketches of
+ * separate chunks can be merged, so a population can be sketched in
+ * parallel.
+ *
+ * The exact minimum and maximum are kept as well, and are returned for the
+ * 0 and 1 quantiles.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class QuantileSketch {
+
+    /**
+     * Smallest capacity of any compactor.
+     */
+    private static final int MIN_CAPACITY = 8;
+
+    /**
+     * Capacity of the top compactor; controls the accuracy.
+     */
+    private final int k;
+
+    /**
+     * Values held by each compactor; values at level h have weight 2^h.
+     */
+    private double[][] levels;
+
+    /**
+     * Number of values held by each compactor.
+     */
+    private int[] sizes;
+
+    /**
+     * Number of compactors in use.
+     */
+    private int numLevels;
+
+    /**
+     * Capacity of each compactor in use; lower levels hold geometrically
+     * fewer values.
+     */
+    private int[] capacities;
+
+    /**
+     * Sum of the capacities of the compactors in use; the sketch is
+     * compressed when it holds this many values.
+     */
+    private int totalCapacity;
+
+    /**
+     * Number of values held by all the compactors.
+     */
+    private int retained;
+
+    /**
+     * Number of values added to the sketch.
+     */
+    private long count;
+
+    /**
+     * Smallest value added.
+     */
+    private double min;
+
+    /**
+     * Largest value added.
+     */
+    private double max;
+
+    /**
+     * State of the generator used to pick compaction offsets.
+     */
+    private long coin;
+
+    /**
+     * Create an empty sketch with k = 200.
+     */
+    public QuantileSketch() {
+        this(200, 0);
+    }
+
+    /**
+     * Create an empty sketch with the specified accuracy. Sketches that will
+     * be merged should be given different seeds, so that their compactions
+     * are independent.
+     *
+     * @param k Capacity of the top compactor, at least 8; larger values are
+     * more accurate and use proportionally more memory.
+     * @param seed Seed for the compaction offsets.
+     * @throws IllegalArgumentException If k is less than 8.
+     */
+    public QuantileSketch(int k, long seed) throws IllegalArgumentException {
+        if (k < 8) {
+            throw new IllegalArgumentException("Illegal k to QuantileSketch: " + k);
+        }
+        this.k = k;
+        coin = seed;
+        levels = new double[1][k];
+        sizes = new int[1];
+        capacities = new int[1];
+        clear();
+    }
+
+    /**
+     * Empty the sketch.
+     */
+    public void clear() {
+        Arrays.fill(sizes, 0);
+        numLevels = 1;
+        computeCapacities();
+        retained = 0;
+        count = 0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Add a value to the sketch. NaN values are ignored.
+     *
+     * @param x Value to add.
+     */
+    public void add(double x) {
+        if (Double.isNaN(x)) {
+            return;
+        }
+        count++;
+        if (x < min) {
+            min = x;
+        }
+        if (x > max) {
+            max = x;
+        }
+        if (sizes[0] == levels[0].length) {
+            levels[0] = Arrays.copyOf(levels[0], 2 * levels[0].length);
+        }
+        levels[0][sizes[0]++] = x;
+        if (++retained >= totalCapacity) {
+            compress();
+        }
+    }
+
+    /**
+     * Merge another sketch into this one.
+     *
+     * @param other Sketch to merge; not changed.
+     */
+    public void merge(QuantileSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        while (numLevels < other.numLevels) {
+            addLevel();
+        }
+        for (int h = 0; h < other.numLevels; h++) {
+            int n = other.sizes[h];
+            if (sizes[h] + n > levels[h].length) {
+                levels[h] = Arrays.copyOf(levels[h], Math.max(sizes[h] + n, 2 * levels[h].length));
+            }
+            System.arraycopy(other.levels[h], 0, levels[h], sizes[h], n);
+            sizes[h] += n;
+        }
+        retained += other.retained;
+        count += other.count;
+        if (other.min < min) {
+            min = other.min;
+        }
+        if (other.max > max) {
+            max = other.max;
+        }
+        compress();
+    }
+
+    /**
+     * Estimate the value at the specified quantile.
+     *
+     * @param q Quantile, in [0, 1]; e.g., 0.5 for the median.
+     * @return Estimated value, or NaN if the sketch is empty.
+     * @throws IllegalArgumentException If q is outside [0, 1].
+     */
+    public double getQuantile(double q) throws IllegalArgumentException {
+        if (q < 0.0 || q > 1.0) {
+            throw new IllegalArgumentException("Illegal q to getQuantile: " + q);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (q == 0.0) {
+            return min;
+        }
+        if (q == 1.0) {
+            return max;
+        }
+
+        double[] values = new double[retained];
+        long[] weights = new long[values.length];
+        sortedItems(values, weights);
+
+        double target = q * count;
+        long cumulative = 0;
+        for (int i = 0; i < values.length; i++) {
+            cumulative += weights[i];
+            if (cumulative >= target) {
+                return values[i];
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Estimate the number of values less than or equal to x.
+     *
+     * @param x Value to rank.
+     * @return Estimated rank, in [0, getCount()].
+     */
+    public long getRank(double x) {
+        if (x >= max) {
+            return count;
+        }
+        long rank = 0;
+        for (int h = 0; h < numLevels; h++) {
+            long w = 1L << h;
+            double[] level = levels[h];
+            for (int i = 0; i < sizes[h]; i++) {
+                if (level[i] <= x) {
+                    rank += w;
+                }
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Estimate a histogram of the values, with equal-width bins from the
+     * minimum to the maximum.
+     *
+     * @param bins Number of bins, greater than 0.
+     * @return Estimated number of values in each bin; the counts add up to
+     * getCount().
+     * @throws IllegalArgumentException If bins is not positive.
+     */
+    public long[] getHistogram(int bins) throws IllegalArgumentException {
+        if (bins <= 0) {
+            throw new IllegalArgumentException("Illegal bins to getHistogram: " + bins);
+        }
+        long[] hist = new long[bins];
+        if (count == 0) {
+            return hist;
+        }
+
+        double[] values = new double[retained];
+        long[] weights = new long[values.length];
+        sortedItems(values, weights);
+
+        double width = (max - min) / bins;
+        int b = 0;
+        for (int i = 0; i < values.length; i++) {
+            while (b < bins - 1 && values[i] > min + (b + 1) * width) {
+                b++;
+            }
+            hist[b] += weights[i];
+        }
+        return hist;
+    }
+
+    /**
+     * Get the number of values added to the sketch.
+     *
+     * @return Count of values.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Get the smallest value added to the sketch.
+     *
+     * @return Minimum, or positive infinity if the sketch is empty.
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * Get the largest value added to the sketch.
+     *
+     * @return Maximum, or negative infinity if the sketch is empty.
+     */
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Get the accuracy parameter of the sketch.
+     *
+     * @return Capacity of the top compactor.
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Get the number of values currently held by the sketch.
+     *
+     * @return Number of retained values.
+     */
+    public int getRetained() {
+        return retained;
+    }
+
+    /**
+     * Work out the capacity of each compactor in use: k for the top one, and
+     * two thirds of the one above for each level below, but at least
+     * MIN_CAPACITY, so the bottom levels aren't compacted every few values.
+     */
+    private void computeCapacities() {
+        if (capacities.length < numLevels) {
+            capacities = new int[levels.length];
+        }
+        double c = k;
+        totalCapacity = 0;
+        for (int h = numLevels - 1; h >= 0; h--) {
+            capacities[h] = Math.max(MIN_CAPACITY, (int) Math.ceil(c));
+            totalCapacity += capacities[h];
+            c *= 2.0 / 3.0;
+        }
+    }
+
+    /**
+     * Add an empty compactor at the top of the stack.
+     */
+    private void addLevel() {
+        if (numLevels == levels.length) {
+            levels = Arrays.copyOf(levels, numLevels + 1);
+            sizes = Arrays.copyOf(sizes, numLevels + 1);
+            levels[numLevels] = new double[k];
+        }
+        sizes[numLevels] = 0;
+        numLevels++;
+        computeCapacities();
+    }
+
+    /**
+     * While the sketch is full, compact the lowest compactor that is at or
+     * over its capacity; there is always one, since the sizes add up to at
+     * least the sum of the capacities.
+     */
+    private void compress() {
+        while (retained >= totalCapacity) {
+            int h = 0;
+            while (sizes[h] < capacities[h]) {
+                h++;
+            }
+            if (h + 1 == numLevels) {
+                addLevel();
+            }
+            compact(h);
+        }
+    }
+
+    /**
+     * Compact one level: sort it, and promote every other value, starting at
+     * a random offset, to the level above. If the level holds an odd number
+     * of values, the largest stays behind.
+     *
+     * @param h Level to compact.
+     */
+    private void compact(int h) {
+        double[] level = levels[h];
+        int n = sizes[h];
+        Arrays.sort(level, 0, n);
+        int pairs = n / 2;
+
+        int up = h + 1;
+        if (sizes[up] + pairs > levels[up].length) {
+            levels[up] = Arrays.copyOf(levels[up], Math.max(sizes[up] + pairs, 2 * levels[up].length));
+        }
+        int offset = nextCoin();
+        for (int i = 0; i < pairs; i++) {
+            levels[up][sizes[up]++] = level[2 * i + offset];
+        }
+
+        if ((n & 1) == 1) {
+            level[0] = level[n - 1];
+            sizes[h] = 1;
+        } else {
+            sizes[h] = 0;
+        }
+        retained -= pairs;
+    }
+
+    /**
+     * Flip a coin for a compaction offset, using a SplitMix64 step.
+     *
+     * @return 0 or 1.
+     */
+    private int nextCoin() {
+        long z = (coin += 0x9e3779b97f4a7c15L);
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return (int) ((z ^ (z >>> 31)) >>> 63);
+    }
+
+    /**
+     * Gather the retained values and their weights, sorted by value. Each
+     * level is sorted on its own, and the levels are merged in turn.
+     *
+     * @param values Array to fill with the values; length getRetained().
+     * @param weights Array to fill with the matching weights.
+     */
+    private void sortedItems(double[] values, long[] weights) {
+        double[] tmpValues = new double[values.length];
+        long[] tmpWeights = new long[values.length];
+        int n = 0;
+        for (int h = 0; h < numLevels; h++) {
+            int m = sizes[h];
+            double[] level = Arrays.copyOf(levels[h], m);
+            Arrays.sort(level);
+            long w = 1L << h;
+
+            // merge the sorted level into the first n sorted values
+            int i = 0;
+            int j = 0;
+            int out = 0;
+            while (i < n || j < m) {
+                if (j == m || (i < n && values[i] <= level[j])) {
+                    tmpValues[out] = values[i];
+                    tmpWeights[out++] = weights[i++];
+                } else {
+                    tmpValues[out] = level[j++];
+                    tmpWeights[out++] = w;
+                }
+            }
+            n += m;
+            System.arraycopy(tmpValues, 0, values, 0, n);
+            System.arraycopy(tmpWeights, 0, weights, 0, n);
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package edu.doane.dugal.dea.kits.general;
+
+import edu.doane.dugal.dea.Checkpointable;
+import edu.doane.dugal.dea.ChunkAware;
+import edu.doane.dugal.dea.ChunkOperator;
+import edu.doane.dugal.dea.GenomeCodec;
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.PRNG;
+import edu.doane.dugal.dea.PartitionTask;
+import edu.doane.dugal.dea.Problem;
+import edu.doane.dugal.dea.io.StatsRecord;
+import edu.doane.dugal.dea.io.StatsSink;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Class to report the distribution of fitness values each generation: the
+ * minimum, 10th percentile, median, 90th percentile, and maximum, and
+ * optionally a histogram, all dumped to standard output, or written to a
+ * StatsSink, with the histogram counts named hist0, hist1, etc. The values are
+ * estimated with a QuantileSketch, so memory use is fixed and the population
+ * is never sorted; use this alongside StandardStats, which tracks the
+ * best-ever individual.
+ *
+ * With a parallel threshold set, the population is sketched in partitions of
+ * that many individuals on the common fork/join pool, and the sketches are
+ * merged. For out-of-core runs, the chunks of a pass are merged and reported
+ * once when the pass ends; in the DEA's fused mode, each chunk is sketched on
+ * the worker thread that handles it.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class QuantileStats implements ChunkOperator, ChunkAware, Checkpointable {
+
+    /**
+     * String used to format stats output.
+     */
+    private String format;
+
+    /**
+     * Generation number to include in output.
+     */
+    private int generationNumber;
+
+    /**
+     * Accuracy parameter of the sketches.
+     */
+    private final int k;
+
+    /**
+     * Number of histogram bins to report, or 0 for no histogram.
+     */
+    private int bins;
+
+    /**
+     * True while a chunked pass over the population is in progress.
+     */
+    private boolean inPass;
+
+    /**
+     * Sketch of the current generation's fitness values.
+     */
+    private QuantileSketch sketch;
+
+    /**
+     * Histogram of the most recent generation, or null if none was made.
+     */
+    private long[] histogram;
+
+    /**
+     * Number of individuals per partition in parallel mode, or 0 to sketch
+     * serially.
+     */
+    private int parallelThreshold;
+
+    /**
+     * Sketches of the chunks of a fused pass, keyed by the index of the first
+     * individual in the chunk, so they are merged in population order.
+     */
+    private final TreeMap<Integer, QuantileSketch> chunks;
+
+    /**
+     * Sink the statistics are written to, or null to print them to standard
+     * output.
+     */
+    private StatsSink sink;
+
+    /**
+     * Names of the values in each StatsRecord: min, 10th percentile, median,
+     * 90th percentile, and max fitness, then the histogram counts.
+     */
+    private String[] names;
+
+    /**
+     * Default constructor. Create an instance that shows 4 decimal places,
+     * reports no histogram, sketches serially, and uses sketches with k =
+     * 200.
+     */
+    public QuantileStats() {
+        this(4, 0, 0);
+    }
+
+    /**
+     * Initializing constructor. Create an instance with the specified output
+     * and parallelism settings, using sketches with k = 200.
+     *
+     * @param decimalPlaces Number of decimal places to show in output.
+     * @param bins Number of histogram bins to report, or 0 for no histogram.
+     * @param parallelThreshold Number of individuals per partition; 0
+     * sketches serially.
+     */
+    public QuantileStats(int decimalPlaces, int bins, int parallelThreshold) {
+        this(decimalPlaces, bins, parallelThreshold, 200);
+    }
+
+    /**
+     * Initializing constructor. Create an instance with the specified output,
+     * parallelism, and accuracy settings.
+     *
+     * @param decimalPlaces Number of decimal places to show in output.
+     * @param bins Number of histogram bins to report, or 0 for no histogram.
+     * @param parallelThreshold Number of individuals per partition; 0
+     * sketches serially.
+     * @param k Accuracy parameter of the sketches, at least 8.
+     * @throws IllegalArgumentException If k is less than 8.
+     */
+    public QuantileStats(int decimalPlaces, int bins, int parallelThreshold, int k)
+            throws IllegalArgumentException {
+        if (k < 8) {
+            throw new IllegalArgumentException("Illegal k to QuantileStats: " + k);
+        }
+        this.k = k;
+        makeFormat(decimalPlaces);
+        setBins(bins);
+        setParallelThreshold(parallelThreshold);
+        sketch = new QuantileSketch(k, 0);
+        chunks = new TreeMap<>();
+    }
+
+    /**
+     * Create the format string used for output.
+     */
+    private void makeFormat(int decimalPlaces) {
+        format = "Gen: %d" +                    // generation number
+                "\t%." + decimalPlaces + "f" +  // min fitness
+                "\t%." + decimalPlaces + "f" +  // 10th percentile
+                "\t%." + decimalPlaces + "f" +  // median
+                "\t%." + decimalPlaces + "f" +  // 90th percentile
+                "\t%." + decimalPlaces + "f\n"; // max fitness
+    }
+
+    /**
+     * Find the fitness quantiles, and the histogram if one is wanted, for the
+     * specified population, and output to standard output. During a chunked
+     * pass, the population is one chunk, and output is held until endPass().
+     *
+     * @param population Array of Individuals to get statistics for.
+     */
+    @Override
+    public void operate(Individual[] population) {
+        QuantileSketch s = summarize(population);
+        if (inPass) {
+            sketch.merge(s);
+        } else {
+            sketch = s;
+            report();
+        }
+    }
+
+    /**
+     * Sketch one chunk of the population, during a fused pass. The chunk
+     * sketches are merged when the pass ends.
+     *
+     * @param population Population to get statistics for.
+     * @param start Index of the first individual in the chunk.
+     * @param end Index one past the last individual in the chunk.
+     * @param prng Ignored; the sketch is seeded from the chunk position.
+     */
+    @Override
+    public void operate(Individual[] population, int start, int end, PRNG prng) {
+        QuantileSketch s = new QuantileSketch(k, start);
+        for (int i = start; i < end; i++) {
+            s.add(population[i].getFitness());
+        }
+        synchronized (chunks) {
+            chunks.put(start, s);
+        }
+    }
+
+    @Override
+    public void beginPass(long populationSize) {
+        sketch = new QuantileSketch(k, generationNumber);
+        inPass = true;
+    }
+
+    @Override
+    public void endPass() {
+        synchronized (chunks) {
+            for (QuantileSketch s : chunks.values()) {
+                sketch.merge(s);
+            }
+            chunks.clear();
+        }
+        inPass = false;
+        report();
+    }
+
+    /**
+     * Sketch the fitness values of a population, serially or in parallel.
+     *
+     * @param population Array of Individuals to sketch.
+     * @return Sketch of the population.
+     */
+    private QuantileSketch summarize(final Individual[] population) {
+        QuantileSketch total = new QuantileSketch(k, generationNumber);
+        if (parallelThreshold <= 0 || population.length <= parallelThreshold) {
+            for (Individual i : population) {
+                total.add(i.getFitness());
+            }
+            return total;
+        }
+
+        final int t = parallelThreshold;
+        final QuantileSketch[] parts = new QuantileSketch[(population.length + t - 1) / t];
+        ForkJoinPool.commonPool().invoke(new PartitionTask(new PartitionTask.Kernel() {
+            @Override
+            public void apply(int start, int end, PRNG prng) {
+                QuantileSketch s = new QuantileSketch(k, start);
+                for (int i = start; i < end; i++) {
+                    s.add(population[i].getFitness());
+                }
+                parts[start / t] = s;
+            }
+        }, PRNG.getInstance(), population.length, t));
+
+        for (QuantileSketch s : parts) {
+            total.merge(s);
+        }
+        return total;
+    }
+
+    /**
+     * Output the per-generation statistics, and move on to the next
+     * generation.
+     */
+    private void report() {
+        double[] q = {sketch.getMin(), sketch.getQuantile(0.1), sketch.getQuantile(0.5),
+            sketch.getQuantile(0.9), sketch.getMax()};
+        histogram = bins > 0 ? sketch.getHistogram(bins) : null;
+
+        if (sink != null) {
+            emit(q);
+        } else {
+            System.out.printf(format, generationNumber, q[0], q[1], q[2], q[3], q[4]);
+            if (histogram != null) {
+                StringBuilder s = new StringBuilder("Hist:");
+                for (long c : histogram) {
+                    s.append('\t').append(c);
+                }
+                System.out.println(s);
+            }
+        }
+        generationNumber++;
+    }
+
+    /**
+     * Write one generation's statistics, and the histogram if there is one,
+     * to the sink.
+     *
+     * @param q Min, 10th percentile, median, 90th percentile, and max.
+     * @throws UncheckedIOException If the sink can't write the record.
+     */
+    private void emit(double[] q) throws UncheckedIOException {
+        int h = histogram == null ? 0 : histogram.length;
+        if (names == null || names.length != q.length + h) {
+            names = new String[q.length + h];
+            System.arraycopy(new String[]{"min", "p10", "median", "p90", "max"}, 0, names, 0, q.length);
+            for (int i = 0; i < h; i++) {
+                names[q.length + i] = "hist" + i;
+            }
+        }
+        double[] values = new double[names.length];
+        System.arraycopy(q, 0, values, 0, q.length);
+        for (int i = 0; i < h; i++) {
+            values[q.length + i] = histogram[i];
+        }
+        try {
+            sink.write(new StatsRecord("QuantileStats", generationNumber, names, values));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Get the sketch of the most recent generation, for other quantiles.
+     *
+     * @return Sketch of the latest generation's fitness values.
+     */
+    public QuantileSketch getSketch() {
+        return sketch;
+    }
+
+    /**
+     * Get the histogram of the most recent generation, with equal-width bins
+     * from the minimum to the maximum fitness.
+     *
+     * @return Estimated counts per bin, or null if no histogram is made.
+     */
+    public long[] getHistogram() {
+        return histogram;
+    }
+
+    /**
+     * Get the sink the statistics are written to.
+     *
+     * @return Sink, or null if the statistics are printed to standard output.
+     */
+    public StatsSink getSink() {
+        return sink;
+    }
+
+    /**
+     * Set the sink the statistics are written to; the histogram, if any,
+     * goes in the same record. See StandardStats.setSink.
+     *
+     * @param sink Sink, or null to print to standard output.
+     */
+    public void setSink(StatsSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Get the number of histogram bins reported.
+     *
+     * @return Number of bins, or 0 for no histogram.
+     */
+    public int getBins() {
+        return bins;
+    }
+
+    /**
+     * Set the number of histogram bins reported.
+     *
+     * @param bins Number of bins, or 0 for no histogram.
+     * @throws IllegalArgumentException If the parameter is negative.
+     */
+    final public void setBins(int bins) throws IllegalArgumentException {
+        if (bins < 0) {
+            throw new IllegalArgumentException("Illegal bins to setBins: " + bins);
+        }
+        this.bins = bins;
+    }
+
+    /**
+     * Get the number of individuals per partition in parallel mode.
+     *
+     * @return the parallel threshold, or 0 if the population is sketched
+     * serially.
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Set the number of individuals per partition in parallel mode.
+     *
+     * @param parallelThreshold Individuals per partition; 0 sketches
+     * serially.
+     * @throws IllegalArgumentException If the parameter is negative.
+     */
+    final public void setParallelThreshold(int parallelThreshold) throws IllegalArgumentException {
+        if (parallelThreshold < 0) {
+            throw new IllegalArgumentException("Illegal parallelThreshold to setParallelThreshold: "
+                    + parallelThreshold);
+        }
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    @Override
+    public void saveState(DataOutput out, GenomeCodec codec) throws IOException {
+        out.writeInt(generationNumber);
+    }
+
+    @Override
+    public void loadState(DataInput in, GenomeCodec codec, Problem problem) throws IOException {
+        generationNumber = in.readInt();
+    }
+
+    @Override
+    public String toString() {
+        return "QuantileStats, k = " + k + ", bins = " + bins
+                + (parallelThreshold > 0 ? ", parallel, threshold = " + parallelThreshold : "");
+    }
+}
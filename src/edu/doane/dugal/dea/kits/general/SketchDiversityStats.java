@@ -0,0 +1,586 @@
+package edu.doane.dugal.dea.kits.general;
+
+import edu.doane.dugal.dea.Checkpointable;
+import edu.doane.dugal.dea.Checkpointer;
+import edu.doane.dugal.dea.GenomeCodec;
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.Operator;
+import edu.doane.dugal.dea.PRNG;
+import edu.doane.dugal.dea.Problem;
+import edu.doane.dugal.dea.io.StatsRecord;
+import edu.doane.dugal.dea.io.StatsSink;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Class to do standard statistics (min, max, average, and best-ever fitness),
+ * plus estimated diversity, for populations too large to measure exactly. The
+ * number of distinct genotypes in the population is estimated from a random
+ * sample of individuals, drawn without replacement, with Chao's Chao1
+ * estimator, corrected for sampling without replacement: the genomes seen in
+ * the sample, plus an estimate of the unseen ones from the numbers of genomes
+ * seen exactly once and exactly twice. The distinct fraction reported is that
+ * estimate over the population size. With the sample size set to 0, the whole
+ * population is instead counted with a HyperLogLog sketch of the genome
+ * hashes, which is more accurate but takes time proportional to the
+ * population size. The mean pairwise genome distance (Hamming for binary
+ * chromosomes, Euclidean for the others) is estimated from random pairs,
+ * drawn until the 95% confidence interval is within the error bound. Memory
+ * use is fixed, and with sampling on, as it is by default, the diversity
+ * estimates take time independent of the population size.
+ *
+ * Like DiversityThresholdStats, the population is re-seeded with new random
+ * individuals, plus a certain percentage of copies of the best-ever individual,
+ * when the distinct fraction drops below a threshold, or when the mean
+ * distance drops below the distance threshold, if one is set. Do not re-use
+ * objects of this class; use a new one for each run, so that best-ever values
+ * are reset. Statistics go to standard output, or to a StatsSink if one is
+ * set.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class SketchDiversityStats implements Operator, Checkpointable {
+
+    /**
+     * Names of the values in each StatsRecord: min, max, and average fitness,
+     * estimated distinct fraction and mean distance, and best-ever fitness.
+     */
+    private static final String[] NAMES = {"min", "max", "avg", "distinct", "distance", "best"};
+
+    /**
+     * Smallest number of pairs sampled before the error bound is checked.
+     */
+    private static final int MIN_PAIRS = 30;
+
+    /**
+     * Fitness of the best individual ever seen.
+     */
+    private double bestEverFitness;
+
+    /**
+     * Reference to the best individual ever seen.
+     */
+    private Individual bestEverIndividual;
+
+    /**
+     * String used to format stats output.
+     */
+    private String format;
+
+    /**
+     * Generation number to include in output.
+     */
+    private int generationNumber;
+
+    /**
+     * Re-seed when the estimated distinct fraction falls below this value.
+     */
+    private double threshold;
+
+    /**
+     * Re-seed when the estimated mean distance falls below this value; 0 to
+     * ignore the distance.
+     */
+    private double distanceThreshold;
+
+    /**
+     * Percentage of the population that is copies of the best-ever individual
+     * after re-seeding.
+     */
+    private double keepPercentage;
+
+    /**
+     * Problem used to create new random individuals.
+     */
+    private Problem problem;
+
+    /**
+     * Number of individuals drawn for the distinct-genome estimate, or 0 to
+     * sketch the whole population.
+     */
+    private int sampleSize;
+
+    /**
+     * Population indices drawn for the distinct-genome estimate.
+     */
+    private int[] sampleIndices;
+
+    /**
+     * Genome hashes of the sampled individuals.
+     */
+    private long[] sampleHashes;
+
+    /**
+     * Target relative half-width of the 95% confidence interval for the mean
+     * distance.
+     */
+    private double errorBound;
+
+    /**
+     * Largest number of pairs sampled per generation.
+     */
+    private int maxPairs;
+
+    /**
+     * Sketch used to estimate the number of distinct genomes.
+     */
+    private final HyperLogLog sketch;
+
+    /**
+     * Random number generator used for sampling.
+     */
+    private final PRNG prng;
+
+    /**
+     * Distinct fraction estimated in the latest generation.
+     */
+    private double distinctFraction;
+
+    /**
+     * Mean pairwise distance estimated in the latest generation.
+     */
+    private double meanDistance;
+
+    /**
+     * Number of pairs sampled in the latest generation.
+     */
+    private int pairsSampled;
+
+    /**
+     * Number of individuals per partition when gathering fitness statistics
+     * in parallel, or 0 to gather them serially.
+     */
+    private int parallelThreshold;
+
+    /**
+     * Sink the statistics are written to, or null to print them to standard
+     * output.
+     */
+    private StatsSink sink;
+
+    /**
+     * Initializing constructor. Create an instance with the best-ever fitness
+     * set to negative infinity, the best-ever Individual reference set to
+     * null, and the number of decimal places to display in output, threshold,
+     * and keep percentage set to the specified values. The distinct-genome
+     * estimate draws 10000 individuals, the error bound is 5%, and at most
+     * 10000 pairs are sampled per generation.
+     *
+     * @param decimalPlaces Number of decimal places to show in output.
+     * @param threshold Re-seed when the estimated fraction of distinct
+     * genomes falls below this value, in [0, 1].
+     * @param keepPercentage Percent of population that contains copy of best-
+     * ever individual after re-seeding.
+     * @param problem Problem used to create new random individuals.
+     */
+    public SketchDiversityStats(int decimalPlaces, double threshold,
+            double keepPercentage, Problem problem) {
+        bestEverFitness = Double.NEGATIVE_INFINITY;
+        bestEverIndividual = null;
+        makeFormat(decimalPlaces);
+        this.threshold = threshold;
+        this.keepPercentage = keepPercentage;
+        this.problem = problem;
+        sketch = new HyperLogLog();
+        prng = PRNG.getInstance();
+        errorBound = 0.05;
+        maxPairs = 10000;
+        setSampleSize(10000);
+    }
+
+    /**
+     * Create the format string used for output.
+     */
+    private void makeFormat(int decimalPlaces) {
+        format = "Gen: %d" +                    // generation number
+                "\t%." + decimalPlaces + "f" +  // min fitness
+                "\t%." + decimalPlaces + "f" +  // max fitness
+                "\t%." + decimalPlaces + "f" +  // avg fitness
+                "\t%." + decimalPlaces + "f" +  // distinct fraction
+                "\t%." + decimalPlaces + "f" +  // mean distance
+                "\t%." + decimalPlaces + "f\n";
+    }
+
+    /**
+     * Get a reference to the best individual ever seen during a run.
+     *
+     * @return Individual reference to the best critter seen during the run.
+     */
+    public Individual getBestEverIndividual() {
+        return bestEverIndividual;
+    }
+
+    /**
+     * Find min, max, and average fitness, plus estimated diversity, for the
+     * specified population, and output to standard output. If diversity falls
+     * below a threshold, re-seed.
+     *
+     * @param population Array of Individuals to get statistics for.
+     */
+    @Override
+    public void operate(Individual[] population) {
+        // find best ever individual first
+        FitnessSummary s = summarize(population);
+
+        estimateDiversity(population);
+
+        // if we're below a diversity threshold, re-seed the population
+        if (distinctFraction < threshold || meanDistance < distanceThreshold) {
+            int idx = (int) (keepPercentage * population.length);
+
+            // keepPercentage% of the population is the best-ever individual;
+            // the individuals are overwritten in place, so that views stay
+            // part of their population
+            for (int i = 0; i < idx; i++) {
+                Individual.copyInto(bestEverIndividual, population, i);
+            }
+
+            // the rest of the population are new, random individuals
+            for (int i = idx; i < population.length; i++) {
+                Individual.copyInto(problem.createRandomIndividual(), population, i);
+                problem.evaluateIndividual(population[i]);
+                population[i].setModified(false);
+            }
+
+            estimateDiversity(population);
+            s = summarize(population);
+        }
+
+        if (sink != null) {
+            emit(s.getMin(), s.getMax(), s.getMean(), distinctFraction,
+                    meanDistance, bestEverFitness);
+        } else {
+            System.out.printf(format, generationNumber, s.getMin(), s.getMax(),
+                    s.getMean(), distinctFraction, meanDistance, bestEverFitness);
+        }
+        generationNumber++;
+    }
+
+    /**
+     * Summarize the fitness of a population, serially or in parallel, and
+     * copy its best individual if it beats the best ever seen.
+     *
+     * @param population Array of Individuals to summarize.
+     * @return Summary of the population.
+     */
+    private FitnessSummary summarize(Individual[] population) {
+        FitnessSummary s = FitnessSummary.summarize(population,
+                ForkJoinPool.commonPool(), parallelThreshold);
+        if (s.getMax() > bestEverFitness) {
+            bestEverFitness = s.getMax();
+            bestEverIndividual = Individual.copy(population[s.getArgmax()]);
+        }
+        return s;
+    }
+
+    /**
+     * Estimate the distinct fraction and the mean pairwise distance of a
+     * population.
+     *
+     * @param population Array of Individuals to measure.
+     */
+    private void estimateDiversity(Individual[] population) {
+        int n = population.length;
+
+        // distinct genomes, estimated from a sample or sketched over the
+        // whole population
+        if (sampleSize > 0 && sampleSize < n) {
+            distinctFraction = Math.min(1.0, estimateDistinct(population) / n);
+        } else {
+            sketch.clear();
+            for (Individual i : population) {
+                sketch.add(i.genomeHash());
+            }
+            distinctFraction = Math.min(1.0, sketch.estimate() / n);
+        }
+
+        // mean pairwise distance, by sampling pairs until the 95% confidence
+        // interval is narrow enough (Welford's running mean and variance)
+        double mean = 0.0;
+        double m2 = 0.0;
+        int k = 0;
+        while (k < maxPairs && n > 1) {
+            int a = prng.nextInt(0, n - 1);
+            int b = prng.nextInt(0, n - 2);
+            if (b >= a) {
+                b++;
+            }
+            double d = population[a].genomeDistance(population[b]);
+            k++;
+            double delta = d - mean;
+            mean += delta / k;
+            m2 += delta * (d - mean);
+
+            if (k >= MIN_PAIRS) {
+                double halfWidth = 1.96 * Math.sqrt(m2 / (k - 1) / k);
+                if (halfWidth <= errorBound * mean || m2 == 0.0) {
+                    break;
+                }
+            }
+        }
+        meanDistance = mean;
+        pairsSampled = k;
+    }
+
+    /**
+     * Estimate the number of distinct genomes in a population from a sample,
+     * with the Chao1 estimator for sampling without replacement.
+     *
+     * @param population Array of Individuals to measure; longer than the
+     * sample size.
+     * @return Estimated number of distinct genomes in the population.
+     */
+    private double estimateDistinct(Individual[] population) {
+        int n = population.length;
+
+        // draw with replacement, then drop repeated draws of the same
+        // individual, which leaves a sample drawn without replacement
+        for (int i = 0; i < sampleSize; i++) {
+            sampleIndices[i] = prng.nextInt(0, n - 1);
+        }
+        Arrays.sort(sampleIndices);
+        int r = 0;
+        for (int i = 0; i < sampleSize; i++) {
+            if (i == 0 || sampleIndices[i] != sampleIndices[i - 1]) {
+                sampleHashes[r++] = population[sampleIndices[i]].genomeHash();
+            }
+        }
+
+        // count the distinct genomes in the sample, and those seen exactly
+        // once and twice
+        Arrays.sort(sampleHashes, 0, r);
+        int distinct = 0;
+        int singletons = 0;
+        int doubletons = 0;
+        int i = 0;
+        while (i < r) {
+            int j = i + 1;
+            while (j < r && sampleHashes[j] == sampleHashes[i]) {
+                j++;
+            }
+            distinct++;
+            if (j - i == 1) {
+                singletons++;
+            } else if (j - i == 2) {
+                doubletons++;
+            }
+            i = j;
+        }
+        if (singletons == 0) {
+            return distinct;
+        }
+
+        // Chao1, corrected for sampling without replacement
+        double q = r / (double) n;
+        return distinct + (double) singletons * singletons
+                / (2.0 * doubletons * r / Math.max(1, r - 1) + singletons * q / (1.0 - q));
+    }
+
+    /**
+     * Get the fraction of distinct genomes estimated in the latest generation.
+     *
+     * @return Estimated distinct fraction, in [0, 1].
+     */
+    public double getDistinctFraction() {
+        return distinctFraction;
+    }
+
+    /**
+     * Get the mean pairwise genome distance estimated in the latest
+     * generation.
+     *
+     * @return Estimated mean distance.
+     */
+    public double getMeanDistance() {
+        return meanDistance;
+    }
+
+    /**
+     * Get the number of pairs sampled in the latest generation.
+     *
+     * @return Number of pairs.
+     */
+    public int getPairsSampled() {
+        return pairsSampled;
+    }
+
+    /**
+     * Get the number of individuals drawn for the distinct-genome estimate.
+     *
+     * @return Sample size, or 0 if the whole population is sketched.
+     */
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    /**
+     * Set the number of individuals drawn for the distinct-genome estimate.
+     * Larger samples give more accurate estimates when most genomes have only
+     * a few copies; populations no larger than the sample size are sketched
+     * whole.
+     *
+     * @param sampleSize Sample size, or 0 to sketch the whole population.
+     * @throws IllegalArgumentException If the parameter is negative.
+     */
+    final public void setSampleSize(int sampleSize) throws IllegalArgumentException {
+        if (sampleSize < 0) {
+            throw new IllegalArgumentException("Illegal sampleSize to setSampleSize: " + sampleSize);
+        }
+        this.sampleSize = sampleSize;
+        sampleIndices = new int[sampleSize];
+        sampleHashes = new long[sampleSize];
+    }
+
+    /**
+     * Get the error bound for the mean distance estimate.
+     *
+     * @return Target relative half-width of the 95% confidence interval.
+     */
+    public double getErrorBound() {
+        return errorBound;
+    }
+
+    /**
+     * Set the error bound for the mean distance estimate. Pairs are sampled
+     * until the 95% confidence interval is within this fraction of the mean,
+     * or until the maximum number of pairs is reached.
+     *
+     * @param errorBound Target relative half-width, greater than 0.
+     * @throws IllegalArgumentException If the parameter is not positive.
+     */
+    public void setErrorBound(double errorBound) throws IllegalArgumentException {
+        if (errorBound <= 0.0) {
+            throw new IllegalArgumentException("Illegal errorBound to setErrorBound: " + errorBound);
+        }
+        this.errorBound = errorBound;
+    }
+
+    /**
+     * Get the largest number of pairs sampled per generation.
+     *
+     * @return Maximum number of pairs.
+     */
+    public int getMaxPairs() {
+        return maxPairs;
+    }
+
+    /**
+     * Set the largest number of pairs sampled per generation.
+     *
+     * @param maxPairs Maximum number of pairs, greater than 0.
+     * @throws IllegalArgumentException If the parameter is not positive.
+     */
+    public void setMaxPairs(int maxPairs) throws IllegalArgumentException {
+        if (maxPairs <= 0) {
+            throw new IllegalArgumentException("Illegal maxPairs to setMaxPairs: " + maxPairs);
+        }
+        this.maxPairs = maxPairs;
+    }
+
+    /**
+     * Get the sink the statistics are written to.
+     *
+     * @return Sink, or null if the statistics are printed to standard output.
+     */
+    public StatsSink getSink() {
+        return sink;
+    }
+
+    /**
+     * Set the sink the statistics are written to; see StandardStats.setSink.
+     *
+     * @param sink Sink, or null to print to standard output.
+     */
+    public void setSink(StatsSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Write one generation's statistics to the sink.
+     *
+     * @param values Values, in the order of NAMES.
+     * @throws UncheckedIOException If the sink can't write the record.
+     */
+    private void emit(double... values) throws UncheckedIOException {
+        try {
+            sink.write(new StatsRecord("SketchDiversityStats", generationNumber, NAMES, values));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Get the number of individuals per partition when gathering fitness
+     * statistics in parallel.
+     *
+     * @return the parallel threshold, or 0 if statistics are gathered
+     * serially.
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Set the number of individuals per partition when gathering fitness
+     * statistics in parallel.
+     *
+     * @param parallelThreshold Individuals per partition; 0 gathers
+     * statistics serially.
+     * @throws IllegalArgumentException If the parameter is negative.
+     */
+    public void setParallelThreshold(int parallelThreshold) throws IllegalArgumentException {
+        if (parallelThreshold < 0) {
+            throw new IllegalArgumentException("Illegal parallelThreshold to setParallelThreshold: "
+                    + parallelThreshold);
+        }
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Get the mean distance below which the population is re-seeded.
+     *
+     * @return Distance threshold, or 0 if distance doesn't trigger re-seeding.
+     */
+    public double getDistanceThreshold() {
+        return distanceThreshold;
+    }
+
+    /**
+     * Set the mean distance below which the population is re-seeded.
+     *
+     * @param distanceThreshold Distance threshold, or 0 so that only the
+     * distinct fraction triggers re-seeding.
+     */
+    public void setDistanceThreshold(double distanceThreshold) {
+        this.distanceThreshold = distanceThreshold;
+    }
+
+    @Override
+    public void saveState(DataOutput out, GenomeCodec codec) throws IOException {
+        out.writeInt(generationNumber);
+        out.writeDouble(bestEverFitness);
+        Checkpointer.writeIndividual(out, codec, bestEverIndividual);
+    }
+
+    @Override
+    public void loadState(DataInput in, GenomeCodec codec, Problem problem) throws IOException {
+        generationNumber = in.readInt();
+        bestEverFitness = in.readDouble();
+        bestEverIndividual = Checkpointer.readIndividual(in, codec, problem);
+    }
+
+    @Override
+    public String toString() {
+        return "SketchDiversityStats, threshold = " + threshold
+                + ", distanceThreshold = " + distanceThreshold
+                + ", keepPerc = " + keepPercentage
+                + ", sampleSize = " + sampleSize
+                + ", errorBound = " + errorBound
+                + (parallelThreshold > 0 ? ", parallelThreshold = " + parallelThreshold : "");
+    }
+}
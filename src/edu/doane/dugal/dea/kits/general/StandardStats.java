@@ -1,17 +1,50 @@
 package edu.doane.dugal.dea.kits.general;
 
+import edu.doane.dugal.dea.Checkpointable;
+import edu.doane.dugal.dea.Checkpointer;
+import edu.doane.dugal.dea.ChunkAware;
+import edu.doane.dugal.dea.ChunkOperator;
+import edu.doane.dugal.dea.GenomeCodec;
 import edu.doane.dugal.dea.Individual;
-import edu.doane.dugal.dea.Operator;
+import edu.doane.dugal.dea.PRNG;
+import edu.doane.dugal.dea.Problem;
+import edu.doane.dugal.dea.io.StatsRecord;
+import edu.doane.dugal.dea.io.StatsSink;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Class to do standard population statistics (min, max, average, and best- ever
- * fitness), and dump them to standard output. Do not re-use objects of this
- * class; use a new one for each run, so that best-ever values are reset.
+ * fitness), and dump them to standard output, or write them to a StatsSink.
+ * Do not re-use objects of this class; use a new one for each run, so that
+ * best-ever values are reset.
+ *
+ * The statistics are gathered in a FitnessSummary, which also has the variance
+ * of the fitness values, and the best-ever individual is copied at most once
+ * per generation. With a parallel threshold set, the population is summarized
+ * in partitions of that many individuals on the common fork/join pool, and
+ * the partial summaries are merged.
+ *
+ * For out-of-core runs, the statistics are accumulated over every chunk of a
+ * pass, and reported once when the pass ends. In the DEA's fused mode, each
+ * chunk is summarized on the worker thread that handles it, so placing this
+ * operator right after evaluation gathers the statistics while the fitness
+ * values are still in cache.
  *
  * @author Mark M. Meysenburg
- * @version 12/26/2014
+ * @version 10/18/2026
  */
-public class StandardStats implements Operator {
+public class StandardStats implements ChunkOperator, ChunkAware, Checkpointable {
+
+    /**
+     * Names of the values in each StatsRecord: min, max, and average fitness,
+     * and best-ever fitness.
+     */
+    private static final String[] NAMES = {"min", "max", "avg", "best"};
 
     /**
      * Fitness of the best individual ever seen.
@@ -34,15 +67,47 @@ public class StandardStats implements Operator {
      */
     private int generationNumber;
 
+    /**
+     * True while a chunked pass over the population is in progress.
+     */
+    private boolean inPass;
+
+    /**
+     * Statistics for the current generation.
+     */
+    private FitnessSummary summary;
+
+    /**
+     * Number of individuals per partition in parallel mode, or 0 to gather
+     * statistics serially.
+     */
+    private int parallelThreshold;
+
+    /**
+     * Summaries of the chunks of a fused pass, keyed by the index of the first
+     * individual in the chunk, so they are merged in population order.
+     */
+    private final TreeMap<Integer, FitnessSummary> chunks;
+
+    /**
+     * Population seen during a fused pass, used to copy the best individual
+     * when the pass ends.
+     */
+    private Individual[] passPopulation;
+
+    /**
+     * Sink the statistics are written to, or null to print them to standard
+     * output.
+     */
+    private StatsSink sink;
+
     /**
      * Default constructor. Create an instance with the best-ever fitness set to
      * negative infinity, the best-ever Individual reference set to null, and
      * the number of decimal places to display in output set to 4.
      */
     public StandardStats() {
-        bestEverFitness = Double.NEGATIVE_INFINITY;
-        bestEverIndividual = null;
-        makeFormat(4);
+        this(4, 0);
     }
 
     /**
@@ -54,9 +119,24 @@ public class StandardStats implements Operator {
      * @param decimalPlaces Number of decimal places to show in output.
      */
     public StandardStats(int decimalPlaces) {
+        this(decimalPlaces, 0);
+    }
+
+    /**
+     * Initializing constructor. Create an instance as above, which gathers
+     * statistics in parallel for populations larger than the threshold.
+     *
+     * @param decimalPlaces Number of decimal places to show in output.
+     * @param parallelThreshold Number of individuals per partition; 0 gathers
+     * statistics serially.
+     */
+    public StandardStats(int decimalPlaces, int parallelThreshold) {
         bestEverFitness = Double.NEGATIVE_INFINITY;
         bestEverIndividual = null;
         makeFormat(decimalPlaces);
+        setParallelThreshold(parallelThreshold);
+        summary = new FitnessSummary();
+        chunks = new TreeMap<>();
     }
 
     /**
@@ -76,46 +156,176 @@ public class StandardStats implements Operator {
         return bestEverIndividual;
     }
 
+    /**
+     * Get the statistics for the most recent generation, including the
+     * variance of the fitness values.
+     *
+     * @return Summary of the latest generation.
+     */
+    public FitnessSummary getSummary() {
+        return summary;
+    }
+
     /**
      * Find min, max, and average fitness for the specified population, and
-     * output to standard output.
+     * output to standard output. During a chunked pass, the population is one
+     * chunk, and output is held until endPass().
      *
      * @param population Array of Individuals to get statistics for.
      */
     @Override
     public void operate(Individual[] population) {
-        double min = Double.POSITIVE_INFINITY;
-        double max = Double.NEGATIVE_INFINITY;
-        double avg = 0.0;
+        FitnessSummary s = FitnessSummary.summarize(population,
+                ForkJoinPool.commonPool(), parallelThreshold);
+        if (s.getMax() > bestEverFitness) {
+            bestEverFitness = s.getMax();
+            bestEverIndividual = Individual.copy(population[s.getArgmax()]);
+        }
+
+        if (inPass) {
+            summary.merge(s);
+        } else {
+            summary = s;
+            report();
+        }
+    }
 
-        for (Individual i : population) {
+    /**
+     * Summarize one chunk of the population, during a fused pass. The chunk
+     * summaries are merged, and the best-ever individual updated, when the
+     * pass ends.
+     *
+     * @param population Population to get statistics for.
+     * @param start Index of the first individual in the chunk.
+     * @param end Index one past the last individual in the chunk.
+     * @param prng Ignored; statistics draw no random numbers.
+     */
+    @Override
+    public void operate(Individual[] population, int start, int end, PRNG prng) {
+        FitnessSummary s = new FitnessSummary();
+        s.add(population, start, end);
+        synchronized (chunks) {
+            chunks.put(start, s);
+            passPopulation = population;
+        }
+    }
 
-            double f = i.getFitness();
+    @Override
+    public void beginPass(long populationSize) {
+        summary = new FitnessSummary();
+        inPass = true;
+    }
 
-            if (f < min) {
-                min = f;
+    @Override
+    public void endPass() {
+        synchronized (chunks) {
+            if (!chunks.isEmpty()) {
+                for (FitnessSummary s : chunks.values()) {
+                    summary.merge(s);
+                }
+                if (summary.getMax() > bestEverFitness) {
+                    bestEverFitness = summary.getMax();
+                    bestEverIndividual = Individual.copy(passPopulation[summary.getArgmax()]);
+                }
+                chunks.clear();
+                passPopulation = null;
             }
+        }
+        inPass = false;
+        report();
+    }
 
-            if (f > max) {
-                max = f;
-            }
+    /**
+     * Output the per-generation statistics, and move on to the next
+     * generation.
+     */
+    private void report() {
+        if (sink != null) {
+            emit(summary.getMin(), summary.getMax(), summary.getMean(), bestEverFitness);
+        } else {
+            System.out.printf(format, generationNumber, summary.getMin(), summary.getMax(),
+                    summary.getMean(), bestEverFitness);
+        }
+        generationNumber++;
+    }
 
-            if (f > bestEverFitness) {
-                bestEverFitness = f;
-                bestEverIndividual = Individual.copy(i);
-            }
+    /**
+     * Get the sink the statistics are written to.
+     *
+     * @return Sink, or null if the statistics are printed to standard output.
+     */
+    public StatsSink getSink() {
+        return sink;
+    }
 
-            avg += f;
+    /**
+     * Set the sink the statistics are written to. Each generation, a
+     * StatsRecord is written to the sink instead of a line to standard
+     * output; use an AsyncStatsSink to keep the writing off the DEA thread.
+     * The sink isn't closed by this operator.
+     *
+     * @param sink Sink, or null to print to standard output.
+     */
+    public void setSink(StatsSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Write one generation's statistics to the sink.
+     *
+     * @param values Values, in the order of NAMES.
+     * @throws UncheckedIOException If the sink can't write the record.
+     */
+    private void emit(double... values) throws UncheckedIOException {
+        try {
+            sink.write(new StatsRecord("StandardStats", generationNumber, NAMES, values));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
         }
+    }
 
-        avg /= population.length;
+    /**
+     * Get the number of individuals per partition in parallel mode.
+     *
+     * @return the parallel threshold, or 0 if statistics are gathered
+     * serially.
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
 
-        System.out.printf(format, generationNumber, min, max, avg, bestEverFitness);
-        generationNumber++;
+    /**
+     * Set the number of individuals per partition in parallel mode.
+     *
+     * @param parallelThreshold Individuals per partition; 0 gathers
+     * statistics serially.
+     * @throws IllegalArgumentException If the parameter is negative.
+     */
+    final public void setParallelThreshold(int parallelThreshold) throws IllegalArgumentException {
+        if (parallelThreshold < 0) {
+            throw new IllegalArgumentException("Illegal parallelThreshold to setParallelThreshold: "
+                    + parallelThreshold);
+        }
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    @Override
+    public void saveState(DataOutput out, GenomeCodec codec) throws IOException {
+        out.writeInt(generationNumber);
+        out.writeDouble(bestEverFitness);
+        Checkpointer.writeIndividual(out, codec, bestEverIndividual);
+    }
+
+    @Override
+    public void loadState(DataInput in, GenomeCodec codec, Problem problem) throws IOException {
+        generationNumber = in.readInt();
+        bestEverFitness = in.readDouble();
+        bestEverIndividual = Checkpointer.readIndividual(in, codec, problem);
     }
 
     @Override
     public String toString() {
-        return "StandardStats";
+        return "StandardStats"
+                + (parallelThreshold > 0 ? ", parallel, threshold = " + parallelThreshold : "");
     }
 }
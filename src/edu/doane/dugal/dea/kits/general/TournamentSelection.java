@@ -1,16 +1,20 @@
 package edu.doane.dugal.dea.kits.general;
 
 import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.IndexSelection;
 import edu.doane.dugal.dea.Operator;
 import edu.doane.dugal.dea.PRNG;
 
 /**
- * Class implementing non-elitist tournament selection.
+ * Class implementing non-elitist tournament selection. In double-buffered mode,
+ * the operator keeps a second, preallocated population; tournament winners are
+ * copied into it with Individual.copyInto(), and the two populations are then
+ * swapped, so steady-state selection allocates no new objects.
  *
  * @author Mark M. Meysenburg
- * @version 12/26/2014
+ * @version 10/18/2026
  */
-public class TournamentSelection implements Operator {
+public class TournamentSelection implements Operator, IndexSelection {
 
     /**
      * Tournament size. Defaults to 2.
@@ -22,6 +26,18 @@ public class TournamentSelection implements Operator {
      */
     final private PRNG prng;
 
+    /**
+     * True if the operator copies winners into a preallocated second
+     * population instead of allocating new individuals.
+     */
+    private boolean doubleBuffered;
+
+    /**
+     * Second population used in double-buffered mode. Created from copies of
+     * the population on first use, unless one is provided via setBuffer().
+     */
+    private Individual[] buffer;
+
     /**
      * Create a new TournamentSelection operator with default tournament size 2.
      */
@@ -41,16 +57,53 @@ public class TournamentSelection implements Operator {
         prng = PRNG.getInstance();
     }
 
+    /**
+     * Create a new TournamentSelection operator with the specified tournament
+     * size, optionally in double-buffered mode.
+     *
+     * @param k Tournament size for the operator.
+     * @param doubleBuffered True to copy winners into a preallocated second
+     * population instead of allocating new individuals.
+     */
+    public TournamentSelection(int k, boolean doubleBuffered) {
+        this(k);
+        setDoubleBuffered(doubleBuffered);
+    }
+
     /**
      * Perform a tournament selection operation on the population, with
      * tournament size k.
      *
      * @param population Array of Individuals to perform selection on.
+     * @throws IllegalStateException If the population is made of views onto a
+     * population store, such as a DoublePopulation, and no buffer of the
+     * same size was given with setBuffer().
      */
     @Override
-    public void operate(Individual[] population) {
+    public void operate(Individual[] population) throws IllegalStateException {
         int n = population.length;
-        Individual[] newPop = new Individual[n];
+        if (population[0].isView() && (!doubleBuffered || buffer == null
+                || buffer.length != n)) {
+            // copies would leave the store; selection must copy into the
+            // store's second set of views instead
+            throw new IllegalStateException("Population of views needs the buffer of its "
+                    + "store; call setBuffer() with the store's getBuffer()");
+        }
+        Individual[] newPop;
+        // individuals that can't copy into existing ones are copied as in
+        // single-buffered mode
+        boolean buffered = doubleBuffered && population[0].canCopyInto();
+        if (buffered) {
+            if (buffer == null || buffer.length != n) {
+                buffer = new Individual[n];
+                for (int i = 0; i < n; i++) {
+                    buffer[i] = Individual.copy(population[i]);
+                }
+            }
+            newPop = buffer;
+        } else {
+            newPop = new Individual[n];
+        }
 
         // fill new population using k-tournament selection
         for (int i = 0; i < n; i++) {
@@ -67,14 +120,93 @@ public class TournamentSelection implements Operator {
             } // look at k individuals
 
             // clone winner into spot i
-            newPop[i] = Individual.copy(winner);
+            if (buffered) {
+                winner.copyInto(newPop[i]);
+            } else {
+                newPop[i] = Individual.copy(winner);
+            }
         } // fill new population
 
-        // copy new population back to original one
+        // copy new population back to original one; in double-buffered
+        // mode, the old individuals become the buffer for next time
         for(int i = 0; i < population.length; i++) {
-            population[i] = null;
+            Individual t = population[i];
             population[i] = newPop[i];
+            newPop[i] = buffered ? t : null;
+        }
+    }
+
+    /**
+     * Find out if this operator is in double-buffered mode.
+     *
+     * @return True if winners are copied into a preallocated second
+     * population.
+     */
+    public boolean isDoubleBuffered() {
+        return doubleBuffered;
+    }
+
+    /**
+     * Turn double-buffered mode on or off. Double-buffered mode only takes
+     * effect for individuals that support Individual.copyInto(); others are
+     * copied with copy(), as in single-buffered mode.
+     *
+     * @param doubleBuffered True to copy winners into a preallocated second
+     * population instead of allocating new individuals.
+     */
+    public final void setDoubleBuffered(boolean doubleBuffered) {
+        this.doubleBuffered = doubleBuffered;
+        if (!doubleBuffered) {
+            buffer = null;
+        }
+    }
+
+    /**
+     * Provide the second population used in double-buffered mode, instead of
+     * having the operator create one from copies on first use. The buffer must
+     * be the same size as the population, and must not share any individuals
+     * with it. Calling this method turns double-buffered mode on. Populations
+     * of views, such as those of DoublePopulation and the off-heap
+     * populations, must be given their store's getBuffer().
+     *
+     * @param buffer Array of individuals to copy winners into.
+     */
+    public void setBuffer(Individual[] buffer) {
+        this.buffer = buffer;
+        doubleBuffered = true;
+    }
+
+    /**
+     * Perform tournament selection on a fitness index, with tournament size k,
+     * for out-of-core populations.
+     *
+     * @param fitness Fitness of each individual in the population.
+     * @param parents Array to fill with the index of the winner for each slot.
+     */
+    @Override
+    public void select(double[] fitness, int[] parents) {
+        int n = fitness.length;
+        for (int i = 0; i < n; i++) {
+            parents[i] = tournament(fitness);
+        }
+    }
+
+    /**
+     * Run one k-tournament on a fitness index.
+     *
+     * @param fitness Fitness of each individual in the population.
+     * @return Index of the winner.
+     */
+    private int tournament(double[] fitness) {
+        int n = fitness.length;
+        int winner = prng.nextInt(0, n - 1);
+        for (int j = 1; j < k; j++) {
+            int c = prng.nextInt(0, n - 1);
+            if (fitness[c] > fitness[winner]) {
+                winner = c;
+            }
         }
+        return winner;
     }
 
     /**
@@ -100,7 +232,8 @@ public class TournamentSelection implements Operator {
 
     @Override
     public String toString() {
-        return "TournamentSelection, k = " + k;
+        return "TournamentSelection, k = " + k
+                + (doubleBuffered ? ", double-buffered" : "");
     }
 
 }
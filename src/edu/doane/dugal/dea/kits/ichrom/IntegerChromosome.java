@@ -4,18 +4,27 @@ import edu.doane.dugal.dea.Individual;
 import edu.doane.dugal.dea.PRNG;
 
 /**
- * Class representing a fixed-length chromosome of integers.
+ * Class representing a fixed-length chromosome of integers. Gene access goes
+ * through getGene() and putGene(), so that subclasses such as the off-heap
+ * views of OffHeapIntegerPopulation can keep their genes somewhere other than
+ * the chromosome array.
  *
  * @author Mark M. Meysenburg
- * @version 12/30/2014
+ * @version 10/18/2026
  */
 public class IntegerChromosome extends Individual {
 
     /**
-     * Array of integers representing the chromosome for this individual.
+     * Array of integers representing the chromosome for this individual. Null
+     * for views that keep their genes elsewhere.
      */
     int[] chromosome;
 
+    /**
+     * Number of genes in the chromosome.
+     */
+    int length;
+
     /**
      * Low end of legal range of values for a gene in the chromosome.
      */
@@ -50,32 +59,144 @@ public class IntegerChromosome extends Individual {
     public IntegerChromosome(int length, int lo, int hi) {
         super();
 
+        this.length = length;
         this.lo = lo;
         this.hi = hi;
 
         prng = PRNG.getInstance();
 
         chromosome = new int[length];
+        prng.nextInts(chromosome, lo, hi);
+    }
 
-        for (int i = 0; i < chromosome.length; i++) {
-            randomizeGene(i);
-        }
+    /**
+     * View constructor. Create an IntegerChromosome with no gene array, for
+     * subclasses that store their genes elsewhere.
+     *
+     * @param length Number of integers in the chromosome.
+     * @param lo Low end of legal range of gene values in the chromosome.
+     * @param hi High end of legal range of gene values in the chromosome.
+     * @param external Ignored; distinguishes this constructor.
+     */
+    IntegerChromosome(int length, int lo, int hi, boolean external) {
+        super();
+        this.length = length;
+        this.lo = lo;
+        this.hi = hi;
+        prng = PRNG.getInstance();
     }
-    
+
     /**
      * Copy constructor. Make this IntegerChromosome deep-copy identical to the
      * parameter.
-     * 
+     *
      * @param ind IntegerChromosome object to mimic
      */
     public IntegerChromosome(IntegerChromosome ind) {
         super();
-        chromosome = new int[ind.chromosome.length];
-        System.arraycopy(ind.chromosome, 0, chromosome, 0, chromosome.length);
+        length = ind.length;
+        chromosome = new int[length];
+        if (ind.chromosome != null) {
+            System.arraycopy(ind.chromosome, 0, chromosome, 0, length);
+        } else {
+            for (int i = 0; i < length; i++) {
+                chromosome[i] = ind.getGene(i);
+            }
+        }
         hi = ind.hi;
         lo = ind.lo;
         prng = ind.prng;
         setFitness(ind.getFitness());
+        setModified(ind.isModified());
+    }
+
+    /**
+     * Create a deep copy of this individual via the copy constructor, without
+     * reflection. Subclasses that don't override this method still get copied
+     * through their own copy constructor.
+     *
+     * @return A new IntegerChromosome, deep-copy identical to this one
+     */
+    @Override
+    public IntegerChromosome copy() {
+        if (getClass() != IntegerChromosome.class) {
+            return (IntegerChromosome) super.copy();
+        }
+        return new IntegerChromosome(this);
+    }
+
+    /**
+     * Copy this individual's genes, range, and fitness into another
+     * IntegerChromosome, reusing its gene storage when the lengths match.
+     *
+     * @param target IntegerChromosome to overwrite
+     * @throws IllegalArgumentException If the target is of another class, or
+     * is a view with a different length, which can't be given storage of its
+     * own without leaving its population.
+     */
+    @Override
+    public void copyInto(Individual target) throws IllegalArgumentException {
+        checkTarget(target);
+        IntegerChromosome t = (IntegerChromosome) target;
+        if (t.length != length) {
+            if (t.chromosome == null) {
+                throw new IllegalArgumentException("Illegal target to copyInto: view of length "
+                        + t.length + ", not " + length);
+            }
+            t.chromosome = new int[length];
+            t.length = length;
+        }
+        if (chromosome != null && t.chromosome != null) {
+            System.arraycopy(chromosome, 0, t.chromosome, 0, length);
+        } else {
+            for (int i = 0; i < length; i++) {
+                t.putGene(i, getGene(i));
+            }
+        }
+        t.lo = lo;
+        t.hi = hi;
+        t.setFitness(getFitness());
+        t.setModified(isModified());
+    }
+
+    /**
+     * Find out if this individual supports copyInto(). Only a plain
+     * IntegerChromosome or a view of an OffHeapIntegerPopulation does, since
+     * copyInto() copies nothing that a subclass adds; other subclasses are
+     * copied with copy().
+     *
+     * @return True if copyInto() makes an exact copy of this individual.
+     */
+    @Override
+    public boolean canCopyInto() {
+        return exact(this);
+    }
+
+    /**
+     * Find out if a chromosome is a plain IntegerChromosome or one of the
+     * kit's views, whose state copyInto() copies completely.
+     *
+     * @param c Chromosome to check
+     * @return True if c has no state beyond this class's own
+     */
+    private static boolean exact(IntegerChromosome c) {
+        return c.getClass() == IntegerChromosome.class || c instanceof OffHeapIntegerChromosome;
+    }
+
+    /**
+     * Check that copyInto() can overwrite a target without leaving any of its
+     * state behind: the target must be of this individual's own class, or
+     * both must be plain IntegerChromosomes or views.
+     *
+     * @param target Individual to be overwritten
+     * @throws IllegalArgumentException If the target is of another class.
+     */
+    private void checkTarget(Individual target) throws IllegalArgumentException {
+        if (target.getClass() != getClass() && !(exact(this)
+                && target instanceof IntegerChromosome && exact((IntegerChromosome) target))) {
+            throw new IllegalArgumentException("Illegal target to copyInto: "
+                    + target.getClass().getName() + ", not " + getClass().getName());
+        }
     }
 
     /**
@@ -84,8 +205,47 @@ public class IntegerChromosome extends Individual {
      *
      * @param gene Which gene in the chromosome to randomize.
      */
-    final public void randomizeGene(int gene) {
-        chromosome[gene] = prng.nextInt(lo, hi);
+    public void randomizeGene(int gene) {
+        randomizeGene(gene, prng);
+    }
+
+    /**
+     * Randomize one of the genes in the chromosome, drawing from the specified
+     * random number generator instead of the individual's own. Parallel
+     * operators use this to give each thread its own stream.
+     *
+     * @param gene Which gene in the chromosome to randomize.
+     * @param prng Random number generator to draw the new value from.
+     */
+    public void randomizeGene(int gene, PRNG prng) {
+        putGene(gene, prng.nextInt(lo, hi));
+    }
+
+    /**
+     * Get the low end of the legal range of gene values.
+     *
+     * @return Smallest legal gene value.
+     */
+    public int getLo() {
+        return lo;
+    }
+
+    /**
+     * Get the high end of the legal range of gene values.
+     *
+     * @return Largest legal gene value.
+     */
+    public int getHi() {
+        return hi;
+    }
+
+    /**
+     * Get the length of this individual's chromosome.
+     *
+     * @return Number of integers in the chromosome.
+     */
+    public int getLength() {
+        return length;
     }
 
     /**
@@ -98,19 +258,47 @@ public class IntegerChromosome extends Individual {
         return chromosome[gene];
     }
 
+    /**
+     * Change the value of one of the genes in the chromosome.
+     *
+     * @param gene Which gene to change
+     * @param value New value for the gene, in [lo, hi]
+     * @throws IllegalArgumentException If value is not in [lo, hi]
+     */
+    public void setGene(int gene, int value) throws IllegalArgumentException {
+        if (value < lo || value > hi) {
+            throw new IllegalArgumentException("Illegal value: " + value);
+        }
+
+        putGene(gene, value);
+    }
+
+    /**
+     * Store a gene value without checking its range. Used by the operators in
+     * this package, which only move legal values around, and overridden by
+     * views that keep their genes elsewhere.
+     *
+     * @param gene Which gene to change
+     * @param value New value for the gene
+     */
+    void putGene(int gene, int value) {
+        chromosome[gene] = value;
+        setModified(true);
+    }
+
     @Override
     public String toString() {
         StringBuilder s = new StringBuilder("[");
 
-        for (int i = 0; i < chromosome.length - 1; i++) {
-            s.append(chromosome[i]).append(", ");
+        for (int i = 0; i < length - 1; i++) {
+            s.append(getGene(i)).append(", ");
         }
 
-        s.append(chromosome[chromosome.length - 1]).append("]");
+        s.append(getGene(length - 1)).append("]");
 
         return s.toString();
     }
-    
+
     @Override
     public boolean equals(Object o) {
         return compareTo(o) == 0;
@@ -119,19 +307,78 @@ public class IntegerChromosome extends Individual {
     @Override
     public int compareTo(Object o) {
         IntegerChromosome io = (IntegerChromosome)o;
-        
-        if(io.chromosome.length != chromosome.length) {
-            return chromosome.length - io.chromosome.length;
+
+        if(io.length != length) {
+            return length - io.length;
         }
-        
-        for(int i = 0; i < chromosome.length; i++) {
-            if(chromosome[i] < io.chromosome[i]) {
+
+        for(int i = 0; i < length; i++) {
+            int a = getGene(i);
+            int b = io.getGene(i);
+            if(a < b) {
                 return -1;
-            } else if(chromosome[i] > io.chromosome[i]) {
-                return 1; 
+            } else if(a > b) {
+                return 1;
             }
         }
-        
+
         return 0;
     }
+
+    /**
+     * Hash the genes of this chromosome.
+     *
+     * @param seed Seed picking the hash function.
+     * @return Hash of the genome.
+     */
+    @Override
+    public long genomeHash(long seed) {
+        long h = hashStart(length, seed);
+        for (int i = 0; i < length; i++) {
+            h = hashStep(h, getGene(i));
+        }
+        return hashFinish(h);
+    }
+
+    /**
+     * Compare the genes of two chromosomes.
+     *
+     * @param other Individual to compare with.
+     * @return True if other is an IntegerChromosome with the same length and
+     * gene values.
+     */
+    @Override
+    public boolean genomeEquals(Individual other) {
+        if (!(other instanceof IntegerChromosome)) {
+            return false;
+        }
+        IntegerChromosome o = (IntegerChromosome) other;
+        if (o.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (getGene(i) != o.getGene(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the Euclidean distance between the genes of two chromosomes of the
+     * same length.
+     *
+     * @param other IntegerChromosome to measure the distance to.
+     * @return Euclidean distance between the two gene vectors.
+     */
+    @Override
+    public double genomeDistance(Individual other) {
+        IntegerChromosome o = (IntegerChromosome) other;
+        double sum = 0.0;
+        for (int i = 0; i < length; i++) {
+            double d = getGene(i) - o.getGene(i);
+            sum += d * d;
+        }
+        return Math.sqrt(sum);
+    }
 }
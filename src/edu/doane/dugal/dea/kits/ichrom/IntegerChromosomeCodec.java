@@ -0,0 +1,58 @@
+package edu.doane.dugal.dea.kits.ichrom;
+
+import edu.doane.dugal.dea.GenomeCodec;
+import edu.doane.dugal.dea.Individual;
+import java.nio.ByteBuffer;
+
+/**
+ * GenomeCodec for IntegerChromosome individuals of a fixed length. A record is
+ * the fitness as a double, followed by the genes as ints, in the buffer's byte
+ * order.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class IntegerChromosomeCodec implements GenomeCodec {
+
+    /**
+     * Number of genes per individual.
+     */
+    private final int length;
+
+    /**
+     * Create a codec for IntegerChromosomes with the specified length.
+     *
+     * @param length Number of genes per individual.
+     */
+    public IntegerChromosomeCodec(int length) {
+        this.length = length;
+    }
+
+    @Override
+    public int getRecordSize() {
+        return 8 + 4 * length;
+    }
+
+    @Override
+    public void encode(Individual ind, ByteBuffer buf, int offset) {
+        IntegerChromosome ic = (IntegerChromosome) ind;
+        buf.putDouble(offset, ic.getFitness());
+        for (int i = 0; i < length; i++) {
+            buf.putInt(offset + 8 + 4 * i, ic.getGene(i));
+        }
+    }
+
+    @Override
+    public void decode(ByteBuffer buf, int offset, Individual ind) {
+        IntegerChromosome ic = (IntegerChromosome) ind;
+        for (int i = 0; i < length; i++) {
+            ic.putGene(i, buf.getInt(offset + 8 + 4 * i));
+        }
+        ic.setFitness(buf.getDouble(offset));
+    }
+
+    @Override
+    public String toString() {
+        return "IntegerChromosomeCodec, length = " + length;
+    }
+}
@@ -0,0 +1,69 @@
+package edu.doane.dugal.dea.kits.ichrom;
+
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.io.SnapshotCodec;
+import java.nio.ByteBuffer;
+
+/**
+ * SnapshotCodec for IntegerChromosome individuals. Each gene is stored as its
+ * offset from lo, in the fewest bytes that hold hi - lo; e.g., genes in
+ * [0, 200] take 1 byte each instead of 4.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class IntegerSnapshotCodec extends SnapshotCodec {
+
+    /**
+     * Create a codec for IntegerChromosomes with the specified length and
+     * range.
+     *
+     * @param length Number of genes per individual.
+     * @param lo Low end of the legal range of gene values.
+     * @param hi High end of the legal range of gene values.
+     * @throws IllegalArgumentException If hi is less than lo.
+     */
+    public IntegerSnapshotCodec(int length, int lo, int hi) throws IllegalArgumentException {
+        super(SCALED, length, bytes(lo, hi), lo, 1.0);
+    }
+
+    /**
+     * Work out the number of bytes per gene.
+     *
+     * @param lo Low end of the legal range of gene values.
+     * @param hi High end of the legal range of gene values.
+     * @return 1, 2, or 4.
+     * @throws IllegalArgumentException If hi is less than lo.
+     */
+    private static int bytes(int lo, int hi) throws IllegalArgumentException {
+        if (hi < lo) {
+            throw new IllegalArgumentException("Illegal range to IntegerSnapshotCodec: ["
+                    + lo + ", " + hi + "]");
+        }
+        return bytesFor((double) hi - lo);
+    }
+
+    @Override
+    public void encode(Individual ind, ByteBuffer buf, int offset) {
+        IntegerChromosome ic = (IntegerChromosome) ind;
+        buf.putDouble(offset, ic.getFitness());
+        for (int i = 0; i < getLength(); i++) {
+            putValue(buf, offset, i, ic.getGene(i));
+        }
+    }
+
+    @Override
+    public void decode(ByteBuffer buf, int offset, Individual ind) {
+        IntegerChromosome ic = (IntegerChromosome) ind;
+        for (int i = 0; i < getLength(); i++) {
+            ic.putGene(i, (int) getValue(buf, offset, i));
+        }
+        ic.setFitness(buf.getDouble(offset));
+    }
+
+    @Override
+    public String toString() {
+        return "IntegerSnapshotCodec, length = " + getLength() + ", bytes per gene = "
+                + getGeneBytes();
+    }
+}
@@ -0,0 +1,103 @@
+package edu.doane.dugal.dea.kits.ichrom;
+
+import java.nio.ByteBuffer;
+
+/**
+ * IntegerChromosome whose fitness and genes live in a record of an
+ * OffHeapIntegerPopulation. The record is the fitness as a double, followed by
+ * the genes as ints. Copies made with copy() are ordinary, stand-alone
+ * IntegerChromosomes.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+class OffHeapIntegerChromosome extends IntegerChromosome {
+
+    /**
+     * Segment holding this individual's record; null once the population has
+     * been closed.
+     */
+    private ByteBuffer buf;
+
+    /**
+     * Byte offset of this individual's record in the segment.
+     */
+    private final int base;
+
+    /**
+     * Create a view onto one record.
+     *
+     * @param buf Segment holding the record
+     * @param base Byte offset of the record in the segment
+     * @param length Number of genes per individual
+     * @param lo Low end of legal range of gene values
+     * @param hi High end of legal range of gene values
+     */
+    OffHeapIntegerChromosome(ByteBuffer buf, int base, int length, int lo,
+            int hi) {
+        super(length, lo, hi, true);
+        this.buf = buf;
+        this.base = base;
+    }
+
+    /**
+     * Get the segment, making sure the population is still open.
+     *
+     * @return Segment holding the record.
+     * @throws IllegalStateException If the population has been closed.
+     */
+    private ByteBuffer buffer() throws IllegalStateException {
+        if (buf == null) {
+            throw new IllegalStateException("Off-heap population has been closed");
+        }
+        return buf;
+    }
+
+    /**
+     * Detach this view from its segment.
+     */
+    void release() {
+        buf = null;
+    }
+
+    @Override
+    public int getGene(int gene) {
+        return buffer().getInt(base + 8 + 4 * gene);
+    }
+
+    @Override
+    void putGene(int gene, int value) {
+        buffer().putInt(base + 8 + 4 * gene, value);
+        setModified(true);
+    }
+
+    @Override
+    public double getFitness() {
+        return buffer().getDouble(base);
+    }
+
+    @Override
+    public void setFitness(double fitness) {
+        buffer().putDouble(base, fitness);
+    }
+
+    /**
+     * Create a stand-alone, on-heap deep copy of this individual.
+     *
+     * @return A new IntegerChromosome with its own gene array
+     */
+    @Override
+    public IntegerChromosome copy() {
+        return new IntegerChromosome(this);
+    }
+
+    /**
+     * Find out if this individual is a view; it is.
+     *
+     * @return True.
+     */
+    @Override
+    public boolean isView() {
+        return true;
+    }
+}
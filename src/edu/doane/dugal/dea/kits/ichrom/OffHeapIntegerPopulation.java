@@ -0,0 +1,69 @@
+package edu.doane.dugal.dea.kits.ichrom;
+
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.OffHeapPopulation;
+import edu.doane.dugal.dea.PRNG;
+import java.nio.ByteBuffer;
+
+/**
+ * Off-heap population of IntegerChromosome individuals. Each record holds the
+ * fitness as a native-order double, followed by the genes as native-order
+ * ints. The views work with the existing ichrom operators and with any Problem
+ * that takes IntegerChromosome individuals.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class OffHeapIntegerPopulation extends OffHeapPopulation {
+
+    /**
+     * Number of genes per individual.
+     */
+    private final int length;
+
+    /**
+     * Low end of legal range of gene values.
+     */
+    private final int lo;
+
+    /**
+     * High end of legal range of gene values.
+     */
+    private final int hi;
+
+    /**
+     * Create a new off-heap population of random IntegerChromosome
+     * individuals, with each gene in [lo, hi].
+     *
+     * @param popSize Number of individuals in the population
+     * @param length Number of genes per individual
+     * @param lo Low end of legal range of gene values
+     * @param hi High end of legal range of gene values
+     */
+    public OffHeapIntegerPopulation(int popSize, int length, int lo, int hi) {
+        super(popSize, 8 + 4 * length);
+        this.length = length;
+        this.lo = lo;
+        this.hi = hi;
+        createViews();
+
+        PRNG prng = PRNG.getInstance();
+        for (Individual ind : getPopulation()) {
+            IntegerChromosome ic = (IntegerChromosome) ind;
+            ic.setFitness(Double.NEGATIVE_INFINITY);
+            for (int i = 0; i < length; i++) {
+                ic.putGene(i, prng.nextInt(lo, hi));
+            }
+        }
+    }
+
+    @Override
+    protected Individual createView(ByteBuffer segment, int base) {
+        return new OffHeapIntegerChromosome(segment, base, length, lo, hi);
+    }
+
+    @Override
+    protected void releaseView(Individual view) {
+        ((OffHeapIntegerChromosome) view).release();
+    }
+}
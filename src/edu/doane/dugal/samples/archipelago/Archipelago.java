@@ -0,0 +1,131 @@
+package edu.doane.dugal.samples.archipelago;
+
+import edu.doane.dugal.dea.DEA;
+import edu.doane.dugal.dea.GenomeCodec;
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.MappedMigrationTransport;
+import edu.doane.dugal.dea.Migration;
+import edu.doane.dugal.dea.PRNG;
+import edu.doane.dugal.dea.Problem;
+import edu.doane.dugal.dea.Topology;
+import edu.doane.dugal.dea.kits.bchrom.BinaryChromosome;
+import edu.doane.dugal.dea.kits.dchrom.DoubleChromosome;
+import edu.doane.dugal.dea.kits.general.ElitistTournamentSelection;
+import edu.doane.dugal.dea.kits.general.Evaluate;
+import edu.doane.dugal.dea.kits.general.KitCodecs;
+import edu.doane.dugal.dea.kits.general.StandardStats;
+import edu.doane.dugal.dea.kits.ichrom.IntegerChromosome;
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Runs one island of a multi-process archipelago for any Problem whose
+ * individuals come from the double, integer, or binary kits, such as
+ * Rastrigin or JJ. Start one process per island, all with the same migration
+ * file; the islands form a ring and swap their best individuals through the
+ * file every 10 generations. For example, for four islands of Rastrigin:
+ *
+ * rm -f /tmp/ras.mig
+ * for i in 0 1 2 3; do
+ *   java edu.doane.dugal.samples.archipelago.Archipelago \
+ *       edu.doane.dugal.samples.functions.Rastrigin $i 4 /tmp/ras.mig &
+ * done; wait
+ *
+ * Island 0 prints statistics every generation; every island prints its best
+ * individual and migration counts at the end.
+ *
+ * Migrants travel through the file as records of the compact codec that
+ * KitCodecs picks for the kit, the same one the evaluation farm sends to its
+ * workers.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class Archipelago {
+
+    /**
+     * Application entry point.
+     *
+     * @param args Problem class name, island index, number of islands, and
+     * migration file; optionally followed by island size, number of
+     * generations, and seed, which default to 10000, 500, and a random seed.
+     * Use the same seed in every process for a repeatable set of islands.
+     * @throws Exception If the problem can't be created, or the migration file
+     * can't be opened.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("Usage: Archipelago problemClass island islands file "
+                    + "[islandSize [generations [seed]]]");
+            System.exit(1);
+        }
+        Problem problem = (Problem) Class.forName(args[0]).getDeclaredConstructor().newInstance();
+        int island = Integer.parseInt(args[1]);
+        int islands = Integer.parseInt(args[2]);
+        int islandSize = args.length > 4 ? Integer.parseInt(args[4]) : 10000;
+        int generations = args.length > 5 ? Integer.parseInt(args[5]) : 500;
+        if (args.length > 6) {
+            PRNG.getInstance().setSeed(Long.parseLong(args[6]));
+        }
+
+        // every island in the archipelago gets its own stream, even when the
+        // processes share a seed
+        PRNG stream = PRNG.getInstance().split(island);
+        PRNG.setThreadInstance(stream);
+
+        // pick the operators and migrant codec for the problem's kit
+        Individual sample = problem.createRandomIndividual();
+        DEA alg = new DEA(problem, islandSize, generations);
+        alg.setPRNG(stream);
+        GenomeCodec codec = KitCodecs.forIndividual(sample);
+        if (sample instanceof DoubleChromosome) {
+            alg.addOperator(new edu.doane.dugal.dea.kits.dchrom.PointCrossover());
+            alg.addOperator(new edu.doane.dugal.dea.kits.dchrom.PointMutation());
+        } else if (sample instanceof IntegerChromosome) {
+            alg.addOperator(new edu.doane.dugal.dea.kits.ichrom.PointCrossover());
+            alg.addOperator(new edu.doane.dugal.dea.kits.ichrom.PointMutation());
+        } else if (sample instanceof BinaryChromosome) {
+            alg.addOperator(new edu.doane.dugal.dea.kits.bchrom.PointCrossover());
+            alg.addOperator(new edu.doane.dugal.dea.kits.bchrom.PointMutation());
+        } else {
+            throw new IllegalArgumentException("No kit for " + sample.getClass().getName());
+        }
+        alg.addOperator(new Evaluate(problem, islandSize));
+        alg.addOperator(new ElitistTournamentSelection());
+        if (island == 0) {
+            alg.addOperator(new StandardStats(3));
+        }
+
+        // migrate through the shared file, last thing each generation
+        Topology topology = Topology.RING;
+        try (MappedMigrationTransport transport = new MappedMigrationTransport(
+                Paths.get(args[3]), islands, 16, codec)) {
+            Migration migration = new Migration(island, islands, topology, transport, 10, 2);
+            alg.addOperator(migration);
+            PRNG.setThreadInstance(null);
+
+            if (island == 0) {
+                System.out.println(alg.getTableau());
+            }
+            alg.start();
+            try {
+                alg.join();
+            } catch (InterruptedException ex) {
+                System.err.println("DEA thread interrupted!");
+            }
+
+            Individual best = alg.getPopulation()[0];
+            for (Individual ind : alg.getPopulation()) {
+                if (ind.getFitness() > best.getFitness()) {
+                    best = ind;
+                }
+            }
+            System.out.printf("Island %d best fitness: %.3f, migrants sent %d, dropped %d, "
+                    + "received %d\n", island, best.getFitness(), migration.getSent(),
+                    migration.getDropped(), migration.getReceived());
+        } catch (IOException ex) {
+            System.err.println("Migration file failed: " + ex);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package edu.doane.dugal.samples.bench;
+
+import edu.doane.dugal.dea.AsyncDEA;
+import edu.doane.dugal.dea.DEA;
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.Operator;
+import edu.doane.dugal.dea.Problem;
+import edu.doane.dugal.dea.kits.dchrom.PointCrossover;
+import edu.doane.dugal.dea.kits.dchrom.PointMutation;
+import edu.doane.dugal.dea.kits.general.ElitistTournamentSelection;
+import edu.doane.dugal.samples.functions.Rastrigin;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Benchmark comparing the generational DEA with the AsyncDEA on Rastrigin's
+ * function with a variable evaluation cost, drawn from an exponential
+ * distribution: time, worker utilization, and best fitness, for the same
+ * number of evaluations and worker threads. The generational run evaluates
+ * each generation on a fixed pool of the same size, and waits for all of it
+ * before selection.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class AsyncBenchmark {
+
+    /**
+     * Rastrigin's function, plus a wait of random length per evaluation,
+     * recording the total time spent evaluating.
+     */
+    public static class VariableRastrigin extends Rastrigin {
+
+        /**
+         * Mean wait per evaluation, in nanoseconds.
+         */
+        private final long meanNanos;
+
+        /**
+         * Total time spent evaluating, in nanoseconds.
+         */
+        private final AtomicLong busyNanos = new AtomicLong();
+
+        /**
+         * Create the problem.
+         *
+         * @param meanNanos Mean wait per evaluation, in nanoseconds.
+         */
+        public VariableRastrigin(long meanNanos) {
+            this.meanNanos = meanNanos;
+        }
+
+        @Override
+        public void evaluateIndividual(Individual ind) {
+            long t = System.nanoTime();
+            long wait = (long) (-meanNanos * Math.log(1.0 - ThreadLocalRandom.current().nextDouble()));
+            long deadline = t + wait;
+            for (long left = wait; left > 0; left = deadline - System.nanoTime()) {
+                LockSupport.parkNanos(left);
+            }
+            super.evaluateIndividual(ind);
+            busyNanos.addAndGet(System.nanoTime() - t);
+        }
+
+        /**
+         * Get the total time spent evaluating.
+         *
+         * @return Evaluation time, in nanoseconds.
+         */
+        public long getBusyNanos() {
+            return busyNanos.get();
+        }
+    }
+
+    /**
+     * Evaluation operator for the generational run: evaluates every modified
+     * individual on a fixed pool of threads, and waits for them all.
+     */
+    private static class PoolEvaluate implements Operator {
+
+        /**
+         * Problem to evaluate.
+         */
+        private final Problem problem;
+
+        /**
+         * Worker threads.
+         */
+        private final ExecutorService pool;
+
+        /**
+         * Create the operator.
+         *
+         * @param problem Problem to evaluate.
+         * @param pool Worker threads.
+         */
+        PoolEvaluate(Problem problem, ExecutorService pool) {
+            this.problem = problem;
+            this.pool = pool;
+        }
+
+        @Override
+        public void operate(Individual[] population) {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (final Individual ind : population) {
+                if (ind.isModified()) {
+                    tasks.add(pool.submit(new Callable<Void>() {
+                        @Override
+                        public Void call() {
+                            problem.evaluateIndividual(ind);
+                            ind.setModified(false);
+                            return null;
+                        }
+                    }));
+                }
+            }
+            try {
+                for (Future<?> f : tasks) {
+                    f.get();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException ex) {
+                throw new IllegalStateException("Evaluation failed", ex.getCause());
+            }
+        }
+    }
+
+    /**
+     * Application entry point.
+     *
+     * @param args Optional population size, number of generations, worker
+     * threads, and mean evaluation time in milliseconds; defaults are 100, 40,
+     * 16, and 2.
+     * @throws InterruptedException If interrupted while waiting for a run.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int popSize = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int numGens = args.length > 1 ? Integer.parseInt(args[1]) : 40;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        double meanMillis = args.length > 3 ? Double.parseDouble(args[3]) : 2.0;
+        long meanNanos = (long) (meanMillis * 1e6);
+
+        VariableRastrigin slow = new VariableRastrigin(meanNanos);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long t = System.nanoTime();
+        DEA gen = new DEA(slow, popSize, numGens);
+        gen.addOperator(new PoolEvaluate(slow, pool));
+        gen.addOperator(new ElitistTournamentSelection());
+        gen.addOperator(new PointCrossover());
+        gen.addOperator(new PointMutation(0.5));
+        gen.addOperator(new PoolEvaluate(slow, pool));
+        gen.start();
+        gen.join();
+        long elapsed = System.nanoTime() - t;
+        pool.shutdown();
+        report("generational", elapsed, (double) slow.getBusyNanos() / (threads * elapsed),
+                gen.getPopulation());
+
+        slow = new VariableRastrigin(meanNanos);
+        t = System.nanoTime();
+        AsyncDEA async = new AsyncDEA(slow, popSize, numGens, threads);
+        async.addVariation(new PointCrossover());
+        async.addVariation(new PointMutation(0.5));
+        async.start();
+        async.join();
+        report("asynchronous", System.nanoTime() - t, async.getUtilization(),
+                async.getPopulation());
+    }
+
+    /**
+     * Print the time, utilization, and best fitness of a run.
+     *
+     * @param name Name of the run.
+     * @param elapsed Time of the run, in nanoseconds.
+     * @param utilization Fraction of the workers' time spent evaluating.
+     * @param population Final population.
+     */
+    private static void report(String name, long elapsed, double utilization,
+            Individual[] population) {
+        double best = Double.NEGATIVE_INFINITY;
+        for (Individual ind : population) {
+            best = Math.max(best, ind.getFitness());
+        }
+        System.out.printf("%s: %.0f ms, utilization %.0f%%, best %.3f\n", name, elapsed / 1e6,
+                100 * utilization, best);
+    }
+}
@@ -0,0 +1,94 @@
+package edu.doane.dugal.samples.bench;
+
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.Operator;
+import edu.doane.dugal.dea.Problem;
+import edu.doane.dugal.dea.kits.general.BlockingEvaluate;
+import edu.doane.dugal.dea.kits.general.Evaluate;
+import edu.doane.dugal.samples.functions.Rastrigin;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Benchmark comparing Evaluate, which splits the population across a
+ * fork/join pool with one thread per CPU, with BlockingEvaluate at several
+ * concurrency limits, on Rastrigin's function with a one millisecond wait per
+ * evaluation, standing in for a call to an external simulator. A last run
+ * makes one evaluation in a hundred hang for a second, to show the timeout.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class BlockingBenchmark {
+
+    /**
+     * Rastrigin's function, where a fraction of the evaluations wait a second
+     * instead of a millisecond.
+     */
+    public static class HangingRastrigin extends Rastrigin {
+
+        @Override
+        public void evaluateIndividual(Individual ind) {
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextInt(100) == 0 ? 1000 : 1);
+            } catch (InterruptedException ex) {
+                // timed out; the fitness is discarded
+                return;
+            }
+            super.evaluateIndividual(ind);
+        }
+    }
+
+    /**
+     * Application entry point.
+     *
+     * @param args Optional population size and number of generations; defaults
+     * are 2000 and 5.
+     */
+    public static void main(String[] args) {
+        int popSize = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int numGens = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        Problem slow = new FarmBenchmark.SlowRastrigin();
+        Individual[] pop = new Individual[popSize];
+        for (int i = 0; i < popSize; i++) {
+            pop[i] = slow.createRandomIndividual();
+        }
+
+        Evaluate ev = new Evaluate(slow, 100);
+        ev.setSkipUnmodified(false);
+        time("Evaluate, " + Runtime.getRuntime().availableProcessors() + " CPUs", ev, pop,
+                numGens);
+
+        for (int c : new int[]{16, 64, 256, 1024}) {
+            BlockingEvaluate bev = new BlockingEvaluate(slow, c);
+            bev.setSkipUnmodified(false);
+            time("BlockingEvaluate, " + (bev.isVirtual() ? "virtual" : "platform")
+                    + " threads, concurrency " + c, bev, pop, numGens);
+            bev.close();
+        }
+
+        BlockingEvaluate bev = new BlockingEvaluate(new HangingRastrigin(), 256);
+        bev.setSkipUnmodified(false);
+        bev.setTimeoutMillis(50);
+        time("BlockingEvaluate, 1% hanging, 50 ms timeout", bev, pop, numGens);
+        System.out.println("timeouts: " + bev.getTimeouts() + " of " + bev.getEvaluations());
+        bev.close();
+    }
+
+    /**
+     * Print the time per generation of an evaluation operator.
+     *
+     * @param name Name of the run.
+     * @param op Evaluation operator.
+     * @param pop Population to evaluate.
+     * @param numGens Number of times to evaluate the population.
+     */
+    private static void time(String name, Operator op, Individual[] pop, int numGens) {
+        op.operate(pop);
+        long t = System.nanoTime();
+        for (int g = 0; g < numGens; g++) {
+            op.operate(pop);
+        }
+        System.out.printf("%s: %.1f ms per generation\n", name,
+                (System.nanoTime() - t) / 1e6 / numGens);
+    }
+}
@@ -0,0 +1,107 @@
+package edu.doane.dugal.samples.bench;
+
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.kits.dchrom.DoubleChromosome;
+import java.lang.reflect.Constructor;
+
+/**
+ * Micro-benchmark comparing the per-copy cost of the old reflective
+ * Individual.copy path (scan the declared constructors on every call) with the
+ * current copy() contract, for both a kit chromosome and a user subclass that
+ * only provides a copy constructor.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class CopyBenchmark {
+
+    /**
+     * User-style subclass with only a copy constructor, so it is copied through
+     * the cached reflective fallback.
+     */
+    public static class UserChromosome extends DoubleChromosome {
+
+        /**
+         * Initializing constructor.
+         *
+         * @param length Number of genes.
+         */
+        public UserChromosome(int length) {
+            super(length, 0, 10, 3);
+        }
+
+        /**
+         * Copy constructor.
+         *
+         * @param other UserChromosome to mimic
+         */
+        public UserChromosome(UserChromosome other) {
+            super(other);
+        }
+    }
+
+    /**
+     * The copy path used before the copy() contract: look up the copy
+     * constructor on every call.
+     *
+     * @param ind Individual to copy.
+     * @return Deep copy of the parameter.
+     * @throws Exception If reflection fails.
+     */
+    private static Individual reflectiveCopy(Individual ind) throws Exception {
+        Class<?> cls = ind.getClass();
+        for (Constructor<?> c : cls.getDeclaredConstructors()) {
+            Class<?>[] parms = c.getParameterTypes();
+            if (parms.length == 1 && parms[0].equals(cls)) {
+                return (Individual) c.newInstance(ind);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Time one copy path over the population, in nanoseconds per copy.
+     *
+     * @param pop Population to copy.
+     * @param mode 0 = old reflective path, 1 = copy() contract.
+     * @return Nanoseconds per copy.
+     * @throws Exception If reflection fails.
+     */
+    private static double time(Individual[] pop, int mode) throws Exception {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (Individual ind : pop) {
+            Individual c = (mode == 0) ? reflectiveCopy(ind) : ind.copy();
+            sink += c.hashCode() & 1;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == -1) {
+            System.out.println(sink);
+        }
+        return elapsed / (double) pop.length;
+    }
+
+    /**
+     * Application entry point.
+     *
+     * @param args Optional population size; default is 1000000.
+     * @throws Exception If reflection fails.
+     */
+    public static void main(String[] args) throws Exception {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+
+        Individual[] kit = new Individual[n];
+        Individual[] user = new Individual[n];
+        for (int i = 0; i < n; i++) {
+            kit[i] = new DoubleChromosome(4, 0, 10, 3);
+            user[i] = new UserChromosome(4);
+        }
+
+        // a few rounds, so the JIT has settled by the last one
+        for (int round = 0; round < 5; round++) {
+            System.out.printf("Round %d: kit reflective %.1f ns, kit copy() %.1f ns, "
+                    + "user reflective %.1f ns, user copy() %.1f ns\n", round,
+                    time(kit, 0), time(kit, 1), time(user, 0), time(user, 1));
+        }
+    }
+}
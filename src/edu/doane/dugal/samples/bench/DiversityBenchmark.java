@@ -0,0 +1,78 @@
+package edu.doane.dugal.samples.bench;
+
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.kits.bchrom.BinaryChromosome;
+import edu.doane.dugal.dea.kits.dchrom.DoubleChromosome;
+import edu.doane.dugal.dea.kits.general.GenomeCounter;
+import java.util.TreeSet;
+
+/**
+ * Micro-benchmark comparing the old way of counting distinct individuals, a
+ * TreeSet ordered by compareTo(), with GenomeCounter, for binary and double
+ * chromosomes.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class DiversityBenchmark {
+
+    /**
+     * Count distinct individuals the old way.
+     *
+     * @param pop Population to count.
+     * @return Number of distinct individuals.
+     */
+    @SuppressWarnings("unchecked")
+    private static int treeSetCount(Individual[] pop) {
+        TreeSet<Individual> set = new TreeSet<>();
+        for (Individual i : pop) {
+            set.add(i);
+        }
+        return set.size();
+    }
+
+    /**
+     * Build a population with roughly half duplicates.
+     *
+     * @param pop Array to fill.
+     * @param binary True for BinaryChromosomes, false for DoubleChromosomes.
+     */
+    private static void fill(Individual[] pop, boolean binary) {
+        for (int i = 0; i < pop.length; i++) {
+            if (i % 2 == 1) {
+                pop[i] = pop[i - 1].copy();
+            } else {
+                pop[i] = binary ? new BinaryChromosome(64)
+                        : new DoubleChromosome(10, -5.12, 5.12, 2);
+            }
+        }
+    }
+
+    /**
+     * Application entry point.
+     *
+     * @param args Optional population size; default is 100000.
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        GenomeCounter counter = new GenomeCounter();
+
+        for (boolean binary : new boolean[]{true, false}) {
+            Individual[] pop = new Individual[n];
+            fill(pop, binary);
+            for (int round = 0; round < 3; round++) {
+                long t = System.nanoTime();
+                int a = treeSetCount(pop);
+                double oldMs = (System.nanoTime() - t) / 1e6;
+
+                t = System.nanoTime();
+                int b = counter.countDistinct(pop);
+                double newMs = (System.nanoTime() - t) / 1e6;
+
+                System.out.printf("%s round %d: TreeSet %.1f ms (%d), "
+                        + "GenomeCounter %.1f ms (%d)\n",
+                        binary ? "Binary" : "Double", round, oldMs, a, newMs, b);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package edu.doane.dugal.samples.bench;
+
+import edu.doane.dugal.dea.GenomeCodec;
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.Problem;
+import edu.doane.dugal.dea.farm.FarmEvaluate;
+import edu.doane.dugal.dea.farm.FarmWorker;
+import edu.doane.dugal.dea.kits.general.Evaluate;
+import edu.doane.dugal.dea.kits.general.KitCodecs;
+import edu.doane.dugal.samples.functions.Rastrigin;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Benchmark of an evaluation farm on localhost, with a fitness function that
+ * waits a millisecond per call, like one that runs an external simulator.
+ * Compares Evaluate against FarmEvaluate with several workers, checks that
+ * the farm's fitness values are right, and kills a worker halfway through a
+ * run to show its batches being retried. Workers run in this JVM on free
+ * ports; for separate processes, start FarmWorker with the class name of
+ * SlowRastrigin and list their ports on the command line.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class FarmBenchmark {
+
+    /**
+     * Rastrigin's function, plus a one millisecond wait per evaluation.
+     */
+    public static class SlowRastrigin extends Rastrigin {
+
+        @Override
+        public void evaluateIndividual(Individual ind) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            super.evaluateIndividual(ind);
+        }
+    }
+
+    /**
+     * Application entry point.
+     *
+     * @param args Optional population size, number of in-JVM workers, and
+     * threads per worker, which default to 2000, 4, and 8; optionally followed
+     * by "--" and the ports of workers already running on localhost, to use
+     * instead.
+     * @throws IOException If a worker can't be started.
+     */
+    public static void main(String[] args) throws IOException {
+        int sep = Arrays.asList(args).indexOf("--");
+        int options = sep < 0 ? args.length : sep;
+        int n = options > 0 ? Integer.parseInt(args[0]) : 2000;
+        int numWorkers = options > 1 ? Integer.parseInt(args[1]) : 4;
+        int threads = options > 2 ? Integer.parseInt(args[2]) : 8;
+        Problem problem = new SlowRastrigin();
+        GenomeCodec codec = KitCodecs.forIndividual(problem.createRandomIndividual());
+
+        List<FarmWorker> local = new ArrayList<>();
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        if (sep >= 0) {
+            for (int i = sep + 1; i < args.length; i++) {
+                addresses.add(new InetSocketAddress("localhost", Integer.parseInt(args[i])));
+            }
+        } else {
+            for (int i = 0; i < numWorkers; i++) {
+                FarmWorker w = new FarmWorker(problem, codec, threads);
+                local.add(w);
+                addresses.add(new InetSocketAddress("localhost", w.start(0)));
+            }
+        }
+
+        Individual[] pop = new Individual[n];
+        for (int i = 0; i < n; i++) {
+            pop[i] = problem.createRandomIndividual();
+        }
+
+        long t = System.nanoTime();
+        new Evaluate(problem, 10).operate(pop);
+        System.out.printf("Evaluate: %.0f ms\n", (System.nanoTime() - t) / 1e6);
+        double[] expected = new double[n];
+        for (int i = 0; i < n; i++) {
+            expected[i] = pop[i].getFitness();
+        }
+
+        FarmEvaluate farm = new FarmEvaluate(problem, codec, addresses);
+        for (int round = 0; round < 4; round++) {
+            for (Individual ind : pop) {
+                ind.setFitness(Double.NaN);
+                ind.setModified(true);
+            }
+            if (round == 3 && local.size() > 1) {
+                // kill a worker while its batches are in flight
+                final FarmWorker victim = local.get(0);
+                new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            Thread.sleep(20);
+                            victim.close();
+                        } catch (InterruptedException | IOException ex) {
+                            // benchmark only
+                        }
+                    }
+                }).start();
+            }
+            t = System.nanoTime();
+            farm.operate(pop);
+            double ms = (System.nanoTime() - t) / 1e6;
+            int wrong = 0;
+            for (int i = 0; i < n; i++) {
+                if (pop[i].getFitness() != expected[i] || pop[i].isModified()) {
+                    wrong++;
+                }
+            }
+            System.out.printf("Farm round %d: %.0f ms, %d wrong, %d evaluations, %d retries, "
+                    + "%d local\n", round, ms, wrong, farm.getEvaluations(), farm.getRetries(),
+                    farm.getLocalEvaluations());
+        }
+        farm.close();
+        for (FarmWorker w : local) {
+            w.close();
+        }
+    }
+}
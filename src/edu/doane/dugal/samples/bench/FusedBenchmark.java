@@ -0,0 +1,63 @@
+package edu.doane.dugal.samples.bench;
+
+import edu.doane.dugal.dea.DEA;
+import edu.doane.dugal.dea.Problem;
+import edu.doane.dugal.dea.kits.dchrom.DoublePopulation;
+import edu.doane.dugal.dea.kits.dchrom.PointCrossover;
+import edu.doane.dugal.dea.kits.dchrom.PointMutation;
+import edu.doane.dugal.dea.kits.general.Evaluate;
+import edu.doane.dugal.dea.kits.general.TournamentSelection;
+import edu.doane.dugal.samples.functions.DeJong01;
+
+/**
+ * Benchmark comparing a DeJong01 run with one pass over the population per
+ * operator against the same run in the DEA's fused mode, where crossover,
+ * mutation, and evaluation are applied chunk by chunk.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class FusedBenchmark {
+
+    /**
+     * Time a run of the DEA.
+     *
+     * @param n Population size.
+     * @param gens Number of generations.
+     * @param fusedChunkSize Chunk size for fused mode, or 0 for unfused.
+     * @return Milliseconds per generation.
+     */
+    private static double time(int n, int gens, int fusedChunkSize) {
+        Problem dj01 = new DeJong01();
+        DoublePopulation pop = new DoublePopulation(n, 3, -5.12, 5.12, 2);
+        DEA alg = new DEA(dj01, pop.getPopulation(), gens);
+        alg.addOperator(new PointCrossover(0.65));
+        alg.addOperator(new PointMutation(0.02));
+        alg.addOperator(new Evaluate(dj01, 4096));
+        TournamentSelection sel = new TournamentSelection(2);
+        sel.setBuffer(pop.getBuffer());
+        alg.addOperator(sel);
+        alg.setFusedChunkSize(fusedChunkSize);
+
+        long start = System.nanoTime();
+        alg.run();
+        return (System.nanoTime() - start) / 1e6 / gens;
+    }
+
+    /**
+     * Application entry point.
+     *
+     * @param args Optional population size and chunk size; defaults are
+     * 1000000 and 4096.
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int chunk = args.length > 1 ? Integer.parseInt(args[1]) : 4096;
+
+        // a few rounds, so the JIT has settled by the last one
+        for (int round = 0; round < 3; round++) {
+            System.out.printf("Round %d: unfused %.2f ms/gen, fused %.2f ms/gen\n",
+                    round, time(n, 20, 0), time(n, 20, chunk));
+        }
+    }
+}
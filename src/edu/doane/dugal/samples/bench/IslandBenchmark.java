@@ -0,0 +1,90 @@
+package edu.doane.dugal.samples.bench;
+
+import edu.doane.dugal.dea.DEA;
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.IslandModel;
+import edu.doane.dugal.dea.Problem;
+import edu.doane.dugal.dea.Topology;
+import edu.doane.dugal.dea.kits.dchrom.PointCrossover;
+import edu.doane.dugal.dea.kits.dchrom.PointMutation;
+import edu.doane.dugal.dea.kits.general.ElitistTournamentSelection;
+import edu.doane.dugal.dea.kits.general.Evaluate;
+import edu.doane.dugal.samples.functions.Rastrigin;
+import java.util.HashSet;
+
+/**
+ * Benchmark comparing one panmictic DEA against an island model of the same
+ * total size on Rastrigin's function, a cheap fitness function: time, best
+ * fitness, and the number of distinct genomes left at the end, for each
+ * topology.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class IslandBenchmark {
+
+    /**
+     * Application entry point.
+     *
+     * @param args Optional number of islands, island size, and number of
+     * generations; defaults are 8, 5000, and 200.
+     * @throws InterruptedException If interrupted while waiting for a run.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int numIslands = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        final int islandSize = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        int numGens = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        final Problem ras = new Rastrigin();
+
+        long t = System.nanoTime();
+        DEA single = new DEA(ras, numIslands * islandSize, numGens);
+        single.addOperator(new PointCrossover());
+        single.addOperator(new PointMutation());
+        single.addOperator(new Evaluate(ras, 1000));
+        single.addOperator(new ElitistTournamentSelection());
+        single.start();
+        single.join();
+        report("panmictic", t, single.getPopulation());
+
+        for (Topology topology : new Topology[]{Topology.RING, Topology.TORUS, Topology.FULL}) {
+            t = System.nanoTime();
+            IslandModel islands = new IslandModel(ras, numIslands, islandSize, numGens, topology);
+            islands.setUp(new IslandModel.Setup() {
+                @Override
+                public void addOperators(DEA island, int index) {
+                    island.addOperator(new PointCrossover());
+                    island.addOperator(new PointMutation());
+                    island.addOperator(new Evaluate(ras, islandSize));
+                    island.addOperator(new ElitistTournamentSelection());
+                }
+            });
+            islands.start();
+            islands.join();
+            Individual[] all = new Individual[numIslands * islandSize];
+            for (int i = 0; i < numIslands; i++) {
+                System.arraycopy(islands.getIsland(i).getPopulation(), 0, all, i * islandSize,
+                        islandSize);
+            }
+            report(topology + " islands", t, all);
+        }
+    }
+
+    /**
+     * Print the time, best fitness, and number of distinct genomes of a run.
+     *
+     * @param name Name of the run.
+     * @param start Start time, from System.nanoTime().
+     * @param population Final population.
+     */
+    private static void report(String name, long start, Individual[] population) {
+        double ms = (System.nanoTime() - start) / 1e6;
+        double best = Double.NEGATIVE_INFINITY;
+        HashSet<Long> genomes = new HashSet<>();
+        for (Individual ind : population) {
+            best = Math.max(best, ind.getFitness());
+            genomes.add(ind.genomeHash());
+        }
+        System.out.printf("%s: %.0f ms, best %.3f, %d distinct genomes\n", name, ms, best,
+                genomes.size());
+    }
+}
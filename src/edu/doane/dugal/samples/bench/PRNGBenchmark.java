@@ -0,0 +1,120 @@
+package edu.doane.dugal.samples.bench;
+
+import cern.jet.random.engine.MersenneTwister;
+import edu.doane.dugal.dea.PRNG;
+
+/**
+ * Micro-benchmark comparing the old PRNG path (colt's Mersenne Twister, with
+ * bounded ints and doubles computed through a floating multiply) against the
+ * current xoroshiro128++ PRNG, for single draws and for bulk array fills.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class PRNGBenchmark {
+
+    /**
+     * Divisor used by the old nextDouble() implementation.
+     */
+    private static final double MERSENNE_RANGE = Integer.MAX_VALUE - ((double) Integer.MIN_VALUE) + 1.0;
+
+    /**
+     * Old nextDouble(): a 32-bit draw scaled into the closed range [0, 1].
+     *
+     * @param mt Mersenne Twister to draw from.
+     * @return a double in [0, 1].
+     */
+    private static double oldNextDouble(MersenneTwister mt) {
+        double iv = -((double) Integer.MIN_VALUE) + mt.nextInt();
+        return iv / MERSENNE_RANGE;
+    }
+
+    /**
+     * Old nextInt(lo, hi), computed through oldNextDouble().
+     *
+     * @param mt Mersenne Twister to draw from.
+     * @param lo Low int of range.
+     * @param hi High int of range.
+     * @return a int in [lo, hi], or very rarely hi + 1.
+     */
+    private static int oldNextInt(MersenneTwister mt, int lo, int hi) {
+        return lo + (int) ((hi - lo + 1) * oldNextDouble(mt));
+    }
+
+    /**
+     * Application entry point.
+     *
+     * @param args Optional number of draws per measurement; default is
+     * 100000000.
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 100000000;
+
+        MersenneTwister mt = new MersenneTwister(42);
+        PRNG prng = PRNG.getInstance();
+        prng.setSeed(42);
+
+        double[] dBuf = new double[1000];
+        int[] iBuf = new int[1000];
+
+        for (int round = 0; round < 3; round++) {
+            long sink = 0;
+            double dSink = 0;
+
+            long t = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                sink += oldNextInt(mt, 0, 999);
+            }
+            double oldInt = (System.nanoTime() - t) / (double) n;
+
+            t = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                sink += prng.nextInt(0, 999);
+            }
+            double newInt = (System.nanoTime() - t) / (double) n;
+
+            t = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                dSink += oldNextDouble(mt);
+            }
+            double oldDouble = (System.nanoTime() - t) / (double) n;
+
+            t = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                dSink += prng.nextDouble();
+            }
+            double newDouble = (System.nanoTime() - t) / (double) n;
+
+            t = System.nanoTime();
+            for (int i = 0; i < n; i += dBuf.length) {
+                for (int j = 0; j < dBuf.length; j++) {
+                    dBuf[j] = -5.12 + 10.24 * oldNextDouble(mt);
+                }
+                dSink += dBuf[0];
+            }
+            double oldFill = (System.nanoTime() - t) / (double) n;
+
+            t = System.nanoTime();
+            for (int i = 0; i < n; i += dBuf.length) {
+                prng.nextDoubles(dBuf, -5.12, 5.12);
+                dSink += dBuf[0];
+            }
+            double newFill = (System.nanoTime() - t) / (double) n;
+
+            t = System.nanoTime();
+            for (int i = 0; i < n; i += iBuf.length) {
+                prng.nextInts(iBuf, 0, 11);
+                sink += iBuf[0];
+            }
+            double newIntFill = (System.nanoTime() - t) / (double) n;
+
+            System.out.printf("Round %d (ns per value): nextInt(lo, hi) MT %.2f / new %.2f; "
+                    + "nextDouble MT %.2f / new %.2f; double fill MT %.2f / new %.2f; "
+                    + "int fill new %.2f\n", round, oldInt, newInt, oldDouble,
+                    newDouble, oldFill, newFill, newIntFill);
+            if (sink == 42 && dSink == 42) {
+                System.out.println();
+            }
+        }
+    }
+}
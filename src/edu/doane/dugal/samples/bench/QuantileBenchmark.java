@@ -0,0 +1,64 @@
+package edu.doane.dugal.samples.bench;
+
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.kits.dchrom.DoublePopulation;
+import edu.doane.dugal.dea.kits.general.QuantileStats;
+import edu.doane.dugal.dea.kits.general.QuantileSketch;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Micro-benchmark comparing fitness quantiles found by sorting a copy of the
+ * fitness values against QuantileStats, serially and in parallel, and
+ * reporting the rank error of the sketched median.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class QuantileBenchmark {
+
+    /**
+     * Application entry point.
+     *
+     * @param args Optional population size and parallel threshold; defaults
+     * are 2000000 and 65536.
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+        int threshold = args.length > 1 ? Integer.parseInt(args[1]) : 65536;
+
+        DoublePopulation dp = new DoublePopulation(n, 10, -5.12, 5.12, 2);
+        Individual[] pop = dp.getPopulation();
+        Random r = new Random(42);
+        for (Individual i : pop) {
+            i.setFitness(r.nextGaussian());
+        }
+
+        for (int round = 0; round < 3; round++) {
+            long t = System.nanoTime();
+            double[] f = new double[n];
+            for (int i = 0; i < n; i++) {
+                f[i] = pop[i].getFitness();
+            }
+            Arrays.sort(f);
+            double median = f[n / 2];
+            double sortMs = (System.nanoTime() - t) / 1e6;
+
+            t = System.nanoTime();
+            new QuantileStats(4, 0, 0).operate(pop);
+            double serialMs = (System.nanoTime() - t) / 1e6;
+
+            t = System.nanoTime();
+            QuantileStats qs = new QuantileStats(4, 0, threshold);
+            qs.operate(pop);
+            double parallelMs = (System.nanoTime() - t) / 1e6;
+
+            QuantileSketch s = qs.getSketch();
+            int rank = Arrays.binarySearch(f, s.getQuantile(0.5));
+            System.out.printf("Round %d: sort %.1f ms, serial %.1f ms, parallel %.1f ms; "
+                    + "median %.4f vs %.4f, rank error %.3f%%, %d values retained\n",
+                    round, sortMs, serialMs, parallelMs, s.getQuantile(0.5), median,
+                    100.0 * Math.abs(rank - n / 2) / n, s.getRetained());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package edu.doane.dugal.samples.bench;
+
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.io.PopulationSnapshot;
+import edu.doane.dugal.dea.io.SnapshotCodec;
+import edu.doane.dugal.dea.io.SnapshotWriter;
+import edu.doane.dugal.dea.kits.dchrom.DoubleChromosome;
+import edu.doane.dugal.dea.kits.dchrom.DoublePopulation;
+import edu.doane.dugal.dea.kits.dchrom.DoubleSnapshotCodec;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Micro-benchmark comparing a text dump of a population, one toString() per
+ * line, against raw and fixed-point population snapshots: time to write,
+ * size on disk, and time to open a snapshot and scan its fitness values and
+ * first genes.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class SnapshotBenchmark {
+
+    /**
+     * Application entry point.
+     *
+     * @param args Optional population size; default is 1000000.
+     * @throws IOException If the temporary files can't be written or read.
+     */
+    public static void main(String[] args) throws IOException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+
+        DoublePopulation dp = new DoublePopulation(n, 3, -5.12, 5.12, 2);
+        Individual[] pop = dp.getPopulation();
+        Random r = new Random(42);
+        for (Individual i : pop) {
+            i.setFitness(r.nextGaussian());
+        }
+
+        Path text = Files.createTempFile("snapshot", ".txt");
+        Path raw = Files.createTempFile("snapshot", ".deap");
+        Path fixed = Files.createTempFile("snapshot", ".deap");
+        SnapshotCodec rawCodec = new DoubleSnapshotCodec(3);
+        SnapshotCodec fixedCodec = new DoubleSnapshotCodec(3, -5.12, 5.12, 2);
+        try {
+            for (int round = 0; round < 3; round++) {
+                long t = System.nanoTime();
+                try (BufferedWriter w = Files.newBufferedWriter(text)) {
+                    for (Individual i : pop) {
+                        w.write(i.toString());
+                        w.newLine();
+                    }
+                }
+                double textMs = (System.nanoTime() - t) / 1e6;
+
+                t = System.nanoTime();
+                SnapshotWriter.write(raw, pop, rawCodec, round);
+                double rawMs = (System.nanoTime() - t) / 1e6;
+
+                t = System.nanoTime();
+                SnapshotWriter.write(fixed, pop, fixedCodec, round);
+                double fixedMs = (System.nanoTime() - t) / 1e6;
+
+                t = System.nanoTime();
+                double best = Double.NEGATIVE_INFINITY;
+                double sum = 0.0;
+                int count;
+                try (PopulationSnapshot s = new PopulationSnapshot(fixed)) {
+                    count = s.size();
+                    double openMs = (System.nanoTime() - t) / 1e6;
+                    for (int i = 0; i < count; i++) {
+                        best = Math.max(best, s.getFitness(i));
+                        sum += s.getGene(i, 0);
+                    }
+                    double scanMs = (System.nanoTime() - t) / 1e6;
+
+                    DoubleChromosome dc = new DoubleChromosome(3, -5.12, 5.12, 2);
+                    s.read(count - 1, dc, fixedCodec);
+                    System.out.printf("Round %d: text %.0f ms, %d bytes; raw %.0f ms, %d bytes; "
+                            + "fixed %.0f ms, %d bytes; open %.2f ms, scan %d in %.1f ms "
+                            + "(best %.4f, mean gene %.4f); last %s vs %s\n",
+                            round, textMs, Files.size(text), rawMs, Files.size(raw),
+                            fixedMs, Files.size(fixed), openMs, count, scanMs,
+                            best, sum / count, dc, pop[count - 1]);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(text);
+            Files.deleteIfExists(raw);
+            Files.deleteIfExists(fixed);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package edu.doane.dugal.samples.bench;
+
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.kits.dchrom.DoublePopulation;
+import edu.doane.dugal.dea.kits.general.StandardStats;
+
+/**
+ * Micro-benchmark comparing the old StandardStats loop, which copied the
+ * best-ever individual every time it improved, against the FitnessSummary
+ * reduction, serially and in parallel. Fitness rises with the index, the worst
+ * case for the old loop.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class StatsBenchmark {
+
+    /**
+     * Gather statistics the old way.
+     *
+     * @param pop Population to summarize.
+     * @return Best individual found.
+     */
+    private static Individual oldStats(Individual[] pop) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double sum = 0.0;
+        double bestEverFitness = Double.NEGATIVE_INFINITY;
+        Individual best = null;
+        for (Individual i : pop) {
+            double f = i.getFitness();
+            if (f < min) {
+                min = f;
+            }
+            if (f > max) {
+                max = f;
+            }
+            if (f > bestEverFitness) {
+                bestEverFitness = f;
+                best = Individual.copy(i);
+            }
+            sum += f;
+        }
+        System.out.printf("Gen: 0\t%.4f\t%.4f\t%.4f\t%.4f\n", min, max,
+                sum / pop.length, bestEverFitness);
+        return best;
+    }
+
+    /**
+     * Application entry point.
+     *
+     * @param args Optional population size and parallel threshold; defaults
+     * are 2000000 and 65536.
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+        int threshold = args.length > 1 ? Integer.parseInt(args[1]) : 65536;
+
+        DoublePopulation dp = new DoublePopulation(n, 10, -5.12, 5.12, 2);
+        Individual[] pop = dp.getPopulation();
+        for (int i = 0; i < n; i++) {
+            pop[i].setFitness(i);
+        }
+
+        for (int round = 0; round < 3; round++) {
+            long t = System.nanoTime();
+            oldStats(pop);
+            double oldMs = (System.nanoTime() - t) / 1e6;
+
+            t = System.nanoTime();
+            new StandardStats(4).operate(pop);
+            double serialMs = (System.nanoTime() - t) / 1e6;
+
+            t = System.nanoTime();
+            new StandardStats(4, threshold).operate(pop);
+            double parallelMs = (System.nanoTime() - t) / 1e6;
+
+            System.out.printf("Round %d: old %.1f ms, serial %.1f ms, parallel %.1f ms\n",
+                    round, oldMs, serialMs, parallelMs);
+        }
+    }
+}
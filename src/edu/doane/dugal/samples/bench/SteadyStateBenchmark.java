@@ -0,0 +1,107 @@
+package edu.doane.dugal.samples.bench;
+
+import edu.doane.dugal.dea.DEA;
+import edu.doane.dugal.dea.FitnessHeap;
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.PRNG;
+import edu.doane.dugal.dea.Problem;
+import edu.doane.dugal.dea.SteadyStateDEA;
+import edu.doane.dugal.dea.kits.dchrom.PointCrossover;
+import edu.doane.dugal.dea.kits.dchrom.PointMutation;
+import edu.doane.dugal.dea.kits.general.ElitistTournamentSelection;
+import edu.doane.dugal.dea.kits.general.Evaluate;
+import edu.doane.dugal.samples.functions.Rastrigin;
+
+/**
+ * Benchmark comparing the generational DEA with the SteadyStateDEA on
+ * Rastrigin's function, for the same number of evaluations: time and best
+ * fitness, for each replacement policy. Also times finding and replacing the
+ * least fit individual with a FitnessHeap against a scan of the population.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class SteadyStateBenchmark {
+
+    /**
+     * Application entry point.
+     *
+     * @param args Optional population size and number of generations;
+     * defaults are 10000 and 200.
+     * @throws InterruptedException If interrupted while waiting for a run.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int popSize = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int numGens = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        Problem ras = new Rastrigin();
+
+        long t = System.nanoTime();
+        DEA gen = new DEA(ras, popSize, numGens);
+        gen.addOperator(new PointCrossover());
+        gen.addOperator(new PointMutation());
+        gen.addOperator(new Evaluate(ras, 1000));
+        gen.addOperator(new ElitistTournamentSelection());
+        gen.start();
+        gen.join();
+        report("generational", t, gen.getPopulation());
+
+        for (int policy : new int[]{SteadyStateDEA.REPLACE_WORST, SteadyStateDEA.REPLACE_TOURNAMENT}) {
+            t = System.nanoTime();
+            SteadyStateDEA ss = new SteadyStateDEA(ras, popSize, numGens);
+            ss.addVariation(new PointCrossover());
+            ss.addVariation(new PointMutation(0.5));
+            ss.setReplacement(policy, 2);
+            ss.start();
+            ss.join();
+            report(policy == SteadyStateDEA.REPLACE_WORST
+                    ? "steady-state, worst" : "steady-state, inverse tournament",
+                    t, ss.getPopulation());
+        }
+
+        // replace the worst individual a million times, with a fresh fitness
+        PRNG prng = PRNG.getInstance();
+        Individual[] pop = new Individual[popSize];
+        double[] fitness = new double[popSize];
+        for (int i = 0; i < popSize; i++) {
+            pop[i] = ras.createRandomIndividual();
+            ras.evaluateIndividual(pop[i]);
+            fitness[i] = pop[i].getFitness();
+        }
+        int reps = 1000000;
+        t = System.nanoTime();
+        FitnessHeap heap = new FitnessHeap(pop);
+        for (int r = 0; r < reps; r++) {
+            heap.update(heap.peekWorst(), prng.nextDouble(-100, 0));
+        }
+        double heapNs = (double) (System.nanoTime() - t) / reps;
+        t = System.nanoTime();
+        for (int r = 0; r < reps / 100; r++) {
+            int worst = 0;
+            for (int i = 1; i < popSize; i++) {
+                if (fitness[i] < fitness[worst]) {
+                    worst = i;
+                }
+            }
+            fitness[worst] = prng.nextDouble(-100, 0);
+        }
+        double scanNs = (double) (System.nanoTime() - t) / (reps / 100);
+        System.out.printf("replace worst of %d: heap %.0f ns, scan %.0f ns\n", popSize,
+                heapNs, scanNs);
+    }
+
+    /**
+     * Print the time and best fitness of a run.
+     *
+     * @param name Name of the run.
+     * @param start Start time, from System.nanoTime().
+     * @param population Final population.
+     */
+    private static void report(String name, long start, Individual[] population) {
+        double ms = (System.nanoTime() - start) / 1e6;
+        double best = Double.NEGATIVE_INFINITY;
+        for (Individual ind : population) {
+            best = Math.max(best, ind.getFitness());
+        }
+        System.out.printf("%s: %.0f ms, best %.3f\n", name, ms, best);
+    }
+}
@@ -0,0 +1,63 @@
+package edu.doane.dugal.samples.bench;
+
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.Operator;
+import edu.doane.dugal.dea.kits.dchrom.DoublePopulation;
+import edu.doane.dugal.dea.kits.dchrom.PointCrossover;
+import edu.doane.dugal.dea.kits.dchrom.PointMutation;
+
+/**
+ * Micro-benchmark comparing serial crossover and mutation with their parallel
+ * modes, on a DeJong01-sized DoublePopulation, where variation rather than
+ * evaluation dominates the cost of a generation.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class VariationBenchmark {
+
+    /**
+     * Time crossover followed by mutation over the population.
+     *
+     * @param pop Population to vary.
+     * @param xover Crossover operator.
+     * @param mutate Mutation operator.
+     * @param reps Number of times to apply the pair of operators.
+     * @return Milliseconds per application.
+     */
+    private static double time(Individual[] pop, Operator xover, Operator mutate,
+            int reps) {
+        long start = System.nanoTime();
+        for (int r = 0; r < reps; r++) {
+            xover.operate(pop);
+            mutate.operate(pop);
+        }
+        return (System.nanoTime() - start) / 1e6 / reps;
+    }
+
+    /**
+     * Application entry point.
+     *
+     * @param args Optional population size and partition size; defaults are
+     * 1000000 and 4096.
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int threshold = args.length > 1 ? Integer.parseInt(args[1]) : 4096;
+
+        Individual[] pop = new DoublePopulation(n, 3, -5.12, 5.12, 2).getPopulation();
+
+        Operator serialX = new PointCrossover(0.65);
+        Operator serialM = new PointMutation(0.02);
+        Operator parallelX = new PointCrossover(0.65, threshold);
+        Operator parallelM = new PointMutation(0.02, threshold);
+
+        // a few rounds, so the JIT has settled by the last one
+        for (int round = 0; round < 5; round++) {
+            System.out.printf("Round %d: serial %.2f ms, parallel %.2f ms "
+                    + "(%d processors)\n", round, time(pop, serialX, serialM, 10),
+                    time(pop, parallelX, parallelM, 10),
+                    Runtime.getRuntime().availableProcessors());
+        }
+    }
+}
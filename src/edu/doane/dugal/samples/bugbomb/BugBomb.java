@@ -5,6 +5,7 @@ import edu.doane.dugal.dea.Individual;
 import edu.doane.dugal.dea.Problem;
 import edu.doane.dugal.dea.kits.general.ElitistTournamentSelection;
 import edu.doane.dugal.dea.kits.general.Evaluate;
+import edu.doane.dugal.dea.kits.general.FitnessCache;
 import edu.doane.dugal.dea.kits.general.StandardStats;
 import edu.doane.dugal.dea.kits.ichrom.IntegerChromosome;
 import edu.doane.dugal.dea.kits.ichrom.PointCrossover;
@@ -22,7 +23,7 @@ import edu.doane.dugal.dea.kits.ichrom.PointMutation;
  * [(92, 3), (74, 86), (35, 10)], and others.
  *
  * @author Mark M. Meysenburg
- * @version 03/06/2004
+ * @version 10/18/2026
  */
 public class BugBomb implements Problem {
 
@@ -122,8 +123,10 @@ public class BugBomb implements Problem {
         // ... then mutation ...
         alg.addOperator(new PointMutation());
 
-        // ... then evaluation ...
-        alg.addOperator(new Evaluate(prob, 10));
+        // ... then evaluation, remembering the fitness of genomes we've
+        // already seen ...
+        FitnessCache cache = new FitnessCache(prob, 100000);
+        alg.addOperator(new Evaluate(cache, 10));
 
         // ... then selection ...
         alg.addOperator(new ElitistTournamentSelection());
@@ -148,6 +151,8 @@ public class BugBomb implements Problem {
         } finally {
             System.out.println("Best ever individual: " + stats.getBestEverIndividual());
             System.out.printf("Best ever fitness: %.2f\n", stats.getBestEverIndividual().getFitness());
+            System.out.printf("Fitness cache: %d hits, %d misses, %d evictions\n",
+                    cache.getHits(), cache.getMisses(), cache.getEvictions());
         }
 
     }
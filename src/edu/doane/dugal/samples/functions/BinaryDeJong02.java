@@ -3,12 +3,16 @@ package edu.doane.dugal.samples.functions;
 import edu.doane.dugal.dea.DEA;
 import edu.doane.dugal.dea.Individual;
 import edu.doane.dugal.dea.Problem;
+import edu.doane.dugal.dea.io.AsyncStatsSink;
+import edu.doane.dugal.dea.io.CsvStatsSink;
 import edu.doane.dugal.dea.kits.bchrom.BinaryChromosome;
 import edu.doane.dugal.dea.kits.bchrom.PointCrossover;
 import edu.doane.dugal.dea.kits.bchrom.PointMutation;
 import edu.doane.dugal.dea.kits.general.ElitistTournamentSelection;
 import edu.doane.dugal.dea.kits.general.Evaluate;
 import edu.doane.dugal.dea.kits.general.StandardStats;
+import java.io.IOException;
+import java.nio.file.Paths;
 
 /**
  *
@@ -26,7 +30,7 @@ import edu.doane.dugal.dea.kits.general.StandardStats;
  * Max value = 0, at (1, 1).
   * 
  * @author Mark M. Meysenburg
- * @version 03/25/2016
+ * @version 10/18/2026
  */
 public class BinaryDeJong02 implements Problem {
 
@@ -67,9 +71,12 @@ public class BinaryDeJong02 implements Problem {
     /**
      * Application entry point for console-based run of BinaryDeJong02.
      * 
-     * @param args Command-line arguments; ignored by this app. 
+     * @param args Command-line arguments: optionally, a file to write the
+     * statistics to as CSV, compressed if the name ends in ".gz". Without
+     * one, the statistics are printed to standard output.
+     * @throws IOException If the statistics file can't be written.
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         Problem dj02 = new BinaryDeJong02();
         DEA alg = new DEA(dj02, 10000, 1000); // 10000 population, 1000 generations
 
@@ -85,8 +92,14 @@ public class BinaryDeJong02 implements Problem {
         // ... then selection ...
         alg.addOperator(new ElitistTournamentSelection());
 
-        // ... then statistics
+        // ... then statistics, printed, or written as CSV by a background
+        // thread if a file was given
         StandardStats stats = new StandardStats(3);
+        AsyncStatsSink sink = null;
+        if (args.length > 0) {
+            sink = new AsyncStatsSink(new CsvStatsSink(Paths.get(args[0])));
+            stats.setSink(sink);
+        }
         alg.addOperator(stats);
 
         // dump run parameters to standard output, so a successful run
@@ -103,6 +116,10 @@ public class BinaryDeJong02 implements Problem {
         } catch (InterruptedException ex) {
             System.err.println("DEA thread interrupted!");
         } finally {
+            if (sink != null) {
+                sink.close();
+                System.out.println("Statistics written to " + args[0]);
+            }
             System.out.println("Best ever individual: " + stats.getBestEverIndividual());
             System.out.printf("Best ever fitness: %.3f\n", stats.getBestEverIndividual().getFitness());
         }
@@ -22,7 +22,7 @@ import edu.doane.dugal.dea.kits.general.ElitistTournamentSelection;
  * Maximum is 0, at (0, 0, 0).
  *
  * @author Mark M. Meysenburg
- * @version 12/26/2014
+ * @version 10/18/2026
  */
 public class DeJong01 implements Problem {
 
@@ -86,7 +86,9 @@ public class DeJong01 implements Problem {
         
         // ... then evaluation, using threshold of 10 individuals to
         // evaluate in-place instead of with threads ...
-        alg.addOperator(new Evaluate(dj01, 10));    
+        Evaluate eval = new Evaluate(dj01, 10);
+        eval.setSkipUnmodified(true);
+        alg.addOperator(eval);
         
         alg.addOperator(new ElitistTournamentSelection()); // ... then selection ...
         StandardStats stats = new StandardStats(2); // ... then statistics
@@ -107,6 +109,8 @@ public class DeJong01 implements Problem {
         } finally {
             System.out.println("Best ever individual: " + stats.getBestEverIndividual());
             System.out.printf("Best ever fitness: %.2f\n", stats.getBestEverIndividual().getFitness());
+            System.out.printf("Evaluations: %d, saved: %d\n", eval.getEvaluations(),
+                    eval.getSkippedEvaluations());
         }
     } // main
 }
@@ -0,0 +1,84 @@
+package edu.doane.dugal.samples.functions;
+
+import edu.doane.dugal.dea.DEA;
+import edu.doane.dugal.dea.Individual;
+import edu.doane.dugal.dea.IslandModel;
+import edu.doane.dugal.dea.Problem;
+import edu.doane.dugal.dea.Topology;
+import edu.doane.dugal.dea.kits.dchrom.PointCrossover;
+import edu.doane.dugal.dea.kits.dchrom.PointMutation;
+import edu.doane.dugal.dea.kits.general.ElitistTournamentSelection;
+import edu.doane.dugal.dea.kits.general.Evaluate;
+import edu.doane.dugal.dea.kits.general.StandardStats;
+
+/**
+ * Sample island model application: optimize Griewangk's function, as in the
+ * Griewangk sample, but with the 100000 individuals split into eight islands
+ * in a ring, which swap their two best individuals every 10 generations.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class GriewangkIslands {
+
+    /**
+     * Application entry point for console-based run of GriewangkIslands.
+     *
+     * @param args Command-line arguments; ignored by this app.
+     */
+    public static void main(String[] args) {
+        // create problem and algorithm: 8 islands of 12500, 1000 generations
+        final Problem gr = new Griewangk();
+        IslandModel alg = new IslandModel(gr, 8, 12500, 1000, Topology.RING);
+        alg.setMigrationInterval(10);
+        alg.setMigrants(2);
+
+        // statistics are only printed for the first island
+        final StandardStats stats = new StandardStats(3);
+
+        // create and add operators to each island
+        alg.setUp(new IslandModel.Setup() {
+            @Override
+            public void addOperators(DEA island, int index) {
+                // first, crossover...
+                island.addOperator(new PointCrossover());
+
+                // ... then mutation ...
+                island.addOperator(new PointMutation(0.02));
+
+                // ... then evaluation, of the whole island in one task ...
+                island.addOperator(new Evaluate(gr, 12500));
+
+                // ... then selection ...
+                island.addOperator(new ElitistTournamentSelection());
+
+                // ... then statistics
+                if (index == 0) {
+                    island.addOperator(stats);
+                }
+            }
+        });
+
+        // dump run parameters to standard output, so a successful run
+        // could be duplicated
+        System.out.println(alg.getTableau());
+
+        // start the islands
+        alg.start();
+
+        // wait for every island to complete before reporting final
+        // statistics
+        try {
+            alg.join();
+        } catch (InterruptedException ex) {
+            System.err.println("DEA thread interrupted!");
+        } finally {
+            Individual best = alg.getBestIndividual();
+            long[] counts = alg.getMigrationCounts();
+            System.out.println("Best individual: " + best);
+            System.out.printf("Best fitness: %.3f\n", best.getFitness());
+            System.out.println("Migrants sent, dropped, received: " + counts[0] + ", "
+                    + counts[1] + ", " + counts[2]);
+        }
+    }
+}
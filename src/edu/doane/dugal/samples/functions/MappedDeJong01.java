@@ -0,0 +1,71 @@
+package edu.doane.dugal.samples.functions;
+
+import edu.doane.dugal.dea.DEA;
+import edu.doane.dugal.dea.MappedPopulation;
+import edu.doane.dugal.dea.Problem;
+import edu.doane.dugal.dea.kits.dchrom.DoubleChromosomeCodec;
+import edu.doane.dugal.dea.kits.dchrom.PointCrossover;
+import edu.doane.dugal.dea.kits.dchrom.PointMutation;
+import edu.doane.dugal.dea.kits.general.ElitistTournamentSelection;
+import edu.doane.dugal.dea.kits.general.Evaluate;
+import edu.doane.dugal.dea.kits.general.StandardStats;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Sample DEA application: DeJong's first function, with an out-of-core
+ * population kept in a memory-mapped file and streamed through the operators
+ * in chunks. Only the fitness index and one chunk of individuals are ever in
+ * memory, so the population size is limited by disk space.
+ *
+ * @author Mark M. Meysenburg
+ * @version 10/18/2026
+ */
+public class MappedDeJong01 {
+
+    /**
+     * Application entry point for console-based execution.
+     *
+     * @param args Optional population file name, population size, and chunk
+     * size; defaults are dejong01.pop, 10000000, and 65536.
+     */
+    public static void main(String[] args) {
+        Path file = Paths.get(args.length > 0 ? args[0] : "dejong01.pop");
+        int popSize = args.length > 1 ? Integer.parseInt(args[1]) : 10000000;
+        int chunkSize = args.length > 2 ? Integer.parseInt(args[2]) : 65536;
+
+        // create problem and the population file
+        Problem dj01 = new DeJong01();
+        StandardStats stats = new StandardStats(2);
+        try (MappedPopulation pop = MappedPopulation.create(file, dj01,
+                new DoubleChromosomeCodec(3), popSize)) {
+            DEA alg = new DEA(dj01, pop, 100, chunkSize); // 100 generations
+
+            // crossover, mutation, and evaluation are streamed together,
+            // one chunk at a time ...
+            alg.addOperator(new PointCrossover(0.65));
+            alg.addOperator(new PointMutation(0.02));
+            alg.addOperator(new Evaluate(dj01, 1000));
+
+            // ... selection works on the in-memory fitness index ...
+            alg.addOperator(new ElitistTournamentSelection());
+
+            // ... and statistics accumulate over a whole pass
+            alg.addOperator(stats);
+
+            System.out.println(alg.getTableau());
+
+            alg.start();
+            alg.join();
+        } catch (IOException ex) {
+            System.err.println("Can't use population file " + file + ": " + ex);
+            return;
+        } catch (InterruptedException ex) {
+            System.err.println("DEA thread interrupted!");
+        }
+
+        System.out.println("Best ever individual: " + stats.getBestEverIndividual());
+        System.out.printf("Best ever fitness: %.2f\n", stats.getBestEverIndividual().getFitness());
+    } // main
+}
@@ -8,6 +8,7 @@ import edu.doane.dugal.dea.kits.dchrom.PointCrossover;
 import edu.doane.dugal.dea.kits.dchrom.PointMutation;
 import edu.doane.dugal.dea.kits.general.ElitistTournamentSelection;
 import edu.doane.dugal.dea.kits.general.Evaluate;
+import edu.doane.dugal.dea.kits.general.QuantileStats;
 import edu.doane.dugal.dea.kits.general.StandardStats;
 
 /**
@@ -20,7 +21,7 @@ import edu.doane.dugal.dea.kits.general.StandardStats;
  * framework maximizes instead of minimizes.)
  * 
  * @author Mark M. Meysenburg
- * @version 03/27/2016
+ * @version 10/18/2026
  */
 public class Rastrigin implements Problem {
 
@@ -83,9 +84,11 @@ public class Rastrigin implements Problem {
         // ... then selection ...
         alg.addOperator(new ElitistTournamentSelection());
 
-        // ... then statistics
+        // ... then statistics, plus the fitness distribution: min, 10th
+        // percentile, median, 90th percentile, max, and a 10-bin histogram
         StandardStats stats = new StandardStats(3);
         alg.addOperator(stats);
+        alg.addOperator(new QuantileStats(3, 10, 0));
 
         // dump run parameters to standard output, so a successful run
         // could be duplicated
@@ -1,14 +1,19 @@
 package edu.doane.dugal.samples.functions;
 
+import edu.doane.dugal.dea.Checkpointer;
 import edu.doane.dugal.dea.DEA;
 import edu.doane.dugal.dea.Individual;
 import edu.doane.dugal.dea.Problem;
 import edu.doane.dugal.dea.kits.dchrom.DoubleChromosome;
+import edu.doane.dugal.dea.kits.dchrom.DoubleChromosomeCodec;
+import edu.doane.dugal.dea.kits.dchrom.DoublePopulation;
 import edu.doane.dugal.dea.kits.dchrom.PointCrossover;
 import edu.doane.dugal.dea.kits.dchrom.PointMutation;
-import edu.doane.dugal.dea.kits.general.DiversityThresholdStats;
 import edu.doane.dugal.dea.kits.general.ElitistTournamentSelection;
 import edu.doane.dugal.dea.kits.general.Evaluate;
+import edu.doane.dugal.dea.kits.general.SketchDiversityStats;
+import java.io.IOException;
+import java.nio.file.Paths;
 
 /**
  * Sample DEA application to optimize Skekel's Foxholes function, 
@@ -20,7 +25,7 @@ import edu.doane.dugal.dea.kits.general.Evaluate;
  * maximizes instead of minimizes.)
  * 
  * @author Mark M. Meysenburg
- * @version 03/27/2016
+ * @version 10/18/2026
  */
 public class ShekelsFoxHoles implements Problem {    
 
@@ -74,12 +79,18 @@ public class ShekelsFoxHoles implements Problem {
     /**
      * Application entry point for console-based run of ShekelsFoxHoles.
      * 
-     * @param args Command-line arguments; ignored by this app. 
+     * @param args Command-line arguments: optionally, a checkpoint file. With
+     * one, the run is checkpointed to the file, and resumed from it if it
+     * exists; without one, the run is not checkpointed.
      */
     public static void main(String[] args) {
         // create problem and algorithm
         Problem sfh = new ShekelsFoxHoles();
-        DEA alg = new DEA(sfh, 1000000, 1000); // 1000000 population, 1000 generations
+
+        // keep the 1000000 individuals' genes and fitnesses in contiguous
+        // arrays, with a second set of arrays for selection to copy into
+        DoublePopulation pop = new DoublePopulation(1000000, 4, 0, 10, 3);
+        DEA alg = new DEA(sfh, pop.getPopulation(), 1000); // 1000 generations
 
         // create and add operators. First, crossover...
         alg.addOperator(new PointCrossover());
@@ -90,14 +101,34 @@ public class ShekelsFoxHoles implements Problem {
         // ... then evaluation ...
         alg.addOperator(new Evaluate(sfh, 1000));
 
-        // ... then selection ...
-        alg.addOperator(new ElitistTournamentSelection());
+        // ... then selection, copying winners into the second set of arrays ...
+        ElitistTournamentSelection sel = new ElitistTournamentSelection(2, true);
+        sel.setBuffer(pop.getBuffer());
+        alg.addOperator(sel);
 
-        // ... then statistics
+        // ... then statistics, estimating diversity with a sketch of the
+        // genome hashes and from sampled pairs, rather than exactly
         //StandardStats stats = new StandardStats(3);
-        DiversityThresholdStats stats = new DiversityThresholdStats(3, 0.1, 0.024, sfh);
+        SketchDiversityStats stats = new SketchDiversityStats(3, 0.1, 0.024, sfh);
         alg.addOperator(stats);
 
+        // if a checkpoint file was given, checkpoint every 50 generations,
+        // and when the JVM is shut down, and pick up from the last checkpoint
+        // if there is one
+        if (args.length > 0) {
+            alg.setCheckpointer(new Checkpointer(Paths.get(args[0]),
+                    new DoubleChromosomeCodec(4), 50));
+            alg.setCheckpointOnShutdown(true, 60000);
+            try {
+                if (alg.restoreCheckpoint()) {
+                    System.out.println("Resuming after generation " + alg.getGeneration());
+                }
+            } catch (IOException ex) {
+                System.err.println("Can't restore checkpoint " + args[0] + ": " + ex.getMessage());
+                return;
+            }
+        }
+
         // dump run parameters to standard output, so a successful run
         // could be duplicated
         System.out.println(alg.getTableau());